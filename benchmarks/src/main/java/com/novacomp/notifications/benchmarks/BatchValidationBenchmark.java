@@ -0,0 +1,92 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.ValidatedBatch;
+import com.novacomp.notifications.exception.ValidationException;
+import com.novacomp.notifications.service.NotificationService;
+import com.novacomp.notifications.service.NotificationServiceBuilder;
+import com.novacomp.notifications.validation.EmailValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validar un lote de emails de 100k con {@code validateBatch} (chunks en el
+ * common pool, sin excepciones) contra el loop secuencial con
+ * validate + catch por item. {@code invalidPercent} mide cuanto pesa armar
+ * una ValidationException por cada direccion mala.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchValidationBenchmark {
+
+    private static final int BATCH_SIZE = 100_000;
+
+    @Param({"0", "10"})
+    public int invalidPercent;
+
+    private NotificationService service;
+    private final EmailValidator validator = new EmailValidator();
+    private List<EmailNotification> batch;
+
+    @Setup
+    public void setUp() {
+        service = NotificationServiceBuilder.create()
+                .registerEmailSender(StubProviders.email(0))
+                .build();
+        batch = new ArrayList<>(BATCH_SIZE);
+        EmailNotification valid = Fixtures.email();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            boolean invalid = i % 100 < invalidPercent;
+            batch.add(EmailNotification.builder()
+                    .recipient(invalid ? "cliente" + i + "@sin-dominio" : "cliente" + i + "@dominio-ejemplo.com")
+                    .subject(valid.getSubject())
+                    .message(valid.getMessage())
+                    .build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public ValidatedBatch<EmailNotification> validateBatch() {
+        return service.validateBatch(batch);
+    }
+
+    /** Referencia: lo que haria el llamador sin validateBatch. */
+    @Benchmark
+    public int sequentialTryCatch() {
+        List<Notification> valid = new ArrayList<>(batch.size());
+        int invalid = 0;
+        for (EmailNotification notification : batch) {
+            try {
+                validator.validate(notification);
+                valid.add(notification);
+            } catch (ValidationException e) {
+                invalid++;
+            }
+        }
+        return valid.size() + invalid;
+    }
+}
@@ -0,0 +1,36 @@
+package com.novacomp.notifications.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Main del jar de benchmarks: acepta los mismos argumentos que el runner de
+ * JMH (ej. un regex de benchmarks, {@code -p latencyMicros=0}) y agrega
+ * siempre el profiler de GC, asi cada resultado trae la tasa de allocation
+ * ({@code gc.alloc.rate.norm} = bytes por operacion).
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options;
+        try {
+            options = new OptionsBuilder()
+                    .parent(new CommandLineOptions(args))
+                    .addProfiler(GCProfiler.class)
+                    .build();
+        } catch (CommandLineOptionException e) {
+            System.err.println("Argumentos invalidos: " + e.getMessage());
+            System.exit(1);
+            return;
+        }
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,67 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.config.AsyncDispatchPolicy;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.event.NotificationEvent;
+import com.novacomp.notifications.event.NotificationEventPublisher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NotificationEventPublisher#publish} segun la cantidad de listeners
+ * suscriptos, con dispatch sincrono y asincrono (lo que paga el hilo que envia).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EventPublisherBenchmark {
+
+    @Param({"0", "1", "4"})
+    public int listeners;
+
+    @Param({"sync", "async"})
+    public String dispatch;
+
+    private NotificationEventPublisher publisher;
+    private NotificationEvent event;
+
+    @Setup(Level.Trial)
+    public void setUp(Blackhole blackhole) {
+        publisher = "async".equals(dispatch)
+                ? new NotificationEventPublisher(AsyncDispatchPolicy.defaultPolicy())
+                : new NotificationEventPublisher();
+        for (int i = 0; i < listeners; i++) {
+            publisher.subscribe(blackhole::consume);
+        }
+        event = new NotificationEvent("n-1", NotificationChannel.EMAIL, NotificationStatus.SENT, "stub-id");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        publisher.close();
+    }
+
+    @Benchmark
+    public NotificationEvent publish() {
+        publisher.publish(event);
+        return event;
+    }
+}
@@ -0,0 +1,63 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.core.Notification;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/** Notificaciones validas de cada canal, con tamanos tipicos de produccion. */
+final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    static EmailNotification email() {
+        return EmailNotification.builder()
+                .recipient("cliente.frecuente@dominio-ejemplo.com")
+                .subject("Tu pedido #48213 fue despachado")
+                .message("Hola Ana, tu pedido #48213 ya esta en camino. Llega el jueves entre 9 y 13 hs.")
+                .build();
+    }
+
+    static SmsNotification sms() {
+        return SmsNotification.builder()
+                .recipient("+5491112345678")
+                .message("Tu codigo de verificacion es 482913. Vence en 5 minutos.")
+                .build();
+    }
+
+    static PushNotification push() {
+        return PushNotification.builder()
+                .recipient("fcm-token-dGhpcyBpcyBhIHNhbXBsZSB0b2tlbg")
+                .title("Pedido despachado")
+                .message("Tu pedido #48213 ya esta en camino")
+                .data(Map.of("orderId", "48213", "deepLink", "app://pedidos/48213"))
+                .build();
+    }
+
+    static SlackNotification slack() {
+        return SlackNotification.builder()
+                .recipient("#alertas-produccion")
+                .message(":rotating_light: Latencia p99 del checkout sobre 800 ms")
+                .build();
+    }
+
+    /** Lote con los 4 canales intercalados. */
+    static List<Notification> mixedBatch(int size) {
+        List<Notification> batch = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (i % 4) {
+                case 0 -> batch.add(email());
+                case 1 -> batch.add(sms());
+                case 2 -> batch.add(push());
+                default -> batch.add(slack());
+            }
+        }
+        return batch;
+    }
+}
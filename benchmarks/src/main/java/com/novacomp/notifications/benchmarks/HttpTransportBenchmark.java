@@ -0,0 +1,161 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.config.FcmConfig;
+import com.novacomp.notifications.config.HttpTransportPolicy;
+import com.novacomp.notifications.config.TwilioConfig;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.event.NotificationEventPublisher;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.push.FcmPushProvider;
+import com.novacomp.notifications.provider.sms.SmsProvider;
+import com.novacomp.notifications.provider.sms.TwilioSmsProvider;
+import com.novacomp.notifications.sender.SenderOptions;
+import com.novacomp.notifications.sender.SmsNotificationSender;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.ProviderStubServer;
+import com.novacomp.notifications.validation.PhoneValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Proveedores reales sobre {@link HttpTransport} contra el stub local
+ * ({@link ProviderStubServer}): un request sincrono de Twilio y un lote de
+ * 500 tokens de FCM, que sale como 500 requests en paralelo acotados por
+ * {@code maxConcurrentPerHost}. Con latencia, el lote deberia tardar cerca de
+ * (500 / maxConcurrentPerHost) * latencia y no 500 * latencia.
+ *
+ * {@link #senderAsync500()} y {@link #senderExecutor500()} mandan 500 SMS por
+ * {@code sendAsync} del sender: el primero sobre el SPI asincrono (ningun
+ * hilo espera una respuesta), el segundo ocultandolo, asi que cada envio
+ * ocupa uno de los {@value #EXECUTOR_THREADS} hilos del executor mientras
+ * dura el request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// Sin TCP_NODELAY en el stub, cada request keep-alive espera el ACK demorado (~40 ms).
+@Fork(value = 1, jvmArgsAppend = "-Dsun.net.httpserver.nodelay=true")
+public class HttpTransportBenchmark {
+
+    static final int EXECUTOR_THREADS = 16;
+
+    @Param({"0", "20"})
+    public long latencyMillis;
+
+    private ProviderStubServer stub;
+    private HttpTransport transport;
+    private TwilioSmsProvider twilio;
+    private FcmPushProvider fcm;
+    private SmsNotification sms;
+    private List<PushNotification> pushes;
+    private List<SmsNotification> smsBatch;
+    private ExecutorService executor;
+    private SmsNotificationSender asyncSender;
+    private SmsNotificationSender executorSender;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        stub = ProviderStubServer.start();
+        stub.setLatencyMillis(latencyMillis);
+        transport = HttpTransport.create(HttpTransportPolicy.defaultPolicy());
+        twilio = new TwilioSmsProvider(TwilioConfig.builder()
+                .accountSid("AC-bench").authToken("token").fromNumber("+15005550006")
+                .baseUrl(stub.getBaseUrl()).build(), transport);
+        fcm = new FcmPushProvider(FcmConfig.builder()
+                .projectId("bench").serverKey("key").baseUrl(stub.getBaseUrl()).build(), transport);
+        sms = SmsNotification.builder().recipient("+51987654321").message("Codigo 1234").build();
+        pushes = new ArrayList<>(FcmPushProvider.MAX_MULTICAST_TOKENS);
+        for (int i = 0; i < FcmPushProvider.MAX_MULTICAST_TOKENS; i++) {
+            pushes.add(PushNotification.builder().recipient("token-" + i).title("Promo").message("Hola").build());
+        }
+        smsBatch = new ArrayList<>(500);
+        for (int i = 0; i < 500; i++) {
+            smsBatch.add(SmsNotification.builder()
+                    .recipient("+5198765" + String.format("%04d", i)).message("Codigo " + i).build());
+        }
+        executor = Executors.newFixedThreadPool(EXECUTOR_THREADS);
+        NotificationEventPublisher publisher = new NotificationEventPublisher();
+        SenderOptions options = SenderOptions.builder().eventPublisher(publisher).executor(executor).build();
+        asyncSender = new SmsNotificationSender(twilio, new PhoneValidator(), options);
+        executorSender = new SmsNotificationSender(blocking(twilio), new PhoneValidator(), options);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+        transport.close();
+        stub.close();
+    }
+
+    @Benchmark
+    public ProviderResponse twilioSend() {
+        return twilio.send(sms);
+    }
+
+    /** Tiempo por lote de 500. */
+    @Benchmark
+    public List<ProviderResponse> fcmBulk500() {
+        return fcm.sendBulk(pushes);
+    }
+
+    /** Tiempo por lote de 500 sendAsync sobre el SPI asincrono. */
+    @Benchmark
+    public List<NotificationResult> senderAsync500() {
+        return sendAll(asyncSender);
+    }
+
+    /** Tiempo por lote de 500 sendAsync que ocupan un hilo del executor cada uno. */
+    @Benchmark
+    public List<NotificationResult> senderExecutor500() {
+        return sendAll(executorSender);
+    }
+
+    private List<NotificationResult> sendAll(SmsNotificationSender sender) {
+        List<CompletableFuture<NotificationResult>> futures = new ArrayList<>(smsBatch.size());
+        for (SmsNotification notification : smsBatch) {
+            futures.add(sender.sendAsync(notification));
+        }
+        List<NotificationResult> results = new ArrayList<>(futures.size());
+        for (CompletableFuture<NotificationResult> future : futures) {
+            results.add(future.join());
+        }
+        return results;
+    }
+
+    /** El mismo proveedor sin su sendAsync: el sender vuelve al camino por executor. */
+    private static SmsProvider blocking(SmsProvider provider) {
+        return new SmsProvider() {
+            @Override
+            public ProviderResponse send(SmsNotification notification) {
+                return provider.send(notification);
+            }
+
+            @Override
+            public String getProviderName() {
+                return provider.getProviderName();
+            }
+        };
+    }
+}
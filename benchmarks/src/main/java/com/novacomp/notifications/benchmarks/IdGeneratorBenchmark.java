@@ -0,0 +1,49 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.core.IdGenerator;
+import com.novacomp.notifications.core.NotificationId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Generador de ids por defecto contra {@code UUID.randomUUID()} con varios
+ * hilos a la vez, que es donde el SecureRandom compartido de UUID contiende.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class IdGeneratorBenchmark {
+
+    private final IdGenerator monotonic = IdGenerator.monotonic();
+
+    @Benchmark
+    public String randomUuid() {
+        return UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public String monotonicAsText() {
+        return monotonic.next().toString();
+    }
+
+    /** Sin pedir el texto: lo que cuesta un id que nunca se lee. */
+    @Benchmark
+    public NotificationId monotonicBinary() {
+        return monotonic.next();
+    }
+}
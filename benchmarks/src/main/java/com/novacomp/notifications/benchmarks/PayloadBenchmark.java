@@ -0,0 +1,114 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.transport.JsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Body de un mensaje FCM armado con {@link JsonWriter} contra la forma
+ * "ingenua" (StringBuilder con escape + getBytes). Ver
+ * {@code gc.alloc.rate.norm}: el writer solo aloca la copia final del body
+ * ({@link #jsonWriterBodyPublisher()}), y nada si se lee el buffer del hilo.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadBenchmark {
+
+    private static final JsonWriter.Key MESSAGE = JsonWriter.key("message");
+    private static final JsonWriter.Key TOKEN = JsonWriter.key("token");
+    private static final JsonWriter.Key NOTIFICATION = JsonWriter.key("notification");
+    private static final JsonWriter.Key TITLE = JsonWriter.key("title");
+    private static final JsonWriter.Key BODY = JsonWriter.key("body");
+    private static final JsonWriter.Key DATA = JsonWriter.key("data");
+
+    private final PushNotification push = PushNotification.builder()
+            .recipient("fcm-token-cK1d9Xe0Qz2_aB3c4D5e6F7g8H9i0J")
+            .title("Tu pedido #4821 está en camino")
+            .message("Llega hoy entre las 14:00 y las 16:00.\nSeguilo desde la app \"Mis pedidos\".")
+            .data(Map.of("orderId", "4821", "screen", "tracking"))
+            .build();
+
+    /** El body queda en el buffer del hilo; 0 bytes alocados. */
+    @Benchmark
+    public int jsonWriter() {
+        return write().size();
+    }
+
+    /** Lo que hace el proveedor: writer + copia exacta para el HttpClient. */
+    @Benchmark
+    public HttpRequest.BodyPublisher jsonWriterBodyPublisher() {
+        return write().toBodyPublisher();
+    }
+
+    /** Referencia: StringBuilder con escape, String y getBytes(UTF_8). */
+    @Benchmark
+    public byte[] stringBuilder() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"message\":{\"token\":");
+        quote(json, push.getRecipient());
+        json.append(",\"notification\":{\"title\":");
+        quote(json, push.getTitle());
+        json.append(",\"body\":");
+        quote(json, push.getMessage());
+        json.append("},\"data\":{");
+        boolean first = true;
+        for (Map.Entry<String, String> entry : push.getData().entrySet()) {
+            json.append(first ? "" : ",");
+            quote(json, entry.getKey());
+            json.append(':');
+            quote(json, entry.getValue());
+            first = false;
+        }
+        return json.append("}}}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private JsonWriter write() {
+        JsonWriter json = JsonWriter.forCurrentThread()
+                .beginObject()
+                .name(MESSAGE).beginObject()
+                .name(TOKEN).value(push.getRecipient())
+                .name(NOTIFICATION).beginObject()
+                .name(TITLE).value(push.getTitle())
+                .name(BODY).value(push.getMessage())
+                .endObject()
+                .name(DATA).beginObject();
+        for (Map.Entry<String, String> entry : push.getData().entrySet()) {
+            json.name(entry.getKey()).value(entry.getValue());
+        }
+        return json.endObject().endObject().endObject();
+    }
+
+    private static void quote(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,73 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.config.RetryPolicy;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.event.NotificationEventPublisher;
+import com.novacomp.notifications.sender.NotificationSender;
+import com.novacomp.notifications.sender.RetryableNotificationSender;
+import com.novacomp.notifications.sender.SenderOptions;
+import com.novacomp.notifications.sender.SmsNotificationSender;
+import com.novacomp.notifications.validation.PhoneValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo del decorator de reintentos sobre el envio directo. Con
+ * {@code failEvery > 0} uno de cada N envios falla y se reintenta; el
+ * backoff es 0 para medir la maquinaria y no el sleep.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RetryBenchmark {
+
+    @Param({"0", "2"})
+    public int failEvery;
+
+    private NotificationSender<SmsNotification> direct;
+    private NotificationSender<SmsNotification> retrying;
+    private SmsNotification sms;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NotificationEventPublisher publisher = new NotificationEventPublisher();
+        direct = new SmsNotificationSender(StubProviders.sms(0, failEvery), new PhoneValidator(),
+                SenderOptions.of(publisher));
+        retrying = new RetryableNotificationSender<>(direct, RetryPolicy.builder()
+                .maxAttempts(3)
+                .initialDelayMillis(0)
+                .build());
+        sms = Fixtures.sms();
+    }
+
+    @Benchmark
+    public NotificationResult direct() {
+        return direct.send(sms);
+    }
+
+    @Benchmark
+    public NotificationResult withRetry() {
+        return retrying.send(sms);
+    }
+
+    @Benchmark
+    public NotificationResult withRetryAsync() {
+        return retrying.sendAsync(sms).join();
+    }
+}
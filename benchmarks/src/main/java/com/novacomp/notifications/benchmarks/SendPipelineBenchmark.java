@@ -0,0 +1,84 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.service.NotificationService;
+import com.novacomp.notifications.service.NotificationServiceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pipeline completo de {@link NotificationService}: validacion, sender,
+ * provider y publicacion del evento. Con {@code latencyMicros = 0} mide el
+ * overhead puro de la libreria; con latencia, el efecto del executor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SendPipelineBenchmark {
+
+    @Param({"0", "200"})
+    public long latencyMicros;
+
+    @Param({"commonPool", "virtualThreads"})
+    public String executor;
+
+    private NotificationService service;
+    private EmailNotification email;
+    private List<Notification> batch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        NotificationServiceBuilder builder = NotificationServiceBuilder.create();
+        if ("virtualThreads".equals(executor)) {
+            builder.withVirtualThreads();
+        }
+        service = builder
+                .registerEmailSender(StubProviders.email(latencyMicros))
+                .registerSmsSender(StubProviders.sms(latencyMicros))
+                .registerPushSender(StubProviders.push(latencyMicros))
+                .registerSlackSender(StubProviders.slack(latencyMicros))
+                .build();
+        email = Fixtures.email();
+        batch = Fixtures.mixedBatch(100);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        service.close();
+    }
+
+    @Benchmark
+    public NotificationResult send() {
+        return service.send(email);
+    }
+
+    @Benchmark
+    public NotificationResult sendAsync() {
+        return service.sendAsync(email).join();
+    }
+
+    /** Un lote de 100 notificaciones de los 4 canales; el tiempo es por lote. */
+    @Benchmark
+    public List<NotificationResult> sendBatch() {
+        return service.sendBatch(batch);
+    }
+}
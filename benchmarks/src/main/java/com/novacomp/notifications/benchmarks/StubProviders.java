@@ -0,0 +1,114 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.email.EmailProvider;
+import com.novacomp.notifications.provider.push.PushProvider;
+import com.novacomp.notifications.provider.slack.SlackProvider;
+import com.novacomp.notifications.provider.sms.SmsProvider;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Providers en proceso para los benchmarks: no hacen I/O ni loguean, solo
+ * simulan la latencia de red configurada (0 = sin espera, para medir el
+ * overhead propio de la libreria). Opcionalmente fallan 1 de cada N envios.
+ */
+final class StubProviders {
+
+    private StubProviders() {
+    }
+
+    static EmailProvider email(long latencyMicros) {
+        Stub stub = new Stub(latencyMicros, 0);
+        return new EmailProvider() {
+            @Override
+            public ProviderResponse send(EmailNotification notification) {
+                return stub.call();
+            }
+
+            @Override
+            public String getProviderName() {
+                return "Stub Email";
+            }
+        };
+    }
+
+    static SmsProvider sms(long latencyMicros) {
+        return sms(latencyMicros, 0);
+    }
+
+    /** @param failEvery si es mayor a 0, falla uno de cada {@code failEvery} envios */
+    static SmsProvider sms(long latencyMicros, int failEvery) {
+        Stub stub = new Stub(latencyMicros, failEvery);
+        return new SmsProvider() {
+            @Override
+            public ProviderResponse send(SmsNotification notification) {
+                return stub.call();
+            }
+
+            @Override
+            public String getProviderName() {
+                return "Stub SMS";
+            }
+        };
+    }
+
+    static PushProvider push(long latencyMicros) {
+        Stub stub = new Stub(latencyMicros, 0);
+        return new PushProvider() {
+            @Override
+            public ProviderResponse send(PushNotification notification) {
+                return stub.call();
+            }
+
+            @Override
+            public String getProviderName() {
+                return "Stub Push";
+            }
+        };
+    }
+
+    static SlackProvider slack(long latencyMicros) {
+        Stub stub = new Stub(latencyMicros, 0);
+        return new SlackProvider() {
+            @Override
+            public ProviderResponse send(SlackNotification notification) {
+                return stub.call();
+            }
+
+            @Override
+            public String getProviderName() {
+                return "Stub Slack";
+            }
+        };
+    }
+
+    private static final class Stub {
+        private static final ProviderResponse OK = ProviderResponse.success("stub-id");
+        private static final ProviderResponse FAILED = ProviderResponse.failure("503 simulado");
+
+        private final long latencyNanos;
+        private final int failEvery;
+        private final AtomicLong calls = new AtomicLong();
+
+        private Stub(long latencyMicros, int failEvery) {
+            this.latencyNanos = latencyMicros * 1_000L;
+            this.failEvery = failEvery;
+        }
+
+        ProviderResponse call() {
+            if (latencyNanos > 0) {
+                LockSupport.parkNanos(latencyNanos);
+            }
+            if (failEvery > 0 && calls.incrementAndGet() % failEvery == 0) {
+                return FAILED;
+            }
+            return OK;
+        }
+    }
+}
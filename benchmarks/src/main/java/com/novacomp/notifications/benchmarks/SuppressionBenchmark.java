@@ -0,0 +1,75 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.suppression.SuppressionList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Chequeo de supresion en el caso comun (destinatario no suprimido) con la
+ * lista llena: {@link SuppressionList} (Bloom filter por bloques adelante)
+ * contra consultar directo un set concurrente con las mismas entradas.
+ *
+ * El set en el heap es mas rapido (usa el hashCode cacheado del String; el
+ * filtro hashea la direccion en cada consulta), pero ocupa ~100 bytes por
+ * entrada contra ~11 bits del filtro. El benchmark sirve para ver que el
+ * filtro no depende del tamano de la lista y cuanto cuesta la consulta que
+ * evita el round trip a un store externo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class SuppressionBenchmark {
+
+    private static final int PROBES = 1 << 10;
+
+    @Param({"5000000"})
+    public int entries;
+
+    private SuppressionList suppressions;
+    private Set<String> exact;
+    private String[] clean;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        suppressions = SuppressionList.builder().expectedEntries(entries).build();
+        exact = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < entries; i++) {
+            String address = "rebote" + i + "@dominio.com";
+            suppressions.suppress(NotificationChannel.EMAIL, address);
+            exact.add(address);
+        }
+        clean = new String[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            clean[i] = "cliente" + i + "@dominio.com";
+        }
+    }
+
+    @Benchmark
+    public boolean suppressionListMiss() {
+        return suppressions.isSuppressed(NotificationChannel.EMAIL, clean[next++ & (PROBES - 1)]);
+    }
+
+    /** Referencia: solo el store exacto, sin filtro adelante. */
+    @Benchmark
+    public boolean concurrentSetMiss() {
+        return exact.contains(clean[next++ & (PROBES - 1)]);
+    }
+}
@@ -0,0 +1,95 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.template.NotificationTemplate;
+import com.novacomp.notifications.template.TemplateEngine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * {@link TemplateEngine#render} con una plantilla corta (SMS) y una larga
+ * (email), contra la implementacion anterior basada en regex como baseline.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateBenchmark {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([\\w.]+)\\s*}}");
+
+    private final TemplateEngine engine = new TemplateEngine();
+
+    private final NotificationTemplate shortTemplate = new NotificationTemplate("otp",
+            "Tu codigo es {{code}}. Vence en {{minutes}} minutos.");
+
+    private final NotificationTemplate longTemplate = new NotificationTemplate("shipping",
+            "Hola {{ customer.name }},\n\n"
+                    + "Tu pedido #{{order.id}} fue despachado el {{order.date}} por {{carrier}}.\n"
+                    + "Codigo de seguimiento: {{tracking}}. Llega entre {{eta.from}} y {{eta.to}}.\n"
+                    + "Direccion: {{address.street}} {{address.number}}, {{address.city}}.\n\n"
+                    + "Si tenes dudas escribinos a {{support.email}} citando el pedido #{{order.id}}.\n"
+                    + "Gracias por comprar en {{store}}!");
+
+    private final Map<String, String> shortVariables = Map.of("code", "482913", "minutes", "5");
+
+    private final Map<String, String> longVariables = Map.ofEntries(
+            Map.entry("customer.name", "Ana"),
+            Map.entry("order.id", "48213"),
+            Map.entry("order.date", "12/03"),
+            Map.entry("carrier", "Andreani"),
+            Map.entry("tracking", "AR123456789"),
+            Map.entry("eta.from", "9"),
+            Map.entry("eta.to", "13"),
+            Map.entry("address.street", "Av. Siempre Viva"),
+            Map.entry("address.number", "742"),
+            Map.entry("address.city", "Springfield"),
+            Map.entry("support.email", "ayuda@tienda.com"),
+            Map.entry("store", "Tienda Ejemplo"));
+
+    @Benchmark
+    public String renderShort() {
+        return engine.render(shortTemplate, shortVariables);
+    }
+
+    @Benchmark
+    public String renderLong() {
+        return engine.render(longTemplate, longVariables);
+    }
+
+    @Benchmark
+    public String regexBaselineShort() {
+        return renderWithRegex(shortTemplate, shortVariables);
+    }
+
+    @Benchmark
+    public String regexBaselineLong() {
+        return renderWithRegex(longTemplate, longVariables);
+    }
+
+    /** TemplateEngine.render tal como era antes de compilar las plantillas. */
+    private static String renderWithRegex(NotificationTemplate template, Map<String, String> variables) {
+        Matcher matcher = PLACEHOLDER.matcher(template.getContent());
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String key = matcher.group(1);
+            String value = variables.getOrDefault(key, "");
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+}
@@ -0,0 +1,94 @@
+package com.novacomp.notifications.benchmarks;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.validation.EmailValidator;
+import com.novacomp.notifications.validation.PhoneValidator;
+import com.novacomp.notifications.validation.PushValidator;
+import com.novacomp.notifications.validation.SlackValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Cada NotificationValidator sobre una notificacion valida (el caso del hot path).
+ * {@code emailRegex} y {@code phoneRegex} son las regex que usaban Email y
+ * PhoneValidator antes del recorrido a mano, como referencia.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private final EmailValidator emailValidator = new EmailValidator();
+    private final PhoneValidator phoneValidator = new PhoneValidator();
+    private final PushValidator pushValidator = new PushValidator();
+    private final SlackValidator slackValidator = new SlackValidator();
+
+    private final EmailNotification email = Fixtures.email();
+    private final SmsNotification sms = Fixtures.sms();
+    private final PushNotification push = Fixtures.push();
+    private final SlackNotification slack = Fixtures.slack();
+
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+    private static final Pattern E164_PATTERN = Pattern.compile("^\\+[1-9]\\d{7,14}$");
+
+    @Benchmark
+    public EmailNotification email() {
+        emailValidator.validate(email);
+        return email;
+    }
+
+    @Benchmark
+    public SmsNotification phone() {
+        phoneValidator.validate(sms);
+        return sms;
+    }
+
+    @Benchmark
+    public boolean emailRegex() {
+        return EMAIL_PATTERN.matcher(email.getRecipient()).matches();
+    }
+
+    @Benchmark
+    public boolean emailScanner() {
+        return EmailValidator.isValidAddress(email.getRecipient());
+    }
+
+    @Benchmark
+    public boolean phoneRegex() {
+        return E164_PATTERN.matcher(sms.getRecipient()).matches();
+    }
+
+    @Benchmark
+    public boolean phoneScanner() {
+        return PhoneValidator.isE164(sms.getRecipient());
+    }
+
+    @Benchmark
+    public PushNotification push() {
+        pushValidator.validate(push);
+        return push;
+    }
+
+    @Benchmark
+    public SlackNotification slack() {
+        slackValidator.validate(slack);
+        return slack;
+    }
+}
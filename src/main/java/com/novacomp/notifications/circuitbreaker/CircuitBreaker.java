@@ -0,0 +1,115 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import com.novacomp.notifications.config.CircuitBreakerPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Maquina de estados del circuit breaker (CLOSED -> OPEN -> HALF_OPEN -> ...)
+ * sin locks: el estado es un AtomicReference, y los contadores de la ventana
+ * y de las pruebas en semi-abierto son atomicos.
+ *
+ * Uso: {@link #tryAcquirePermission()} antes de llamar al proveedor; luego
+ * {@link #onSuccess()} / {@link #onFailure()} con el resultado, o
+ * {@link #releasePermission()} si la llamada no llego a hacerse.
+ */
+public final class CircuitBreaker {
+
+    private static final Logger log = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    private final String name;
+    private final CircuitBreakerPolicy policy;
+    private final LongSupplier clock;
+    private final FailureRateWindow window;
+    private final AtomicReference<CircuitState> state = new AtomicReference<>(CircuitState.CLOSED);
+    private final AtomicLong openedAtMillis = new AtomicLong();
+    private final AtomicInteger probesIssued = new AtomicInteger();
+    private final AtomicInteger probesSucceeded = new AtomicInteger();
+
+    public CircuitBreaker(String name, CircuitBreakerPolicy policy) {
+        this(name, policy, System::currentTimeMillis);
+    }
+
+    CircuitBreaker(String name, CircuitBreakerPolicy policy, LongSupplier clock) {
+        this.name = name;
+        this.policy = policy;
+        this.clock = clock;
+        this.window = new FailureRateWindow(policy.getWindowMillis(), policy.getWindowBuckets());
+    }
+
+    public CircuitState getState() {
+        return state.get();
+    }
+
+    /** @return true si la llamada puede hacerse; false si hay que fallar rapido. */
+    public boolean tryAcquirePermission() {
+        CircuitState current = state.get();
+        if (current == CircuitState.CLOSED) {
+            return true;
+        }
+        if (current == CircuitState.OPEN) {
+            if (clock.getAsLong() - openedAtMillis.get() < policy.getOpenDurationMillis()) {
+                return false;
+            }
+            if (state.compareAndSet(CircuitState.OPEN, CircuitState.HALF_OPEN)) {
+                probesIssued.set(0);
+                probesSucceeded.set(0);
+                log.info("Circuit breaker '{}' semi-abierto: enviando hasta {} pruebas",
+                        name, policy.getHalfOpenProbes());
+            }
+            return tryAcquirePermission();
+        }
+        return probesIssued.incrementAndGet() <= policy.getHalfOpenProbes();
+    }
+
+    /** Devuelve un permiso que no llego a usarse (ej. la notificacion era invalida). */
+    public void releasePermission() {
+        if (state.get() == CircuitState.HALF_OPEN) {
+            probesIssued.decrementAndGet();
+        }
+    }
+
+    public void onSuccess() {
+        CircuitState current = state.get();
+        if (current == CircuitState.HALF_OPEN) {
+            if (probesSucceeded.incrementAndGet() >= policy.getHalfOpenProbes()
+                    && state.compareAndSet(CircuitState.HALF_OPEN, CircuitState.CLOSED)) {
+                window.reset();
+                log.info("Circuit breaker '{}' cerrado: el proveedor se recupero", name);
+            }
+        } else if (current == CircuitState.CLOSED) {
+            window.record(false, clock.getAsLong());
+        }
+    }
+
+    public void onFailure() {
+        CircuitState current = state.get();
+        long now = clock.getAsLong();
+        if (current == CircuitState.HALF_OPEN) {
+            open(CircuitState.HALF_OPEN, now);
+        } else if (current == CircuitState.CLOSED) {
+            window.record(true, now);
+            long[] snapshot = window.snapshot(now);
+            long total = snapshot[0];
+            long failures = snapshot[1];
+            if (total >= policy.getMinimumCalls()
+                    && failures >= policy.getFailureRateThreshold() * total) {
+                open(CircuitState.CLOSED, now);
+            }
+        }
+    }
+
+    private void open(CircuitState from, long now) {
+        // openedAt se fija antes del CAS para que nadie vea OPEN con un instante viejo.
+        openedAtMillis.set(now);
+        if (state.compareAndSet(from, CircuitState.OPEN)) {
+            log.warn("Circuit breaker '{}' abierto: se falla rapido durante {}ms",
+                    name, policy.getOpenDurationMillis());
+        }
+    }
+}
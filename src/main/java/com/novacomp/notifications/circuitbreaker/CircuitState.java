@@ -0,0 +1,11 @@
+package com.novacomp.notifications.circuitbreaker;
+
+/** Estados del circuit breaker. */
+public enum CircuitState {
+    /** Envios normales; se mide la tasa de fallos. */
+    CLOSED,
+    /** Proveedor considerado caido: se falla rapido sin llamarlo. */
+    OPEN,
+    /** Pasado el tiempo de apertura: solo se dejan pasar algunos envios de prueba. */
+    HALF_OPEN
+}
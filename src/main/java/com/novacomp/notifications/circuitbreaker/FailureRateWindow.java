@@ -0,0 +1,65 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Ventana deslizante de exitos/fallos sin locks: un anillo de buckets de
+ * tiempo, cada uno con su "epoch" (numero de bucket desde el origen) y un
+ * contador empaquetado en un long (fallos en los 32 bits altos, total en los
+ * bajos), de modo que registrar un resultado es un solo getAndAdd atomico.
+ *
+ * Al reciclar un bucket viejo puede perderse algun conteo concurrente; para
+ * decidir si abrir un circuito esa aproximacion es aceptable y evita locks
+ * en el camino caliente.
+ */
+final class FailureRateWindow {
+
+    private static final long ONE_FAILURE = (1L << 32) | 1L;
+    private static final long TOTAL_MASK = 0xFFFF_FFFFL;
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final AtomicLongArray epochs;
+    private final AtomicLongArray counts;
+
+    FailureRateWindow(long windowMillis, int buckets) {
+        this.bucketMillis = windowMillis / buckets;
+        this.buckets = buckets;
+        this.epochs = new AtomicLongArray(buckets);
+        this.counts = new AtomicLongArray(buckets);
+        reset();
+    }
+
+    void record(boolean failure, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % buckets);
+        long seen = epochs.get(index);
+        if (seen != epoch && epochs.compareAndSet(index, seen, epoch)) {
+            counts.set(index, 0L);
+        }
+        counts.getAndAdd(index, failure ? ONE_FAILURE : 1L);
+    }
+
+    /** Devuelve {total, fallos} de los buckets vigentes. */
+    long[] snapshot(long nowMillis) {
+        long currentEpoch = nowMillis / bucketMillis;
+        long total = 0;
+        long failures = 0;
+        for (int i = 0; i < buckets; i++) {
+            long epoch = epochs.get(i);
+            if (epoch > currentEpoch - buckets && epoch <= currentEpoch) {
+                long packed = counts.get(i);
+                total += packed & TOTAL_MASK;
+                failures += packed >>> 32;
+            }
+        }
+        return new long[] {total, failures};
+    }
+
+    void reset() {
+        for (int i = 0; i < buckets; i++) {
+            epochs.set(i, Long.MIN_VALUE);
+            counts.set(i, 0L);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.novacomp.notifications.config;
+
+import com.novacomp.notifications.event.OverflowPolicy;
+
+import java.util.Objects;
+
+/**
+ * Configuracion del dispatch asincrono de eventos de NotificationEventPublisher:
+ * tamano del buffer circular, tamano maximo de cada lote entregado a un
+ * listener y que hacer cuando el buffer se llena.
+ */
+public final class AsyncDispatchPolicy {
+
+    private final int bufferSize;
+    private final int maxBatchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+
+    private AsyncDispatchPolicy(Builder builder) {
+        if (builder.bufferSize < 2 || Integer.bitCount(builder.bufferSize) != 1) {
+            throw new IllegalArgumentException("bufferSize debe ser una potencia de 2 mayor a 1");
+        }
+        if (builder.maxBatchSize <= 0 || builder.sampleRate <= 0) {
+            throw new IllegalArgumentException("maxBatchSize y sampleRate deben ser mayores a 0");
+        }
+        this.bufferSize = builder.bufferSize;
+        this.maxBatchSize = builder.maxBatchSize;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.sampleRate = builder.sampleRate;
+    }
+
+    public static AsyncDispatchPolicy defaultPolicy() {
+        return AsyncDispatchPolicy.builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public int getSampleRate() {
+        return sampleRate;
+    }
+
+    public static final class Builder {
+        private int bufferSize = 8192;
+        private int maxBatchSize = 256;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.BLOCK;
+        private int sampleRate = 10;
+
+        /** Potencia de 2. Default 8192. */
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public Builder maxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        public Builder overflowPolicy(OverflowPolicy overflowPolicy) {
+            this.overflowPolicy = Objects.requireNonNull(overflowPolicy);
+            return this;
+        }
+
+        /** Con {@link OverflowPolicy#SAMPLE}: bajo presion entra 1 de cada {@code sampleRate} eventos. */
+        public Builder sampleRate(int sampleRate) {
+            this.sampleRate = sampleRate;
+            return this;
+        }
+
+        public AsyncDispatchPolicy build() {
+            return new AsyncDispatchPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.novacomp.notifications.config;
+
+/**
+ * Politica del circuit breaker usado por CircuitBreakerNotificationSender
+ * (patron Decorator): cuando abrir, cuanto tiempo quedarse abierto y cuantos
+ * envios de prueba dejar pasar al semi-abrir.
+ */
+public final class CircuitBreakerPolicy {
+
+    private final double failureRateThreshold;
+    private final int minimumCalls;
+    private final long windowMillis;
+    private final int windowBuckets;
+    private final long openDurationMillis;
+    private final int halfOpenProbes;
+
+    private CircuitBreakerPolicy(Builder builder) {
+        if (builder.failureRateThreshold <= 0 || builder.failureRateThreshold > 1) {
+            throw new IllegalArgumentException("failureRateThreshold debe estar en (0, 1]");
+        }
+        if (builder.windowBuckets <= 0 || builder.windowMillis < builder.windowBuckets) {
+            throw new IllegalArgumentException("windowMillis debe ser >= windowBuckets > 0");
+        }
+        if (builder.minimumCalls <= 0 || builder.halfOpenProbes <= 0) {
+            throw new IllegalArgumentException("minimumCalls y halfOpenProbes deben ser mayores a 0");
+        }
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.minimumCalls = builder.minimumCalls;
+        this.windowMillis = builder.windowMillis;
+        this.windowBuckets = builder.windowBuckets;
+        this.openDurationMillis = builder.openDurationMillis;
+        this.halfOpenProbes = builder.halfOpenProbes;
+    }
+
+    public static CircuitBreakerPolicy defaultPolicy() {
+        return CircuitBreakerPolicy.builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public double getFailureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public int getMinimumCalls() {
+        return minimumCalls;
+    }
+
+    public long getWindowMillis() {
+        return windowMillis;
+    }
+
+    public int getWindowBuckets() {
+        return windowBuckets;
+    }
+
+    public long getOpenDurationMillis() {
+        return openDurationMillis;
+    }
+
+    public int getHalfOpenProbes() {
+        return halfOpenProbes;
+    }
+
+    public static final class Builder {
+        private double failureRateThreshold = 0.5;
+        private int minimumCalls = 20;
+        private long windowMillis = 10_000;
+        private int windowBuckets = 10;
+        private long openDurationMillis = 30_000;
+        private int halfOpenProbes = 3;
+
+        /** Proporcion de fallos (0-1] en la ventana a partir de la cual se abre. */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /** Envios minimos en la ventana antes de evaluar la tasa de fallos. */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /** Duracion de la ventana deslizante y en cuantos buckets se divide. */
+        public Builder window(long windowMillis, int windowBuckets) {
+            this.windowMillis = windowMillis;
+            this.windowBuckets = windowBuckets;
+            return this;
+        }
+
+        /** Tiempo que el circuito queda abierto (fallando rapido) antes de semi-abrir. */
+        public Builder openDurationMillis(long openDurationMillis) {
+            this.openDurationMillis = openDurationMillis;
+            return this;
+        }
+
+        /** Envios de prueba en estado semi-abierto; si todos salen bien, se cierra. */
+        public Builder halfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+            return this;
+        }
+
+        public CircuitBreakerPolicy build() {
+            return new CircuitBreakerPolicy(this);
+        }
+    }
+}
@@ -12,10 +12,12 @@ public final class FcmConfig {
 
     private final String projectId;
     private final String serverKey;
+    private final String baseUrl;
 
     private FcmConfig(Builder builder) {
         this.projectId = Objects.requireNonNull(builder.projectId, "projectId es obligatorio");
         this.serverKey = Objects.requireNonNull(builder.serverKey, "serverKey/credencial es obligatorio");
+        this.baseUrl = Objects.requireNonNull(builder.baseUrl, "baseUrl no puede ser null");
     }
 
     public static Builder builder() {
@@ -30,9 +32,15 @@ public final class FcmConfig {
         return serverKey;
     }
 
+    /** URL base de la API (sin barra final); se cambia para apuntar a un stub o proxy. */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
     public static final class Builder {
         private String projectId;
         private String serverKey;
+        private String baseUrl = "https://fcm.googleapis.com";
 
         public Builder projectId(String projectId) {
             this.projectId = projectId;
@@ -44,6 +52,12 @@ public final class FcmConfig {
             return this;
         }
 
+        /** Default {@code https://fcm.googleapis.com}. */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
         public FcmConfig build() {
             return new FcmConfig(this);
         }
@@ -0,0 +1,100 @@
+package com.novacomp.notifications.config;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Configuracion del transporte HTTP compartido por los proveedores: version
+ * preferida (HTTP/2 multiplexa todos los requests a un host sobre una sola
+ * conexion), timeouts de conexion y de respuesta, cuantos requests puede
+ * haber en vuelo por host y cuantos hilos atienden las respuestas.
+ */
+public final class HttpTransportPolicy {
+
+    private final HttpClient.Version version;
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final int maxConcurrentPerHost;
+    private final int ioThreads;
+
+    private HttpTransportPolicy(Builder builder) {
+        if (builder.maxConcurrentPerHost <= 0 || builder.ioThreads <= 0) {
+            throw new IllegalArgumentException("maxConcurrentPerHost e ioThreads deben ser mayores a 0");
+        }
+        this.version = Objects.requireNonNull(builder.version, "version no puede ser null");
+        this.connectTimeout = Objects.requireNonNull(builder.connectTimeout, "connectTimeout no puede ser null");
+        this.requestTimeout = Objects.requireNonNull(builder.requestTimeout, "requestTimeout no puede ser null");
+        this.maxConcurrentPerHost = builder.maxConcurrentPerHost;
+        this.ioThreads = builder.ioThreads;
+    }
+
+    public static HttpTransportPolicy defaultPolicy() {
+        return HttpTransportPolicy.builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public HttpClient.Version getVersion() {
+        return version;
+    }
+
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public int getMaxConcurrentPerHost() {
+        return maxConcurrentPerHost;
+    }
+
+    public int getIoThreads() {
+        return ioThreads;
+    }
+
+    public static final class Builder {
+        private HttpClient.Version version = HttpClient.Version.HTTP_2;
+        private Duration connectTimeout = Duration.ofSeconds(2);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        // Limite tipico de streams concurrentes por conexion HTTP/2 (SETTINGS_MAX_CONCURRENT_STREAMS).
+        private int maxConcurrentPerHost = 100;
+        private int ioThreads = Math.max(2, Runtime.getRuntime().availableProcessors());
+
+        /** Default HTTP_2; si el servidor no lo negocia, el cliente cae a HTTP/1.1. */
+        public Builder version(HttpClient.Version version) {
+            this.version = version;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /** Requests en vuelo por host; los que exceden esperan en cola sin ocupar un hilo. */
+        public Builder maxConcurrentPerHost(int maxConcurrentPerHost) {
+            this.maxConcurrentPerHost = maxConcurrentPerHost;
+            return this;
+        }
+
+        /** Hilos del HttpClient que completan las respuestas. Default: cantidad de CPUs (minimo 2). */
+        public Builder ioThreads(int ioThreads) {
+            this.ioThreads = ioThreads;
+            return this;
+        }
+
+        public HttpTransportPolicy build() {
+            return new HttpTransportPolicy(this);
+        }
+    }
+}
@@ -12,11 +12,13 @@ public final class MailgunConfig {
     private final String apiKey;
     private final String domain;
     private final String fromEmail;
+    private final String baseUrl;
 
     private MailgunConfig(Builder builder) {
         this.apiKey = Objects.requireNonNull(builder.apiKey, "apiKey es obligatorio");
         this.domain = Objects.requireNonNull(builder.domain, "domain es obligatorio");
         this.fromEmail = Objects.requireNonNull(builder.fromEmail, "fromEmail es obligatorio");
+        this.baseUrl = Objects.requireNonNull(builder.baseUrl, "baseUrl no puede ser null");
     }
 
     public static Builder builder() {
@@ -35,10 +37,16 @@ public final class MailgunConfig {
         return fromEmail;
     }
 
+    /** URL base de la API (sin barra final); se cambia para apuntar a un stub o proxy. */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
     public static final class Builder {
         private String apiKey;
         private String domain;
         private String fromEmail;
+        private String baseUrl = "https://api.mailgun.net";
 
         public Builder apiKey(String apiKey) {
             this.apiKey = apiKey;
@@ -55,6 +63,12 @@ public final class MailgunConfig {
             return this;
         }
 
+        /** Default {@code https://api.mailgun.net}. */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
         public MailgunConfig build() {
             return new MailgunConfig(this);
         }
@@ -0,0 +1,102 @@
+package com.novacomp.notifications.config;
+
+import com.novacomp.notifications.core.NotificationPriority;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Configuracion de las colas por prioridad de NotificationService: cuantos
+ * envios asincronos puede haber en vuelo, cuantos de esos lugares quedan
+ * reservados para {@link NotificationPriority#HIGH}, el tamano de cada cola
+ * y el peso de cada prioridad en el reparto de la capacidad libre.
+ */
+public final class PriorityLanePolicy {
+
+    private final int maxInFlight;
+    private final int reservedForHigh;
+    private final int queueCapacity;
+    private final Map<NotificationPriority, Integer> weights;
+
+    private PriorityLanePolicy(Builder builder) {
+        if (builder.maxInFlight <= 0 || builder.queueCapacity <= 0) {
+            throw new IllegalArgumentException("maxInFlight y queueCapacity deben ser mayores a 0");
+        }
+        if (builder.reservedForHigh < 0 || builder.reservedForHigh >= builder.maxInFlight) {
+            throw new IllegalArgumentException("reservedForHigh debe estar entre 0 y maxInFlight - 1");
+        }
+        this.maxInFlight = builder.maxInFlight;
+        this.reservedForHigh = builder.reservedForHigh;
+        this.queueCapacity = builder.queueCapacity;
+        this.weights = new EnumMap<>(builder.weights);
+    }
+
+    public static PriorityLanePolicy defaultPolicy() {
+        return PriorityLanePolicy.builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public int getReservedForHigh() {
+        return reservedForHigh;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getWeight(NotificationPriority priority) {
+        return weights.get(priority);
+    }
+
+    public static final class Builder {
+        private int maxInFlight = 256;
+        private int reservedForHigh = 32;
+        private int queueCapacity = 10_000;
+        private final Map<NotificationPriority, Integer> weights = new EnumMap<>(NotificationPriority.class);
+
+        private Builder() {
+            weights.put(NotificationPriority.HIGH, 8);
+            weights.put(NotificationPriority.NORMAL, 3);
+            weights.put(NotificationPriority.LOW, 1);
+        }
+
+        /** Envios asincronos en vuelo como maximo, sumando todas las prioridades. Default 256. */
+        public Builder maxInFlight(int maxInFlight) {
+            this.maxInFlight = maxInFlight;
+            return this;
+        }
+
+        /** Lugares en vuelo que solo puede usar HIGH: una campana nunca los ocupa. Default 32. */
+        public Builder reservedForHigh(int reservedForHigh) {
+            this.reservedForHigh = reservedForHigh;
+            return this;
+        }
+
+        /** Envios en espera por prioridad; con la cola llena, sendAsync bloquea al llamador. Default 10.000. */
+        public Builder queueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+            return this;
+        }
+
+        /** Peso en el reparto de la capacidad libre. Default HIGH 8, NORMAL 3, LOW 1. */
+        public Builder weight(NotificationPriority priority, int weight) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("weight debe ser mayor a 0");
+            }
+            weights.put(Objects.requireNonNull(priority), weight);
+            return this;
+        }
+
+        public PriorityLanePolicy build() {
+            return new PriorityLanePolicy(this);
+        }
+    }
+}
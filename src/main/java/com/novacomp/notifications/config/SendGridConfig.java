@@ -12,11 +12,13 @@ public final class SendGridConfig {
     private final String apiKey;
     private final String fromEmail;
     private final String fromName;
+    private final String baseUrl;
 
     private SendGridConfig(Builder builder) {
         this.apiKey = Objects.requireNonNull(builder.apiKey, "apiKey es obligatorio");
         this.fromEmail = Objects.requireNonNull(builder.fromEmail, "fromEmail es obligatorio");
         this.fromName = builder.fromName;
+        this.baseUrl = Objects.requireNonNull(builder.baseUrl, "baseUrl no puede ser null");
     }
 
     public static Builder builder() {
@@ -35,10 +37,16 @@ public final class SendGridConfig {
         return fromName;
     }
 
+    /** URL base de la API (sin barra final); se cambia para apuntar a un stub o proxy. */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
     public static final class Builder {
         private String apiKey;
         private String fromEmail;
         private String fromName;
+        private String baseUrl = "https://api.sendgrid.com";
 
         public Builder apiKey(String apiKey) {
             this.apiKey = apiKey;
@@ -55,6 +63,12 @@ public final class SendGridConfig {
             return this;
         }
 
+        /** Default {@code https://api.sendgrid.com}. */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
         public SendGridConfig build() {
             return new SendGridConfig(this);
         }
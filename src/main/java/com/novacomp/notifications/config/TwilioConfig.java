@@ -12,11 +12,13 @@ public final class TwilioConfig {
     private final String accountSid;
     private final String authToken;
     private final String fromNumber;
+    private final String baseUrl;
 
     private TwilioConfig(Builder builder) {
         this.accountSid = Objects.requireNonNull(builder.accountSid, "accountSid es obligatorio");
         this.authToken = Objects.requireNonNull(builder.authToken, "authToken es obligatorio");
         this.fromNumber = Objects.requireNonNull(builder.fromNumber, "fromNumber es obligatorio");
+        this.baseUrl = Objects.requireNonNull(builder.baseUrl, "baseUrl no puede ser null");
     }
 
     public static Builder builder() {
@@ -35,10 +37,16 @@ public final class TwilioConfig {
         return fromNumber;
     }
 
+    /** URL base de la API (sin barra final); se cambia para apuntar a un stub o proxy. */
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
     public static final class Builder {
         private String accountSid;
         private String authToken;
         private String fromNumber;
+        private String baseUrl = "https://api.twilio.com";
 
         public Builder accountSid(String accountSid) {
             this.accountSid = accountSid;
@@ -55,6 +63,12 @@ public final class TwilioConfig {
             return this;
         }
 
+        /** Default {@code https://api.twilio.com}. */
+        public Builder baseUrl(String baseUrl) {
+            this.baseUrl = baseUrl;
+            return this;
+        }
+
         public TwilioConfig build() {
             return new TwilioConfig(this);
         }
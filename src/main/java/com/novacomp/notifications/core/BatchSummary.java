@@ -0,0 +1,38 @@
+package com.novacomp.notifications.core;
+
+/**
+ * Resumen agregado de un envio en lote por streaming. No guarda los
+ * NotificationResult individuales (esos se entregan uno a uno al callback),
+ * asi la memoria usada no depende del tamano del lote.
+ */
+public final class BatchSummary {
+
+    private final long sent;
+    private final long failed;
+
+    public BatchSummary(long sent, long failed) {
+        this.sent = sent;
+        this.failed = failed;
+    }
+
+    public long getTotal() {
+        return sent + failed;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    @Override
+    public String toString() {
+        return "BatchSummary{" +
+                "total=" + getTotal() +
+                ", sent=" + sent +
+                ", failed=" + failed +
+                '}';
+    }
+}
@@ -0,0 +1,23 @@
+package com.novacomp.notifications.core;
+
+/**
+ * Estrategia de generacion de ids de notificacion, configurable por
+ * notificacion con {@code Notification.Builder#idGenerator(IdGenerator)}.
+ * Debe ser thread-safe: se invoca desde cualquier hilo que construya
+ * notificaciones.
+ */
+@FunctionalInterface
+public interface IdGenerator {
+
+    NotificationId next();
+
+    /**
+     * Generador por defecto: ids estilo ULID (48 bits de timestamp en ms + 80
+     * bits aleatorios) ordenados por tiempo de creacion y monotonos dentro de
+     * cada hilo. No comparte estado entre hilos, a diferencia de
+     * {@code UUID.randomUUID()} que pasa por un SecureRandom global.
+     */
+    static IdGenerator monotonic() {
+        return MonotonicIdGenerator.INSTANCE;
+    }
+}
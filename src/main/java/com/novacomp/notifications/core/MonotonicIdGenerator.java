@@ -0,0 +1,43 @@
+package com.novacomp.notifications.core;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generador ULID monotono con estado por hilo. En un milisegundo nuevo
+ * sortea los 80 bits aleatorios; dentro del mismo milisegundo (o si el reloj
+ * retrocede) incrementa el valor anterior, asi los ids de un mismo hilo son
+ * estrictamente crecientes. Entre hilos el orden es por milisegundo.
+ */
+final class MonotonicIdGenerator implements IdGenerator {
+
+    static final MonotonicIdGenerator INSTANCE = new MonotonicIdGenerator();
+
+    private static final long TIMESTAMP_MASK = (1L << 48) - 1;
+    private static final ThreadLocal<State> STATE = ThreadLocal.withInitial(State::new);
+
+    private MonotonicIdGenerator() {
+    }
+
+    @Override
+    public NotificationId next() {
+        State state = STATE.get();
+        long now = System.currentTimeMillis() & TIMESTAMP_MASK;
+        if (now > state.lastMillis) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            state.lastMillis = now;
+            state.randomHigh = random.nextInt(1 << 16);
+            state.randomLow = random.nextLong();
+        } else if (++state.randomLow == 0 && ++state.randomHigh > 0xFFFF) {
+            // 2^80 ids en el mismo ms: imposible en la practica, pero se mantiene el orden.
+            state.lastMillis++;
+            state.randomHigh = 0;
+        }
+        return new NotificationId((state.lastMillis << 16) | state.randomHigh, state.randomLow);
+    }
+
+    private static final class State {
+        private long lastMillis = -1;
+        private int randomHigh;
+        private long randomLow;
+    }
+}
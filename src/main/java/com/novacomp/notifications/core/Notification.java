@@ -5,7 +5,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
 
 /**
  * Abstraccion comun a todos los canales de notificacion.
@@ -19,16 +18,21 @@ import java.util.UUID;
  */
 public abstract class Notification {
 
-    private final String id;
+    // Id explicito del builder, o el generado (su texto se arma recien en getId()).
+    private final String explicitId;
+    private final NotificationId generatedId;
     private final String recipient;
     private final String message;
+    private final NotificationPriority priority;
     private final Instant createdAt;
     private final Map<String, String> metadata;
 
     protected Notification(Builder<?> builder) {
-        this.id = builder.id != null ? builder.id : UUID.randomUUID().toString();
+        this.explicitId = builder.id;
+        this.generatedId = builder.id != null ? null : builder.idGenerator.next();
         this.recipient = Objects.requireNonNull(builder.recipient, "recipient es obligatorio");
         this.message = Objects.requireNonNull(builder.message, "message es obligatorio");
+        this.priority = builder.priority;
         this.createdAt = Instant.now();
         this.metadata = builder.metadata == null
                 ? Collections.emptyMap()
@@ -38,7 +42,7 @@ public abstract class Notification {
     public abstract NotificationChannel getChannel();
 
     public String getId() {
-        return id;
+        return explicitId != null ? explicitId : generatedId.toString();
     }
 
     public String getRecipient() {
@@ -49,6 +53,10 @@ public abstract class Notification {
         return message;
     }
 
+    public NotificationPriority getPriority() {
+        return priority;
+    }
+
     public Instant getCreatedAt() {
         return createdAt;
     }
@@ -65,8 +73,10 @@ public abstract class Notification {
     @SuppressWarnings("unchecked")
     public abstract static class Builder<B extends Builder<B>> {
         private String id;
+        private IdGenerator idGenerator = IdGenerator.monotonic();
         private String recipient;
         private String message;
+        private NotificationPriority priority = NotificationPriority.NORMAL;
         private Map<String, String> metadata;
 
         public B id(String id) {
@@ -74,6 +84,12 @@ public abstract class Notification {
             return (B) this;
         }
 
+        /** Generador usado cuando no se fija un {@link #id(String)}. Default {@link IdGenerator#monotonic()}. */
+        public B idGenerator(IdGenerator idGenerator) {
+            this.idGenerator = Objects.requireNonNull(idGenerator, "idGenerator no puede ser null");
+            return (B) this;
+        }
+
         public B recipient(String recipient) {
             this.recipient = recipient;
             return (B) this;
@@ -84,6 +100,12 @@ public abstract class Notification {
             return (B) this;
         }
 
+        /** Default {@link NotificationPriority#NORMAL}. */
+        public B priority(NotificationPriority priority) {
+            this.priority = Objects.requireNonNull(priority, "priority no puede ser null");
+            return (B) this;
+        }
+
         public B metadata(Map<String, String> metadata) {
             this.metadata = metadata;
             return (B) this;
@@ -0,0 +1,97 @@
+package com.novacomp.notifications.core;
+
+/**
+ * Id de 128 bits con formato ULID: 48 bits de timestamp (ms desde epoch)
+ * seguidos de 80 bits aleatorios. La forma de texto (26 caracteres en base32
+ * de Crockford) se construye recien la primera vez que se pide y ordena
+ * igual que el valor binario, asi que los ids ordenan por momento de creacion.
+ */
+public final class NotificationId implements Comparable<NotificationId> {
+
+    private static final char[] CROCKFORD = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final long mostSignificantBits;
+    private final long leastSignificantBits;
+    // Cache perezoso; una carrera solo lo calcula dos veces con el mismo resultado.
+    private String text;
+
+    public NotificationId(long mostSignificantBits, long leastSignificantBits) {
+        this.mostSignificantBits = mostSignificantBits;
+        this.leastSignificantBits = leastSignificantBits;
+    }
+
+    public long getMostSignificantBits() {
+        return mostSignificantBits;
+    }
+
+    public long getLeastSignificantBits() {
+        return leastSignificantBits;
+    }
+
+    /** Momento de creacion (ms desde epoch) codificado en los 48 bits altos. */
+    public long getTimestampMillis() {
+        return mostSignificantBits >>> 16;
+    }
+
+    /** Los 128 bits como 32 caracteres hexadecimales en minuscula. */
+    public String toHexString() {
+        char[] chars = new char[32];
+        for (int i = 0; i < 16; i++) {
+            chars[i] = HEX[(int) (mostSignificantBits >>> (60 - 4 * i)) & 0xF];
+            chars[16 + i] = HEX[(int) (leastSignificantBits >>> (60 - 4 * i)) & 0xF];
+        }
+        return new String(chars);
+    }
+
+    @Override
+    public String toString() {
+        String result = text;
+        if (result == null) {
+            char[] chars = new char[26];
+            // 26 grupos de 5 bits desde el menos significativo; el primero solo tiene 3.
+            for (int group = 0; group < 26; group++) {
+                chars[25 - group] = CROCKFORD[fiveBitsAt(group * 5)];
+            }
+            result = new String(chars);
+            text = result;
+        }
+        return result;
+    }
+
+    @Override
+    public int compareTo(NotificationId other) {
+        int byHigh = Long.compareUnsigned(mostSignificantBits, other.mostSignificantBits);
+        return byHigh != 0 ? byHigh : Long.compareUnsigned(leastSignificantBits, other.leastSignificantBits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NotificationId)) {
+            return false;
+        }
+        NotificationId other = (NotificationId) o;
+        return mostSignificantBits == other.mostSignificantBits
+                && leastSignificantBits == other.leastSignificantBits;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(mostSignificantBits) * 31 + Long.hashCode(leastSignificantBits);
+    }
+
+    private int fiveBitsAt(int shift) {
+        long bits;
+        if (shift >= 64) {
+            bits = mostSignificantBits >>> (shift - 64);
+        } else if (shift > 59) {
+            bits = (leastSignificantBits >>> shift) | (mostSignificantBits << (64 - shift));
+        } else {
+            bits = leastSignificantBits >>> shift;
+        }
+        return (int) bits & 0x1F;
+    }
+}
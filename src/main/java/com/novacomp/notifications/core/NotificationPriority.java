@@ -0,0 +1,15 @@
+package com.novacomp.notifications.core;
+
+/**
+ * Prioridad de despacho de una notificacion. Solo tiene efecto si el
+ * servicio se construyo con {@code withPriorityLanes(...)}: cada prioridad
+ * tiene su propia cola y las transaccionales no esperan detras de una campana.
+ */
+public enum NotificationPriority {
+    /** Transaccionales sensibles a la latencia: OTP, reseteo de password, alertas. */
+    HIGH,
+    /** Default. */
+    NORMAL,
+    /** Masivas / marketing: usan la capacidad que dejan libre las demas. */
+    LOW
+}
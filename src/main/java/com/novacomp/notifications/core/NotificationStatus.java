@@ -5,5 +5,7 @@ public enum NotificationStatus {
     PENDING,
     SENT,
     FAILED,
-    RETRYING
+    RETRYING,
+    /** No se envio porque el destinatario esta en la lista de supresion (rebote o baja previa). */
+    SUPPRESSED
 }
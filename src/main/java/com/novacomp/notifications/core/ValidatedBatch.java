@@ -0,0 +1,76 @@
+package com.novacomp.notifications.core;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de validar un lote antes de enviarlo: las notificaciones validas
+ * (listas para sendBatch / sendBulk / sendStream) y un error por cada item
+ * invalido, ambas en el orden del lote original.
+ *
+ * @param <T> tipo de las notificaciones del lote
+ */
+public final class ValidatedBatch<T extends Notification> {
+
+    private final List<T> valid;
+    private final List<Invalid<T>> invalid;
+
+    public ValidatedBatch(List<T> valid, List<Invalid<T>> invalid) {
+        this.valid = Collections.unmodifiableList(valid);
+        this.invalid = Collections.unmodifiableList(invalid);
+    }
+
+    public List<T> getValid() {
+        return valid;
+    }
+
+    public List<Invalid<T>> getInvalid() {
+        return invalid;
+    }
+
+    public boolean isAllValid() {
+        return invalid.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return "ValidatedBatch{" +
+                "valid=" + valid.size() +
+                ", invalid=" + invalid.size() +
+                '}';
+    }
+
+    /** Un item invalido: su posicion en el lote original, la notificacion y el motivo. */
+    public static final class Invalid<T extends Notification> {
+
+        private final int index;
+        private final T notification;
+        private final String reason;
+
+        public Invalid(int index, T notification, String reason) {
+            this.index = index;
+            this.notification = notification;
+            this.reason = reason;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        public T getNotification() {
+            return notification;
+        }
+
+        public String getReason() {
+            return reason;
+        }
+
+        @Override
+        public String toString() {
+            return "Invalid{" +
+                    "index=" + index +
+                    ", reason='" + reason + '\'' +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.novacomp.notifications.event;
+
+import com.novacomp.notifications.config.AsyncDispatchPolicy;
+import com.novacomp.notifications.jfr.ListenerDispatchEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffer circular acotado y sin locks para el dispatch asincrono de eventos
+ * (estilo Disruptor). Los productores (hilos que envian) reservan una
+ * secuencia con CAS y publican el evento en su slot; cada listener tiene su
+ * propio hilo consumidor con su propio cursor, asi un listener lento solo
+ * atrasa su cursor y no a los demas ni al envio (salvo con
+ * {@link OverflowPolicy#BLOCK}, cuando el buffer se llena).
+ *
+ * Cada slot guarda la secuencia junto con el evento: un consumidor sabe que
+ * el slot esta listo cuando su secuencia coincide con la que espera, y que
+ * fue pisado (DROP_OLDEST) cuando es mayor.
+ */
+final class EventRingBuffer {
+
+    private static final Logger log = LoggerFactory.getLogger(EventRingBuffer.class);
+
+    private static final int SPINS_BEFORE_PARK = 100;
+    private static final long BLOCKED_PRODUCER_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+    private static final long CLOSE_TIMEOUT_MILLIS = 5_000;
+
+    private final AtomicReferenceArray<Slot> slots;
+    private final int capacity;
+    private final int mask;
+    private final int maxBatchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final int sampleRate;
+
+    private final AtomicLong next = new AtomicLong();
+    private final AtomicLong sampleCounter = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final List<Consumer> consumers = new CopyOnWriteArrayList<>();
+    private final AtomicInteger threadIds = new AtomicInteger();
+    private volatile boolean closed;
+
+    EventRingBuffer(AsyncDispatchPolicy policy) {
+        this.capacity = policy.getBufferSize();
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.maxBatchSize = policy.getMaxBatchSize();
+        this.overflowPolicy = policy.getOverflowPolicy();
+        this.sampleRate = policy.getSampleRate();
+    }
+
+    void publish(NotificationEvent event) {
+        if (closed) {
+            dropped.increment();
+            return;
+        }
+        long seq = overflowPolicy == OverflowPolicy.DROP_OLDEST ? next.getAndIncrement() : claim();
+        if (seq < 0 || !store(seq, event)) {
+            dropped.increment();
+            return;
+        }
+        for (Consumer consumer : consumers) {
+            consumer.wakeUpIfWaiting();
+        }
+    }
+
+    /** El listener recibe los eventos publicados desde ahora en su propio hilo. */
+    void subscribe(NotificationEventListener listener) {
+        Consumer consumer = new Consumer(listener, next.get());
+        consumers.add(consumer);
+        consumer.thread.start();
+    }
+
+    /** Deja de entregarle eventos; lo que ya tenia en el lote en curso se entrega igual. */
+    void unsubscribe(NotificationEventListener listener) {
+        for (Consumer consumer : consumers) {
+            if (consumer.listener == listener) {
+                consumers.remove(consumer);
+                consumer.stop();
+            }
+        }
+    }
+
+    long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /** Deja de aceptar eventos y espera que cada listener termine de procesar los pendientes. */
+    void close() {
+        closed = true;
+        for (Consumer consumer : consumers) {
+            consumer.stop();
+        }
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join(CLOSE_TIMEOUT_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /** Reserva la proxima secuencia si hay lugar (BLOCK espera; SAMPLE descarta y devuelve -1). */
+    private long claim() {
+        int attempts = 0;
+        while (true) {
+            long seq = next.get();
+            long used = seq - slowestConsumer(seq);
+            if (used >= capacity) {
+                if (overflowPolicy == OverflowPolicy.SAMPLE || closed) {
+                    return -1;
+                }
+                if (++attempts < SPINS_BEFORE_PARK) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(BLOCKED_PRODUCER_PARK_NANOS);
+                }
+                continue;
+            }
+            if (overflowPolicy == OverflowPolicy.SAMPLE && used >= capacity / 2
+                    && sampleCounter.getAndIncrement() % sampleRate != 0) {
+                return -1;
+            }
+            if (next.compareAndSet(seq, seq + 1)) {
+                return seq;
+            }
+        }
+    }
+
+    private boolean store(long seq, NotificationEvent event) {
+        int index = (int) seq & mask;
+        Slot slot = new Slot(seq, event);
+        if (overflowPolicy != OverflowPolicy.DROP_OLDEST) {
+            // claim() garantizo que todos los consumidores ya pasaron por este slot.
+            slots.set(index, slot);
+            return true;
+        }
+        while (true) {
+            Slot current = slots.get(index);
+            if (current != null && current.seq > seq) {
+                // Otro productor ya escribio una vuelta mas nueva en este slot.
+                return false;
+            }
+            if (slots.compareAndSet(index, current, slot)) {
+                return true;
+            }
+        }
+    }
+
+    private long slowestConsumer(long defaultValue) {
+        long slowest = defaultValue;
+        for (Consumer consumer : consumers) {
+            slowest = Math.min(slowest, consumer.sequence.get());
+        }
+        return slowest;
+    }
+
+    private static final class Slot {
+        private final long seq;
+        private final NotificationEvent event;
+
+        private Slot(long seq, NotificationEvent event) {
+            this.seq = seq;
+            this.event = event;
+        }
+    }
+
+    private final class Consumer implements Runnable {
+        private final NotificationEventListener listener;
+        /** Proxima secuencia a leer; todo lo anterior ya fue copiado fuera del buffer. */
+        private final AtomicLong sequence;
+        private final Thread thread;
+        private volatile boolean waiting;
+        private volatile boolean running = true;
+
+        private Consumer(NotificationEventListener listener, long startSequence) {
+            this.listener = listener;
+            this.sequence = new AtomicLong(startSequence);
+            this.thread = new Thread(this, "notifications-events-" + threadIds.incrementAndGet());
+            thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            List<NotificationEvent> batch = new ArrayList<>(maxBatchSize);
+            long seq = sequence.get();
+            while (true) {
+                seq = collect(seq, batch);
+                if (batch.isEmpty()) {
+                    if (!running) {
+                        return;
+                    }
+                    awaitEvent(seq);
+                    continue;
+                }
+                // Se libera el lugar antes de llamar al listener: los eventos ya estan copiados.
+                sequence.set(seq);
+                deliver(List.copyOf(batch));
+                batch.clear();
+            }
+        }
+
+        private long collect(long from, List<NotificationEvent> batch) {
+            long seq = from;
+            while (batch.size() < maxBatchSize) {
+                Slot slot = slots.get((int) seq & mask);
+                if (slot == null || slot.seq < seq) {
+                    break;
+                }
+                if (slot.seq == seq) {
+                    batch.add(slot.event);
+                } else {
+                    // DROP_OLDEST piso este evento antes de que lo leyeramos.
+                    dropped.increment();
+                }
+                seq++;
+            }
+            if (seq != from && batch.isEmpty()) {
+                sequence.set(seq);
+            }
+            return seq;
+        }
+
+        private void awaitEvent(long seq) {
+            for (int i = 0; i < SPINS_BEFORE_PARK; i++) {
+                if (isAvailable(seq) || !running) {
+                    return;
+                }
+                Thread.onSpinWait();
+            }
+            waiting = true;
+            // Re-chequeo despues de marcar "waiting": o lo ve este hilo o el productor lo despierta.
+            if (!isAvailable(seq) && running) {
+                LockSupport.park(this);
+            }
+            waiting = false;
+        }
+
+        private boolean isAvailable(long seq) {
+            Slot slot = slots.get((int) seq & mask);
+            return slot != null && slot.seq >= seq;
+        }
+
+        private void deliver(List<NotificationEvent> events) {
+            ListenerDispatchEvent dispatchEvent = new ListenerDispatchEvent();
+            dispatchEvent.begin();
+            boolean failed = false;
+            try {
+                listener.onEvents(events);
+            } catch (RuntimeException e) {
+                failed = true;
+                log.warn("Un listener de eventos fallo procesando un lote de {} eventos: {}",
+                        events.size(), e.getMessage());
+            }
+            dispatchEvent.complete(listener, events.size(), true, failed);
+        }
+
+        void wakeUpIfWaiting() {
+            if (waiting) {
+                LockSupport.unpark(thread);
+            }
+        }
+
+        void stop() {
+            running = false;
+            LockSupport.unpark(thread);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.novacomp.notifications.event;
 
+import java.util.List;
+
 /**
  * Suscriptor (patron Observer) que quiere enterarse de cambios de estado de
  * notificaciones -- por ejemplo, para actualizar un dashboard, escribir
@@ -9,4 +11,15 @@ package com.novacomp.notifications.event;
 public interface NotificationEventListener {
 
     void onEvent(NotificationEvent event);
+
+    /**
+     * Con dispatch asincrono los eventos llegan en lotes, en orden de
+     * publicacion. Un listener que escribe a una base de datos o a un log de
+     * auditoria puede sobreescribirlo para hacer una sola escritura por lote.
+     */
+    default void onEvents(List<NotificationEvent> events) {
+        for (NotificationEvent event : events) {
+            onEvent(event);
+        }
+    }
 }
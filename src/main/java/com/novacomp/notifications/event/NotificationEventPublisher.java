@@ -1,5 +1,7 @@
 package com.novacomp.notifications.event;
 
+import com.novacomp.notifications.config.AsyncDispatchPolicy;
+import com.novacomp.notifications.jfr.ListenerDispatchEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -13,28 +15,82 @@ import java.util.concurrent.CopyOnWriteArrayList;
  *
  * Un listener que lanza una excepcion no debe tumbar el envio de la
  * notificacion en si, por eso cada notificacion a listeners se aisla.
+ *
+ * Por defecto los listeners corren en el mismo hilo del envio, asi que un
+ * listener lento suma a la latencia de send(). Con
+ * {@link #NotificationEventPublisher(AsyncDispatchPolicy)} publicar solo deja
+ * el evento en un buffer circular y cada listener lo procesa en su propio
+ * hilo, en lotes ({@link NotificationEventListener#onEvents(List)}).
+ *
+ * Cada llamada a un listener emite un evento JFR ListenerDispatch, util
+ * para ver cuanto tiempo del envio se va en listeners sincronos.
  */
-public class NotificationEventPublisher {
+public class NotificationEventPublisher implements AutoCloseable {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationEventPublisher.class);
 
     private final List<NotificationEventListener> listeners = new CopyOnWriteArrayList<>();
+    private final EventRingBuffer ringBuffer;
+
+    /** Dispatch sincrono: cada listener corre en el hilo que publica. */
+    public NotificationEventPublisher() {
+        this.ringBuffer = null;
+    }
+
+    /** Dispatch asincrono y en lotes, un hilo por listener. Liberar con {@link #close()}. */
+    public NotificationEventPublisher(AsyncDispatchPolicy policy) {
+        this.ringBuffer = new EventRingBuffer(policy);
+    }
 
     public void subscribe(NotificationEventListener listener) {
-        listeners.add(listener);
+        if (ringBuffer != null) {
+            ringBuffer.subscribe(listener);
+        } else {
+            listeners.add(listener);
+        }
     }
 
     public void unsubscribe(NotificationEventListener listener) {
-        listeners.remove(listener);
+        if (ringBuffer != null) {
+            ringBuffer.unsubscribe(listener);
+        } else {
+            listeners.remove(listener);
+        }
     }
 
     public void publish(NotificationEvent event) {
+        if (ringBuffer != null) {
+            ringBuffer.publish(event);
+            return;
+        }
         for (NotificationEventListener listener : listeners) {
+            ListenerDispatchEvent dispatchEvent = new ListenerDispatchEvent();
+            dispatchEvent.begin();
+            boolean failed = false;
             try {
                 listener.onEvent(event);
             } catch (RuntimeException e) {
+                failed = true;
                 log.warn("Un listener de eventos fallo procesando {}: {}", event, e.getMessage());
             }
+            dispatchEvent.complete(listener, 1, false, failed);
+        }
+    }
+
+    /**
+     * Eventos que algun listener no recibio por la politica de overflow
+     * (DROP_OLDEST / SAMPLE) o por publicarse despues de {@link #close()}.
+     * Siempre 0 en modo sincrono.
+     */
+    public long getDroppedCount() {
+        return ringBuffer == null ? 0 : ringBuffer.getDroppedCount();
+    }
+
+    /** En modo asincrono, espera a que los listeners procesen lo pendiente y detiene sus hilos. */
+    @Override
+    public void close() {
+        if (ringBuffer != null) {
+            ringBuffer.close();
         }
     }
 }
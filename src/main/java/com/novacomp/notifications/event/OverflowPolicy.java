@@ -0,0 +1,18 @@
+package com.novacomp.notifications.event;
+
+/**
+ * Que hace el dispatch asincrono de eventos cuando algun listener no da
+ * abasto y el buffer circular se llena.
+ */
+public enum OverflowPolicy {
+    /** El hilo que envia espera a que el listener mas lento libere lugar. No se pierden eventos. */
+    BLOCK,
+    /** Nunca bloquea: el evento nuevo pisa al mas viejo; el listener atrasado se saltea los pisados. */
+    DROP_OLDEST,
+    /**
+     * Nunca bloquea: con el buffer por encima de la mitad solo entra 1 de
+     * cada {@code sampleRate} eventos, y con el buffer lleno se descartan.
+     * Los listeners siguen viendo una muestra representativa.
+     */
+    SAMPLE
+}
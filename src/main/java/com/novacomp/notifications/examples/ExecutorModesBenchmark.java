@@ -0,0 +1,77 @@
+package com.novacomp.notifications.examples;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.service.NotificationService;
+import com.novacomp.notifications.service.NotificationServiceBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.UnaryOperator;
+
+/**
+ * Compara el throughput de sendAsync con cada modo de executor del
+ * {@link NotificationServiceBuilder} contra un proveedor con latencia fija.
+ *
+ * <pre>
+ *   java -cp target/notifications-lib-1.0.0.jar \
+ *        com.novacomp.notifications.examples.ExecutorModesBenchmark [envios] [latenciaMs]
+ * </pre>
+ *
+ * Defaults: 10.000 envios en vuelo, 50 ms de latencia. El modo commonPool se
+ * mide con una muestra menor (a lo sumo 1.000 envios) porque con tan pocos
+ * hilos tardaria minutos; el throughput (envios/s) sigue siendo comparable.
+ */
+public final class ExecutorModesBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(ExecutorModesBenchmark.class);
+
+    private static final int COMMON_POOL_MAX_SAMPLE = 1_000;
+
+    private ExecutorModesBenchmark() {
+    }
+
+    public static void main(String[] args) {
+        int inFlight = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        long latencyMillis = args.length > 1 ? Long.parseLong(args[1]) : 50;
+
+        run("virtual threads", inFlight, latencyMillis, NotificationServiceBuilder::withVirtualThreads);
+        run("pool de plataforma (200 hilos/canal)", inFlight, latencyMillis,
+                builder -> builder.withPlatformPoolPerChannel(200));
+        run("ForkJoinPool.commonPool (default)", Math.min(inFlight, COMMON_POOL_MAX_SAMPLE), latencyMillis,
+                UnaryOperator.identity());
+    }
+
+    private static void run(String mode, int inFlight, long latencyMillis,
+                            UnaryOperator<NotificationServiceBuilder> executorMode) {
+        try (NotificationService service = executorMode.apply(NotificationServiceBuilder.create())
+                .registerEmailSender(new LatencySimulatingEmailProvider(latencyMillis))
+                .build()) {
+
+            List<EmailNotification> emails = new ArrayList<>(inFlight);
+            for (int i = 0; i < inFlight; i++) {
+                emails.add(EmailNotification.builder()
+                        .recipient("cliente" + i + "@dominio.com")
+                        .subject("Benchmark")
+                        .message("Mensaje " + i)
+                        .build());
+            }
+
+            long start = System.nanoTime();
+            List<CompletableFuture<NotificationResult>> futures = new ArrayList<>(inFlight);
+            for (EmailNotification email : emails) {
+                futures.add(service.sendAsync(email));
+            }
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            log.info("[{}] {} envios con {} ms de latencia en {} s -> {} envios/s",
+                    mode, inFlight, latencyMillis,
+                    String.format("%.2f", elapsedSeconds),
+                    String.format("%.0f", inFlight / elapsedSeconds));
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.novacomp.notifications.examples;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.email.EmailProvider;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Proveedor de ejemplo que simula la latencia de red de una API real
+ * bloqueando el hilo que llama durante un tiempo fijo. Usado SOLO por
+ * {@link ExecutorModesBenchmark}; no forma parte de la libreria en si.
+ */
+public class LatencySimulatingEmailProvider implements EmailProvider {
+
+    private final long latencyNanos;
+
+    public LatencySimulatingEmailProvider(long latencyMillis) {
+        this.latencyNanos = latencyMillis * 1_000_000L;
+    }
+
+    @Override
+    public ProviderResponse send(EmailNotification notification) {
+        LockSupport.parkNanos(latencyNanos);
+        return ProviderResponse.success("sim_" + notification.getId());
+    }
+
+    @Override
+    public String getProviderName() {
+        return "Simulated (latencia fija)";
+    }
+}
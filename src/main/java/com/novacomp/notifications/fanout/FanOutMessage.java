@@ -0,0 +1,165 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationPriority;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Mensaje neutro de canal para un fan-out: un titulo (subject del email,
+ * title del push) y un cuerpo, ambos con placeholders {{variable}}. Cada
+ * canal puede usar en cambio un template propio del TemplateRegistry del
+ * servicio ({@link Builder#template(NotificationChannel, String)}), ej. un
+ * cuerpo largo para email y uno corto para SMS.
+ *
+ * <pre>
+ * FanOutMessage alerta = FanOutMessage.builder()
+ *         .title("Alerta de seguridad")
+ *         .message("Hola {{nombre}}, detectamos un ingreso desde {{ciudad}}.")
+ *         .template(NotificationChannel.EMAIL, "email.alerta-seguridad")
+ *         .variable("ciudad", "Lima")
+ *         .firstSuccessWins(true)
+ *         .build();
+ * </pre>
+ */
+public final class FanOutMessage {
+
+    private final String title;
+    private final String message;
+    private final Map<NotificationChannel, String> templateIds;
+    private final Map<String, String> variables;
+    private final Map<String, String> data;
+    private final Set<NotificationChannel> channels;
+    private final NotificationPriority priority;
+    private final boolean firstSuccessWins;
+
+    private FanOutMessage(Builder builder) {
+        this.title = Objects.requireNonNull(builder.title, "title es obligatorio");
+        this.message = Objects.requireNonNull(builder.message, "message es obligatorio");
+        this.templateIds = Collections.unmodifiableMap(new EnumMap<>(builder.templateIds));
+        this.variables = Collections.unmodifiableMap(new HashMap<>(builder.variables));
+        this.data = Collections.unmodifiableMap(new HashMap<>(builder.data));
+        this.channels = Collections.unmodifiableSet(builder.channels.isEmpty()
+                ? EnumSet.noneOf(NotificationChannel.class)
+                : EnumSet.copyOf(builder.channels));
+        this.priority = builder.priority;
+        this.firstSuccessWins = builder.firstSuccessWins;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /** Id del template para {@code channel}, o null si ese canal usa {@link #getMessage()}. */
+    public String getTemplateId(NotificationChannel channel) {
+        return templateIds.get(channel);
+    }
+
+    public Map<String, String> getVariables() {
+        return variables;
+    }
+
+    /** Payload de datos para el push. */
+    public Map<String, String> getData() {
+        return data;
+    }
+
+    /** Canales pedidos explicitamente; vacio = todos los del destinatario que el servicio soporta. */
+    public Set<NotificationChannel> getChannels() {
+        return channels;
+    }
+
+    public NotificationPriority getPriority() {
+        return priority;
+    }
+
+    public boolean isFirstSuccessWins() {
+        return firstSuccessWins;
+    }
+
+    public static final class Builder {
+        private String title;
+        private String message;
+        private final Map<NotificationChannel, String> templateIds = new EnumMap<>(NotificationChannel.class);
+        private final Map<String, String> variables = new HashMap<>();
+        private final Map<String, String> data = new HashMap<>();
+        private final Set<NotificationChannel> channels = EnumSet.noneOf(NotificationChannel.class);
+        private NotificationPriority priority = NotificationPriority.NORMAL;
+        private boolean firstSuccessWins;
+
+        public Builder title(String title) {
+            this.title = title;
+            return this;
+        }
+
+        public Builder message(String message) {
+            this.message = message;
+            return this;
+        }
+
+        /** El cuerpo de {@code channel} sale del template {@code templateId} en vez de {@link #message(String)}. */
+        public Builder template(NotificationChannel channel, String templateId) {
+            templateIds.put(Objects.requireNonNull(channel), Objects.requireNonNull(templateId));
+            return this;
+        }
+
+        public Builder variable(String name, String value) {
+            variables.put(Objects.requireNonNull(name), value);
+            return this;
+        }
+
+        public Builder variables(Map<String, String> variables) {
+            this.variables.putAll(variables);
+            return this;
+        }
+
+        public Builder data(Map<String, String> data) {
+            this.data.putAll(data);
+            return this;
+        }
+
+        /**
+         * Limita el fan-out a estos canales. Un canal pedido sin direccion en
+         * el destinatario o sin sender registrado es un error.
+         */
+        public Builder channels(NotificationChannel... channels) {
+            this.channels.clear();
+            Collections.addAll(this.channels, channels);
+            return this;
+        }
+
+        public Builder priority(NotificationPriority priority) {
+            this.priority = Objects.requireNonNull(priority, "priority no puede ser null");
+            return this;
+        }
+
+        /**
+         * Con true, el primer canal que entrega cancela a los demas: los que
+         * todavia esperan en el executor o en una priority lane no se envian;
+         * los que ya estan en el proveedor terminan, pero su resultado se
+         * descarta. Default false (se espera a todos).
+         */
+        public Builder firstSuccessWins(boolean firstSuccessWins) {
+            this.firstSuccessWins = firstSuccessWins;
+            return this;
+        }
+
+        public FanOutMessage build() {
+            return new FanOutMessage(this);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Resultado agregado de un fan-out: el NotificationResult de cada canal que
+ * termino (SENT o FAILED), los canales cancelados por "first success wins"
+ * y el primer canal que entrego.
+ */
+public final class FanOutResult {
+
+    private final Map<NotificationChannel, NotificationResult> results;
+    private final Set<NotificationChannel> cancelled;
+    private final NotificationChannel deliveredBy;
+
+    public FanOutResult(Map<NotificationChannel, NotificationResult> results,
+                        Set<NotificationChannel> cancelled,
+                        NotificationChannel deliveredBy) {
+        this.results = Collections.unmodifiableMap(results.isEmpty()
+                ? new EnumMap<>(NotificationChannel.class)
+                : new EnumMap<>(results));
+        this.cancelled = Collections.unmodifiableSet(cancelled.isEmpty()
+                ? EnumSet.noneOf(NotificationChannel.class)
+                : EnumSet.copyOf(cancelled));
+        this.deliveredBy = deliveredBy;
+    }
+
+    /** Resultado por canal, sin los cancelados. */
+    public Map<NotificationChannel, NotificationResult> getResults() {
+        return results;
+    }
+
+    /** Resultado de {@code channel}, o null si fue cancelado o no participo. */
+    public NotificationResult getResult(NotificationChannel channel) {
+        return results.get(channel);
+    }
+
+    /**
+     * Canales cuyo envio se cancelo porque otro entrego antes. Si ya estaban
+     * en el proveedor pueden haberse entregado igual; su resultado no se espero.
+     */
+    public Set<NotificationChannel> getCancelled() {
+        return cancelled;
+    }
+
+    /** true si al menos un canal entrego. */
+    public boolean isDelivered() {
+        return deliveredBy != null;
+    }
+
+    /** Primer canal que termino con SENT, o null. */
+    public NotificationChannel getDeliveredBy() {
+        return deliveredBy;
+    }
+
+    @Override
+    public String toString() {
+        return "FanOutResult{" +
+                "deliveredBy=" + deliveredBy +
+                ", results=" + results.keySet() +
+                ", cancelled=" + cancelled +
+                '}';
+    }
+}
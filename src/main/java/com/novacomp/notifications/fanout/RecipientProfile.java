@@ -0,0 +1,94 @@
+package com.novacomp.notifications.fanout;
+
+import com.novacomp.notifications.core.NotificationChannel;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Las direcciones de un usuario en cada canal (email, telefono, token push,
+ * canal de Slack) y sus variables de template (ej. "nombre"), para un
+ * fan-out con {@code NotificationService.fanOut(...)}. Un canal sin direccion
+ * no participa del fan-out.
+ */
+public final class RecipientProfile {
+
+    private final Map<NotificationChannel, String> addresses;
+    private final Map<String, String> variables;
+
+    private RecipientProfile(Builder builder) {
+        this.addresses = Collections.unmodifiableMap(new EnumMap<>(builder.addresses));
+        this.variables = Collections.unmodifiableMap(new HashMap<>(builder.variables));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Direccion del usuario en {@code channel}, o null si no tiene. */
+    public String getAddress(NotificationChannel channel) {
+        return addresses.get(channel);
+    }
+
+    /** Canales en los que el usuario tiene direccion, en el orden del enum. */
+    public Set<NotificationChannel> getChannels() {
+        return addresses.isEmpty() ? EnumSet.noneOf(NotificationChannel.class) : EnumSet.copyOf(addresses.keySet());
+    }
+
+    public Map<String, String> getVariables() {
+        return variables;
+    }
+
+    public static final class Builder {
+        private final Map<NotificationChannel, String> addresses = new EnumMap<>(NotificationChannel.class);
+        private final Map<String, String> variables = new HashMap<>();
+
+        public Builder email(String email) {
+            return address(NotificationChannel.EMAIL, email);
+        }
+
+        /** Telefono en formato E.164. */
+        public Builder phone(String phone) {
+            return address(NotificationChannel.SMS, phone);
+        }
+
+        public Builder pushToken(String pushToken) {
+            return address(NotificationChannel.PUSH, pushToken);
+        }
+
+        /** Canal o usuario de Slack (ej. "#alertas", "@ana"). */
+        public Builder slackChannel(String slackChannel) {
+            return address(NotificationChannel.SLACK, slackChannel);
+        }
+
+        public Builder address(NotificationChannel channel, String address) {
+            Objects.requireNonNull(channel, "channel no puede ser null");
+            if (address == null) {
+                addresses.remove(channel);
+            } else {
+                addresses.put(channel, address);
+            }
+            return this;
+        }
+
+        /** Variable de template propia del usuario; las del mensaje tienen precedencia. */
+        public Builder variable(String name, String value) {
+            variables.put(Objects.requireNonNull(name), value);
+            return this;
+        }
+
+        public Builder variables(Map<String, String> variables) {
+            this.variables.putAll(variables);
+            return this;
+        }
+
+        public RecipientProfile build() {
+            return new RecipientProfile(this);
+        }
+    }
+}
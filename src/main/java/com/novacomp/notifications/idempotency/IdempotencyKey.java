@@ -0,0 +1,56 @@
+package com.novacomp.notifications.idempotency;
+
+import com.novacomp.notifications.core.Notification;
+
+/**
+ * Como se decide que dos envios son "el mismo" para la deduplicacion. La
+ * clave es un hash de 64 bits (no el texto) para que la ventana ocupe poca
+ * memoria por entrada; con decenas de millones de claves la probabilidad de
+ * una colision sigue siendo del orden de 1 en 100.000.
+ */
+public enum IdempotencyKey {
+
+    /** El mismo {@link Notification#getId()}: el llamador reintento el mismo envio. */
+    NOTIFICATION_ID {
+        @Override
+        public long of(Notification notification) {
+            return finish(hash(FNV_OFFSET, notification.getId()));
+        }
+    },
+
+    /** Mismo canal, destinatario y mensaje, aunque el id sea distinto (ej. dos servicios). */
+    CONTENT {
+        @Override
+        public long of(Notification notification) {
+            long hash = hash(FNV_OFFSET, notification.getChannel().name());
+            hash = hash(hash, notification.getRecipient());
+            return finish(hash(hash, notification.getMessage()));
+        }
+    };
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public abstract long of(Notification notification);
+
+    /** FNV-1a sobre los chars, con un separador para que ("ab","c") != ("a","bc"). */
+    private static long hash(long seed, String value) {
+        long hash = seed;
+        for (int i = 0; i < value.length(); i++) {
+            hash = (hash ^ value.charAt(i)) * FNV_PRIME;
+        }
+        return (hash ^ 0xFFFF) * FNV_PRIME;
+    }
+
+    /** Finalizador de MurmurHash3: reparte bien los bits altos, que se usan para elegir el stripe. */
+    private static long finish(long hash) {
+        long h = hash;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        // 0 marca un slot vacio en la tabla de la ventana.
+        return h == 0 ? 1 : h;
+    }
+}
@@ -0,0 +1,280 @@
+package com.novacomp.notifications.idempotency;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Conjunto concurrente de claves de 64 bits (ver {@link IdempotencyKey}) que
+ * recuerda cada clave durante una ventana de tiempo, junto con un valor (el
+ * resultado del envio original).
+ *
+ * La ventana se divide en {@code buckets} generaciones de igual duracion.
+ * Las claves nuevas entran en la generacion actual y una busqueda revisa
+ * solo las generaciones vivas. Cuando el tiempo avanza, la generacion mas
+ * vieja se reemplaza entera: expirar es O(1) y no hay timestamps ni hilos de
+ * limpieza por entrada. Una clave vive entre {@code windowMillis - bucket} y
+ * {@code windowMillis}.
+ *
+ * Cada generacion son {@code stripes} tablas de direccionamiento abierto con
+ * claves {@code long} primitivas (sin boxing ni nodos): ~12 bytes por entrada
+ * mas el valor, cada tabla con su propio lock.
+ */
+public final class IdempotencyWindow {
+
+    private final long bucketMillis;
+    private final int buckets;
+    private final int stripes;
+    private final LongSupplier clock;
+    private final AtomicReferenceArray<Generation> generations;
+
+    private IdempotencyWindow(Builder builder) {
+        if (builder.buckets <= 0 || builder.windowMillis < builder.buckets) {
+            throw new IllegalArgumentException("windowMillis debe ser >= buckets > 0");
+        }
+        if (builder.stripes <= 0 || Integer.bitCount(builder.stripes) != 1) {
+            throw new IllegalArgumentException("stripes debe ser una potencia de 2");
+        }
+        this.bucketMillis = builder.windowMillis / builder.buckets;
+        this.buckets = builder.buckets;
+        this.stripes = builder.stripes;
+        this.clock = builder.clock;
+        this.generations = new AtomicReferenceArray<>(buckets);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Registra {@code value} para la clave si no estaba en la ventana.
+     *
+     * @return el valor ya registrado para la clave, o null si se registro {@code value}
+     */
+    public Object putIfAbsent(long key, Object value) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        for (int age = buckets - 1; age >= 1; age--) {
+            Generation generation = live(epoch - age);
+            if (generation != null) {
+                Object existing = generation.stripeFor(key).get(key);
+                if (existing != null) {
+                    return existing;
+                }
+            }
+        }
+        // En el borde entre dos generaciones dos hilos pueden registrar la misma
+        // clave a la vez (uno en cada una): deduplicacion best-effort en ese instante.
+        return current(epoch).stripeFor(key).putIfAbsent(key, value);
+    }
+
+    /** Reemplaza el valor de una clave presente (ej. el futuro en vuelo por su resultado). */
+    public void replace(long key, Object value) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        for (int age = 0; age < buckets; age++) {
+            Generation generation = live(epoch - age);
+            if (generation != null && generation.stripeFor(key).replace(key, value)) {
+                return;
+            }
+        }
+    }
+
+    /** Olvida la clave: el proximo envio con esa clave se considera nuevo. */
+    public void remove(long key) {
+        long epoch = clock.getAsLong() / bucketMillis;
+        for (int age = 0; age < buckets; age++) {
+            Generation generation = live(epoch - age);
+            if (generation != null && generation.stripeFor(key).remove(key)) {
+                return;
+            }
+        }
+    }
+
+    /** Claves vivas en la ventana (aproximado bajo concurrencia). */
+    public long size() {
+        long epoch = clock.getAsLong() / bucketMillis;
+        long size = 0;
+        for (int age = 0; age < buckets; age++) {
+            Generation generation = live(epoch - age);
+            if (generation != null) {
+                for (Stripe stripe : generation.stripes) {
+                    size += stripe.size();
+                }
+            }
+        }
+        return size;
+    }
+
+    private Generation live(long epoch) {
+        if (epoch < 0) {
+            return null;
+        }
+        Generation generation = generations.get((int) (epoch % buckets));
+        return generation != null && generation.epoch == epoch ? generation : null;
+    }
+
+    private Generation current(long epoch) {
+        int index = (int) (epoch % buckets);
+        while (true) {
+            Generation generation = generations.get(index);
+            if (generation != null && generation.epoch >= epoch) {
+                return generation;
+            }
+            // La generacion de hace 'buckets' periodos expiro: se descarta entera.
+            Generation fresh = new Generation(epoch, stripes);
+            if (generations.compareAndSet(index, generation, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    private static final class Generation {
+        private final long epoch;
+        private final Stripe[] stripes;
+
+        private Generation(long epoch, int stripeCount) {
+            this.epoch = epoch;
+            this.stripes = new Stripe[stripeCount];
+            for (int i = 0; i < stripeCount; i++) {
+                stripes[i] = new Stripe();
+            }
+        }
+
+        Stripe stripeFor(long key) {
+            return stripes[(int) (key >>> 32) & (stripes.length - 1)];
+        }
+    }
+
+    /** Tabla long -> Object con sondeo lineal; la clave 0 marca un slot vacio. */
+    private static final class Stripe {
+        private long[] keys = new long[16];
+        private Object[] values = new Object[16];
+        private int size;
+
+        synchronized Object get(long key) {
+            int index = indexOf(key);
+            return index < 0 ? null : values[index];
+        }
+
+        synchronized Object putIfAbsent(long key, Object value) {
+            int mask = keys.length - 1;
+            int index = (int) key & mask;
+            while (keys[index] != 0) {
+                if (keys[index] == key) {
+                    return values[index];
+                }
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            if (++size * 4 > keys.length * 3) {
+                grow();
+            }
+            return null;
+        }
+
+        synchronized boolean replace(long key, Object value) {
+            int index = indexOf(key);
+            if (index < 0) {
+                return false;
+            }
+            values[index] = value;
+            return true;
+        }
+
+        synchronized boolean remove(long key) {
+            int hole = indexOf(key);
+            if (hole < 0) {
+                return false;
+            }
+            // Borrado por corrimiento hacia atras: sin tombstones, las cadenas quedan contiguas.
+            int mask = keys.length - 1;
+            int index = hole;
+            while (true) {
+                index = (index + 1) & mask;
+                if (keys[index] == 0) {
+                    break;
+                }
+                int home = (int) keys[index] & mask;
+                boolean homeBetweenHoleAndIndex = hole <= index
+                        ? hole < home && home <= index
+                        : hole < home || home <= index;
+                if (!homeBetweenHoleAndIndex) {
+                    keys[hole] = keys[index];
+                    values[hole] = values[index];
+                    hole = index;
+                }
+            }
+            keys[hole] = 0;
+            values[hole] = null;
+            size--;
+            return true;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        private int indexOf(long key) {
+            int mask = keys.length - 1;
+            int index = (int) key & mask;
+            while (keys[index] != 0) {
+                if (keys[index] == key) {
+                    return index;
+                }
+                index = (index + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            Object[] oldValues = values;
+            keys = new long[oldKeys.length * 2];
+            values = new Object[oldKeys.length * 2];
+            int mask = keys.length - 1;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != 0) {
+                    int index = (int) oldKeys[i] & mask;
+                    while (keys[index] != 0) {
+                        index = (index + 1) & mask;
+                    }
+                    keys[index] = oldKeys[i];
+                    values[index] = oldValues[i];
+                }
+            }
+        }
+    }
+
+    public static final class Builder {
+        private long windowMillis = 10 * 60_000L;
+        private int buckets = 10;
+        private int stripes = 64;
+        private LongSupplier clock = System::currentTimeMillis;
+
+        /** Cuanto tiempo se recuerda cada clave. Default 10 minutos. */
+        public Builder windowMillis(long windowMillis) {
+            this.windowMillis = windowMillis;
+            return this;
+        }
+
+        /** Cantidad de generaciones en que se divide la ventana (granularidad de la expiracion). Default 10. */
+        public Builder buckets(int buckets) {
+            this.buckets = buckets;
+            return this;
+        }
+
+        /** Tablas independientes por generacion (potencia de 2): limita la contencion. Default 64. */
+        public Builder stripes(int stripes) {
+            this.stripes = stripes;
+            return this;
+        }
+
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        public IdempotencyWindow build() {
+            return new IdempotencyWindow(this);
+        }
+    }
+}
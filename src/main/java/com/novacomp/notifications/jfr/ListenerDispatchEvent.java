@@ -0,0 +1,44 @@
+package com.novacomp.notifications.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Una llamada a un NotificationEventListener: un evento en modo sincrono
+ * (dentro del hilo que envia) o un lote en modo asincrono (en el hilo del
+ * listener).
+ */
+@Name("com.novacomp.notifications.ListenerDispatch")
+@Label("Notification Listener Dispatch")
+@Category({"Notifications"})
+@Description("Entrega de eventos de estado a un listener")
+@StackTrace(false)
+public final class ListenerDispatchEvent extends Event {
+
+    @Label("Listener")
+    private String listener;
+
+    @Label("Event Count")
+    private int eventCount;
+
+    @Label("Async")
+    private boolean async;
+
+    @Label("Failed")
+    @Description("El listener lanzo una excepcion")
+    private boolean failed;
+
+    public void complete(Object listener, int eventCount, boolean async, boolean failed) {
+        if (shouldCommit()) {
+            this.listener = listener.getClass().getName();
+            this.eventCount = eventCount;
+            this.async = async;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.novacomp.notifications.jfr;
+
+import com.novacomp.notifications.core.NotificationChannel;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Una llamada al proveedor externo: un request, aun si lleva un lote bulk.
+ * Si el proveedor lanzo una excepcion el outcome es {@code ERROR}.
+ */
+@Name("com.novacomp.notifications.ProviderCall")
+@Label("Notification Provider Call")
+@Category({"Notifications"})
+@Description("Request a un proveedor externo (SendGrid, Twilio, FCM, Slack, ...)")
+@StackTrace(false)
+public final class ProviderCallEvent extends Event {
+
+    /** Outcome de una llamada que termino en excepcion. */
+    public static final String ERROR = "ERROR";
+
+    @Label("Channel")
+    private String channel;
+
+    @Label("Provider")
+    private String provider;
+
+    @Label("Batch Size")
+    private int batchSize;
+
+    @Label("Outcome")
+    @Description("SENT si todas las respuestas fueron exitosas, FAILED si alguna fallo, ERROR si hubo excepcion")
+    private String outcome;
+
+    public void complete(NotificationChannel channel, String provider, int batchSize, String outcome) {
+        if (shouldCommit()) {
+            this.channel = channel.name();
+            this.provider = provider;
+            this.batchSize = batchSize;
+            this.outcome = outcome;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.novacomp.notifications.jfr;
+
+import com.novacomp.notifications.core.Notification;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * Un intento dentro de RetryableNotificationSender. En sendAsync el evento
+ * empieza en el hilo que despacha el intento y se registra en el que lo
+ * completa.
+ */
+@Name("com.novacomp.notifications.RetryAttempt")
+@Label("Notification Retry Attempt")
+@Category({"Notifications"})
+@Description("Intento de envio hecho por el decorator de reintentos")
+@StackTrace(false)
+public final class RetryAttemptEvent extends Event {
+
+    /** Outcome de un intento cuyo envio termino en excepcion. */
+    public static final String ERROR = "ERROR";
+
+    @Label("Channel")
+    private String channel;
+
+    @Label("Notification Id")
+    private String notificationId;
+
+    @Label("Attempt")
+    private int attempt;
+
+    @Label("Max Attempts")
+    private int maxAttempts;
+
+    @Label("Outcome")
+    private String outcome;
+
+    @Label("Backoff")
+    @Description("Espera agendada antes del proximo intento; 0 si no hay otro")
+    @Timespan(Timespan.MILLISECONDS)
+    private long backoff;
+
+    public void complete(Notification notification, int attempt, int maxAttempts, String outcome,
+                         long backoffMillis) {
+        if (shouldCommit()) {
+            this.channel = notification.getChannel().name();
+            this.notificationId = notification.getId();
+            this.attempt = attempt;
+            this.maxAttempts = maxAttempts;
+            this.outcome = outcome;
+            this.backoff = backoffMillis;
+            commit();
+        }
+    }
+}
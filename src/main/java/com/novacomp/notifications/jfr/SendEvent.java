@@ -0,0 +1,49 @@
+package com.novacomp.notifications.jfr;
+
+import com.novacomp.notifications.core.NotificationResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Un envio individual en un sender (validacion + llamada al proveedor +
+ * publicacion del evento de estado). Lo emite
+ * {@link com.novacomp.notifications.sender.AbstractNotificationSender#send}.
+ */
+@Name("com.novacomp.notifications.Send")
+@Label("Notification Send")
+@Category({"Notifications"})
+@Description("Envio de una notificacion por un sender")
+@StackTrace(false)
+public final class SendEvent extends Event {
+
+    @Label("Channel")
+    private String channel;
+
+    @Label("Provider")
+    private String provider;
+
+    @Label("Notification Id")
+    private String notificationId;
+
+    @Label("Attempt")
+    private int attempt;
+
+    @Label("Outcome")
+    private String outcome;
+
+    /** Registra el evento si la grabacion lo pide; si no, no arma ningun string. */
+    public void complete(String provider, NotificationResult result) {
+        if (shouldCommit()) {
+            this.channel = result.getChannel().name();
+            this.provider = provider;
+            this.notificationId = result.getNotificationId();
+            this.attempt = result.getAttempts();
+            this.outcome = result.getStatus().name();
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.novacomp.notifications.jfr;
+
+import com.novacomp.notifications.core.NotificationChannel;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Una notificacion rechazada por el validador de su canal, antes de llamar al proveedor. */
+@Name("com.novacomp.notifications.ValidationFailure")
+@Label("Notification Validation Failure")
+@Category({"Notifications"})
+@Description("Notificacion rechazada por el validador del canal")
+public final class ValidationFailureEvent extends Event {
+
+    @Label("Channel")
+    private String channel;
+
+    @Label("Provider")
+    private String provider;
+
+    @Label("Notification Id")
+    private String notificationId;
+
+    @Label("Message")
+    private String message;
+
+    /** Evento instantaneo (sin duracion); conserva el stack trace para ubicar a quien envio. */
+    public static void emit(NotificationChannel channel, String provider, String notificationId, String message) {
+        ValidationFailureEvent event = new ValidationFailureEvent();
+        if (event.shouldCommit()) {
+            event.channel = channel.name();
+            event.provider = provider;
+            event.notificationId = notificationId;
+            event.message = message;
+            event.commit();
+        }
+    }
+}
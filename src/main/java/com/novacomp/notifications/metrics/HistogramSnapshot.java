@@ -0,0 +1,88 @@
+package com.novacomp.notifications.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/** Copia inmutable de un {@link LatencyHistogram}. Todos los valores en nanosegundos. */
+public final class HistogramSnapshot {
+
+    private final long[] counts;
+    private final long count;
+
+    HistogramSnapshot(long[] counts) {
+        this.counts = counts;
+        long total = 0;
+        for (long bucket : counts) {
+            total += bucket;
+        }
+        this.count = total;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Menor valor tal que al menos {@code percentile}% de las muestras son
+     * menores o iguales (redondeado al techo de su bucket, como HdrHistogram).
+     * 0 si no hay muestras.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return LatencyHistogram.highestValue(i);
+            }
+        }
+        return LatencyHistogram.MAX_TRACKABLE_NANOS;
+    }
+
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    public long getMax() {
+        for (int i = counts.length - 1; i >= 0; i--) {
+            if (counts[i] > 0) {
+                return LatencyHistogram.highestValue(i);
+            }
+        }
+        return 0;
+    }
+
+    /** Promedio aproximado: cada muestra cuenta como el punto medio de su bucket. */
+    public double getMean() {
+        if (count == 0) {
+            return 0;
+        }
+        double sum = 0;
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                sum += counts[i] * ((LatencyHistogram.lowestValue(i) + LatencyHistogram.highestValue(i)) / 2.0);
+            }
+        }
+        return sum / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%.3fms p99=%.3fms p99.9=%.3fms max=%.3fms",
+                count, millis(getP50()), millis(getP99()), millis(getP999()), millis(getMax()));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
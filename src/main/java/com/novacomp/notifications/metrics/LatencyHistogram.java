@@ -0,0 +1,78 @@
+package com.novacomp.notifications.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histograma de latencias en nanosegundos, estilo HdrHistogram: buckets
+ * log-lineales (lineales hasta 64 ns y despues 32 por cada potencia de 2),
+ * asi cualquier percentil tiene un error relativo menor al 3,2% con un
+ * arreglo fijo de ~1200 contadores que cubre hasta ~73 minutos.
+ *
+ * Registrar es calcular el bucket con un par de operaciones de bits y un
+ * unico incremento atomico, sin locks ni alocaciones. Para que los hilos no
+ * se disputen la misma linea de cache, los contadores estan repartidos en
+ * stripes (uno por hilo, modulo la cantidad de stripes); el snapshot los suma.
+ */
+public final class LatencyHistogram {
+
+    private static final int LINEAR_LIMIT = 64;
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int MAX_EXPONENT = 41;
+    /** Valores mayores se cuentan en el ultimo bucket. */
+    static final long MAX_TRACKABLE_NANOS = (1L << (MAX_EXPONENT + 1)) - 1;
+    static final int BUCKET_COUNT = indexOf(MAX_TRACKABLE_NANOS) + 1;
+
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+
+    public LatencyHistogram() {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int stripeCount = Integer.highestOneBit(Math.min(MAX_STRIPES, Math.max(1, cpus)) * 2 - 1);
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), MAX_TRACKABLE_NANOS);
+        int stripe = (int) Thread.currentThread().threadId() & stripeMask;
+        stripes[stripe].getAndIncrement(indexOf(value));
+    }
+
+    /** Suma de todos los stripes en un momento dado (no es atomico respecto de los registros concurrentes). */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return new HistogramSnapshot(counts);
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift << SUB_BUCKET_BITS) + (int) (value >>> shift);
+    }
+
+    static long lowestValue(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index >>> SUB_BUCKET_BITS) - 1;
+        long subBucket = (index & ((1 << SUB_BUCKET_BITS) - 1)) + (1 << SUB_BUCKET_BITS);
+        return subBucket << shift;
+    }
+
+    static long highestValue(int index) {
+        return index + 1 < BUCKET_COUNT ? lowestValue(index + 1) - 1 : MAX_TRACKABLE_NANOS;
+    }
+}
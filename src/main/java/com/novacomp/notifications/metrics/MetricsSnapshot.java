@@ -0,0 +1,122 @@
+package com.novacomp.notifications.metrics;
+
+import com.novacomp.notifications.core.NotificationChannel;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/** Foto inmutable de {@link NotificationMetrics} en un momento dado. */
+public final class MetricsSnapshot {
+
+    private final Map<NotificationChannel, ChannelSnapshot> channels;
+    private final List<ProviderSnapshot> providers;
+
+    MetricsSnapshot(Map<NotificationChannel, ChannelSnapshot> channels, List<ProviderSnapshot> providers) {
+        this.channels = Collections.unmodifiableMap(channels);
+        this.providers = Collections.unmodifiableList(providers);
+    }
+
+    public ChannelSnapshot getChannel(NotificationChannel channel) {
+        return channels.get(channel);
+    }
+
+    public Map<NotificationChannel, ChannelSnapshot> getChannels() {
+        return channels;
+    }
+
+    public List<ProviderSnapshot> getProviders() {
+        return providers;
+    }
+
+    /** @return null si ese proveedor todavia no envio nada en ese canal */
+    public ProviderSnapshot getProvider(NotificationChannel channel, String providerName) {
+        for (ProviderSnapshot provider : providers) {
+            if (provider.getChannel() == channel && provider.getProviderName().equals(providerName)) {
+                return provider;
+            }
+        }
+        return null;
+    }
+
+    public static final class ChannelSnapshot {
+        private final HistogramSnapshot endToEnd;
+        private final long sent;
+        private final long failed;
+        private final long retrying;
+        private final long[] attempts;
+
+        ChannelSnapshot(HistogramSnapshot endToEnd, long sent, long failed, long retrying, long[] attempts) {
+            this.endToEnd = endToEnd;
+            this.sent = sent;
+            this.failed = failed;
+            this.retrying = retrying;
+            this.attempts = attempts;
+        }
+
+        /** Desde que se llamo a send/sendAsync/sendBulk hasta el resultado final. */
+        public HistogramSnapshot getEndToEnd() {
+            return endToEnd;
+        }
+
+        public long getSent() {
+            return sent;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        /** Reintentos hechos: la suma de (intentos - 1) de cada resultado. */
+        public long getRetrying() {
+            return retrying;
+        }
+
+        /**
+         * Cantidad de resultados que usaron {@code attempts} intentos (0 = no
+         * se llamo al proveedor, ej. circuito abierto). El ultimo valor
+         * acumula los de {@link NotificationMetrics#MAX_TRACKED_ATTEMPTS} - 1 o mas.
+         */
+        public long getResultsWithAttempts(int attempts) {
+            return this.attempts[Math.min(Math.max(attempts, 0), this.attempts.length - 1)];
+        }
+    }
+
+    public static final class ProviderSnapshot {
+        private final NotificationChannel channel;
+        private final String providerName;
+        private final HistogramSnapshot validation;
+        private final HistogramSnapshot providerCall;
+        private final HistogramSnapshot queueWait;
+
+        ProviderSnapshot(NotificationChannel channel, String providerName, HistogramSnapshot validation,
+                         HistogramSnapshot providerCall, HistogramSnapshot queueWait) {
+            this.channel = channel;
+            this.providerName = providerName;
+            this.validation = validation;
+            this.providerCall = providerCall;
+            this.queueWait = queueWait;
+        }
+
+        public NotificationChannel getChannel() {
+            return channel;
+        }
+
+        public String getProviderName() {
+            return providerName;
+        }
+
+        public HistogramSnapshot getValidation() {
+            return validation;
+        }
+
+        public HistogramSnapshot getProviderCall() {
+            return providerCall;
+        }
+
+        /** Espera en la cola del executor entre sendAsync y el inicio del envio. */
+        public HistogramSnapshot getQueueWait() {
+            return queueWait;
+        }
+    }
+}
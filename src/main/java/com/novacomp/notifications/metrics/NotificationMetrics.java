@@ -0,0 +1,195 @@
+package com.novacomp.notifications.metrics;
+
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Metricas de la libreria: histogramas de latencia y contadores por canal y
+ * por proveedor, leidos con {@link #snapshot()}.
+ *
+ * <ul>
+ *   <li>Por canal (lo mide NotificationService sobre el resultado final, con
+ *       reintentos incluidos): latencia de punta a punta, SENT / FAILED,
+ *       RETRYING (reintentos hechos = intentos - 1) y distribucion de
+ *       {@link NotificationResult#getAttempts()}.</li>
+ *   <li>Por canal y proveedor (lo mide el sender): validacion, llamada al
+ *       proveedor (una muestra por request, aun si es bulk) y espera en la
+ *       cola del executor de sendAsync.</li>
+ * </ul>
+ *
+ * Los senders y el servicio resuelven sus recorders una sola vez, asi
+ * registrar una muestra no busca en ningun mapa. {@link #disabled()} no
+ * registra nada ni llama a System.nanoTime().
+ */
+public final class NotificationMetrics {
+
+    /** Intentos de 0 a MAX_TRACKED_ATTEMPTS - 1; el ultimo casillero acumula los demas. */
+    public static final int MAX_TRACKED_ATTEMPTS = 11;
+
+    private static final NotificationMetrics DISABLED = new NotificationMetrics(false);
+
+    private final boolean enabled;
+    private final Map<NotificationChannel, ChannelMetrics> channels = new EnumMap<>(NotificationChannel.class);
+    private final ConcurrentMap<List<Object>, ProviderMetrics> providers = new ConcurrentHashMap<>();
+    private final ProviderMetrics disabledProvider;
+
+    private NotificationMetrics(boolean enabled) {
+        this.enabled = enabled;
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            channels.put(channel, new ChannelMetrics(enabled));
+        }
+        this.disabledProvider = enabled ? null : new ProviderMetrics(null, null, false);
+    }
+
+    public static NotificationMetrics create() {
+        return new NotificationMetrics(true);
+    }
+
+    /** Instancia compartida que no registra nada (el default del builder). */
+    public static NotificationMetrics disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public ChannelMetrics forChannel(NotificationChannel channel) {
+        return channels.get(channel);
+    }
+
+    public ProviderMetrics forProvider(NotificationChannel channel, String providerName) {
+        if (!enabled) {
+            return disabledProvider;
+        }
+        return providers.computeIfAbsent(List.of(channel, providerName),
+                key -> new ProviderMetrics(channel, providerName, true));
+    }
+
+    public MetricsSnapshot snapshot() {
+        Map<NotificationChannel, MetricsSnapshot.ChannelSnapshot> channelSnapshots =
+                new EnumMap<>(NotificationChannel.class);
+        channels.forEach((channel, metrics) -> channelSnapshots.put(channel, metrics.snapshot()));
+        List<MetricsSnapshot.ProviderSnapshot> providerSnapshots = new ArrayList<>();
+        for (ProviderMetrics metrics : providers.values()) {
+            providerSnapshots.add(metrics.snapshot());
+        }
+        return new MetricsSnapshot(channelSnapshots, providerSnapshots);
+    }
+
+    /** Recorder de un canal; lo usa NotificationService. */
+    public static final class ChannelMetrics {
+        private final boolean enabled;
+        private final LatencyHistogram endToEnd = new LatencyHistogram();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final LongAdder retrying = new LongAdder();
+        private final LongAdder[] attempts = new LongAdder[MAX_TRACKED_ATTEMPTS];
+
+        private ChannelMetrics(boolean enabled) {
+            this.enabled = enabled;
+            for (int i = 0; i < attempts.length; i++) {
+                attempts[i] = new LongAdder();
+            }
+        }
+
+        /** Marca de tiempo para pasar a los record*; 0 si las metricas estan apagadas. */
+        public long start() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        public void recordResult(NotificationResult result, long startNanos) {
+            if (!enabled) {
+                return;
+            }
+            endToEnd.record(System.nanoTime() - startNanos);
+            if (result.getStatus() == NotificationStatus.SENT) {
+                sent.increment();
+            } else {
+                failed.increment();
+            }
+            int used = Math.max(0, result.getAttempts());
+            if (used > 1) {
+                retrying.add(used - 1);
+            }
+            attempts[Math.min(used, MAX_TRACKED_ATTEMPTS - 1)].increment();
+        }
+
+        /** Un envio que termino con excepcion (ej. ValidationException) cuenta como FAILED. */
+        public void recordError(long startNanos) {
+            if (!enabled) {
+                return;
+            }
+            endToEnd.record(System.nanoTime() - startNanos);
+            failed.increment();
+        }
+
+        MetricsSnapshot.ChannelSnapshot snapshot() {
+            long[] attemptCounts = new long[attempts.length];
+            for (int i = 0; i < attempts.length; i++) {
+                attemptCounts[i] = attempts[i].sum();
+            }
+            return new MetricsSnapshot.ChannelSnapshot(endToEnd.snapshot(), sent.sum(), failed.sum(),
+                    retrying.sum(), attemptCounts);
+        }
+    }
+
+    /** Recorder de un proveedor dentro de un canal; lo usa AbstractNotificationSender. */
+    public static final class ProviderMetrics {
+        private final NotificationChannel channel;
+        private final String providerName;
+        private final boolean enabled;
+        private final LatencyHistogram validation;
+        private final LatencyHistogram providerCall;
+        private final LatencyHistogram queueWait;
+
+        private ProviderMetrics(NotificationChannel channel, String providerName, boolean enabled) {
+            this.channel = channel;
+            this.providerName = providerName;
+            this.enabled = enabled;
+            this.validation = enabled ? new LatencyHistogram() : null;
+            this.providerCall = enabled ? new LatencyHistogram() : null;
+            this.queueWait = enabled ? new LatencyHistogram() : null;
+        }
+
+        public long start() {
+            return enabled ? System.nanoTime() : 0;
+        }
+
+        /** @return el instante actual, para encadenar con la etapa siguiente */
+        public long recordValidation(long startNanos) {
+            return record(validation, startNanos);
+        }
+
+        public long recordProviderCall(long startNanos) {
+            return record(providerCall, startNanos);
+        }
+
+        public long recordQueueWait(long startNanos) {
+            return record(queueWait, startNanos);
+        }
+
+        private long record(LatencyHistogram histogram, long startNanos) {
+            if (!enabled) {
+                return 0;
+            }
+            long now = System.nanoTime();
+            histogram.record(now - startNanos);
+            return now;
+        }
+
+        MetricsSnapshot.ProviderSnapshot snapshot() {
+            return new MetricsSnapshot.ProviderSnapshot(channel, providerName, validation.snapshot(),
+                    providerCall.snapshot(), queueWait.snapshot());
+        }
+    }
+}
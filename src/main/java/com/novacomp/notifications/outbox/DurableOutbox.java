@@ -0,0 +1,650 @@
+package com.novacomp.notifications.outbox;
+
+import com.novacomp.notifications.core.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Outbox durable: cada notificacion aceptada se agrega como registro binario
+ * a un log append-only en disco ANTES de enviarse, y al terminar el envio se
+ * agrega un registro de ack. Si la JVM muere a mitad de camino, al abrir el
+ * outbox de nuevo las entradas sin ack quedan en {@link #takeRecovered()}
+ * para reenviarse (semantica at-least-once: un ack perdido implica un
+ * reenvio, nunca una perdida).
+ *
+ * <p>El log se divide en segmentos de tamano fijo mapeados en memoria
+ * ({@code outbox-NNNNNNNNNNNN.log}). Escribir un registro es copiar bytes al
+ * mapeo bajo un lock corto; el fsync lo hace un unico hilo "flusher" que
+ * agrupa todos los registros escritos mientras corria el fsync anterior
+ * (group commit), asi N escritores concurrentes pagan un solo fsync. El
+ * futuro que devuelve {@link #append(Notification)} completa recien cuando
+ * el registro esta en disco. Los acks no esperan fsync: viajan en el
+ * siguiente.</p>
+ *
+ * <p>Formato de registro: {@code [int largo total][byte tipo][long seq]
+ * [payload][int crc32c]}. Un largo 0 marca el fin de los datos (el archivo
+ * nace en ceros) y un crc invalido corta la lectura del segmento (escritura
+ * interrumpida). Un segmento se borra cuando todas sus entradas tienen ack y
+ * tambien los segmentos anteriores: los acks viven en segmentos posteriores
+ * a su entrada, asi que borrar en orden nunca resucita entradas ya enviadas.
+ * Al reabrir, la escritura sigue en el ultimo segmento, a continuacion de su
+ * ultimo registro valido.</p>
+ *
+ * <p>Las entradas programadas ({@link #append(Notification, Instant)})
+ * llevan ademas su vencimiento. Para que una programada a semanas no retenga
+ * su segmento y todos los posteriores, al rotar se copian (con el mismo seq)
+ * al segmento nuevo las programadas que son lo unico vivo en los segmentos
+ * mas viejos, y esos segmentos se borran.</p>
+ */
+public final class DurableOutbox implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DurableOutbox.class);
+
+    public static final long DEFAULT_SEGMENT_SIZE_BYTES = 64L * 1024 * 1024;
+
+    private static final byte ENTRY = 1;
+    private static final byte ACK = 2;
+    private static final byte SCHEDULED = 3;
+    private static final int HEADER_BYTES = 4 + 1 + 8;
+    private static final int TRAILER_BYTES = 4;
+    private static final byte[] NO_PAYLOAD = new byte[0];
+    private static final Pattern SEGMENT_NAME = Pattern.compile("outbox-(\\d{12})\\.log");
+
+    private final Path directory;
+    private final int segmentSize;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition flushRequested = lock.newCondition();
+    // Todo lo siguiente (salvo inFlight) se accede con el lock tomado.
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private Segment active;
+    private long nextSeq;
+    private CompletableFuture<Void> pendingFlush;
+    private boolean closed;
+    /** seq -> payload de las entradas programadas sin ack, para copiarlas al rotar. */
+    private final Map<Long, byte[]> scheduledPayloads = new HashMap<>();
+
+    /** seq -> segmento, de las entradas escritas que todavia no tienen ack. */
+    private final Map<Long, Segment> inFlight = new ConcurrentHashMap<>();
+    private final List<Entry> recovered;
+    private final Thread flusher;
+    private final LongAdder syncs = new LongAdder();
+
+    private DurableOutbox(Builder builder) throws IOException {
+        this.directory = Objects.requireNonNull(builder.directory, "directory es obligatorio");
+        this.segmentSize = (int) builder.segmentSizeBytes;
+        Files.createDirectories(directory);
+        this.recovered = recover();
+        this.flusher = new Thread(this::flushLoop, "notifications-outbox-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Si el outbox sabe persistir este tipo de notificacion (los 4 canales incluidos). */
+    public static boolean supports(Notification notification) {
+        return OutboxCodec.supports(notification);
+    }
+
+    /**
+     * Agrega la notificacion al log. El futuro completa con el numero de
+     * secuencia (a pasar a {@link #ack(long)}) cuando el registro ya esta en
+     * disco.
+     *
+     * @throws IllegalArgumentException si el tipo de notificacion no se puede persistir
+     * @throws IllegalStateException    si el outbox esta cerrado
+     */
+    public CompletableFuture<Long> append(Notification notification) {
+        return appendEntry(ENTRY, OutboxCodec.encode(notification));
+    }
+
+    /**
+     * Igual que {@link #append(Notification)} para un envio programado: al
+     * recuperarla, la entrada trae {@code dueAt} en {@link Entry#getDueAt()}.
+     */
+    public CompletableFuture<Long> append(Notification notification, Instant dueAt) {
+        byte[] encoded = OutboxCodec.encode(notification);
+        byte[] payload = ByteBuffer.allocate(Long.BYTES + encoded.length)
+                .putLong(dueAt.toEpochMilli())
+                .put(encoded)
+                .array();
+        return appendEntry(SCHEDULED, payload);
+    }
+
+    private CompletableFuture<Long> appendEntry(byte type, byte[] payload) {
+        long seq;
+        CompletableFuture<Void> flush;
+        lock.lock();
+        try {
+            if (closed) {
+                throw new IllegalStateException("El outbox esta cerrado");
+            }
+            seq = nextSeq++;
+            Segment segment = write(type, seq, payload);
+            segment.unacked++;
+            inFlight.put(seq, segment);
+            if (type == SCHEDULED) {
+                scheduledPayloads.put(seq, payload);
+            }
+            if (pendingFlush == null) {
+                pendingFlush = new CompletableFuture<>();
+                flushRequested.signal();
+            }
+            flush = pendingFlush;
+        } finally {
+            lock.unlock();
+        }
+        return flush.thenApply(ignored -> seq);
+    }
+
+    /** Marca la entrada como terminada; no se reenviara. Llamarlo dos veces no tiene efecto. */
+    public void ack(long seq) {
+        Segment segment = inFlight.remove(seq);
+        if (segment == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            scheduledPayloads.remove(seq);
+            if (closed) {
+                // Sin ack en disco la entrada se reenviara al reabrir: at-least-once.
+                return;
+            }
+            write(ACK, seq, NO_PAYLOAD);
+            if (--segment.unacked == 0 && segment != active) {
+                purgeAcknowledgedSegments();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Entradas sin ack encontradas al abrir el outbox, en orden de escritura.
+     * Se entregan una sola vez; quien las reenvie debe llamar a
+     * {@link #ack(long)} por cada una.
+     */
+    public List<Entry> takeRecovered() {
+        synchronized (recovered) {
+            List<Entry> entries = new ArrayList<>(recovered);
+            recovered.clear();
+            return entries;
+        }
+    }
+
+    /** Entradas escritas (o recuperadas) que todavia no tienen ack. */
+    public int getPendingCount() {
+        return inFlight.size();
+    }
+
+    /** Cantidad de fsync hechos por el flusher; con carga concurrente es mucho menor que la de appends. */
+    public long getSyncCount() {
+        return syncs.sum();
+    }
+
+    /** Espera el fsync pendiente y libera los archivos. Las entradas sin ack se recuperan al reabrir. */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            flushRequested.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        lock.lock();
+        try {
+            active.seal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ---- Escritura ----
+
+    private Segment write(byte type, long seq, byte[] payload) {
+        int recordSize = HEADER_BYTES + payload.length + TRAILER_BYTES;
+        // Se reservan 4 bytes en cero al final del segmento como marca de fin.
+        if (recordSize + 4 > segmentSize) {
+            throw new IllegalArgumentException("La notificacion ocupa " + recordSize
+                    + " bytes y no entra en un segmento de " + segmentSize);
+        }
+        if (active.position + recordSize + 4 > segmentSize) {
+            roll();
+        }
+        MappedByteBuffer buffer = active.buffer;
+        int position = active.position;
+        buffer.putInt(position, recordSize);
+        buffer.put(position + 4, type);
+        buffer.putLong(position + 5, seq);
+        buffer.put(position + HEADER_BYTES, payload);
+        int crcOffset = position + HEADER_BYTES + payload.length;
+        buffer.putInt(crcOffset, crc(buffer, position, crcOffset));
+        active.position = position + recordSize;
+        return active;
+    }
+
+    /**
+     * Crea el segmento nuevo antes de sellar el anterior: si no se puede
+     * crear, solo falla esta escritura y el activo sigue intacto para la
+     * siguiente. Si lo que falla es el fsync del anterior, los appends que
+     * esperaban ese fsync completan con el error.
+     */
+    private void roll() {
+        Segment previous = active;
+        active = Segment.create(directory, previous.index + 1, segmentSize);
+        segments.addLast(active);
+        try {
+            previous.seal();
+        } catch (UncheckedIOException e) {
+            if (pendingFlush != null) {
+                pendingFlush.completeExceptionally(e);
+                pendingFlush = null;
+            }
+            throw e;
+        }
+        relocateScheduled();
+        purgeAcknowledgedSegments();
+    }
+
+    /**
+     * Copia al segmento nuevo las entradas programadas de los segmentos mas
+     * viejos cuyas unicas entradas vivas son programadas (un segmento con
+     * entradas inmediatas vivas se libera solo en cuanto lleguen sus acks).
+     * La copia conserva el seq, asi que el ack sigue valido, y se sincroniza
+     * antes de que el purge borre el original; al recuperar, la copia mas
+     * nueva reemplaza a la anterior. Se copia a lo sumo medio segmento por
+     * rotacion para que la copia nunca fuerce otra rotacion.
+     */
+    private void relocateScheduled() {
+        if (scheduledPayloads.isEmpty()) {
+            return;
+        }
+        Map<Segment, List<Long>> liveScheduled = new HashMap<>();
+        inFlight.forEach((seq, segment) -> {
+            if (segment != active && scheduledPayloads.containsKey(seq)) {
+                liveScheduled.computeIfAbsent(segment, ignored -> new ArrayList<>()).add(seq);
+            }
+        });
+        int budget = segmentSize / 2;
+        for (Segment segment : segments) {
+            List<Long> seqs = liveScheduled.getOrDefault(segment, Collections.emptyList());
+            if (segment == active || seqs.size() != segment.unacked) {
+                break;
+            }
+            int bytes = seqs.stream()
+                    .mapToInt(seq -> HEADER_BYTES + scheduledPayloads.get(seq).length + TRAILER_BYTES)
+                    .sum();
+            if (bytes > budget) {
+                break;
+            }
+            budget -= bytes;
+            Collections.sort(seqs);
+            for (Long seq : seqs) {
+                // Un ack concurrente ya pudo sacar el seq de inFlight: esa entrada no se copia.
+                if (inFlight.replace(seq, segment, active)) {
+                    write(SCHEDULED, seq, scheduledPayloads.get(seq));
+                    segment.unacked--;
+                    active.unacked++;
+                }
+            }
+        }
+        if (active.position > active.flushedPosition) {
+            active.buffer.force(active.flushedPosition, active.position - active.flushedPosition);
+            active.flushedPosition = active.position;
+        }
+    }
+
+    private void purgeAcknowledgedSegments() {
+        while (segments.peekFirst() != active && segments.peekFirst().unacked == 0) {
+            Segment segment = segments.pollFirst();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("No se pudo borrar el segmento de outbox {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            CompletableFuture<Void> batch;
+            Segment segment;
+            MappedByteBuffer buffer;
+            int from;
+            int to;
+            lock.lock();
+            try {
+                while (pendingFlush == null && !closed) {
+                    flushRequested.awaitUninterruptibly();
+                }
+                if (pendingFlush == null) {
+                    return;
+                }
+                batch = pendingFlush;
+                pendingFlush = null;
+                // Los segmentos anteriores se sincronizaron completos al rotar.
+                segment = active;
+                buffer = segment.buffer;
+                from = segment.flushedPosition;
+                to = segment.position;
+            } finally {
+                lock.unlock();
+            }
+            try {
+                if (to > from) {
+                    buffer.force(from, to - from);
+                }
+            } catch (UncheckedIOException e) {
+                // flushedPosition no avanza: el proximo fsync vuelve a cubrir este rango.
+                batch.completeExceptionally(e);
+                continue;
+            }
+            lock.lock();
+            try {
+                segment.flushedPosition = Math.max(segment.flushedPosition, to);
+            } finally {
+                lock.unlock();
+            }
+            syncs.increment();
+            batch.complete(null);
+        }
+    }
+
+    // ---- Recuperacion ----
+
+    private List<Entry> recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(path -> SEGMENT_NAME.matcher(path.getFileName().toString()).matches())
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        Map<Long, Record> pending = new LinkedHashMap<>();
+        Map<Long, Segment> owners = new HashMap<>();
+        long maxSeq = -1;
+        Segment last = null;
+        for (Path file : files) {
+            Matcher matcher = SEGMENT_NAME.matcher(file.getFileName().toString());
+            matcher.matches();
+            Segment segment = new Segment(Long.parseLong(matcher.group(1)), file, null);
+            segments.addLast(segment);
+            last = segment;
+            for (Record record : scan(segment)) {
+                maxSeq = Math.max(maxSeq, record.seq);
+                if (record.type == ENTRY || record.type == SCHEDULED) {
+                    Segment previousOwner = owners.put(record.seq, segment);
+                    if (previousOwner != null) {
+                        // Copia de una entrada programada hecha al rotar: reemplaza a la original.
+                        previousOwner.unacked--;
+                    }
+                    pending.put(record.seq, record);
+                    segment.unacked++;
+                } else if (pending.remove(record.seq) != null) {
+                    owners.remove(record.seq).unacked--;
+                }
+            }
+        }
+        nextSeq = maxSeq + 1;
+        // Se sigue escribiendo en el ultimo segmento en vez de crear uno nuevo
+        // en cada apertura; si quedo con otro tamano, se empieza uno nuevo.
+        if (last != null && last.reopen(segmentSize)) {
+            active = last;
+        } else {
+            active = Segment.create(directory, last == null ? 1 : last.index + 1, segmentSize);
+            segments.addLast(active);
+        }
+        inFlight.putAll(owners);
+
+        List<Entry> entries = new ArrayList<>(pending.size());
+        List<Long> unreadable = new ArrayList<>();
+        pending.forEach((seq, record) -> {
+            if (record.type == SCHEDULED) {
+                scheduledPayloads.put(seq, record.payload);
+            }
+            try {
+                entries.add(decodeEntry(record));
+            } catch (IllegalArgumentException e) {
+                log.warn("Entrada {} del outbox ilegible, se descarta: {}", seq, e.getMessage());
+                unreadable.add(seq);
+            }
+        });
+        unreadable.forEach(this::ack);
+        purgeAcknowledgedSegments();
+        if (!entries.isEmpty()) {
+            log.info("Outbox {}: {} notificaciones sin ack para reenviar", directory, entries.size());
+        }
+        return Collections.synchronizedList(entries);
+    }
+
+    private static Entry decodeEntry(Record record) {
+        if (record.type == ENTRY) {
+            return new Entry(record.seq, OutboxCodec.decode(record.payload), null);
+        }
+        if (record.payload.length < Long.BYTES) {
+            throw new IllegalArgumentException("Entrada programada sin vencimiento");
+        }
+        Instant dueAt = Instant.ofEpochMilli(ByteBuffer.wrap(record.payload).getLong());
+        byte[] encoded = Arrays.copyOfRange(record.payload, Long.BYTES, record.payload.length);
+        return new Entry(record.seq, OutboxCodec.decode(encoded), dueAt);
+    }
+
+    /** Lee los registros validos del segmento y deja su position al final del ultimo. */
+    private static List<Record> scan(Segment segment) throws IOException {
+        Path file = segment.path;
+        List<Record> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int limit = buffer.limit();
+            int position = 0;
+            while (position + HEADER_BYTES + TRAILER_BYTES <= limit) {
+                int recordSize = buffer.getInt(position);
+                if (recordSize == 0) {
+                    break;
+                }
+                int crcOffset = position + recordSize - TRAILER_BYTES;
+                if (recordSize < HEADER_BYTES + TRAILER_BYTES || position + recordSize > limit
+                        || buffer.getInt(crcOffset) != crc(buffer, position, crcOffset)) {
+                    log.warn("Registro incompleto en {} (offset {}); se ignora el resto del segmento",
+                            file, position);
+                    break;
+                }
+                byte[] payload = new byte[recordSize - HEADER_BYTES - TRAILER_BYTES];
+                buffer.get(position + HEADER_BYTES, payload);
+                records.add(new Record(buffer.get(position + 4), buffer.getLong(position + 5), payload));
+                position += recordSize;
+            }
+            segment.position = position;
+        }
+        return records;
+    }
+
+    /** crc32c de tipo + seq + payload de un registro que empieza en {@code position}. */
+    private static int crc(ByteBuffer buffer, int position, int crcOffset) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(position + 4, crcOffset - position - 4));
+        return (int) crc.getValue();
+    }
+
+    /** Una notificacion recuperada del log junto con el seq para su ack. */
+    public static final class Entry {
+        private final long sequence;
+        private final Notification notification;
+        private final Instant dueAt;
+
+        private Entry(long sequence, Notification notification, Instant dueAt) {
+            this.sequence = sequence;
+            this.notification = notification;
+            this.dueAt = dueAt;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public Notification getNotification() {
+            return notification;
+        }
+
+        /** Vencimiento si la entrada era un envio programado; null si era inmediato. */
+        public Instant getDueAt() {
+            return dueAt;
+        }
+    }
+
+    private static final class Record {
+        private final byte type;
+        private final long seq;
+        private final byte[] payload;
+
+        private Record(byte type, long seq, byte[] payload) {
+            this.type = type;
+            this.seq = seq;
+            this.payload = payload;
+        }
+    }
+
+    private static final class Segment {
+        private final long index;
+        private final Path path;
+        private MappedByteBuffer buffer;
+        private int position;
+        private int flushedPosition;
+        private int unacked;
+
+        private Segment(long index, Path path, MappedByteBuffer buffer) {
+            this.index = index;
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        static Segment create(Path directory, long index, int size) {
+            Path path = directory.resolve(String.format("outbox-%012d.log", index));
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                // El mapeo sigue valido despues de cerrar el canal.
+                return new Segment(index, path, channel.map(FileChannel.MapMode.READ_WRITE, 0, size));
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo crear el segmento de outbox " + path, e);
+            }
+        }
+
+        /**
+         * Mapea de nuevo un segmento recuperado para seguir escribiendo desde
+         * {@code position} (el final del ultimo registro valido). Tras un
+         * corte, despues de ese punto puede quedar una escritura a medias o
+         * registros sueltos que llegaron a disco fuera de orden; se ponen en
+         * cero antes de escribir, si no un scan posterior podria leerlos a
+         * continuacion de los registros nuevos.
+         *
+         * @return false si el archivo no tiene el tamano de segmento actual
+         */
+        boolean reopen(int size) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                if (channel.size() != size) {
+                    return false;
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            }
+            ByteBuffer zeros = ByteBuffer.allocate(64 * 1024);
+            int dirtyFrom = -1;
+            int dirtyTo = -1;
+            for (int offset = position; offset < size; offset += zeros.capacity()) {
+                int length = Math.min(zeros.capacity(), size - offset);
+                if (buffer.slice(offset, length).mismatch(zeros.slice(0, length)) != -1) {
+                    buffer.put(offset, zeros, 0, length);
+                    dirtyFrom = dirtyFrom < 0 ? offset : dirtyFrom;
+                    dirtyTo = offset + length;
+                }
+            }
+            if (dirtyFrom >= 0) {
+                buffer.force(dirtyFrom, dirtyTo - dirtyFrom);
+            }
+            flushedPosition = position;
+            return true;
+        }
+
+        /** Sincroniza lo escrito y suelta el mapeo: el segmento ya no recibe registros. */
+        void seal() {
+            if (buffer != null && position > flushedPosition) {
+                buffer.force(flushedPosition, position - flushedPosition);
+                flushedPosition = position;
+            }
+            buffer = null;
+        }
+    }
+
+    public static final class Builder {
+        private Path directory;
+        private long segmentSizeBytes = DEFAULT_SEGMENT_SIZE_BYTES;
+
+        public Builder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /** Tamano de cada archivo de segmento. Default 64 MB. */
+        public Builder segmentSizeBytes(long segmentSizeBytes) {
+            if (segmentSizeBytes < 1024 || segmentSizeBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("segmentSizeBytes debe estar entre 1 KB y 2 GB");
+            }
+            this.segmentSizeBytes = segmentSizeBytes;
+            return this;
+        }
+
+        /**
+         * Abre (o crea) el outbox en el directorio y lee las entradas sin ack.
+         *
+         * @throws UncheckedIOException si el directorio no se puede leer o escribir
+         */
+        public DurableOutbox build() {
+            try {
+                return new DurableOutbox(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo abrir el outbox en " + directory, e);
+            }
+        }
+    }
+}
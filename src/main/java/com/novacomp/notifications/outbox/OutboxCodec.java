@@ -0,0 +1,199 @@
+package com.novacomp.notifications.outbox;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationPriority;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Serializacion binaria compacta de las notificaciones de los 4 canales
+ * incluidos: un byte de version, un byte de tipo, los campos comunes y
+ * despues los del canal. Strings como largo + UTF-8 (-1 = null). La version 2
+ * agrega la prioridad; los registros de version 1 se leen con NORMAL.
+ *
+ * No se usa Serializable a proposito: el formato queda bajo control de la
+ * libreria y no depende de la forma interna de las clases.
+ */
+final class OutboxCodec {
+
+    private static final byte FORMAT_VERSION = 2;
+    private static final byte FORMAT_VERSION_WITHOUT_PRIORITY = 1;
+
+    private static final byte EMAIL = 1;
+    private static final byte SMS = 2;
+    private static final byte PUSH = 3;
+    private static final byte SLACK = 4;
+
+    private OutboxCodec() {
+    }
+
+    /** Solo se persisten los tipos concretos que este codec sabe reconstruir. */
+    static boolean supports(Notification notification) {
+        return typeOf(notification) != 0;
+    }
+
+    static byte[] encode(Notification notification) {
+        byte type = typeOf(notification);
+        if (type == 0) {
+            throw new IllegalArgumentException(
+                    "El outbox no sabe serializar " + notification.getClass().getName());
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(type);
+            out.writeByte(notification.getPriority().ordinal());
+            writeString(out, notification.getId());
+            writeString(out, notification.getRecipient());
+            writeString(out, notification.getMessage());
+            writeMap(out, notification.getMetadata());
+            switch (type) {
+                case EMAIL -> {
+                    EmailNotification email = (EmailNotification) notification;
+                    writeString(out, email.getSubject());
+                    writeString(out, email.getHtmlBody());
+                    out.writeInt(email.getAttachmentNames().size());
+                    for (String attachment : email.getAttachmentNames()) {
+                        writeString(out, attachment);
+                    }
+                }
+                case SMS -> writeString(out, ((SmsNotification) notification).getSenderId());
+                case PUSH -> {
+                    PushNotification push = (PushNotification) notification;
+                    writeString(out, push.getTitle());
+                    writeMap(out, push.getData());
+                }
+                default -> {
+                    SlackNotification slack = (SlackNotification) notification;
+                    writeString(out, slack.getUsername());
+                    writeString(out, slack.getIconEmoji());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** @throws IllegalArgumentException si el registro no corresponde a este formato */
+    static Notification decode(byte[] payload) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION && version != FORMAT_VERSION_WITHOUT_PRIORITY) {
+                throw new IllegalArgumentException("Version de formato desconocida: " + version);
+            }
+            byte type = in.readByte();
+            NotificationPriority priority = version == FORMAT_VERSION_WITHOUT_PRIORITY
+                    ? NotificationPriority.NORMAL
+                    : readPriority(in);
+            String id = readString(in);
+            String recipient = readString(in);
+            String message = readString(in);
+            Map<String, String> metadata = readMap(in);
+            switch (type) {
+                case EMAIL: {
+                    EmailNotification.Builder builder = EmailNotification.builder()
+                            .subject(readString(in))
+                            .htmlBody(readString(in));
+                    int attachments = in.readInt();
+                    List<String> names = new ArrayList<>(attachments);
+                    for (int i = 0; i < attachments; i++) {
+                        names.add(readString(in));
+                    }
+                    return builder.attachmentNames(names)
+                            .id(id).recipient(recipient).message(message).metadata(metadata).priority(priority).build();
+                }
+                case SMS:
+                    return SmsNotification.builder().senderId(readString(in))
+                            .id(id).recipient(recipient).message(message).metadata(metadata).priority(priority).build();
+                case PUSH:
+                    return PushNotification.builder().title(readString(in)).data(readMap(in))
+                            .id(id).recipient(recipient).message(message).metadata(metadata).priority(priority).build();
+                case SLACK:
+                    return SlackNotification.builder().username(readString(in)).iconEmoji(readString(in))
+                            .id(id).recipient(recipient).message(message).metadata(metadata).priority(priority).build();
+                default:
+                    throw new IllegalArgumentException("Tipo de notificacion desconocido: " + type);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Registro de outbox truncado", e);
+        }
+    }
+
+    private static NotificationPriority readPriority(DataInputStream in) throws IOException {
+        int ordinal = in.readByte();
+        NotificationPriority[] priorities = NotificationPriority.values();
+        if (ordinal < 0 || ordinal >= priorities.length) {
+            throw new IllegalArgumentException("Prioridad desconocida: " + ordinal);
+        }
+        return priorities[ordinal];
+    }
+
+    private static byte typeOf(Notification notification) {
+        Class<?> type = notification.getClass();
+        if (type == EmailNotification.class) {
+            return EMAIL;
+        }
+        if (type == SmsNotification.class) {
+            return SMS;
+        }
+        if (type == PushNotification.class) {
+            return PUSH;
+        }
+        if (type == SlackNotification.class) {
+            return SLACK;
+        }
+        return 0;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.readFully(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> map) throws IOException {
+        out.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            writeString(out, entry.getKey());
+            writeString(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInputStream in) throws IOException {
+        int size = in.readInt();
+        Map<String, String> map = new LinkedHashMap<>(Math.max(4, size * 2));
+        for (int i = 0; i < size; i++) {
+            map.put(readString(in), readString(in));
+        }
+        return map;
+    }
+}
@@ -11,19 +11,31 @@ public final class ProviderResponse {
     private final boolean success;
     private final String providerMessageId;
     private final String errorMessage;
+    private final boolean recipientRejected;
 
-    private ProviderResponse(boolean success, String providerMessageId, String errorMessage) {
+    private ProviderResponse(boolean success, String providerMessageId, String errorMessage,
+                             boolean recipientRejected) {
         this.success = success;
         this.providerMessageId = providerMessageId;
         this.errorMessage = errorMessage;
+        this.recipientRejected = recipientRejected;
     }
 
     public static ProviderResponse success(String providerMessageId) {
-        return new ProviderResponse(true, providerMessageId, null);
+        return new ProviderResponse(true, providerMessageId, null, false);
     }
 
     public static ProviderResponse failure(String errorMessage) {
-        return new ProviderResponse(false, null, errorMessage);
+        return new ProviderResponse(false, null, errorMessage, false);
+    }
+
+    /**
+     * Fallo permanente del destinatario (rebote, token de push invalidado,
+     * numero dado de baja): reintentar no sirve, y con una SuppressionList
+     * configurada el destinatario queda suprimido para los proximos envios.
+     */
+    public static ProviderResponse recipientRejected(String errorMessage) {
+        return new ProviderResponse(false, null, errorMessage, true);
     }
 
     public boolean isSuccess() {
@@ -37,4 +49,8 @@ public final class ProviderResponse {
     public String getErrorMessage() {
         return errorMessage;
     }
+
+    public boolean isRecipientRejected() {
+        return recipientRejected;
+    }
 }
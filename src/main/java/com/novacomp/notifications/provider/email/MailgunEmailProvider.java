@@ -2,43 +2,101 @@ package com.novacomp.notifications.provider.email;
 
 import com.novacomp.notifications.channel.email.EmailNotification;
 import com.novacomp.notifications.config.MailgunConfig;
+import com.novacomp.notifications.core.IdGenerator;
 import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.transport.FormWriter;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletionStage;
 
 /**
- * Simulacion del proveedor Mailgun.
+ * Proveedor Mailgun.
  *
- * En una integracion real esto haria un POST (form-urlencoded) a
- * https://api.mailgun.net/v3/{domain}/messages con Basic Auth
- * ("api", apiKey) y campos from/to/subject/text.
+ * Con un {@link HttpTransport} hace un POST (form-urlencoded) a
+ * {baseUrl}/v3/{domain}/messages con Basic Auth ("api", apiKey) y campos
+ * from/to/subject/text (y html si hay).
  * Mailgun responde 200 OK con {"id": "...", "message": "Queued. Thank you."}
+ * Sin transporte el envio se simula sin salir a la red.
  */
 public class MailgunEmailProvider implements EmailProvider {
 
     private static final Logger log = LoggerFactory.getLogger(MailgunEmailProvider.class);
 
     private final MailgunConfig config;
+    private final HttpTransport transport;
+    private final URI endpoint;
+    private final String authorization;
 
+    /** Envio simulado, sin red. */
     public MailgunEmailProvider(MailgunConfig config) {
+        this(config, null);
+    }
+
+    /** @param transport transporte HTTP real; null para simular el envio */
+    public MailgunEmailProvider(MailgunConfig config, HttpTransport transport) {
         this.config = config;
+        this.transport = transport;
+        this.endpoint = URI.create(config.getBaseUrl() + "/v3/" + config.getDomain() + "/messages");
+        this.authorization = HttpTransport.basicAuth("api", config.getApiKey());
     }
 
     @Override
     public ProviderResponse send(EmailNotification notification) {
+        if (transport != null) {
+            return toResponse(transport.send(request(notification)));
+        }
         log.info("[Mailgun] Enviando email via dominio '{}' desde '{}' a '{}'",
                 config.getDomain(), config.getFromEmail(), notification.getRecipient());
 
-        // --- Aqui iria la llamada HTTP real a la API de Mailgun ---
-        String simulatedMessageId = "<" + UUID.randomUUID() + "@" + config.getDomain() + ">";
+        // --- Simulacion (sin HttpTransport): no sale a la red ---
+        String simulatedMessageId = "<" + IdGenerator.monotonic().next() + "@" + config.getDomain() + ">";
         log.info("[Mailgun] Respuesta simulada 200 OK, id={}", simulatedMessageId);
         return ProviderResponse.success(simulatedMessageId);
     }
 
+    /** Con transporte, el request sale sin bloquear y la etapa se completa en los hilos del transporte. */
+    @Override
+    public CompletionStage<ProviderResponse> sendAsync(EmailNotification notification) {
+        if (transport == null) {
+            return EmailProvider.super.sendAsync(notification);
+        }
+        return transport.sendAsync(request(notification)).thenApply(this::toResponse);
+    }
+
+    @Override
+    public boolean isAsyncNative() {
+        return transport != null;
+    }
+
     @Override
     public String getProviderName() {
         return "Mailgun";
     }
+
+    private HttpRequest request(EmailNotification notification) {
+        FormWriter form = FormWriter.forCurrentThread()
+                .field("from", config.getFromEmail())
+                .field("to", notification.getRecipient())
+                .field("subject", notification.getSubject())
+                .field("text", notification.getMessage())
+                .field("html", notification.getHtmlBody());
+        return transport.request(endpoint)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(form.toBodyPublisher())
+                .build();
+    }
+
+    private ProviderResponse toResponse(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            return ProviderResponse.failure(HttpTransport.describeFailure(getProviderName(), response));
+        }
+        return ProviderResponse.success(Json.stringField(response.body(), "id"));
+    }
 }
@@ -2,49 +2,202 @@ package com.novacomp.notifications.provider.email;
 
 import com.novacomp.notifications.channel.email.EmailNotification;
 import com.novacomp.notifications.config.SendGridConfig;
+import com.novacomp.notifications.core.IdGenerator;
 import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.JsonWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
 
 /**
- * Simulacion del proveedor SendGrid.
+ * Proveedor SendGrid.
  *
- * En una integracion real esto haria un POST a
- * https://api.sendgrid.com/v3/mail/send con headers:
+ * Con un {@link HttpTransport} hace un POST a
+ * {baseUrl}/v3/mail/send con headers:
  *   Authorization: Bearer {apiKey}
  *   Content-Type: application/json
  * y un body tipo:
  *   { "personalizations":[{"to":[{"email":"..."}]}],
  *     "from":{"email":"...", "name":"..."},
  *     "subject":"...",
- *     "content":[{"type":"text/plain","value":"..."}] }
- * y devolveria 202 Accepted con header X-Message-Id.
+ *     "content":[{"type":"text/plain","value":"..."}],
+ *     "attachments":[{"filename":"..."}] }
+ * y SendGrid devuelve 202 Accepted con header X-Message-Id. Sin transporte
+ * (constructor de un argumento) el envio se simula sin salir a la red.
+ *
+ * Para campanas, {@link #sendBulk(List)} usa un solo request con hasta 1000
+ * "personalizations" (un destinatario cada una) que comparten from/subject/content/attachments;
+ * SendGrid devuelve un unico X-Message-Id para todo el request.
  */
 public class SendGridEmailProvider implements EmailProvider {
 
+    /** Limite de personalizations por request de /v3/mail/send. */
+    public static final int MAX_PERSONALIZATIONS = 1000;
+
     private static final Logger log = LoggerFactory.getLogger(SendGridEmailProvider.class);
 
+    private static final JsonWriter.Key PERSONALIZATIONS = JsonWriter.key("personalizations");
+    private static final JsonWriter.Key TO = JsonWriter.key("to");
+    private static final JsonWriter.Key EMAIL = JsonWriter.key("email");
+    private static final JsonWriter.Key NAME = JsonWriter.key("name");
+    private static final JsonWriter.Key FROM = JsonWriter.key("from");
+    private static final JsonWriter.Key SUBJECT = JsonWriter.key("subject");
+    private static final JsonWriter.Key CONTENT = JsonWriter.key("content");
+    private static final JsonWriter.Key TYPE = JsonWriter.key("type");
+    private static final JsonWriter.Key VALUE = JsonWriter.key("value");
+    private static final JsonWriter.Key ATTACHMENTS = JsonWriter.key("attachments");
+    private static final JsonWriter.Key FILENAME = JsonWriter.key("filename");
+
     private final SendGridConfig config;
+    private final HttpTransport transport;
+    private final URI endpoint;
+    private final String authorization;
 
+    /** Envio simulado, sin red. */
     public SendGridEmailProvider(SendGridConfig config) {
+        this(config, null);
+    }
+
+    /** @param transport transporte HTTP real; null para simular el envio */
+    public SendGridEmailProvider(SendGridConfig config, HttpTransport transport) {
         this.config = config;
+        this.transport = transport;
+        this.endpoint = URI.create(config.getBaseUrl() + "/v3/mail/send");
+        this.authorization = "Bearer " + config.getApiKey();
     }
 
     @Override
     public ProviderResponse send(EmailNotification notification) {
+        if (transport != null) {
+            return post(List.of(notification)).get(0);
+        }
         log.info("[SendGrid] Enviando email desde '{}' a '{}' | subject='{}'",
                 config.getFromEmail(), notification.getRecipient(), notification.getSubject());
 
-        // --- Aqui iria la llamada HTTP real a la API de SendGrid ---
-        String simulatedMessageId = "sg_" + UUID.randomUUID();
+        // --- Simulacion (sin HttpTransport): no sale a la red ---
+        String simulatedMessageId = "sg_" + IdGenerator.monotonic().next();
         log.info("[SendGrid] Respuesta simulada 202 Accepted, X-Message-Id={}", simulatedMessageId);
         return ProviderResponse.success(simulatedMessageId);
     }
 
+    @Override
+    public List<ProviderResponse> sendBulk(List<EmailNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        if (notifications.size() > MAX_PERSONALIZATIONS) {
+            throw new IllegalArgumentException(
+                    "SendGrid acepta a lo sumo " + MAX_PERSONALIZATIONS + " personalizations por request");
+        }
+        EmailNotification first = notifications.get(0);
+        for (EmailNotification notification : notifications) {
+            if (!sameContent(first, notification)) {
+                throw new IllegalArgumentException(
+                        "sendBulk requiere el mismo subject/contenido en todas las notificaciones del request");
+            }
+        }
+
+        if (transport != null) {
+            return post(notifications);
+        }
+        log.info("[SendGrid] Enviando email masivo desde '{}' a {} destinatarios | subject='{}'",
+                config.getFromEmail(), notifications.size(), first.getSubject());
+
+        // --- Simulacion (sin HttpTransport): no sale a la red ---
+        String simulatedMessageId = "sg_" + IdGenerator.monotonic().next();
+        log.info("[SendGrid] Respuesta simulada 202 Accepted, X-Message-Id={}", simulatedMessageId);
+        return Collections.nCopies(notifications.size(), ProviderResponse.success(simulatedMessageId));
+    }
+
+    @Override
+    public int getMaxBulkSize() {
+        return MAX_PERSONALIZATIONS;
+    }
+
+    /** Con transporte, el request sale sin bloquear y la etapa se completa en los hilos del transporte. */
+    @Override
+    public CompletionStage<ProviderResponse> sendAsync(EmailNotification notification) {
+        if (transport == null) {
+            return EmailProvider.super.sendAsync(notification);
+        }
+        return transport.sendAsync(request(List.of(notification))).thenApply(this::toResponse);
+    }
+
+    @Override
+    public boolean isAsyncNative() {
+        return transport != null;
+    }
+
     @Override
     public String getProviderName() {
         return "SendGrid";
     }
+
+    /** Un request con una personalization por destinatario; todas comparten la respuesta. */
+    private List<ProviderResponse> post(List<EmailNotification> notifications) {
+        ProviderResponse result = toResponse(transport.send(request(notifications)));
+        return Collections.nCopies(notifications.size(), result);
+    }
+
+    private HttpRequest request(List<EmailNotification> notifications) {
+        return transport.request(endpoint)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(body(notifications))
+                .build();
+    }
+
+    private ProviderResponse toResponse(HttpResponse<String> response) {
+        return response.statusCode() == 202
+                ? ProviderResponse.success(response.headers().firstValue("X-Message-Id").orElse(null))
+                : ProviderResponse.failure(HttpTransport.describeFailure(getProviderName(), response));
+    }
+
+    private HttpRequest.BodyPublisher body(List<EmailNotification> notifications) {
+        EmailNotification first = notifications.get(0);
+        JsonWriter json = JsonWriter.forCurrentThread()
+                .beginObject()
+                .name(PERSONALIZATIONS).beginArray();
+        for (EmailNotification notification : notifications) {
+            json.beginObject().name(TO).beginArray()
+                    .beginObject().name(EMAIL).value(notification.getRecipient()).endObject()
+                    .endArray().endObject();
+        }
+        json.endArray()
+                .name(FROM).beginObject()
+                .name(EMAIL).value(config.getFromEmail())
+                .optional(NAME, config.getFromName())
+                .endObject()
+                .name(SUBJECT).value(first.getSubject())
+                .name(CONTENT).beginArray()
+                .beginObject().name(TYPE).value("text/plain").name(VALUE).value(first.getMessage()).endObject();
+        if (first.getHtmlBody() != null) {
+            json.beginObject().name(TYPE).value("text/html").name(VALUE).value(first.getHtmlBody()).endObject();
+        }
+        json.endArray();
+        // sendBulk ya verifico que todo el lote lleva los mismos adjuntos.
+        if (!first.getAttachmentNames().isEmpty()) {
+            json.name(ATTACHMENTS).beginArray();
+            for (String attachment : first.getAttachmentNames()) {
+                json.beginObject().name(FILENAME).value(attachment).endObject();
+            }
+            json.endArray();
+        }
+        return json.endObject().toBodyPublisher();
+    }
+
+    private static boolean sameContent(EmailNotification a, EmailNotification b) {
+        return a.getSubject().equals(b.getSubject())
+                && a.getMessage().equals(b.getMessage())
+                && Objects.equals(a.getHtmlBody(), b.getHtmlBody())
+                && a.getAttachmentNames().equals(b.getAttachmentNames());
+    }
 }
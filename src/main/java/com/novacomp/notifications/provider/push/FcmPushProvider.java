@@ -2,45 +2,203 @@ package com.novacomp.notifications.provider.push;
 
 import com.novacomp.notifications.channel.push.PushNotification;
 import com.novacomp.notifications.config.FcmConfig;
+import com.novacomp.notifications.core.IdGenerator;
 import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.Json;
+import com.novacomp.notifications.transport.JsonWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 
 /**
- * Simulacion del proveedor Firebase Cloud Messaging (FCM) v1.
+ * Proveedor Firebase Cloud Messaging (FCM) v1.
  *
- * En una integracion real esto haria un POST a
- * https://fcm.googleapis.com/v1/projects/{projectId}/messages:send
+ * Con un {@link HttpTransport} hace un POST a
+ * {baseUrl}/v1/projects/{projectId}/messages:send
  * con OAuth2 Bearer token y body:
  *   { "message": { "token": "...", "notification": {"title":"...","body":"..."},
  *                  "data": {...} } }
- * FCM responde 200 OK con { "name": "projects/{p}/messages/{id}" }.
+ * FCM responde 200 OK con { "name": "projects/{p}/messages/{id}" }. Sin
+ * transporte el envio se simula sin salir a la red.
+ *
+ * Para envios masivos, {@link #sendBulk(List)} manda hasta 500 tokens que
+ * comparten notification/data y devuelve una respuesta (name o error) por
+ * token, en el mismo orden. La API v1 no tiene endpoint multicast: con
+ * transporte real son requests individuales en paralelo, que HTTP/2
+ * multiplexa sobre una sola conexion.
+ *
+ * Solo un error con {@code errorCode} UNREGISTERED se informa como
+ * {@code ProviderResponse.recipientRejected} (el token deja de usarse).
  */
 public class FcmPushProvider implements PushProvider {
 
+    private static final String UNREGISTERED = "UNREGISTERED";
+
+    /** Limite de tokens por request multicast de FCM. */
+    public static final int MAX_MULTICAST_TOKENS = 500;
+
     private static final Logger log = LoggerFactory.getLogger(FcmPushProvider.class);
 
+    private static final JsonWriter.Key MESSAGE = JsonWriter.key("message");
+    private static final JsonWriter.Key TOKEN = JsonWriter.key("token");
+    private static final JsonWriter.Key NOTIFICATION = JsonWriter.key("notification");
+    private static final JsonWriter.Key TITLE = JsonWriter.key("title");
+    private static final JsonWriter.Key BODY = JsonWriter.key("body");
+    private static final JsonWriter.Key DATA = JsonWriter.key("data");
+
     private final FcmConfig config;
+    private final HttpTransport transport;
+    private final URI endpoint;
+    private final String authorization;
 
+    /** Envio simulado, sin red. */
     public FcmPushProvider(FcmConfig config) {
+        this(config, null);
+    }
+
+    /** @param transport transporte HTTP real; null para simular el envio */
+    public FcmPushProvider(FcmConfig config, HttpTransport transport) {
         this.config = config;
+        this.transport = transport;
+        this.endpoint = URI.create(config.getBaseUrl() + "/v1/projects/" + config.getProjectId() + "/messages:send");
+        this.authorization = "Bearer " + config.getServerKey();
     }
 
     @Override
     public ProviderResponse send(PushNotification notification) {
+        if (transport != null) {
+            return toResponse(transport.send(request(notification)));
+        }
         log.info("[FCM] Enviando push (proyecto '{}') a token '{}' | title='{}'",
                 config.getProjectId(), notification.getRecipient(), notification.getTitle());
 
-        // --- Aqui iria la llamada HTTP real a la API de FCM ---
-        String simulatedName = "projects/" + config.getProjectId() + "/messages/" + UUID.randomUUID();
+        // --- Simulacion (sin HttpTransport): no sale a la red ---
+        String simulatedName = "projects/" + config.getProjectId() + "/messages/" + IdGenerator.monotonic().next();
         log.info("[FCM] Respuesta simulada 200 OK, name={}", simulatedName);
         return ProviderResponse.success(simulatedName);
     }
 
+    @Override
+    public List<ProviderResponse> sendBulk(List<PushNotification> notifications) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        if (notifications.size() > MAX_MULTICAST_TOKENS) {
+            throw new IllegalArgumentException(
+                    "FCM multicast acepta a lo sumo " + MAX_MULTICAST_TOKENS + " tokens por request");
+        }
+        PushNotification first = notifications.get(0);
+        for (PushNotification notification : notifications) {
+            if (!first.getTitle().equals(notification.getTitle())
+                    || !first.getMessage().equals(notification.getMessage())
+                    || !first.getData().equals(notification.getData())) {
+                throw new IllegalArgumentException(
+                        "sendBulk requiere el mismo title/body/data en todas las notificaciones del multicast");
+            }
+        }
+
+        if (transport != null) {
+            return postAll(notifications);
+        }
+        log.info("[FCM] Enviando push multicast (proyecto '{}') a {} tokens | title='{}'",
+                config.getProjectId(), notifications.size(), first.getTitle());
+
+        // --- Simulacion (sin HttpTransport): no sale a la red ---
+        List<ProviderResponse> responses = new ArrayList<>(notifications.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            responses.add(ProviderResponse.success(
+                    "projects/" + config.getProjectId() + "/messages/" + IdGenerator.monotonic().next()));
+        }
+        log.info("[FCM] Respuesta simulada multicast 200 OK, successCount={}", responses.size());
+        return responses;
+    }
+
+    @Override
+    public int getMaxBulkSize() {
+        return MAX_MULTICAST_TOKENS;
+    }
+
+    /** Con transporte, el request sale sin bloquear y la etapa se completa en los hilos del transporte. */
+    @Override
+    public CompletionStage<ProviderResponse> sendAsync(PushNotification notification) {
+        if (transport == null) {
+            return PushProvider.super.sendAsync(notification);
+        }
+        return transport.sendAsync(request(notification)).thenApply(this::toResponse);
+    }
+
+    @Override
+    public boolean isAsyncNative() {
+        return transport != null;
+    }
+
     @Override
     public String getProviderName() {
         return "FCM";
     }
+
+    private List<ProviderResponse> postAll(List<PushNotification> notifications) {
+        List<CompletableFuture<ProviderResponse>> calls = new ArrayList<>(notifications.size());
+        for (PushNotification notification : notifications) {
+            calls.add(transport.sendAsync(request(notification))
+                    .thenApply(this::toResponse)
+                    .exceptionally(error -> ProviderResponse.failure(rootMessage(error))));
+        }
+        List<ProviderResponse> responses = new ArrayList<>(calls.size());
+        for (CompletableFuture<ProviderResponse> call : calls) {
+            responses.add(call.join());
+        }
+        return responses;
+    }
+
+    private HttpRequest request(PushNotification notification) {
+        JsonWriter json = JsonWriter.forCurrentThread()
+                .beginObject()
+                .name(MESSAGE).beginObject()
+                .name(TOKEN).value(notification.getRecipient())
+                .name(NOTIFICATION).beginObject()
+                .name(TITLE).value(notification.getTitle())
+                .name(BODY).value(notification.getMessage())
+                .endObject();
+        if (!notification.getData().isEmpty()) {
+            json.name(DATA).beginObject();
+            for (Map.Entry<String, String> entry : notification.getData().entrySet()) {
+                json.name(entry.getKey()).value(entry.getValue());
+            }
+            json.endObject();
+        }
+        json.endObject().endObject();
+        return transport.request(endpoint)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/json")
+                .POST(json.toBodyPublisher())
+                .build();
+    }
+
+    private ProviderResponse toResponse(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            String failure = HttpTransport.describeFailure(getProviderName(), response);
+            // UNREGISTERED: la app se desinstalo o el token expiro; no va a volver a ser valido. Cualquier otro
+            // 404 (ej. projectId o baseUrl mal configurados) no dice nada del token y no debe suprimirlo.
+            return UNREGISTERED.equals(Json.stringField(response.body(), "errorCode"))
+                    ? ProviderResponse.recipientRejected(failure)
+                    : ProviderResponse.failure(failure);
+        }
+        return ProviderResponse.success(Json.stringField(response.body(), "name"));
+    }
+
+    private static String rootMessage(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause.getMessage();
+    }
 }
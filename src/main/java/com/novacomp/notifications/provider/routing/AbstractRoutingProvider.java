@@ -0,0 +1,124 @@
+package com.novacomp.notifications.provider.routing;
+
+import com.novacomp.notifications.provider.ProviderResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Base (Template Method) de los Routing*Provider: send, sendBulk, sendAsync,
+ * el maximo bulk, isAsyncNative y el nombre se resuelven aca sobre el
+ * {@link ProviderRouter}. Cada canal solo adapta su interfaz de proveedor
+ * implementando los doX, que llaman al proveedor elegido por el router.
+ *
+ * Como los puertos de cada canal (EmailProvider, SmsProvider, ...) no
+ * comparten un supertipo, la subclase declara el puerto y estos metodos lo
+ * implementan con la firma ya especializada.
+ *
+ * @param <P> tipo de proveedor (EmailProvider, SmsProvider, ...)
+ * @param <N> tipo de notificacion del canal
+ */
+public abstract class AbstractRoutingProvider<P, N> {
+
+    private final ProviderRouter<P> router;
+    // Se calcula en la primera consulta: en el constructor la subclase todavia no esta inicializada.
+    private volatile Boolean asyncNative;
+
+    protected AbstractRoutingProvider(ProviderRouter<P> router) {
+        this.router = router;
+    }
+
+    @SafeVarargs
+    protected static <P> ProviderRouter<P> routerOf(RoutingStrategy strategy, Function<P, String> name,
+                                                    P... providers) {
+        ProviderRouter.Builder<P> builder = ProviderRouter.<P>builder().strategy(strategy);
+        for (P provider : providers) {
+            builder.add(provider, name.apply(provider));
+        }
+        return builder.build();
+    }
+
+    protected abstract ProviderResponse doSend(P provider, N notification);
+
+    protected abstract List<ProviderResponse> doSendBulk(P provider, List<N> notifications);
+
+    protected abstract CompletionStage<ProviderResponse> doSendAsync(P provider, N notification);
+
+    protected abstract int maxBulkSizeOf(P provider);
+
+    protected abstract boolean isAsyncNative(P provider);
+
+    /** Acceso a las estadisticas vivas (EWMA de latencia / error) de cada proveedor. */
+    public ProviderRouter<P> getRouter() {
+        return router;
+    }
+
+    public ProviderResponse send(N notification) {
+        return router.route(provider -> doSend(provider, notification), ProviderResponse::isSuccess,
+                ProviderResponse::isRecipientRejected);
+    }
+
+    /** Un lote se considera fallido (y se hace failover) solo si no salio ninguna notificacion. */
+    public List<ProviderResponse> sendBulk(List<N> notifications) {
+        return router.route(provider -> sendInChunks(provider, notifications),
+                AbstractRoutingProvider::anySuccess, AbstractRoutingProvider::allRejected);
+    }
+
+    /** El mayor de los maximos: cada proveedor recibe el lote partido a su medida. */
+    public int getMaxBulkSize() {
+        return router.getRoutes().stream()
+                .mapToInt(route -> maxBulkSizeOf(route.getProvider()))
+                .max()
+                .orElse(1);
+    }
+
+    public CompletionStage<ProviderResponse> sendAsync(N notification) {
+        return router.routeAsync(provider -> doSendAsync(provider, notification), ProviderResponse::isSuccess,
+                ProviderResponse::isRecipientRejected);
+    }
+
+    /** Solo si todos los proveedores lo son: un failover no puede bloquear el hilo que completa la etapa. */
+    public boolean isAsyncNative() {
+        Boolean cached = asyncNative;
+        if (cached == null) {
+            // Las rutas no cambian: si dos hilos lo calculan a la vez, llegan al mismo valor.
+            cached = router.getRoutes().stream().allMatch(route -> isAsyncNative(route.getProvider()));
+            asyncNative = cached;
+        }
+        return cached;
+    }
+
+    public String getProviderName() {
+        return router.getRoutes().stream().map(ProviderRouter.Route::getName)
+                .collect(Collectors.joining(",", "Routing[", "]"));
+    }
+
+    /** Parte el lote segun el maximo del proveedor elegido (puede ser menor que el del router). */
+    private List<ProviderResponse> sendInChunks(P provider, List<N> notifications) {
+        int chunkSize = Math.max(1, maxBulkSizeOf(provider));
+        if (notifications.size() <= chunkSize) {
+            return doSendBulk(provider, notifications);
+        }
+        List<ProviderResponse> responses = new ArrayList<>(notifications.size());
+        for (int from = 0; from < notifications.size(); from += chunkSize) {
+            responses.addAll(doSendBulk(provider,
+                    notifications.subList(from, Math.min(from + chunkSize, notifications.size()))));
+        }
+        return responses;
+    }
+
+    private static boolean anySuccess(List<ProviderResponse> responses) {
+        return responses.stream().anyMatch(ProviderResponse::isSuccess);
+    }
+
+    /**
+     * Un lote sin exitos en el que todas las notificaciones fueron rechazadas
+     * por el destinatario: otro proveedor recibiria los mismos rechazos.
+     */
+    private static boolean allRejected(List<ProviderResponse> responses) {
+        return !responses.isEmpty() && responses.stream().allMatch(ProviderResponse::isRecipientRejected);
+    }
+}
@@ -0,0 +1,290 @@
+package com.novacomp.notifications.provider.routing;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Enrutador generico entre varios proveedores del mismo canal (ej. SendGrid
+ * + Mailgun). En cada envio ordena los proveedores segun la
+ * {@link RoutingStrategy} y, si el elegido falla (respuesta fallida o
+ * excepcion), prueba el siguiente dentro del MISMO envio (failover). Un
+ * rechazo permanente (ej. destinatario dado de baja) corta el failover: otro
+ * proveedor recibiria el mismo rechazo, o peor, entregaria a quien no debe.
+ *
+ * Las estadisticas por proveedor (EWMA de latencia y de tasa de error) se
+ * actualizan sin locks; una carrera entre dos actualizaciones puede perder
+ * una muestra, lo cual no cambia la tendencia que se quiere seguir.
+ *
+ * @param <P> tipo de proveedor (EmailProvider, SmsProvider, ...)
+ */
+public final class ProviderRouter<P> {
+
+    private static final double EWMA_ALPHA = 0.2;
+    /**
+     * Costo, sumado a la latencia, de un envio fallido: del orden del timeout
+     * de respuesta por defecto (10s), que es lo que puede costar un fallo mas
+     * el failover. Es aditivo a proposito: multiplicar la latencia dejaria a
+     * un proveedor que falla rapido (1ms) por delante de uno sano de 50ms.
+     */
+    private static final double FAILURE_COST_NANOS = 10_000_000_000.0;
+
+    private final List<Route<P>> routes;
+    private final RoutingStrategy strategy;
+    private final double exploreRatio;
+    private final int totalWeight;
+    private final AtomicLong roundRobin = new AtomicLong();
+
+    private ProviderRouter(Builder<P> builder) {
+        if (builder.routes.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos un proveedor");
+        }
+        this.routes = Collections.unmodifiableList(new ArrayList<>(builder.routes));
+        this.strategy = builder.strategy;
+        this.exploreRatio = builder.exploreRatio;
+        this.totalWeight = routes.stream().mapToInt(Route::getWeight).sum();
+    }
+
+    public static <P> Builder<P> builder() {
+        return new Builder<>();
+    }
+
+    public List<Route<P>> getRoutes() {
+        return routes;
+    }
+
+    /**
+     * Ejecuta {@code call} sobre los proveedores en orden de preferencia hasta
+     * que uno devuelva un resultado exitoso segun {@code isSuccess}.
+     *
+     * @return el primer resultado exitoso, o el ultimo resultado fallido
+     * @throws RuntimeException la ultima excepcion, si todos los proveedores lanzaron
+     */
+    public <R> R route(Function<P, R> call, Predicate<R> isSuccess) {
+        return route(call, isSuccess, result -> false);
+    }
+
+    /**
+     * Como {@link #route(Function, Predicate)}, pero un resultado fallido que
+     * cumple {@code isPermanent} se devuelve sin probar el siguiente
+     * proveedor. Ese proveedor respondio bien (el problema es el
+     * destinatario), asi que no suma a su tasa de error.
+     */
+    public <R> R route(Function<P, R> call, Predicate<R> isSuccess, Predicate<R> isPermanent) {
+        R lastResult = null;
+        RuntimeException lastFailure = null;
+        for (Route<P> route : order()) {
+            long start = System.nanoTime();
+            try {
+                R result = call.apply(route.provider);
+                boolean success = isSuccess.test(result);
+                boolean permanent = !success && isPermanent.test(result);
+                route.record(System.nanoTime() - start, success || permanent);
+                if (success || permanent) {
+                    return result;
+                }
+                lastResult = result;
+                lastFailure = null;
+            } catch (RuntimeException e) {
+                route.record(System.nanoTime() - start, false);
+                lastFailure = e;
+            }
+        }
+        if (lastFailure != null) {
+            throw lastFailure;
+        }
+        return lastResult;
+    }
+
+    /**
+     * Version no bloqueante de {@link #route(Function, Predicate)}: el
+     * failover al siguiente proveedor se encadena cuando termina la etapa del
+     * anterior, sin ocupar un hilo mientras tanto. La latencia registrada es
+     * la de cada etapa, igual que en el camino sincrono.
+     */
+    public <R> CompletionStage<R> routeAsync(Function<P, CompletionStage<R>> call, Predicate<R> isSuccess) {
+        return routeAsync(call, isSuccess, result -> false);
+    }
+
+    /** Version no bloqueante de {@link #route(Function, Predicate, Predicate)}. */
+    public <R> CompletionStage<R> routeAsync(Function<P, CompletionStage<R>> call, Predicate<R> isSuccess,
+                                             Predicate<R> isPermanent) {
+        CompletableFuture<R> promise = new CompletableFuture<>();
+        attempt(order(), 0, call, isSuccess, isPermanent, null, null, promise);
+        return promise;
+    }
+
+    private <R> void attempt(List<Route<P>> ordered, int index, Function<P, CompletionStage<R>> call,
+                             Predicate<R> isSuccess, Predicate<R> isPermanent, R lastResult,
+                             Throwable lastFailure, CompletableFuture<R> promise) {
+        if (index == ordered.size()) {
+            if (lastFailure != null) {
+                promise.completeExceptionally(lastFailure);
+            } else {
+                promise.complete(lastResult);
+            }
+            return;
+        }
+        Route<P> route = ordered.get(index);
+        long start = System.nanoTime();
+        CompletionStage<R> stage;
+        try {
+            stage = call.apply(route.provider);
+        } catch (RuntimeException e) {
+            route.record(System.nanoTime() - start, false);
+            attempt(ordered, index + 1, call, isSuccess, isPermanent, null, e, promise);
+            return;
+        }
+        stage.whenComplete((result, error) -> {
+            boolean success = error == null && isSuccess.test(result);
+            boolean permanent = error == null && !success && isPermanent.test(result);
+            route.record(System.nanoTime() - start, success || permanent);
+            if (success || permanent) {
+                promise.complete(result);
+            } else if (error != null) {
+                Throwable cause = error instanceof CompletionException && error.getCause() != null
+                        ? error.getCause() : error;
+                attempt(ordered, index + 1, call, isSuccess, isPermanent, null, cause, promise);
+            } else {
+                attempt(ordered, index + 1, call, isSuccess, isPermanent, result, null, promise);
+            }
+        });
+    }
+
+    /** Orden de preferencia para un envio: el primero es el elegido, el resto son failover. */
+    List<Route<P>> order() {
+        List<Route<P>> ordered = new ArrayList<>(routes);
+        if (ordered.size() == 1) {
+            return ordered;
+        }
+        Route<P> first;
+        if (strategy == RoutingStrategy.WEIGHTED_ROUND_ROBIN) {
+            first = pickWeighted();
+        } else {
+            ordered.sort((a, b) -> Double.compare(a.score(), b.score()));
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            first = random.nextDouble() < exploreRatio
+                    ? ordered.get(1 + random.nextInt(ordered.size() - 1))
+                    : ordered.get(0);
+        }
+        ordered.remove(first);
+        ordered.add(0, first);
+        return ordered;
+    }
+
+    private Route<P> pickWeighted() {
+        long position = Math.floorMod(roundRobin.getAndIncrement(), (long) totalWeight);
+        for (Route<P> route : routes) {
+            position -= route.weight;
+            if (position < 0) {
+                return route;
+            }
+        }
+        return routes.get(routes.size() - 1);
+    }
+
+    /** Un proveedor dentro del router, con su peso y estadisticas vivas. */
+    public static final class Route<P> {
+
+        private final P provider;
+        private final String name;
+        private final int weight;
+        // EWMAs guardados como bits de double para actualizarlos con un AtomicLong.
+        private final AtomicLong ewmaLatencyNanos = new AtomicLong(Double.doubleToRawLongBits(-1));
+        private final AtomicLong ewmaErrorRate = new AtomicLong(Double.doubleToRawLongBits(0));
+
+        private Route(P provider, String name, int weight) {
+            this.provider = Objects.requireNonNull(provider);
+            this.name = Objects.requireNonNull(name);
+            this.weight = weight;
+        }
+
+        public P getProvider() {
+            return provider;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getWeight() {
+            return weight;
+        }
+
+        /** EWMA de latencia en ms, o -1 si todavia no hubo envios por este proveedor. */
+        public double getEwmaLatencyMillis() {
+            double nanos = Double.longBitsToDouble(ewmaLatencyNanos.get());
+            return nanos < 0 ? -1 : nanos / 1_000_000.0;
+        }
+
+        /** EWMA de la tasa de error, entre 0 y 1. */
+        public double getEwmaErrorRate() {
+            return Double.longBitsToDouble(ewmaErrorRate.get());
+        }
+
+        double score() {
+            double latency = Double.longBitsToDouble(ewmaLatencyNanos.get());
+            if (latency < 0) {
+                // Sin muestras aun: se prefiere para medirlo cuanto antes.
+                return 0;
+            }
+            return latency + FAILURE_COST_NANOS * getEwmaErrorRate();
+        }
+
+        void record(long latencyNanos, boolean success) {
+            updateEwma(ewmaLatencyNanos, latencyNanos, true);
+            updateEwma(ewmaErrorRate, success ? 0 : 1, false);
+        }
+
+        private static void updateEwma(AtomicLong holder, double sample, boolean seedWithFirstSample) {
+            long bits = holder.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = seedWithFirstSample && current < 0
+                    ? sample
+                    : current + EWMA_ALPHA * (sample - current);
+            holder.compareAndSet(bits, Double.doubleToRawLongBits(next));
+        }
+    }
+
+    public static final class Builder<P> {
+        private final List<Route<P>> routes = new ArrayList<>();
+        private RoutingStrategy strategy = RoutingStrategy.LATENCY_AWARE;
+        private double exploreRatio = 0.05;
+
+        public Builder<P> add(P provider, String name) {
+            return add(provider, name, 1);
+        }
+
+        /** @param weight peso relativo, usado por WEIGHTED_ROUND_ROBIN */
+        public Builder<P> add(P provider, String name, int weight) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("weight debe ser mayor a 0");
+            }
+            routes.add(new Route<>(provider, name, weight));
+            return this;
+        }
+
+        public Builder<P> strategy(RoutingStrategy strategy) {
+            this.strategy = Objects.requireNonNull(strategy);
+            return this;
+        }
+
+        /** Fraccion de envios (LATENCY_AWARE) que prueban primero otro proveedor. Default 0.05. */
+        public Builder<P> exploreRatio(double exploreRatio) {
+            this.exploreRatio = exploreRatio;
+            return this;
+        }
+
+        public ProviderRouter<P> build() {
+            return new ProviderRouter<>(this);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.novacomp.notifications.provider.routing;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.email.EmailProvider;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * EmailProvider que reparte los envios entre varios proveedores del canal
+ * (SendGrid + Mailgun) via {@link ProviderRouter}, con failover dentro del mismo envio.
+ * Se registra como cualquier otro proveedor:
+ * <pre>
+ *   builder.registerEmailSender(new RoutingEmailProvider(RoutingStrategy.LATENCY_AWARE, sendGrid, mailgun));
+ * </pre>
+ */
+public class RoutingEmailProvider extends AbstractRoutingProvider<EmailProvider, EmailNotification>
+        implements EmailProvider {
+
+    public RoutingEmailProvider(RoutingStrategy strategy, EmailProvider... providers) {
+        this(routerOf(strategy, EmailProvider::getProviderName, providers));
+    }
+
+    public RoutingEmailProvider(ProviderRouter<EmailProvider> router) {
+        super(router);
+    }
+
+    @Override
+    protected ProviderResponse doSend(EmailProvider provider, EmailNotification notification) {
+        return provider.send(notification);
+    }
+
+    @Override
+    protected List<ProviderResponse> doSendBulk(EmailProvider provider, List<EmailNotification> notifications) {
+        return provider.sendBulk(notifications);
+    }
+
+    @Override
+    protected CompletionStage<ProviderResponse> doSendAsync(EmailProvider provider, EmailNotification notification) {
+        return provider.sendAsync(notification);
+    }
+
+    @Override
+    protected int maxBulkSizeOf(EmailProvider provider) {
+        return provider.getMaxBulkSize();
+    }
+
+    @Override
+    protected boolean isAsyncNative(EmailProvider provider) {
+        return provider.isAsyncNative();
+    }
+}
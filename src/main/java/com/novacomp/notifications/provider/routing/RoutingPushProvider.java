@@ -0,0 +1,53 @@
+package com.novacomp.notifications.provider.routing;
+
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.push.PushProvider;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * PushProvider que reparte los envios entre varios proveedores del canal
+ * (FCM + un segundo proveedor de Push) via {@link ProviderRouter}, con failover dentro del mismo envio.
+ * Se registra como cualquier otro proveedor:
+ * <pre>
+ *   builder.registerPushSender(new RoutingPushProvider(RoutingStrategy.LATENCY_AWARE, fcm, otroPush));
+ * </pre>
+ */
+public class RoutingPushProvider extends AbstractRoutingProvider<PushProvider, PushNotification>
+        implements PushProvider {
+
+    public RoutingPushProvider(RoutingStrategy strategy, PushProvider... providers) {
+        this(routerOf(strategy, PushProvider::getProviderName, providers));
+    }
+
+    public RoutingPushProvider(ProviderRouter<PushProvider> router) {
+        super(router);
+    }
+
+    @Override
+    protected ProviderResponse doSend(PushProvider provider, PushNotification notification) {
+        return provider.send(notification);
+    }
+
+    @Override
+    protected List<ProviderResponse> doSendBulk(PushProvider provider, List<PushNotification> notifications) {
+        return provider.sendBulk(notifications);
+    }
+
+    @Override
+    protected CompletionStage<ProviderResponse> doSendAsync(PushProvider provider, PushNotification notification) {
+        return provider.sendAsync(notification);
+    }
+
+    @Override
+    protected int maxBulkSizeOf(PushProvider provider) {
+        return provider.getMaxBulkSize();
+    }
+
+    @Override
+    protected boolean isAsyncNative(PushProvider provider) {
+        return provider.isAsyncNative();
+    }
+}
@@ -0,0 +1,53 @@
+package com.novacomp.notifications.provider.routing;
+
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.slack.SlackProvider;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * SlackProvider que reparte los envios entre varios proveedores del canal
+ * (dos webhooks de Slack) via {@link ProviderRouter}, con failover dentro del mismo envio.
+ * Se registra como cualquier otro proveedor:
+ * <pre>
+ *   builder.registerSlackSender(new RoutingSlackProvider(RoutingStrategy.LATENCY_AWARE, webhookA, webhookB));
+ * </pre>
+ */
+public class RoutingSlackProvider extends AbstractRoutingProvider<SlackProvider, SlackNotification>
+        implements SlackProvider {
+
+    public RoutingSlackProvider(RoutingStrategy strategy, SlackProvider... providers) {
+        this(routerOf(strategy, SlackProvider::getProviderName, providers));
+    }
+
+    public RoutingSlackProvider(ProviderRouter<SlackProvider> router) {
+        super(router);
+    }
+
+    @Override
+    protected ProviderResponse doSend(SlackProvider provider, SlackNotification notification) {
+        return provider.send(notification);
+    }
+
+    @Override
+    protected List<ProviderResponse> doSendBulk(SlackProvider provider, List<SlackNotification> notifications) {
+        return provider.sendBulk(notifications);
+    }
+
+    @Override
+    protected CompletionStage<ProviderResponse> doSendAsync(SlackProvider provider, SlackNotification notification) {
+        return provider.sendAsync(notification);
+    }
+
+    @Override
+    protected int maxBulkSizeOf(SlackProvider provider) {
+        return provider.getMaxBulkSize();
+    }
+
+    @Override
+    protected boolean isAsyncNative(SlackProvider provider) {
+        return provider.isAsyncNative();
+    }
+}
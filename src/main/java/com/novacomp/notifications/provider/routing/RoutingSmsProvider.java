@@ -0,0 +1,53 @@
+package com.novacomp.notifications.provider.routing;
+
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.sms.SmsProvider;
+
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * SmsProvider que reparte los envios entre varios proveedores del canal
+ * (Twilio + un segundo proveedor de SMS) via {@link ProviderRouter}, con failover dentro del mismo envio.
+ * Se registra como cualquier otro proveedor:
+ * <pre>
+ *   builder.registerSmsSender(new RoutingSmsProvider(RoutingStrategy.LATENCY_AWARE, twilio, otroSms));
+ * </pre>
+ */
+public class RoutingSmsProvider extends AbstractRoutingProvider<SmsProvider, SmsNotification>
+        implements SmsProvider {
+
+    public RoutingSmsProvider(RoutingStrategy strategy, SmsProvider... providers) {
+        this(routerOf(strategy, SmsProvider::getProviderName, providers));
+    }
+
+    public RoutingSmsProvider(ProviderRouter<SmsProvider> router) {
+        super(router);
+    }
+
+    @Override
+    protected ProviderResponse doSend(SmsProvider provider, SmsNotification notification) {
+        return provider.send(notification);
+    }
+
+    @Override
+    protected List<ProviderResponse> doSendBulk(SmsProvider provider, List<SmsNotification> notifications) {
+        return provider.sendBulk(notifications);
+    }
+
+    @Override
+    protected CompletionStage<ProviderResponse> doSendAsync(SmsProvider provider, SmsNotification notification) {
+        return provider.sendAsync(notification);
+    }
+
+    @Override
+    protected int maxBulkSizeOf(SmsProvider provider) {
+        return provider.getMaxBulkSize();
+    }
+
+    @Override
+    protected boolean isAsyncNative(SmsProvider provider) {
+        return provider.isAsyncNative();
+    }
+}
@@ -0,0 +1,13 @@
+package com.novacomp.notifications.provider.routing;
+
+/** Como elige {@link ProviderRouter} el proveedor a probar primero en cada envio. */
+public enum RoutingStrategy {
+    /**
+     * El de menor puntaje: EWMA de latencia mas un costo fijo (del orden del
+     * timeout de respuesta) por el EWMA de tasa de error. Una fraccion pequena de envios explora otro proveedor
+     * para que sus estadisticas no queden viejas.
+     */
+    LATENCY_AWARE,
+    /** Round-robin ponderado por el peso de cada proveedor. */
+    WEIGHTED_ROUND_ROBIN
+}
@@ -3,10 +3,53 @@ package com.novacomp.notifications.provider.slack;
 import com.novacomp.notifications.channel.slack.SlackNotification;
 import com.novacomp.notifications.provider.ProviderResponse;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
 /** Puerto (Strategy) para proveedores de Slack. */
 public interface SlackProvider {
 
     ProviderResponse send(SlackNotification notification);
 
+    /**
+     * Envia varias notificaciones en una sola llamada al proveedor, si su API
+     * lo permite. Devuelve una respuesta por notificacion, en el mismo orden.
+     * El sender solo agrupa aqui notificaciones con el mismo contenido y a lo
+     * sumo {@link #getMaxBulkSize()} por llamada. Por defecto envia de a una.
+     */
+    default List<ProviderResponse> sendBulk(List<SlackNotification> notifications) {
+        List<ProviderResponse> responses = new ArrayList<>(notifications.size());
+        for (SlackNotification notification : notifications) {
+            responses.add(send(notification));
+        }
+        return responses;
+    }
+
+    /** Maximo de notificaciones por llamada a {@link #sendBulk(List)}; 1 = sin API bulk nativa. */
+    default int getMaxBulkSize() {
+        return 1;
+    }
+
+    /**
+     * Envio no bloqueante: la etapa se completa cuando el proveedor responde,
+     * sin ocupar un hilo mientras espera. El sender solo lo usa si
+     * {@link #isAsyncNative()}; por defecto llama a {@link #send(SlackNotification)}
+     * en el hilo que invoca y devuelve la etapa ya completada.
+     */
+    default CompletionStage<ProviderResponse> sendAsync(SlackNotification notification) {
+        try {
+            return CompletableFuture.completedFuture(send(notification));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /** true si {@link #sendAsync(SlackNotification)} no bloquea; false = el sender llama a send() en su executor. */
+    default boolean isAsyncNative() {
+        return false;
+    }
+
     String getProviderName();
 }
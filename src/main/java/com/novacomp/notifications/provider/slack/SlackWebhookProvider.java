@@ -2,41 +2,102 @@ package com.novacomp.notifications.provider.slack;
 
 import com.novacomp.notifications.channel.slack.SlackNotification;
 import com.novacomp.notifications.config.SlackConfig;
+import com.novacomp.notifications.core.IdGenerator;
 import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.JsonWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletionStage;
 
 /**
- * Simulacion de un Slack Incoming Webhook.
+ * Slack Incoming Webhook.
  *
- * En una integracion real esto haria un POST a la webhookUrl con body:
+ * Con un {@link HttpTransport} hace un POST a la webhookUrl con body:
  *   { "text": "...", "username": "...", "icon_emoji": ":robot_face:" }
- * Slack responde 200 OK con el texto plano "ok".
+ * Slack responde 200 OK con el texto plano "ok" y ningun id, asi que el
+ * resultado lleva un trackingId generado localmente. Sin transporte el envio
+ * se simula sin salir a la red.
  */
 public class SlackWebhookProvider implements SlackProvider {
 
     private static final Logger log = LoggerFactory.getLogger(SlackWebhookProvider.class);
 
+    private static final JsonWriter.Key CHANNEL = JsonWriter.key("channel");
+    private static final JsonWriter.Key TEXT = JsonWriter.key("text");
+    private static final JsonWriter.Key USERNAME = JsonWriter.key("username");
+    private static final JsonWriter.Key ICON_EMOJI = JsonWriter.key("icon_emoji");
+
     private final SlackConfig config;
+    private final HttpTransport transport;
+    private final URI endpoint;
 
+    /** Envio simulado, sin red. */
     public SlackWebhookProvider(SlackConfig config) {
+        this(config, null);
+    }
+
+    /** @param transport transporte HTTP real; null para simular el envio */
+    public SlackWebhookProvider(SlackConfig config, HttpTransport transport) {
         this.config = config;
+        this.transport = transport;
+        this.endpoint = URI.create(config.getWebhookUrl());
     }
 
     @Override
     public ProviderResponse send(SlackNotification notification) {
+        if (transport != null) {
+            return toResponse(transport.send(request(notification)));
+        }
         log.info("[Slack] Enviando mensaje a '{}' como '{}'", notification.getRecipient(), notification.getUsername());
 
-        // --- Aqui iria el POST real al webhookUrl configurado en config.getWebhookUrl() ---
-        String simulatedId = "slack_" + UUID.randomUUID();
+        // --- Simulacion (sin HttpTransport): no sale a la red ---
+        String simulatedId = "slack_" + IdGenerator.monotonic().next();
         log.info("[Slack] Respuesta simulada 200 OK ('ok'), trackingId={}", simulatedId);
         return ProviderResponse.success(simulatedId);
     }
 
+    /** Con transporte, el request sale sin bloquear y la etapa se completa en los hilos del transporte. */
+    @Override
+    public CompletionStage<ProviderResponse> sendAsync(SlackNotification notification) {
+        if (transport == null) {
+            return SlackProvider.super.sendAsync(notification);
+        }
+        return transport.sendAsync(request(notification)).thenApply(this::toResponse);
+    }
+
+    @Override
+    public boolean isAsyncNative() {
+        return transport != null;
+    }
+
     @Override
     public String getProviderName() {
         return "Slack";
     }
+
+    private HttpRequest request(SlackNotification notification) {
+        JsonWriter json = JsonWriter.forCurrentThread()
+                .beginObject()
+                .name(CHANNEL).value(notification.getRecipient())
+                .name(TEXT).value(notification.getMessage())
+                .optional(USERNAME, notification.getUsername())
+                .optional(ICON_EMOJI, notification.getIconEmoji())
+                .endObject();
+        return transport.request(endpoint)
+                .header("Content-Type", "application/json")
+                .POST(json.toBodyPublisher())
+                .build();
+    }
+
+    private ProviderResponse toResponse(HttpResponse<String> response) {
+        if (response.statusCode() != 200) {
+            return ProviderResponse.failure(HttpTransport.describeFailure(getProviderName(), response));
+        }
+        return ProviderResponse.success("slack_" + IdGenerator.monotonic().next());
+    }
 }
@@ -2,43 +2,107 @@ package com.novacomp.notifications.provider.sms;
 
 import com.novacomp.notifications.channel.sms.SmsNotification;
 import com.novacomp.notifications.config.TwilioConfig;
+import com.novacomp.notifications.core.IdGenerator;
 import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.transport.FormWriter;
+import com.novacomp.notifications.transport.HttpTransport;
+import com.novacomp.notifications.transport.Json;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 /**
- * Simulacion del proveedor Twilio.
+ * Proveedor Twilio.
  *
- * En una integracion real esto haria un POST a
- * https://api.twilio.com/2010-04-01/Accounts/{AccountSid}/Messages.json
+ * Con un {@link HttpTransport} hace un POST a
+ * {baseUrl}/2010-04-01/Accounts/{AccountSid}/Messages.json
  * con Basic Auth (accountSid, authToken) y form params From/To/Body.
  * Twilio responde 201 Created con un "sid" (ej. SMxxxxxxxx...) y un "status"
- * (queued, sent, delivered, failed, undelivered).
+ * (queued, sent, delivered, failed, undelivered). Sin transporte el envio se
+ * simula sin salir a la red. Los errores 21211 (numero invalido), 21610
+ * (el destinatario respondio STOP) y 21614 (no es un movil) son rechazos
+ * permanentes del destinatario.
  */
 public class TwilioSmsProvider implements SmsProvider {
 
     private static final Logger log = LoggerFactory.getLogger(TwilioSmsProvider.class);
+    private static final Set<Long> REJECTED_RECIPIENT_CODES = Set.of(21211L, 21610L, 21614L);
 
     private final TwilioConfig config;
+    private final HttpTransport transport;
+    private final URI endpoint;
+    private final String authorization;
 
+    /** Envio simulado, sin red. */
     public TwilioSmsProvider(TwilioConfig config) {
+        this(config, null);
+    }
+
+    /** @param transport transporte HTTP real; null para simular el envio */
+    public TwilioSmsProvider(TwilioConfig config, HttpTransport transport) {
         this.config = config;
+        this.transport = transport;
+        this.endpoint = URI.create(config.getBaseUrl() + "/2010-04-01/Accounts/" + config.getAccountSid()
+                + "/Messages.json");
+        this.authorization = HttpTransport.basicAuth(config.getAccountSid(), config.getAuthToken());
     }
 
     @Override
     public ProviderResponse send(SmsNotification notification) {
+        if (transport != null) {
+            return toResponse(transport.send(request(notification)));
+        }
         log.info("[Twilio] Enviando SMS desde '{}' a '{}'", config.getFromNumber(), notification.getRecipient());
 
-        // --- Aqui iria la llamada HTTP real a la API de Twilio ---
-        String simulatedSid = "SM" + UUID.randomUUID().toString().replace("-", "").substring(0, 32);
+        // --- Simulacion (sin HttpTransport): no sale a la red ---
+        String simulatedSid = "SM" + IdGenerator.monotonic().next().toHexString();
         log.info("[Twilio] Respuesta simulada 201 Created, sid={}, status=queued", simulatedSid);
         return ProviderResponse.success(simulatedSid);
     }
 
+    /** Con transporte, el request sale sin bloquear y la etapa se completa en los hilos del transporte. */
+    @Override
+    public CompletionStage<ProviderResponse> sendAsync(SmsNotification notification) {
+        if (transport == null) {
+            return SmsProvider.super.sendAsync(notification);
+        }
+        return transport.sendAsync(request(notification)).thenApply(this::toResponse);
+    }
+
+    @Override
+    public boolean isAsyncNative() {
+        return transport != null;
+    }
+
     @Override
     public String getProviderName() {
         return "Twilio";
     }
+
+    private HttpRequest request(SmsNotification notification) {
+        FormWriter form = FormWriter.forCurrentThread()
+                .field("From", config.getFromNumber())
+                .field("To", notification.getRecipient())
+                .field("Body", notification.getMessage());
+        return transport.request(endpoint)
+                .header("Authorization", authorization)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(form.toBodyPublisher())
+                .build();
+    }
+
+    private ProviderResponse toResponse(HttpResponse<String> response) {
+        if (response.statusCode() != 201) {
+            String failure = HttpTransport.describeFailure(getProviderName(), response);
+            return REJECTED_RECIPIENT_CODES.contains(Json.longField(response.body(), "code", 0))
+                    ? ProviderResponse.recipientRejected(failure)
+                    : ProviderResponse.failure(failure);
+        }
+        return ProviderResponse.success(Json.stringField(response.body(), "sid"));
+    }
 }
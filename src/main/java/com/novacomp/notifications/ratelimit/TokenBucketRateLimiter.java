@@ -0,0 +1,148 @@
+package com.novacomp.notifications.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Rate limiter token-bucket sin locks, con un bucket independiente por clave
+ * (ej. un webhook de Slack, un fromNumber de Twilio, o simplemente el canal).
+ *
+ * <p>Cada bucket se modela con GCRA ("generic cell rate algorithm"): un unico
+ * AtomicLong guarda el instante teorico en que el bucket vuelve a estar
+ * lleno, y {@link #reserve(String, int)} lo avanza con CAS. En vez de
+ * bloquear, quien pide un token recibe cuanto debe esperar; el decorator
+ * usa ese valor para agendar el envio en un timer.</p>
+ *
+ * <p>Los buckets no expiran: esta pensado para claves acotadas (proveedores,
+ * webhooks, numeros remitentes), no para claves por destinatario.</p>
+ */
+public final class TokenBucketRateLimiter {
+
+    /** Valor devuelto por {@link #reserve(String, int)} cuando la espera superaria maxWait. */
+    public static final long REJECTED = -1L;
+
+    private final long nanosPerPermit;
+    private final long burstToleranceNanos;
+    private final long maxWaitNanos;
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    private final LongAdder permitsGranted = new LongAdder();
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder throttleWaitNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private TokenBucketRateLimiter(Builder builder) {
+        if (builder.permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond debe ser mayor a 0");
+        }
+        if (builder.burst <= 0) {
+            throw new IllegalArgumentException("burst debe ser mayor a 0");
+        }
+        this.nanosPerPermit = (long) (TimeUnit.SECONDS.toNanos(1) / builder.permitsPerSecond);
+        this.burstToleranceNanos = nanosPerPermit * (builder.burst - 1);
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(builder.maxWaitMillis);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Reserva un token para la clave. Ver {@link #reserve(String, int)}. */
+    public long reserve(String key) {
+        return reserve(key, 1);
+    }
+
+    /**
+     * Reserva {@code permits} tokens para la clave y devuelve cuantos
+     * nanosegundos hay que esperar antes de usarlos (0 = ya), o
+     * {@link #REJECTED} si la espera excederia maxWait (en ese caso no se
+     * reserva nada).
+     */
+    public long reserve(String key, int permits) {
+        AtomicLong bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(System.nanoTime()));
+        long cost = nanosPerPermit * permits;
+        while (true) {
+            long now = System.nanoTime();
+            long theoreticalFull = bucket.get();
+            long base = Math.max(theoreticalFull, now);
+            long wait = Math.max(0L, base + cost - nanosPerPermit - burstToleranceNanos - now);
+            if (wait > maxWaitNanos) {
+                rejectedCount.increment();
+                return REJECTED;
+            }
+            if (bucket.compareAndSet(theoreticalFull, base + cost)) {
+                permitsGranted.add(permits);
+                if (wait > 0) {
+                    throttledCount.increment();
+                    throttleWaitNanos.add(wait);
+                }
+                return wait;
+            }
+        }
+    }
+
+    /**
+     * Devuelve {@code permits} tokens reservados que no se van a usar (ej. el
+     * envio se cancelo mientras esperaba su turno): el bucket retrocede ese
+     * costo, sin pasar de lleno.
+     */
+    public void refund(String key, int permits) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            return;
+        }
+        long cost = nanosPerPermit * permits;
+        bucket.getAndUpdate(theoreticalFull -> Math.max(theoreticalFull - cost, System.nanoTime()));
+        permitsGranted.add(-permits);
+    }
+
+    public long getPermitsGranted() {
+        return permitsGranted.sum();
+    }
+
+    /** Cantidad de reservas que tuvieron que esperar por un token. */
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    /** Tiempo total de espera por throttling acumulado por todas las reservas. */
+    public long getTotalThrottleWaitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(throttleWaitNanos.sum());
+    }
+
+    /** Cantidad de reservas rechazadas por exceder maxWait. */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public static final class Builder {
+        private double permitsPerSecond = 10;
+        private int burst = 1;
+        private long maxWaitMillis = Long.MAX_VALUE / 1_000_000L;
+
+        /** Tasa sostenida de tokens por segundo (ej. 1 para un webhook de Slack). */
+        public Builder permitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+            return this;
+        }
+
+        /** Tokens que se pueden consumir de golpe con el bucket lleno. */
+        public Builder burst(int burst) {
+            this.burst = burst;
+            return this;
+        }
+
+        /** Espera maxima aceptada; una reserva que esperaria mas se rechaza. Default: sin limite. */
+        public Builder maxWaitMillis(long maxWaitMillis) {
+            this.maxWaitMillis = maxWaitMillis;
+            return this;
+        }
+
+        public TokenBucketRateLimiter build() {
+            return new TokenBucketRateLimiter(this);
+        }
+    }
+}
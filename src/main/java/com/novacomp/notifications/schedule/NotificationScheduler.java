@@ -0,0 +1,210 @@
+package com.novacomp.notifications.schedule;
+
+import com.novacomp.notifications.core.Notification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Envios diferidos ("mandar a las 9:00") sin cron externo: las notificaciones
+ * esperan en una {@link TimingWheel} en memoria y un unico hilo daemon avanza
+ * la rueda una vez por tick, entregando lo que vence en lotes de a lo sumo
+ * {@code maxBatchSize} al consumidor configurado (el pipeline normal de envio
+ * de NotificationService).
+ *
+ * La precision es de un tick (default 100 ms): una notificacion sale en el
+ * primer tick posterior a su vencimiento, nunca antes.
+ */
+public final class NotificationScheduler implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificationScheduler.class);
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final TimingWheel wheel;
+    private final LongSupplier clock;
+    private final int maxBatchSize;
+    private final Consumer<List<ScheduledNotification>> onDue;
+    private final Thread ticker;
+    private volatile boolean running = true;
+
+    private NotificationScheduler(Builder builder) {
+        this.clock = builder.clock;
+        this.wheel = new TimingWheel(builder.tickMillis, builder.wheelSize, clock.getAsLong());
+        this.maxBatchSize = builder.maxBatchSize;
+        this.onDue = Objects.requireNonNull(builder.onDue, "onDue es obligatorio");
+        this.ticker = new Thread(this::tickLoop, "notifications-scheduler-wheel");
+        ticker.setDaemon(true);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Programa la notificacion. Si {@code dueAt} ya paso (o cae dentro del
+     * tick actual) se entrega de inmediato, en el hilo del llamador.
+     *
+     * @throws IllegalStateException si el scheduler esta cerrado
+     */
+    public ScheduledNotification schedule(Notification notification, Instant dueAt) {
+        ScheduledNotification task = new ScheduledNotification(notification, dueAt.toEpochMilli(), this);
+        boolean added;
+        lock.lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("El scheduler esta cerrado");
+            }
+            added = wheel.add(task);
+        } finally {
+            lock.unlock();
+        }
+        if (!added) {
+            deliver(List.of(task));
+        }
+        return task;
+    }
+
+    /** Notificaciones esperando en la rueda. */
+    public int getPendingCount() {
+        lock.lock();
+        try {
+            return wheel.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Detiene el hilo de la rueda. Las notificaciones pendientes no se envian
+     * ni se cancelan: con outbox se recuperan en el proximo arranque.
+     */
+    @Override
+    public void close() {
+        lock.lock();
+        try {
+            running = false;
+        } finally {
+            lock.unlock();
+        }
+        LockSupport.unpark(ticker);
+        if (ticker.isAlive()) {
+            try {
+                ticker.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    boolean remove(ScheduledNotification task) {
+        lock.lock();
+        try {
+            return wheel.remove(task);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Avanza la rueda hasta el instante actual y entrega lo vencido; lo llama el hilo de la rueda. */
+    void tick() {
+        List<ScheduledNotification> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            wheel.advanceTo(clock.getAsLong(), expired);
+        } finally {
+            lock.unlock();
+        }
+        for (int from = 0; from < expired.size(); from += maxBatchSize) {
+            deliver(expired.subList(from, Math.min(from + maxBatchSize, expired.size())));
+        }
+    }
+
+    private void tickLoop() {
+        while (running) {
+            tick();
+            long waitMillis;
+            lock.lock();
+            try {
+                waitMillis = wheel.nextTickMillis() - clock.getAsLong();
+            } finally {
+                lock.unlock();
+            }
+            if (waitMillis > 0 && running) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(waitMillis));
+            }
+        }
+    }
+
+    private void deliver(List<ScheduledNotification> batch) {
+        try {
+            onDue.accept(batch);
+        } catch (RuntimeException e) {
+            log.warn("Fallo la entrega de {} notificaciones programadas: {}", batch.size(), e.getMessage());
+            batch.forEach(task -> task.getResult().completeExceptionally(e));
+        }
+    }
+
+    public static final class Builder {
+        private long tickMillis = 100;
+        private int wheelSize = 512;
+        private int maxBatchSize = 1024;
+        private LongSupplier clock = System::currentTimeMillis;
+        private Consumer<List<ScheduledNotification>> onDue;
+
+        /** Resolucion de la rueda. Default 100 ms. */
+        public Builder tickMillis(long tickMillis) {
+            this.tickMillis = tickMillis;
+            return this;
+        }
+
+        /** Buckets por nivel (potencia de 2). Default 512: el nivel 0 cubre 51,2 s con tick de 100 ms. */
+        public Builder wheelSize(int wheelSize) {
+            this.wheelSize = wheelSize;
+            return this;
+        }
+
+        /** Maximo de notificaciones por lote entregado a {@code onDue}. Default 1024. */
+        public Builder maxBatchSize(int maxBatchSize) {
+            if (maxBatchSize <= 0) {
+                throw new IllegalArgumentException("maxBatchSize debe ser mayor a 0");
+            }
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        /**
+         * Recibe cada lote vencido y es responsable de completar
+         * {@link ScheduledNotification#getResult()} de cada una.
+         */
+        public Builder onDue(Consumer<List<ScheduledNotification>> onDue) {
+            this.onDue = onDue;
+            return this;
+        }
+
+        Builder clock(LongSupplier clock) {
+            this.clock = clock;
+            return this;
+        }
+
+        /** Crea el scheduler y arranca el hilo de la rueda. */
+        public NotificationScheduler build() {
+            NotificationScheduler scheduler = buildStopped();
+            scheduler.ticker.start();
+            return scheduler;
+        }
+
+        /** Sin hilo: los tests avanzan la rueda con {@link NotificationScheduler#tick()}. */
+        NotificationScheduler buildStopped() {
+            return new NotificationScheduler(this);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.novacomp.notifications.schedule;
+
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationResult;
+
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Handle de una notificacion programada. Es a la vez el nodo de la lista
+ * doblemente enlazada del bucket de la rueda donde espera, por eso
+ * {@link #cancel()} es O(1): se desengancha sin buscarla.
+ */
+public final class ScheduledNotification {
+
+    private final Notification notification;
+    private final long dueAtMillis;
+    private final NotificationScheduler scheduler;
+    private final CompletableFuture<NotificationResult> result = new CompletableFuture<>();
+
+    // Enlaces dentro del bucket; solo se tocan con el lock del scheduler tomado.
+    TimingWheel.Bucket bucket;
+    ScheduledNotification previous;
+    ScheduledNotification next;
+
+    ScheduledNotification(Notification notification, long dueAtMillis, NotificationScheduler scheduler) {
+        this.notification = notification;
+        this.dueAtMillis = dueAtMillis;
+        this.scheduler = scheduler;
+    }
+
+    public Notification getNotification() {
+        return notification;
+    }
+
+    public Instant getDueAt() {
+        return Instant.ofEpochMilli(dueAtMillis);
+    }
+
+    long getDueAtMillis() {
+        return dueAtMillis;
+    }
+
+    /**
+     * Completa con el resultado del envio cuando la notificacion vence y se
+     * envia; queda cancelado si se llamo a {@link #cancel()} a tiempo.
+     */
+    public CompletableFuture<NotificationResult> getResult() {
+        return result;
+    }
+
+    /**
+     * Saca la notificacion de la rueda si todavia no vencio.
+     *
+     * @return false si ya habia vencido (se esta enviando o se envio) o ya estaba cancelada
+     */
+    public boolean cancel() {
+        if (!scheduler.remove(this)) {
+            return false;
+        }
+        result.cancel(false);
+        return true;
+    }
+
+    public boolean isCancelled() {
+        return result.isCancelled();
+    }
+}
@@ -0,0 +1,158 @@
+package com.novacomp.notifications.schedule;
+
+import java.util.List;
+
+/**
+ * Rueda de tiempo jerarquica (Varghese y Lauck; la misma idea que los timers
+ * de Kafka y Netty). El nivel 0 tiene {@code wheelSize} buckets de
+ * {@code tickMillis}; cada nivel superior tiene buckets del tamano de toda la
+ * vuelta del nivel de abajo y se crea recien cuando hace falta. Agregar y
+ * cancelar es O(1) sin importar cuantas notificaciones esperan; avanzar un
+ * tick solo toca el bucket que vence.
+ *
+ * Cuando un bucket de un nivel superior vence, sus notificaciones se vuelven
+ * a insertar y caen en niveles mas finos, hasta vencer en el nivel 0.
+ *
+ * No es thread-safe: lo protege el lock de {@link NotificationScheduler}.
+ */
+final class TimingWheel {
+
+    private final Level root;
+    private int size;
+
+    TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("tickMillis debe ser > 0 y wheelSize una potencia de 2 mayor a 1");
+        }
+        this.root = new Level(tickMillis, wheelSize, startMillis);
+    }
+
+    /**
+     * Inserta la notificacion en el bucket que le corresponde.
+     *
+     * @return false si ya vence dentro del tick actual (no se inserta)
+     */
+    boolean add(ScheduledNotification task) {
+        Level level = root;
+        // Redondeado hacia arriba al tick: un bucket vence a su inicio y la notificacion no debe salir antes.
+        long due = Math.floorDiv(task.getDueAtMillis() + root.tick - 1, root.tick) * root.tick;
+        if (due < level.currentTime + level.tick) {
+            return false;
+        }
+        while (due >= level.currentTime + level.span) {
+            level = level.overflow();
+        }
+        level.buckets[(int) (due / level.tick) & level.mask].add(task);
+        size++;
+        return true;
+    }
+
+    /** @return false si la notificacion ya no estaba en la rueda */
+    boolean remove(ScheduledNotification task) {
+        if (task.bucket == null) {
+            return false;
+        }
+        task.bucket.remove(task);
+        size--;
+        return true;
+    }
+
+    /** Avanza la rueda hasta {@code nowMillis} y agrega a {@code expired} lo que vencio, en orden de tick. */
+    void advanceTo(long nowMillis, List<ScheduledNotification> expired) {
+        while (nowMillis >= root.currentTime + root.tick) {
+            long time = root.currentTime + root.tick;
+            for (Level level = root; level != null; level = level.next) {
+                if (time < level.currentTime + level.tick) {
+                    break;
+                }
+                level.currentTime = time - time % level.tick;
+                Bucket bucket = level.buckets[(int) (level.currentTime / level.tick) & level.mask];
+                for (ScheduledNotification task = bucket.drain(); task != null; ) {
+                    ScheduledNotification following = task.next;
+                    task.next = null;
+                    size--;
+                    if (!add(task)) {
+                        expired.add(task);
+                    }
+                    task = following;
+                }
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Instante en que vence el tick actual del nivel 0. */
+    long nextTickMillis() {
+        return root.currentTime + root.tick;
+    }
+
+    private static final class Level {
+        private final long tick;
+        private final long span;
+        private final int mask;
+        private final Bucket[] buckets;
+        private long currentTime;
+        private Level next;
+
+        private Level(long tick, int wheelSize, long startMillis) {
+            this.tick = tick;
+            this.span = tick * wheelSize;
+            this.mask = wheelSize - 1;
+            this.buckets = new Bucket[wheelSize];
+            for (int i = 0; i < wheelSize; i++) {
+                buckets[i] = new Bucket();
+            }
+            this.currentTime = startMillis - startMillis % tick;
+        }
+
+        Level overflow() {
+            if (next == null) {
+                next = new Level(span, buckets.length, currentTime);
+            }
+            return next;
+        }
+    }
+
+    /** Lista doblemente enlazada intrusiva: los enlaces viven en cada ScheduledNotification. */
+    static final class Bucket {
+        private ScheduledNotification head;
+
+        void add(ScheduledNotification task) {
+            task.bucket = this;
+            task.previous = null;
+            task.next = head;
+            if (head != null) {
+                head.previous = task;
+            }
+            head = task;
+        }
+
+        void remove(ScheduledNotification task) {
+            if (task.previous != null) {
+                task.previous.next = task.next;
+            } else {
+                head = task.next;
+            }
+            if (task.next != null) {
+                task.next.previous = task.previous;
+            }
+            task.bucket = null;
+            task.previous = null;
+            task.next = null;
+        }
+
+        /** Vacia el bucket y devuelve la cabeza de la lista (enlazada por next). */
+        ScheduledNotification drain() {
+            ScheduledNotification first = head;
+            head = null;
+            for (ScheduledNotification task = first; task != null; task = task.next) {
+                task.bucket = null;
+                task.previous = null;
+            }
+            return first;
+        }
+    }
+}
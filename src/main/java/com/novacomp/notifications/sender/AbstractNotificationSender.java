@@ -5,21 +5,49 @@ import com.novacomp.notifications.core.NotificationResult;
 import com.novacomp.notifications.core.NotificationStatus;
 import com.novacomp.notifications.event.NotificationEvent;
 import com.novacomp.notifications.event.NotificationEventPublisher;
+import com.novacomp.notifications.exception.ValidationException;
+import com.novacomp.notifications.jfr.ProviderCallEvent;
+import com.novacomp.notifications.jfr.SendEvent;
+import com.novacomp.notifications.jfr.ValidationFailureEvent;
+import com.novacomp.notifications.metrics.NotificationMetrics;
 import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.suppression.SuppressionList;
 import com.novacomp.notifications.validation.NotificationValidator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ForkJoinPool;
 
 /**
  * Implementacion plantilla (patron Template Method) compartida por todos los
  * senders concretos: valida -> delega el envio real al proveedor -> traduce
  * la respuesta a NotificationResult -> publica un evento de estado.
  *
- * Cada canal solo necesita implementar {@link #doSend(Notification)}.
+ * Cada canal solo necesita implementar {@link #doSend(Notification)}. Los
+ * canales cuyo proveedor tiene API bulk sobreescriben ademas
+ * {@link #doSendBulk(List)}, {@link #maxBulkSize()} y {@link #bulkKey(Notification)}.
+ *
+ * Si el proveedor envia sin bloquear ({@link #asyncNative()}),
+ * {@link #sendAsync(Notification)} no pasa por el executor: valida en el hilo
+ * que llama y arma el resultado y el evento cuando se completa la etapa del
+ * proveedor, asi que los envios en vuelo no ocupan hilos. Si no, cada envio
+ * asincrono ocupa un hilo del executor mientras dura la llamada.
+ *
+ * Ademas de las metricas, cada envio emite eventos JFR (paquete
+ * {@code jfr}): Send, ProviderCall y ValidationFailure. Sin una grabacion
+ * activa que los pida, esos eventos no arman ningun string.
+ *
+ * Con una {@link SuppressionList}, un destinatario suprimido no llega al
+ * proveedor (resultado SUPPRESSED), y los que el proveedor rechaza de forma
+ * permanente se agregan a la lista.
  */
 public abstract class AbstractNotificationSender<T extends Notification> implements NotificationSender<T> {
 
@@ -28,58 +56,339 @@ public abstract class AbstractNotificationSender<T extends Notification> impleme
     private final NotificationValidator<T> validator;
     private final NotificationEventPublisher eventPublisher;
     private final Executor executor;
+    private final NotificationMetrics metrics;
+    private final SuppressionList suppressions;
+    // Se resuelve en el primer envio: en el constructor la subclase todavia no tiene su proveedor.
+    private volatile NotificationMetrics.ProviderMetrics providerMetrics;
+    private volatile String provider;
 
     protected AbstractNotificationSender(NotificationValidator<T> validator,
                                           NotificationEventPublisher eventPublisher) {
-        this(validator, eventPublisher, ForkJoinPool.commonPool());
+        this(validator, SenderOptions.of(eventPublisher));
     }
 
     protected AbstractNotificationSender(NotificationValidator<T> validator,
                                           NotificationEventPublisher eventPublisher,
                                           Executor executor) {
+        this(validator, SenderOptions.builder().eventPublisher(eventPublisher).executor(executor).build());
+    }
+
+    protected AbstractNotificationSender(NotificationValidator<T> validator, SenderOptions options) {
         this.validator = validator;
-        this.eventPublisher = eventPublisher;
-        this.executor = executor;
+        this.eventPublisher = options.getEventPublisher();
+        this.executor = options.getExecutor();
+        this.metrics = options.getMetrics();
+        this.suppressions = options.getSuppressions();
     }
 
     /** Llama al proveedor concreto (SendGrid, Twilio, FCM, Slack, ...). */
     protected abstract ProviderResponse doSend(T notification);
 
+    /**
+     * Llama a la API bulk del proveedor con notificaciones de igual
+     * {@link #bulkKey(Notification)}; debe devolver una respuesta por cada una,
+     * en el mismo orden. Por defecto envia de a una.
+     */
+    protected List<ProviderResponse> doSendBulk(List<T> batch) {
+        List<ProviderResponse> responses = new ArrayList<>(batch.size());
+        for (T notification : batch) {
+            responses.add(doSend(notification));
+        }
+        return responses;
+    }
+
+    /**
+     * Version no bloqueante de {@link #doSend(Notification)}; solo se usa si
+     * {@link #asyncNative()}. Por defecto llama a doSend y devuelve la etapa
+     * ya completada.
+     */
+    protected CompletionStage<ProviderResponse> doSendAsync(T notification) {
+        return CompletableFuture.completedFuture(doSend(notification));
+    }
+
+    /** true si {@link #doSendAsync(Notification)} no bloquea el hilo que lo llama. */
+    protected boolean asyncNative() {
+        return false;
+    }
+
+    /** Nombre del proveedor en metricas y eventos JFR. Por defecto, el nombre simple de la clase del sender. */
+    protected String providerName() {
+        return getClass().getSimpleName();
+    }
+
+    /** Maximo de notificaciones por llamada a {@link #doSendBulk(List)}. */
+    protected int maxBulkSize() {
+        return 1;
+    }
+
+    /**
+     * Clave de agrupacion para el envio bulk: solo viajan juntas en un mismo
+     * request las notificaciones con claves iguales (mismo contenido).
+     */
+    protected Object bulkKey(T notification) {
+        return notification.getId();
+    }
+
     @Override
     public final NotificationResult send(T notification) {
+        SendEvent sendEvent = new SendEvent();
+        sendEvent.begin();
+        NotificationMetrics.ProviderMetrics timings = providerMetrics();
+        long started = timings.start();
         // Errores de validacion se propagan: son responsabilidad de quien llama.
-        validator.validate(notification);
+        validate(notification);
+        long validated = timings.recordValidation(started);
+        if (isSuppressed(notification)) {
+            return suppressed(notification, sendEvent);
+        }
 
-        NotificationResult result;
+        ProviderCallEvent callEvent = new ProviderCallEvent();
+        callEvent.begin();
+        ProviderResponse response = null;
+        RuntimeException failure = null;
         try {
-            ProviderResponse response = doSend(notification);
-            result = NotificationResult.builder()
-                    .notificationId(notification.getId())
-                    .channel(getChannel())
-                    .status(response.isSuccess() ? NotificationStatus.SENT : NotificationStatus.FAILED)
-                    .providerMessageId(response.getProviderMessageId())
-                    .errorMessage(response.getErrorMessage())
-                    .attempts(1)
-                    .build();
+            response = doSend(notification);
         } catch (RuntimeException providerFailure) {
+            failure = providerFailure;
+        }
+        return complete(notification, response, failure, callEvent, sendEvent, validated);
+    }
+
+    /**
+     * Valida todo el lote (un ValidationException se propaga antes de enviar
+     * nada), agrupa las notificaciones compatibles por {@link #bulkKey(Notification)}
+     * y las envia en requests de a lo sumo {@link #maxBulkSize()}.
+     */
+    @Override
+    public final List<NotificationResult> sendBulk(List<T> notifications) {
+        NotificationMetrics.ProviderMetrics timings = providerMetrics();
+        for (T notification : notifications) {
+            long started = timings.start();
+            validate(notification);
+            timings.recordValidation(started);
+        }
+
+        int maxBulkSize = Math.max(1, maxBulkSize());
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        Map<Object, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < notifications.size(); i++) {
+            if (isSuppressed(notifications.get(i))) {
+                results[i] = suppressed(notifications.get(i), null);
+                continue;
+            }
+            Object key = maxBulkSize == 1 ? i : bulkKey(notifications.get(i));
+            groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+        }
+
+        for (List<Integer> group : groups.values()) {
+            for (int from = 0; from < group.size(); from += maxBulkSize) {
+                List<Integer> chunk = group.subList(from, Math.min(from + maxBulkSize, group.size()));
+                sendChunk(notifications, chunk, results);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    @Override
+    public final CompletableFuture<NotificationResult> sendAsync(T notification) {
+        NotificationMetrics.ProviderMetrics timings = providerMetrics();
+        long queued = timings.start();
+        if (asyncNative()) {
+            return sendNonBlocking(notification, timings, queued);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            timings.recordQueueWait(queued);
+            return send(notification);
+        }, executor);
+    }
+
+    @Override
+    public final String validationError(T notification) {
+        return validator.check(notification);
+    }
+
+    /**
+     * sendAsync con un proveedor asincrono nativo: mismo pipeline que
+     * {@link #send(Notification)}, pero el resultado y el evento se arman en
+     * el hilo que completa la etapa del proveedor (ej. los del HttpTransport).
+     * Un ValidationException completa el futuro con error, como en el camino
+     * por executor.
+     */
+    private CompletableFuture<NotificationResult> sendNonBlocking(T notification,
+                                                                  NotificationMetrics.ProviderMetrics timings,
+                                                                  long started) {
+        SendEvent sendEvent = new SendEvent();
+        sendEvent.begin();
+        try {
+            validate(notification);
+        } catch (ValidationException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        long validated = timings.recordValidation(started);
+        if (isSuppressed(notification)) {
+            return CompletableFuture.completedFuture(suppressed(notification, sendEvent));
+        }
+
+        ProviderCallEvent callEvent = new ProviderCallEvent();
+        callEvent.begin();
+        CompletionStage<ProviderResponse> call;
+        try {
+            call = doSendAsync(notification);
+        } catch (RuntimeException providerFailure) {
+            call = CompletableFuture.failedFuture(providerFailure);
+        }
+        return call.handle((response, error) -> complete(notification, response, unwrap(error),
+                callEvent, sendEvent, validated)).toCompletableFuture();
+    }
+
+    /** Traduce la respuesta (o el error) del proveedor a resultado, cierra eventos y metricas y publica. */
+    private NotificationResult complete(T notification, ProviderResponse response, Throwable failure,
+                                        ProviderCallEvent callEvent, SendEvent sendEvent, long validated) {
+        NotificationResult result;
+        if (failure == null) {
+            result = toResult(notification, response);
+            callEvent.complete(getChannel(), provider(), 1, result.getStatus().name());
+            suppressIfRejected(notification, response);
+        } else {
             // Error de infraestructura/proveedor: no se propaga, se refleja en el resultado.
+            callEvent.complete(getChannel(), provider(), 1, ProviderCallEvent.ERROR);
             log.warn("Fallo de envio en canal {} para notificacion {}: {}",
-                    getChannel(), notification.getId(), providerFailure.getMessage());
-            result = NotificationResult.builder()
-                    .notificationId(notification.getId())
-                    .channel(getChannel())
-                    .status(NotificationStatus.FAILED)
-                    .errorMessage(providerFailure.getMessage())
-                    .attempts(1)
-                    .build();
+                    getChannel(), notification.getId(), failure.getMessage());
+            result = failedResult(notification, failure);
         }
+        providerMetrics().recordProviderCall(validated);
 
         eventPublisher.publish(NotificationEvent.fromResult(result));
+        sendEvent.complete(provider(), result);
         return result;
     }
 
-    @Override
-    public final CompletableFuture<NotificationResult> sendAsync(T notification) {
-        return CompletableFuture.supplyAsync(() -> send(notification), executor);
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private void validate(T notification) {
+        try {
+            validator.validate(notification);
+        } catch (ValidationException e) {
+            ValidationFailureEvent.emit(getChannel(), provider(), notification.getId(), e.getMessage());
+            throw e;
+        }
+    }
+
+    private NotificationMetrics.ProviderMetrics providerMetrics() {
+        NotificationMetrics.ProviderMetrics resolved = providerMetrics;
+        if (resolved == null) {
+            resolved = metrics.forProvider(getChannel(), provider());
+            providerMetrics = resolved;
+        }
+        return resolved;
+    }
+
+    private String provider() {
+        String resolved = provider;
+        if (resolved == null) {
+            resolved = providerName();
+            provider = resolved;
+        }
+        return resolved;
+    }
+
+    private void sendChunk(List<T> notifications, List<Integer> indexes, NotificationResult[] results) {
+        List<T> batch = new ArrayList<>(indexes.size());
+        for (int index : indexes) {
+            batch.add(notifications.get(index));
+        }
+
+        NotificationMetrics.ProviderMetrics timings = providerMetrics();
+        long started = timings.start();
+        ProviderCallEvent callEvent = new ProviderCallEvent();
+        callEvent.begin();
+        List<ProviderResponse> responses = null;
+        RuntimeException failure = null;
+        try {
+            responses = doSendBulk(batch);
+            if (responses.size() != batch.size()) {
+                throw new IllegalStateException("El proveedor devolvio " + responses.size()
+                        + " respuestas para " + batch.size() + " notificaciones");
+            }
+            callEvent.complete(getChannel(), provider(), batch.size(), bulkOutcome(responses));
+        } catch (RuntimeException providerFailure) {
+            callEvent.complete(getChannel(), provider(), batch.size(), ProviderCallEvent.ERROR);
+            log.warn("Fallo de envio bulk en canal {} ({} notificaciones): {}",
+                    getChannel(), batch.size(), providerFailure.getMessage());
+            failure = providerFailure;
+        }
+        timings.recordProviderCall(started);
+
+        for (int i = 0; i < batch.size(); i++) {
+            T notification = batch.get(i);
+            NotificationResult result;
+            if (failure != null) {
+                result = failedResult(notification, failure);
+            } else {
+                result = toResult(notification, responses.get(i));
+                suppressIfRejected(notification, responses.get(i));
+            }
+            results[indexes.get(i)] = result;
+            eventPublisher.publish(NotificationEvent.fromResult(result));
+        }
+    }
+
+    private boolean isSuppressed(T notification) {
+        return suppressions.isSuppressed(getChannel(), notification.getRecipient());
+    }
+
+    /** Resultado de un envio que no llego al proveedor por estar suprimido; se publica como cualquier otro. */
+    private NotificationResult suppressed(T notification, SendEvent sendEvent) {
+        NotificationResult result = NotificationResult.builder()
+                .notificationId(notification.getId())
+                .channel(getChannel())
+                .status(NotificationStatus.SUPPRESSED)
+                .errorMessage("Destinatario en la lista de supresion: el proveedor no se llamo")
+                .attempts(0)
+                .build();
+        eventPublisher.publish(NotificationEvent.fromResult(result));
+        if (sendEvent != null) {
+            sendEvent.complete(provider(), result);
+        }
+        return result;
+    }
+
+    private void suppressIfRejected(T notification, ProviderResponse response) {
+        if (response.isRecipientRejected() && suppressions.suppress(getChannel(), notification.getRecipient())) {
+            log.info("Destinatario {} agregado a la lista de supresion del canal {}: {}",
+                    notification.getRecipient(), getChannel(), response.getErrorMessage());
+        }
+    }
+
+    private static String bulkOutcome(List<ProviderResponse> responses) {
+        for (ProviderResponse response : responses) {
+            if (!response.isSuccess()) {
+                return NotificationStatus.FAILED.name();
+            }
+        }
+        return NotificationStatus.SENT.name();
+    }
+
+    private NotificationResult toResult(T notification, ProviderResponse response) {
+        return NotificationResult.builder()
+                .notificationId(notification.getId())
+                .channel(getChannel())
+                .status(response.isSuccess() ? NotificationStatus.SENT : NotificationStatus.FAILED)
+                .providerMessageId(response.getProviderMessageId())
+                .errorMessage(response.getErrorMessage())
+                .attempts(1)
+                .build();
+    }
+
+    private NotificationResult failedResult(T notification, Throwable providerFailure) {
+        return NotificationResult.builder()
+                .notificationId(notification.getId())
+                .channel(getChannel())
+                .status(NotificationStatus.FAILED)
+                .errorMessage(providerFailure.getMessage())
+                .attempts(1)
+                .build();
     }
 }
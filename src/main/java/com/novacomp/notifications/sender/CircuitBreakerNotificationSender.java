@@ -0,0 +1,147 @@
+package com.novacomp.notifications.sender;
+
+import com.novacomp.notifications.circuitbreaker.CircuitBreaker;
+import com.novacomp.notifications.circuitbreaker.CircuitState;
+import com.novacomp.notifications.config.CircuitBreakerPolicy;
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator (igual que RetryableNotificationSender) que corta las llamadas a
+ * un proveedor caido: cuando la tasa de fallos en la ventana supera el umbral
+ * el circuito se abre y cada envio devuelve de inmediato un resultado FAILED,
+ * sin esperar timeouts ni gastar reintentos. Pasado el tiempo de apertura deja
+ * pasar algunos envios de prueba y, si salen bien, vuelve a cerrarse.
+ *
+ * Aplicado despues de withRetry(...), un envio con todos sus reintentos
+ * cuenta como un unico resultado para el circuito.
+ *
+ * @param <T> subtipo de Notification manejado por el sender decorado
+ */
+public class CircuitBreakerNotificationSender<T extends Notification> implements NotificationSender<T> {
+
+    private final NotificationSender<T> delegate;
+    private final CircuitBreaker circuitBreaker;
+
+    public CircuitBreakerNotificationSender(NotificationSender<T> delegate, CircuitBreakerPolicy policy) {
+        this(delegate, new CircuitBreaker(delegate.getChannel().name(), policy));
+    }
+
+    public CircuitBreakerNotificationSender(NotificationSender<T> delegate, CircuitBreaker circuitBreaker) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    public CircuitState getState() {
+        return circuitBreaker.getState();
+    }
+
+    @Override
+    public NotificationResult send(T notification) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return rejected(notification);
+        }
+        NotificationResult result;
+        try {
+            result = delegate.send(notification);
+        } catch (RuntimeException e) {
+            // ValidationException u otro error de uso: no dice nada sobre la salud del proveedor.
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+        record(result);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(T notification) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return CompletableFuture.completedFuture(rejected(notification));
+        }
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = delegate.sendAsync(notification);
+        } catch (RuntimeException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                circuitBreaker.releasePermission();
+            } else {
+                record(result);
+            }
+        });
+    }
+
+    @Override
+    public List<NotificationResult> sendBulk(List<T> notifications) {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            return notifications.stream().map(this::rejected).collect(Collectors.toList());
+        }
+        List<NotificationResult> results;
+        try {
+            results = delegate.sendBulk(notifications);
+        } catch (RuntimeException e) {
+            circuitBreaker.releasePermission();
+            throw e;
+        }
+        // Un solo permiso para todo el lote: si ningun item llego al proveedor, se devuelve.
+        boolean recorded = false;
+        for (NotificationResult result : results) {
+            if (result.getStatus() != NotificationStatus.SUPPRESSED) {
+                recordOutcome(result);
+                recorded = true;
+            }
+        }
+        if (!recorded) {
+            circuitBreaker.releasePermission();
+        }
+        return results;
+    }
+
+    @Override
+    public String validationError(T notification) {
+        return delegate.validationError(notification);
+    }
+
+    @Override
+    public NotificationChannel getChannel() {
+        return delegate.getChannel();
+    }
+
+    private void record(NotificationResult result) {
+        if (result.getStatus() == NotificationStatus.SUPPRESSED) {
+            // No hubo llamada al proveedor: no dice nada sobre su salud, y en
+            // HALF_OPEN la prueba tiene que quedar para un envio real.
+            circuitBreaker.releasePermission();
+            return;
+        }
+        recordOutcome(result);
+    }
+
+    private void recordOutcome(NotificationResult result) {
+        if (result.isSuccess()) {
+            circuitBreaker.onSuccess();
+        } else {
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private NotificationResult rejected(T notification) {
+        return NotificationResult.builder()
+                .notificationId(notification.getId())
+                .channel(getChannel())
+                .status(NotificationStatus.FAILED)
+                .errorMessage("Circuit breaker abierto para el canal " + getChannel()
+                        + ": el proveedor no se llamo")
+                .attempts(0)
+                .build();
+    }
+}
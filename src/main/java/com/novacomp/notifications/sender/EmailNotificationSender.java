@@ -7,14 +7,32 @@ import com.novacomp.notifications.provider.ProviderResponse;
 import com.novacomp.notifications.provider.email.EmailProvider;
 import com.novacomp.notifications.validation.NotificationValidator;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 public class EmailNotificationSender extends AbstractNotificationSender<EmailNotification> {
 
     private final EmailProvider provider;
 
     public EmailNotificationSender(EmailProvider provider,
-                                    NotificationValidator<EmailNotification> validator,
-                                    NotificationEventPublisher eventPublisher) {
-        super(validator, eventPublisher);
+                                   NotificationValidator<EmailNotification> validator,
+                                   NotificationEventPublisher eventPublisher) {
+        this(provider, validator, SenderOptions.of(eventPublisher));
+    }
+
+    public EmailNotificationSender(EmailProvider provider,
+                                   NotificationValidator<EmailNotification> validator,
+                                   NotificationEventPublisher eventPublisher,
+                                   Executor executor) {
+        this(provider, validator, SenderOptions.builder().eventPublisher(eventPublisher).executor(executor).build());
+    }
+
+    public EmailNotificationSender(EmailProvider provider,
+                                   NotificationValidator<EmailNotification> validator,
+                                   SenderOptions options) {
+        super(validator, options);
         this.provider = provider;
     }
 
@@ -23,6 +41,38 @@ public class EmailNotificationSender extends AbstractNotificationSender<EmailNot
         return provider.send(notification);
     }
 
+    @Override
+    protected CompletionStage<ProviderResponse> doSendAsync(EmailNotification notification) {
+        return provider.sendAsync(notification);
+    }
+
+    @Override
+    protected boolean asyncNative() {
+        return provider.isAsyncNative();
+    }
+
+    @Override
+    protected List<ProviderResponse> doSendBulk(List<EmailNotification> batch) {
+        return provider.sendBulk(batch);
+    }
+
+    @Override
+    protected int maxBulkSize() {
+        return provider.getMaxBulkSize();
+    }
+
+    /** Mismo subject/body/html/adjuntos = mismo request (personalizations en SendGrid). */
+    @Override
+    protected Object bulkKey(EmailNotification notification) {
+        return Arrays.asList(notification.getSubject(), notification.getMessage(),
+                notification.getHtmlBody(), notification.getAttachmentNames());
+    }
+
+    @Override
+    protected String providerName() {
+        return provider.getProviderName();
+    }
+
     @Override
     public NotificationChannel getChannel() {
         return NotificationChannel.EMAIL;
@@ -0,0 +1,193 @@
+package com.novacomp.notifications.sender;
+
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.idempotency.IdempotencyKey;
+import com.novacomp.notifications.idempotency.IdempotencyWindow;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decorator que evita mandar dos veces lo mismo dentro de una ventana de
+ * tiempo: si el llamador reintenta con el mismo id, o dos servicios mandan el
+ * mismo mensaje al mismo destinatario (segun el {@link IdempotencyKey}), el
+ * duplicado no llega al proveedor y recibe el NotificationResult original.
+ *
+ * Solo se recuerdan los envios exitosos: si el original falla la clave se
+ * libera y el siguiente intento se envia de verdad. Un duplicado que llega
+ * mientras el original esta en vuelo espera su resultado (y lo comparte,
+ * sea cual sea).
+ *
+ * Conviene aplicarlo despues de withRetry/withCircuitBreaker/withRateLimit,
+ * asi un duplicado no consume reintentos, permisos ni tokens.
+ *
+ * @param <T> subtipo de Notification manejado por el sender decorado
+ */
+public class IdempotentNotificationSender<T extends Notification> implements NotificationSender<T> {
+
+    private final NotificationSender<T> delegate;
+    private final IdempotencyWindow window;
+    private final IdempotencyKey key;
+    private final LongAdder duplicates = new LongAdder();
+
+    public IdempotentNotificationSender(NotificationSender<T> delegate, IdempotencyWindow window,
+                                        IdempotencyKey key) {
+        this.delegate = delegate;
+        this.window = window;
+        this.key = key;
+    }
+
+    /** Envios que se resolvieron con el resultado de otro, sin llamar al proveedor. */
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+
+    @Override
+    public NotificationResult send(T notification) {
+        long id = key.of(notification);
+        CompletableFuture<NotificationResult> inFlight = new CompletableFuture<>();
+        Object existing = window.putIfAbsent(id, inFlight);
+        if (existing != null) {
+            duplicates.increment();
+            return await(existing);
+        }
+        NotificationResult result;
+        try {
+            result = delegate.send(notification);
+        } catch (RuntimeException e) {
+            abandon(id, inFlight, e);
+            throw e;
+        }
+        settle(id, inFlight, result);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(T notification) {
+        long id = key.of(notification);
+        CompletableFuture<NotificationResult> inFlight = new CompletableFuture<>();
+        Object existing = window.putIfAbsent(id, inFlight);
+        if (existing != null) {
+            duplicates.increment();
+            return asFuture(existing);
+        }
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = delegate.sendAsync(notification);
+        } catch (RuntimeException e) {
+            abandon(id, inFlight, e);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                abandon(id, inFlight, error);
+            } else {
+                settle(id, inFlight, result);
+            }
+        });
+    }
+
+    /**
+     * Delega en un unico sendBulk solo las notificaciones nuevas; los
+     * duplicados (contra la ventana o dentro del mismo lote) reciben el
+     * resultado del original.
+     */
+    @Override
+    public List<NotificationResult> sendBulk(List<T> notifications) {
+        int size = notifications.size();
+        long[] ids = new long[size];
+        Object[] claims = new Object[size];
+        List<T> fresh = new ArrayList<>(size);
+        List<Integer> freshIndexes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ids[i] = key.of(notifications.get(i));
+            CompletableFuture<NotificationResult> inFlight = new CompletableFuture<>();
+            Object existing = window.putIfAbsent(ids[i], inFlight);
+            if (existing != null) {
+                claims[i] = existing;
+            } else {
+                claims[i] = inFlight;
+                fresh.add(notifications.get(i));
+                freshIndexes.add(i);
+            }
+        }
+
+        NotificationResult[] results = new NotificationResult[size];
+        if (!fresh.isEmpty()) {
+            List<NotificationResult> sent;
+            try {
+                sent = delegate.sendBulk(fresh);
+            } catch (RuntimeException e) {
+                for (int index : freshIndexes) {
+                    abandon(ids[index], (CompletableFuture<?>) claims[index], e);
+                }
+                throw e;
+            }
+            for (int j = 0; j < sent.size(); j++) {
+                int index = freshIndexes.get(j);
+                results[index] = sent.get(j);
+                @SuppressWarnings("unchecked")
+                CompletableFuture<NotificationResult> inFlight =
+                        (CompletableFuture<NotificationResult>) claims[index];
+                settle(ids[index], inFlight, sent.get(j));
+            }
+        }
+        List<NotificationResult> ordered = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (results[i] == null) {
+                duplicates.increment();
+                results[i] = await(claims[i]);
+            }
+            ordered.add(results[i]);
+        }
+        return ordered;
+    }
+
+    @Override
+    public String validationError(T notification) {
+        return delegate.validationError(notification);
+    }
+
+    @Override
+    public NotificationChannel getChannel() {
+        return delegate.getChannel();
+    }
+
+    private void settle(long id, CompletableFuture<NotificationResult> inFlight, NotificationResult result) {
+        if (result.isSuccess()) {
+            // Se guarda el resultado en vez del futuro: ocupa menos mientras dura la ventana.
+            window.replace(id, result);
+        } else {
+            window.remove(id);
+        }
+        inFlight.complete(result);
+    }
+
+    private void abandon(long id, CompletableFuture<?> inFlight, Throwable error) {
+        window.remove(id);
+        inFlight.completeExceptionally(error);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<NotificationResult> asFuture(Object existing) {
+        return existing instanceof NotificationResult
+                ? CompletableFuture.completedFuture((NotificationResult) existing)
+                : (CompletableFuture<NotificationResult>) existing;
+    }
+
+    private static NotificationResult await(Object existing) {
+        try {
+            return asFuture(existing).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+}
@@ -5,6 +5,8 @@ import com.novacomp.notifications.core.NotificationChannel;
 import com.novacomp.notifications.core.NotificationResult;
 import com.novacomp.notifications.exception.ValidationException;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 /**
@@ -32,5 +34,32 @@ public interface NotificationSender<T extends Notification> {
     /** Version no bloqueante de {@link #send(Notification)}. */
     CompletableFuture<NotificationResult> sendAsync(T notification);
 
+    /**
+     * Envia un lote del mismo canal aprovechando la API bulk del proveedor
+     * cuando existe. Devuelve un resultado por notificacion, en el mismo orden.
+     * Por defecto equivale a llamar {@link #send(Notification)} por cada una.
+     *
+     * @throws ValidationException si alguna notificacion es invalida (antes de enviar nada)
+     */
+    default List<NotificationResult> sendBulk(List<T> notifications) {
+        List<NotificationResult> results = new ArrayList<>(notifications.size());
+        for (T notification : notifications) {
+            results.add(send(notification));
+        }
+        return results;
+    }
+
+    /**
+     * Corre las validaciones de {@link #send(Notification)} sin enviar ni
+     * lanzar excepcion (ver {@code NotificationService.validateBatch}).
+     * Por defecto no valida nada: un sender custom sin validador previo deja
+     * que el error aparezca al enviar.
+     *
+     * @return null si la notificacion es valida; si no, el motivo
+     */
+    default String validationError(T notification) {
+        return null;
+    }
+
     NotificationChannel getChannel();
 }
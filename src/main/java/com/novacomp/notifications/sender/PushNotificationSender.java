@@ -7,14 +7,32 @@ import com.novacomp.notifications.provider.ProviderResponse;
 import com.novacomp.notifications.provider.push.PushProvider;
 import com.novacomp.notifications.validation.NotificationValidator;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 public class PushNotificationSender extends AbstractNotificationSender<PushNotification> {
 
     private final PushProvider provider;
 
     public PushNotificationSender(PushProvider provider,
-                                   NotificationValidator<PushNotification> validator,
-                                   NotificationEventPublisher eventPublisher) {
-        super(validator, eventPublisher);
+                                  NotificationValidator<PushNotification> validator,
+                                  NotificationEventPublisher eventPublisher) {
+        this(provider, validator, SenderOptions.of(eventPublisher));
+    }
+
+    public PushNotificationSender(PushProvider provider,
+                                  NotificationValidator<PushNotification> validator,
+                                  NotificationEventPublisher eventPublisher,
+                                  Executor executor) {
+        this(provider, validator, SenderOptions.builder().eventPublisher(eventPublisher).executor(executor).build());
+    }
+
+    public PushNotificationSender(PushProvider provider,
+                                  NotificationValidator<PushNotification> validator,
+                                  SenderOptions options) {
+        super(validator, options);
         this.provider = provider;
     }
 
@@ -23,6 +41,37 @@ public class PushNotificationSender extends AbstractNotificationSender<PushNotif
         return provider.send(notification);
     }
 
+    @Override
+    protected CompletionStage<ProviderResponse> doSendAsync(PushNotification notification) {
+        return provider.sendAsync(notification);
+    }
+
+    @Override
+    protected boolean asyncNative() {
+        return provider.isAsyncNative();
+    }
+
+    @Override
+    protected List<ProviderResponse> doSendBulk(List<PushNotification> batch) {
+        return provider.sendBulk(batch);
+    }
+
+    @Override
+    protected int maxBulkSize() {
+        return provider.getMaxBulkSize();
+    }
+
+    /** Mismo title/body/data = mismo request multicast. */
+    @Override
+    protected Object bulkKey(PushNotification notification) {
+        return Arrays.asList(notification.getTitle(), notification.getMessage(), notification.getData());
+    }
+
+    @Override
+    protected String providerName() {
+        return provider.getProviderName();
+    }
+
     @Override
     public NotificationChannel getChannel() {
         return NotificationChannel.PUSH;
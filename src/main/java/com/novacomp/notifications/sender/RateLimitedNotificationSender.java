@@ -0,0 +1,184 @@
+package com.novacomp.notifications.sender;
+
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.ratelimit.TokenBucketRateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator que respeta el rate limit del proveedor antes de delegar el
+ * envio. Sin esto, una rafaga termina en 429 y luego en una tormenta de
+ * reintentos.
+ *
+ * <p>En {@link #sendAsync(Notification)} la espera por un token no bloquea
+ * ningun hilo: el envio se agenda en un timer para el instante reservado.
+ * Si la espera superaria el maxWait del limiter, el envio no se hace y se
+ * devuelve un resultado FAILED. Cancelar el futuro antes de que llegue su
+ * turno devuelve el token al bucket.</p>
+ *
+ * @param <T> subtipo de Notification manejado por el sender decorado
+ */
+public class RateLimitedNotificationSender<T extends Notification> implements NotificationSender<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimitedNotificationSender.class);
+
+    private final NotificationSender<T> delegate;
+    private final TokenBucketRateLimiter limiter;
+    private final Function<? super T, String> keyExtractor;
+    private final ScheduledExecutorService scheduler;
+
+    /** Un unico bucket para todo el canal (equivale a uno por proveedor registrado). */
+    public RateLimitedNotificationSender(NotificationSender<T> delegate, TokenBucketRateLimiter limiter) {
+        this(delegate, limiter, notification -> notification.getChannel().name());
+    }
+
+    /**
+     * @param keyExtractor clave del bucket para cada notificacion (ej. el
+     *        recipient para limitar por canal de Slack)
+     */
+    public RateLimitedNotificationSender(NotificationSender<T> delegate, TokenBucketRateLimiter limiter,
+                                         Function<? super T, String> keyExtractor) {
+        this(delegate, limiter, keyExtractor, SenderExecutors.sharedScheduler());
+    }
+
+    public RateLimitedNotificationSender(NotificationSender<T> delegate, TokenBucketRateLimiter limiter,
+                                         Function<? super T, String> keyExtractor,
+                                         ScheduledExecutorService scheduler) {
+        this.delegate = delegate;
+        this.limiter = limiter;
+        this.keyExtractor = keyExtractor;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public NotificationResult send(T notification) {
+        long waitNanos = limiter.reserve(keyExtractor.apply(notification));
+        if (waitNanos == TokenBucketRateLimiter.REJECTED) {
+            return rejected(notification);
+        }
+        if (waitNanos > 0) {
+            LockSupport.parkNanos(waitNanos);
+        }
+        return delegate.send(notification);
+    }
+
+    @Override
+    public CompletableFuture<NotificationResult> sendAsync(T notification) {
+        String key = keyExtractor.apply(notification);
+        long waitNanos = limiter.reserve(key);
+        if (waitNanos == TokenBucketRateLimiter.REJECTED) {
+            return CompletableFuture.completedFuture(rejected(notification));
+        }
+        if (waitNanos == 0) {
+            return delegate.sendAsync(notification);
+        }
+
+        CompletableFuture<NotificationResult> promise = new CompletableFuture<>();
+        // Lo toma primero el timer (envia) o la cancelacion (devuelve el token), nunca los dos.
+        AtomicBoolean claimed = new AtomicBoolean();
+        ScheduledFuture<?> timer;
+        try {
+            timer = scheduler.schedule(() -> {
+                if (claimed.compareAndSet(false, true)) {
+                    sendReserved(notification, promise);
+                }
+            }, waitNanos, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            limiter.refund(key, 1);
+            promise.completeExceptionally(e);
+            return promise;
+        }
+        promise.whenComplete((result, error) -> {
+            if (promise.isCancelled() && claimed.compareAndSet(false, true)) {
+                timer.cancel(false);
+                limiter.refund(key, 1);
+            }
+        });
+        return promise;
+    }
+
+    private void sendReserved(T notification, CompletableFuture<NotificationResult> promise) {
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = delegate.sendAsync(notification);
+        } catch (RuntimeException e) {
+            // Sin esto la excepcion quedaria en el ScheduledFuture y el promise no completaria nunca.
+            promise.completeExceptionally(e);
+            return;
+        }
+        future.whenComplete((result, error) -> {
+            if (error != null) {
+                promise.completeExceptionally(error);
+            } else {
+                promise.complete(result);
+            }
+        });
+    }
+
+    /**
+     * Reserva de una vez los tokens de todo el lote (por clave), espera la
+     * mayor de las demoras y delega al sendBulk del sender decorado. Si una
+     * clave se rechaza, el lote entero se descarta y se devuelven los tokens
+     * ya reservados para las claves anteriores.
+     */
+    @Override
+    public List<NotificationResult> sendBulk(List<T> notifications) {
+        Map<String, Integer> permitsByKey = new LinkedHashMap<>();
+        for (T notification : notifications) {
+            permitsByKey.merge(keyExtractor.apply(notification), 1, Integer::sum);
+        }
+        Map<String, Integer> reserved = new LinkedHashMap<>();
+        long maxWaitNanos = 0;
+        for (Map.Entry<String, Integer> entry : permitsByKey.entrySet()) {
+            long waitNanos = limiter.reserve(entry.getKey(), entry.getValue());
+            if (waitNanos == TokenBucketRateLimiter.REJECTED) {
+                reserved.forEach(limiter::refund);
+                return notifications.stream().map(this::rejected).collect(Collectors.toList());
+            }
+            reserved.put(entry.getKey(), entry.getValue());
+            maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+        }
+        if (maxWaitNanos > 0) {
+            LockSupport.parkNanos(maxWaitNanos);
+        }
+        return delegate.sendBulk(notifications);
+    }
+
+    @Override
+    public String validationError(T notification) {
+        return delegate.validationError(notification);
+    }
+
+    @Override
+    public NotificationChannel getChannel() {
+        return delegate.getChannel();
+    }
+
+    private NotificationResult rejected(T notification) {
+        log.warn("Rate limit excedido en canal {}: se descarta la notificacion {}",
+                getChannel(), notification.getId());
+        return NotificationResult.builder()
+                .notificationId(notification.getId())
+                .channel(getChannel())
+                .status(NotificationStatus.FAILED)
+                .errorMessage("Rate limit excedido: la espera por un token supera el maximo configurado")
+                .attempts(0)
+                .build();
+    }
+}
@@ -4,12 +4,19 @@ import com.novacomp.notifications.config.RetryPolicy;
 import com.novacomp.notifications.core.Notification;
 import com.novacomp.notifications.core.NotificationChannel;
 import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.jfr.RetryAttemptEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
-import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Decorator (patron Decorator) que agrega reintentos con backoff a
@@ -18,6 +25,15 @@ import java.util.concurrent.ForkJoinPool;
  * (ValidationException), se propaga inmediatamente en el primer intento
  * ya que reintentar datos invalidos no tiene sentido.
  *
+ * <p>{@link #sendAsync(Notification)} no duerme ningun hilo entre intentos:
+ * cada reintento se agenda en un {@link ScheduledExecutorService} (timer) y
+ * se despacha con el sendAsync del sender decorado, asi que miles de
+ * reintentos pendientes no ocupan hilos. {@link #send(Notification)} sigue
+ * siendo sincrono y bloquea al hilo que llama durante el backoff.</p>
+ *
+ * <p>Cada intento de send y sendAsync emite un evento JFR RetryAttempt con
+ * su numero, resultado y el backoff agendado a continuacion.</p>
+ *
  * @param <T> subtipo de Notification manejado por el sender decorado
  */
 public class RetryableNotificationSender<T extends Notification> implements NotificationSender<T> {
@@ -26,16 +42,44 @@ public class RetryableNotificationSender<T extends Notification> implements Noti
 
     private final NotificationSender<T> delegate;
     private final RetryPolicy retryPolicy;
-    private final Executor executor;
+    private final ScheduledExecutorService scheduler;
+    // Donde corre cada reintento una vez que vence su backoff.
+    private final Executor dispatcher;
 
     public RetryableNotificationSender(NotificationSender<T> delegate, RetryPolicy retryPolicy) {
-        this(delegate, retryPolicy, ForkJoinPool.commonPool());
+        this(delegate, retryPolicy, SenderExecutors.sharedScheduler());
+    }
+
+    /**
+     * @param scheduler timer donde se agendan los reintentos asincronos. Solo
+     *        dispara el siguiente intento; el envio real corre en el executor
+     *        del sender decorado, por lo que un unico hilo alcanza.
+     */
+    public RetryableNotificationSender(NotificationSender<T> delegate, RetryPolicy retryPolicy,
+                                       ScheduledExecutorService scheduler) {
+        this(delegate, retryPolicy, scheduler, Runnable::run);
     }
 
+    /**
+     * Compatibilidad con la firma anterior, en la que el executor corria
+     * todos los intentos. Los backoffs se agendan en el timer compartido
+     * ({@link SenderExecutors#sharedScheduler()}) y cada reintento se despacha
+     * en {@code executor}.
+     *
+     * @deprecated usar {@link #RetryableNotificationSender(NotificationSender, RetryPolicy,
+     *             ScheduledExecutorService)}: el reintento no necesita un hilo propio.
+     */
+    @Deprecated
     public RetryableNotificationSender(NotificationSender<T> delegate, RetryPolicy retryPolicy, Executor executor) {
+        this(delegate, retryPolicy, SenderExecutors.sharedScheduler(), executor);
+    }
+
+    private RetryableNotificationSender(NotificationSender<T> delegate, RetryPolicy retryPolicy,
+                                        ScheduledExecutorService scheduler, Executor dispatcher) {
         this.delegate = delegate;
         this.retryPolicy = retryPolicy;
-        this.executor = executor;
+        this.scheduler = scheduler;
+        this.dispatcher = dispatcher;
     }
 
     @Override
@@ -44,13 +88,17 @@ public class RetryableNotificationSender<T extends Notification> implements Noti
         int maxAttempts = retryPolicy.getMaxAttempts();
 
         for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            RetryAttemptEvent attemptEvent = new RetryAttemptEvent();
+            attemptEvent.begin();
             lastResult = delegate.send(notification);
-            if (lastResult.isSuccess()) {
+            if (isFinal(lastResult)) {
+                attemptEvent.complete(notification, attempt, maxAttempts, lastResult.getStatus().name(), 0);
                 return attempt == 1 ? lastResult : lastResult.withAttempts(attempt);
             }
 
+            long delay = attempt < maxAttempts ? retryPolicy.delayForAttempt(attempt) : 0;
+            attemptEvent.complete(notification, attempt, maxAttempts, lastResult.getStatus().name(), delay);
             if (attempt < maxAttempts) {
-                long delay = retryPolicy.delayForAttempt(attempt);
                 log.info("Intento {}/{} fallo para notificacion {} ({}). Reintentando en {}ms...",
                         attempt, maxAttempts, notification.getId(), lastResult.getErrorMessage(), delay);
                 sleepQuietly(delay);
@@ -59,9 +107,59 @@ public class RetryableNotificationSender<T extends Notification> implements Noti
         return lastResult.withAttempts(maxAttempts);
     }
 
+    /**
+     * Envia el lote con el sendBulk del sender decorado y reintenta, tambien
+     * en bloque, solo las notificaciones que fallaron.
+     */
+    @Override
+    public List<NotificationResult> sendBulk(List<T> notifications) {
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        List<Integer> pending = new ArrayList<>(notifications.size());
+        for (int i = 0; i < notifications.size(); i++) {
+            pending.add(i);
+        }
+        int maxAttempts = retryPolicy.getMaxAttempts();
+
+        for (int attempt = 1; attempt <= maxAttempts && !pending.isEmpty(); attempt++) {
+            List<T> batch = new ArrayList<>(pending.size());
+            for (int index : pending) {
+                batch.add(notifications.get(index));
+            }
+            List<NotificationResult> attemptResults = delegate.sendBulk(batch);
+
+            List<Integer> stillFailing = new ArrayList<>();
+            for (int i = 0; i < pending.size(); i++) {
+                NotificationResult result = attemptResults.get(i);
+                if (isFinal(result)) {
+                    // Igual que en send: un SUPPRESSED del primer intento conserva sus 0 intentos.
+                    results[pending.get(i)] = attempt == 1 ? result : result.withAttempts(attempt);
+                } else {
+                    results[pending.get(i)] = result.withAttempts(attempt);
+                    stillFailing.add(pending.get(i));
+                }
+            }
+            pending = stillFailing;
+
+            if (!pending.isEmpty() && attempt < maxAttempts) {
+                long delay = retryPolicy.delayForAttempt(attempt);
+                log.info("Intento bulk {}/{}: {} notificaciones fallaron. Reintentando en {}ms...",
+                        attempt, maxAttempts, pending.size(), delay);
+                sleepQuietly(delay);
+            }
+        }
+        return Arrays.asList(results);
+    }
+
     @Override
     public CompletableFuture<NotificationResult> sendAsync(T notification) {
-        return CompletableFuture.supplyAsync(() -> send(notification), executor);
+        CompletableFuture<NotificationResult> promise = new CompletableFuture<>();
+        attemptAsync(notification, 1, promise);
+        return promise;
+    }
+
+    @Override
+    public String validationError(T notification) {
+        return delegate.validationError(notification);
     }
 
     @Override
@@ -69,6 +167,64 @@ public class RetryableNotificationSender<T extends Notification> implements Noti
         return delegate.getChannel();
     }
 
+    private void attemptAsync(T notification, int attempt, CompletableFuture<NotificationResult> promise) {
+        if (promise.isDone()) {
+            // Quien llamo cancelo (o completo) el futuro: no se gastan mas intentos.
+            return;
+        }
+        int maxAttempts = retryPolicy.getMaxAttempts();
+        RetryAttemptEvent attemptEvent = new RetryAttemptEvent();
+        attemptEvent.begin();
+        CompletableFuture<NotificationResult> current;
+        try {
+            current = delegate.sendAsync(notification);
+        } catch (RuntimeException e) {
+            attemptEvent.complete(notification, attempt, maxAttempts, RetryAttemptEvent.ERROR, 0);
+            promise.completeExceptionally(e);
+            return;
+        }
+
+        current.whenComplete((result, error) -> {
+            if (error != null) {
+                attemptEvent.complete(notification, attempt, maxAttempts, RetryAttemptEvent.ERROR, 0);
+                promise.completeExceptionally(error);
+                return;
+            }
+            long delay = isFinal(result) || attempt >= maxAttempts ? 0 : retryPolicy.delayForAttempt(attempt);
+            attemptEvent.complete(notification, attempt, maxAttempts, result.getStatus().name(), delay);
+            if (isFinal(result)) {
+                promise.complete(attempt == 1 ? result : result.withAttempts(attempt));
+                return;
+            }
+            if (attempt >= maxAttempts) {
+                promise.complete(result.withAttempts(maxAttempts));
+                return;
+            }
+
+            log.info("Intento {}/{} fallo para notificacion {} ({}). Reintento agendado en {}ms",
+                    attempt, maxAttempts, notification.getId(), result.getErrorMessage(), delay);
+            try {
+                scheduler.schedule(() -> dispatch(notification, attempt + 1, promise),
+                        delay, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                promise.completeExceptionally(e);
+            }
+        });
+    }
+
+    private void dispatch(T notification, int attempt, CompletableFuture<NotificationResult> promise) {
+        try {
+            dispatcher.execute(() -> attemptAsync(notification, attempt, promise));
+        } catch (RejectedExecutionException e) {
+            promise.completeExceptionally(e);
+        }
+    }
+
+    /** Exito, o destinatario suprimido: reintentar no cambiaria el resultado. */
+    private static boolean isFinal(NotificationResult result) {
+        return result.isSuccess() || result.getStatus() == NotificationStatus.SUPPRESSED;
+    }
+
     private void sleepQuietly(long millis) {
         try {
             Thread.sleep(millis);
@@ -0,0 +1,79 @@
+package com.novacomp.notifications.sender;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fabricas de los executors recomendados para los envios asincronos.
+ *
+ * Las llamadas a proveedores son I/O bloqueante: correrlas sobre
+ * ForkJoinPool.commonPool() (el default de CompletableFuture) deja sin hilos
+ * al resto de la JVM (parallel streams, otros CompletableFuture) con unos
+ * pocos cientos de envios concurrentes. Estas dos variantes aislan ese I/O:
+ * <ul>
+ *   <li>{@link #virtualThreadPerTask()}: un virtual thread por envio; un hilo
+ *       bloqueado en I/O no ocupa un hilo de plataforma.</li>
+ *   <li>{@link #boundedPool(String, int)}: pool fijo de hilos de plataforma,
+ *       util para acotar la concurrencia por canal (ej. limites del proveedor).</li>
+ * </ul>
+ */
+public final class SenderExecutors {
+
+    private SenderExecutors() {
+    }
+
+    public static ExecutorService virtualThreadPerTask() {
+        return Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("notifications-vt-", 0).factory());
+    }
+
+    /**
+     * Pool de {@code threads} hilos de plataforma (daemon) con cola sin limite:
+     * los envios que exceden la capacidad esperan en cola en vez de rechazarse.
+     */
+    public static ExecutorService boundedPool(String name, int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads debe ser mayor a 0");
+        }
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreadFactory("notifications-" + name + "-"));
+    }
+
+    /**
+     * Timer compartido (un unico hilo daemon, creado recien al primer uso)
+     * donde los decorators agendan trabajo diferido -- reintentos, esperas de
+     * rate limit -- sin dormir hilos. Solo dispara; el envio real corre en el
+     * executor del sender decorado.
+     */
+    public static ScheduledExecutorService sharedScheduler() {
+        return SharedScheduler.INSTANCE;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static final class SharedScheduler {
+
+        private static final ScheduledExecutorService INSTANCE = create();
+
+        private static ScheduledExecutorService create() {
+            ScheduledThreadPoolExecutor timer =
+                    new ScheduledThreadPoolExecutor(1, daemonThreadFactory("notifications-scheduler-"));
+            timer.setRemoveOnCancelPolicy(true);
+            return timer;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.novacomp.notifications.sender;
+
+import com.novacomp.notifications.event.NotificationEventPublisher;
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import com.novacomp.notifications.suppression.SuppressionList;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Dependencias compartidas de un sender concreto (Email, SMS, Push, Slack o
+ * uno propio sobre {@link AbstractNotificationSender}). Solo el publisher de
+ * eventos es obligatorio:
+ * <pre>
+ *   new SmsNotificationSender(twilio, new PhoneValidator(), SenderOptions.builder()
+ *           .eventPublisher(publisher)
+ *           .executor(executor)
+ *           .build());
+ * </pre>
+ */
+public final class SenderOptions {
+
+    private final NotificationEventPublisher eventPublisher;
+    private final Executor executor;
+    private final NotificationMetrics metrics;
+    private final SuppressionList suppressions;
+
+    private SenderOptions(Builder builder) {
+        this.eventPublisher = Objects.requireNonNull(builder.eventPublisher, "eventPublisher es obligatorio");
+        this.executor = builder.executor;
+        this.metrics = builder.metrics;
+        this.suppressions = builder.suppressions;
+    }
+
+    /** Solo con el publisher: executor, metricas y supresion por defecto. */
+    public static SenderOptions of(NotificationEventPublisher eventPublisher) {
+        return builder().eventPublisher(eventPublisher).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public NotificationEventPublisher getEventPublisher() {
+        return eventPublisher;
+    }
+
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    public NotificationMetrics getMetrics() {
+        return metrics;
+    }
+
+    public SuppressionList getSuppressions() {
+        return suppressions;
+    }
+
+    public static final class Builder {
+        private NotificationEventPublisher eventPublisher;
+        private Executor executor = ForkJoinPool.commonPool();
+        private NotificationMetrics metrics = NotificationMetrics.disabled();
+        private SuppressionList suppressions = SuppressionList.disabled();
+
+        public Builder eventPublisher(NotificationEventPublisher eventPublisher) {
+            this.eventPublisher = Objects.requireNonNull(eventPublisher);
+            return this;
+        }
+
+        /** Donde corre sendAsync si el proveedor no es asincrono nativo. Default ForkJoinPool.commonPool(). */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /** Default {@link NotificationMetrics#disabled()}. */
+        public Builder metrics(NotificationMetrics metrics) {
+            this.metrics = Objects.requireNonNull(metrics);
+            return this;
+        }
+
+        /** Default {@link SuppressionList#disabled()}. */
+        public Builder suppressions(SuppressionList suppressions) {
+            this.suppressions = Objects.requireNonNull(suppressions);
+            return this;
+        }
+
+        public SenderOptions build() {
+            return new SenderOptions(this);
+        }
+    }
+}
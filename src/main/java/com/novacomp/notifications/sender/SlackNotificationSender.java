@@ -7,14 +7,32 @@ import com.novacomp.notifications.provider.ProviderResponse;
 import com.novacomp.notifications.provider.slack.SlackProvider;
 import com.novacomp.notifications.validation.NotificationValidator;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 public class SlackNotificationSender extends AbstractNotificationSender<SlackNotification> {
 
     private final SlackProvider provider;
 
     public SlackNotificationSender(SlackProvider provider,
-                                    NotificationValidator<SlackNotification> validator,
-                                    NotificationEventPublisher eventPublisher) {
-        super(validator, eventPublisher);
+                                   NotificationValidator<SlackNotification> validator,
+                                   NotificationEventPublisher eventPublisher) {
+        this(provider, validator, SenderOptions.of(eventPublisher));
+    }
+
+    public SlackNotificationSender(SlackProvider provider,
+                                   NotificationValidator<SlackNotification> validator,
+                                   NotificationEventPublisher eventPublisher,
+                                   Executor executor) {
+        this(provider, validator, SenderOptions.builder().eventPublisher(eventPublisher).executor(executor).build());
+    }
+
+    public SlackNotificationSender(SlackProvider provider,
+                                   NotificationValidator<SlackNotification> validator,
+                                   SenderOptions options) {
+        super(validator, options);
         this.provider = provider;
     }
 
@@ -23,6 +41,38 @@ public class SlackNotificationSender extends AbstractNotificationSender<SlackNot
         return provider.send(notification);
     }
 
+    @Override
+    protected CompletionStage<ProviderResponse> doSendAsync(SlackNotification notification) {
+        return provider.sendAsync(notification);
+    }
+
+    @Override
+    protected boolean asyncNative() {
+        return provider.isAsyncNative();
+    }
+
+    @Override
+    protected List<ProviderResponse> doSendBulk(List<SlackNotification> batch) {
+        return provider.sendBulk(batch);
+    }
+
+    @Override
+    protected int maxBulkSize() {
+        return provider.getMaxBulkSize();
+    }
+
+    /** Mismo canal destino y mismo mensaje. */
+    @Override
+    protected Object bulkKey(SlackNotification notification) {
+        return Arrays.asList(notification.getRecipient(), notification.getMessage(),
+                notification.getUsername(), notification.getIconEmoji());
+    }
+
+    @Override
+    protected String providerName() {
+        return provider.getProviderName();
+    }
+
     @Override
     public NotificationChannel getChannel() {
         return NotificationChannel.SLACK;
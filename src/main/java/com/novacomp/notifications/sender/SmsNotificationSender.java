@@ -7,14 +7,32 @@ import com.novacomp.notifications.provider.ProviderResponse;
 import com.novacomp.notifications.provider.sms.SmsProvider;
 import com.novacomp.notifications.validation.NotificationValidator;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+
 public class SmsNotificationSender extends AbstractNotificationSender<SmsNotification> {
 
     private final SmsProvider provider;
 
     public SmsNotificationSender(SmsProvider provider,
-                                  NotificationValidator<SmsNotification> validator,
-                                  NotificationEventPublisher eventPublisher) {
-        super(validator, eventPublisher);
+                                 NotificationValidator<SmsNotification> validator,
+                                 NotificationEventPublisher eventPublisher) {
+        this(provider, validator, SenderOptions.of(eventPublisher));
+    }
+
+    public SmsNotificationSender(SmsProvider provider,
+                                 NotificationValidator<SmsNotification> validator,
+                                 NotificationEventPublisher eventPublisher,
+                                 Executor executor) {
+        this(provider, validator, SenderOptions.builder().eventPublisher(eventPublisher).executor(executor).build());
+    }
+
+    public SmsNotificationSender(SmsProvider provider,
+                                 NotificationValidator<SmsNotification> validator,
+                                 SenderOptions options) {
+        super(validator, options);
         this.provider = provider;
     }
 
@@ -23,6 +41,37 @@ public class SmsNotificationSender extends AbstractNotificationSender<SmsNotific
         return provider.send(notification);
     }
 
+    @Override
+    protected CompletionStage<ProviderResponse> doSendAsync(SmsNotification notification) {
+        return provider.sendAsync(notification);
+    }
+
+    @Override
+    protected boolean asyncNative() {
+        return provider.isAsyncNative();
+    }
+
+    @Override
+    protected List<ProviderResponse> doSendBulk(List<SmsNotification> batch) {
+        return provider.sendBulk(batch);
+    }
+
+    @Override
+    protected int maxBulkSize() {
+        return provider.getMaxBulkSize();
+    }
+
+    /** Mismo texto y remitente. */
+    @Override
+    protected Object bulkKey(SmsNotification notification) {
+        return Arrays.asList(notification.getMessage(), notification.getSenderId());
+    }
+
+    @Override
+    protected String providerName() {
+        return provider.getProviderName();
+    }
+
     @Override
     public NotificationChannel getChannel() {
         return NotificationChannel.SMS;
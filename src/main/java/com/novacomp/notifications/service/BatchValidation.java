@@ -0,0 +1,93 @@
+package com.novacomp.notifications.service;
+
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.ValidatedBatch;
+import com.novacomp.notifications.sender.NotificationSender;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Validacion de un lote en paralelo: parte el rango de indices a la mitad
+ * hasta chunks de {@link #CHUNK_SIZE} y valida cada chunk en el common pool
+ * (trabajo solo de CPU). Cada item invalido deja su motivo en un arreglo por
+ * indice, sin excepciones; al final una pasada separa validos e invalidos
+ * conservando el orden del lote.
+ */
+final class BatchValidation extends RecursiveAction {
+
+    static final int CHUNK_SIZE = 2048;
+
+    // RecursiveAction es Serializable, pero esta tarea nunca sale del proceso.
+    private static final long serialVersionUID = 1L;
+
+    private final transient List<? extends Notification> notifications;
+    private final transient Map<NotificationChannel, NotificationSender<? extends Notification>> senders;
+    private final transient String[] errors;
+    private final int from;
+    private final int to;
+
+    private BatchValidation(List<? extends Notification> notifications,
+                            Map<NotificationChannel, NotificationSender<? extends Notification>> senders,
+                            String[] errors, int from, int to) {
+        this.notifications = notifications;
+        this.senders = senders;
+        this.errors = errors;
+        this.from = from;
+        this.to = to;
+    }
+
+    static <T extends Notification> ValidatedBatch<T> validate(
+            List<T> notifications, Map<NotificationChannel, NotificationSender<? extends Notification>> senders) {
+        String[] errors = new String[notifications.size()];
+        BatchValidation task = new BatchValidation(notifications, senders, errors, 0, errors.length);
+        if (errors.length <= CHUNK_SIZE) {
+            // Un lote chico no paga el salto a otro hilo.
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        List<T> valid = new ArrayList<>(notifications.size());
+        List<ValidatedBatch.Invalid<T>> invalid = new ArrayList<>();
+        for (int i = 0; i < errors.length; i++) {
+            T notification = notifications.get(i);
+            if (errors[i] == null) {
+                valid.add(notification);
+            } else {
+                invalid.add(new ValidatedBatch.Invalid<>(i, notification, errors[i]));
+            }
+        }
+        return new ValidatedBatch<>(valid, invalid);
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= CHUNK_SIZE) {
+            for (int i = from; i < to; i++) {
+                errors[i] = error(notifications.get(i));
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new BatchValidation(notifications, senders, errors, from, middle),
+                new BatchValidation(notifications, senders, errors, middle, to));
+    }
+
+    @SuppressWarnings("unchecked")
+    private String error(Notification notification) {
+        if (notification == null) {
+            return "La notificacion es null";
+        }
+        NotificationSender<Notification> sender = (NotificationSender<Notification>) senders.get(
+                notification.getChannel());
+        if (sender == null) {
+            return "No hay ningun sender registrado para el canal " + notification.getChannel();
+        }
+        return sender.validationError(notification);
+    }
+}
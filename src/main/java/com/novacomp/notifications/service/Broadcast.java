@@ -0,0 +1,63 @@
+package com.novacomp.notifications.service;
+
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.topic.BroadcastRenderer;
+import com.novacomp.notifications.topic.RecipientBitmap;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * Iterador de las notificaciones de un broadcast: recorre la audiencia y
+ * pide al {@link BroadcastRenderer} un chunk por vez, recien cuando se
+ * consumio el anterior. Con la ventana de {@link StreamingBatch} encima, en
+ * memoria hay a lo sumo un chunk renderizado mas los envios en vuelo, sin
+ * importar el tamano de la audiencia.
+ */
+final class Broadcast implements Iterator<Notification> {
+
+    static final int CHUNK_SIZE = 512;
+
+    private final PrimitiveIterator.OfInt recipients;
+    private final BroadcastRenderer renderer;
+    private final int[] chunk;
+    private List<? extends Notification> rendered = List.of();
+    private int next;
+
+    Broadcast(RecipientBitmap audience, BroadcastRenderer renderer, int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize debe ser mayor a 0");
+        }
+        this.recipients = audience.iterator();
+        this.renderer = renderer;
+        this.chunk = new int[chunkSize];
+    }
+
+    @Override
+    public boolean hasNext() {
+        // Un chunk puede renderizar vacio (todos salteados): seguir con el proximo.
+        while (next == rendered.size()) {
+            if (!recipients.hasNext()) {
+                return false;
+            }
+            int count = 0;
+            while (count < chunk.length && recipients.hasNext()) {
+                chunk[count++] = recipients.nextInt();
+            }
+            rendered = renderer.render(Arrays.copyOf(chunk, count));
+            next = 0;
+        }
+        return true;
+    }
+
+    @Override
+    public Notification next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return rendered.get(next++);
+    }
+}
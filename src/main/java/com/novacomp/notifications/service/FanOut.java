@@ -0,0 +1,235 @@
+package com.novacomp.notifications.service;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.exception.NotificationException;
+import com.novacomp.notifications.fanout.FanOutMessage;
+import com.novacomp.notifications.fanout.FanOutResult;
+import com.novacomp.notifications.fanout.RecipientProfile;
+import com.novacomp.notifications.template.NotificationTemplate;
+import com.novacomp.notifications.template.TemplateEngine;
+import com.novacomp.notifications.template.TemplateRegistry;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Un fan-out en curso: despacha una notificacion por canal en paralelo y
+ * junta los resultados en un {@link FanOutResult}. Con "first success wins",
+ * el primer SENT cancela los envios de los demas canales; un canal que
+ * todavia no se despacho (porque el ganador completo en el mismo hilo) ya no
+ * se despacha.
+ *
+ * El estado se protege con el monitor de la instancia; los cancel() y la
+ * completion se llaman fuera de el, porque disparan callbacks ajenos.
+ */
+final class FanOut {
+
+    private static final TemplateEngine ENGINE = new TemplateEngine();
+
+    private final boolean firstSuccessWins;
+    private final Map<NotificationChannel, CompletableFuture<NotificationResult>> sends =
+            new EnumMap<>(NotificationChannel.class);
+    private final Map<NotificationChannel, NotificationResult> results = new EnumMap<>(NotificationChannel.class);
+    private final Set<NotificationChannel> cancelled = EnumSet.noneOf(NotificationChannel.class);
+    private final CompletableFuture<FanOutResult> completion = new CompletableFuture<>();
+    private NotificationChannel deliveredBy;
+    private int pending;
+
+    FanOut(boolean firstSuccessWins) {
+        this.firstSuccessWins = firstSuccessWins;
+    }
+
+    /**
+     * Arma la notificacion de cada canal: el titulo y cada cuerpo se
+     * renderizan una sola vez, y los canales sin template propio comparten
+     * el cuerpo del mensaje.
+     *
+     * @throws NotificationException si un canal pedido no tiene direccion o
+     *         sender, si falta un template o si no queda ningun canal
+     */
+    static List<Notification> notifications(RecipientProfile recipient, FanOutMessage message,
+                                            TemplateRegistry templates, Predicate<NotificationChannel> supported) {
+        Set<NotificationChannel> channels = channels(recipient, message, supported);
+        Map<String, String> variables = new HashMap<>(recipient.getVariables());
+        variables.putAll(message.getVariables());
+
+        String title = render(new NotificationTemplate("fanout.title", message.getTitle()), variables);
+        Map<String, String> bodies = new HashMap<>();
+        List<Notification> notifications = new ArrayList<>(channels.size());
+        for (NotificationChannel channel : channels) {
+            String templateId = message.getTemplateId(channel);
+            String body = bodies.computeIfAbsent(templateId == null ? "" : templateId, key -> templateId == null
+                    ? render(new NotificationTemplate("fanout.message", message.getMessage()), variables)
+                    : render(template(templates, templateId), variables));
+            notifications.add(notification(channel, recipient.getAddress(channel), title, body, message));
+        }
+        return notifications;
+    }
+
+    /** Despacha cada notificacion con {@code send} (que no debe bloquear) y devuelve el agregado. */
+    CompletableFuture<FanOutResult> start(List<Notification> notifications,
+                                          Function<Notification, CompletableFuture<NotificationResult>> send) {
+        synchronized (this) {
+            pending = notifications.size();
+        }
+        for (Notification notification : notifications) {
+            NotificationChannel channel = notification.getChannel();
+            if (skip(channel)) {
+                continue;
+            }
+            CompletableFuture<NotificationResult> future;
+            try {
+                future = send.apply(notification);
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            boolean lost;
+            synchronized (this) {
+                sends.put(channel, future);
+                // Otro canal pudo ganar mientras este se despachaba.
+                lost = firstSuccessWins && deliveredBy != null;
+            }
+            if (lost) {
+                future.cancel(false);
+            }
+            future.whenComplete((result, error) -> onDone(notification, result, error));
+        }
+        return completion;
+    }
+
+    private boolean skip(NotificationChannel channel) {
+        boolean done;
+        synchronized (this) {
+            if (!firstSuccessWins || deliveredBy == null) {
+                return false;
+            }
+            cancelled.add(channel);
+            done = --pending == 0;
+        }
+        if (done) {
+            completion.complete(snapshot());
+        }
+        return true;
+    }
+
+    private void onDone(Notification notification, NotificationResult result, Throwable error) {
+        List<CompletableFuture<NotificationResult>> losers = List.of();
+        boolean done;
+        synchronized (this) {
+            NotificationChannel channel = notification.getChannel();
+            if (error instanceof CancellationException) {
+                cancelled.add(channel);
+            } else {
+                NotificationResult outcome = error == null ? result : failedResult(notification, error);
+                results.put(channel, outcome);
+                if (outcome.getStatus() == NotificationStatus.SENT && deliveredBy == null) {
+                    deliveredBy = channel;
+                    if (firstSuccessWins) {
+                        losers = new ArrayList<>(sends.size());
+                        for (Map.Entry<NotificationChannel, CompletableFuture<NotificationResult>> send
+                                : sends.entrySet()) {
+                            if (send.getKey() != channel) {
+                                losers.add(send.getValue());
+                            }
+                        }
+                    }
+                }
+            }
+            done = --pending == 0;
+        }
+        for (CompletableFuture<NotificationResult> loser : losers) {
+            loser.cancel(false);
+        }
+        if (done) {
+            completion.complete(snapshot());
+        }
+    }
+
+    private synchronized FanOutResult snapshot() {
+        return new FanOutResult(results, cancelled, deliveredBy);
+    }
+
+    private static Set<NotificationChannel> channels(RecipientProfile recipient, FanOutMessage message,
+                                                     Predicate<NotificationChannel> supported) {
+        Set<NotificationChannel> channels;
+        if (message.getChannels().isEmpty()) {
+            channels = recipient.getChannels();
+            channels.removeIf(channel -> !supported.test(channel));
+        } else {
+            channels = EnumSet.copyOf(message.getChannels());
+            for (NotificationChannel channel : channels) {
+                if (recipient.getAddress(channel) == null) {
+                    throw new NotificationException("El destinatario no tiene direccion para el canal " + channel);
+                }
+                if (!supported.test(channel)) {
+                    throw new NotificationException("No hay ningun sender registrado para el canal " + channel);
+                }
+            }
+        }
+        if (channels.isEmpty()) {
+            throw new NotificationException("El destinatario no tiene ningun canal con sender registrado");
+        }
+        return channels;
+    }
+
+    private static NotificationTemplate template(TemplateRegistry templates, String templateId) {
+        if (templates == null) {
+            throw new NotificationException(
+                    "No hay TemplateRegistry configurado; usa withTemplates(...) en el builder");
+        }
+        return templates.find(templateId)
+                .orElseThrow(() -> new NotificationException("No existe el template " + templateId));
+    }
+
+    private static String render(NotificationTemplate template, Map<String, String> variables) {
+        return ENGINE.render(template, variables);
+    }
+
+    private static Notification notification(NotificationChannel channel, String address, String title,
+                                             String body, FanOutMessage message) {
+        switch (channel) {
+            case EMAIL:
+                return EmailNotification.builder().recipient(address).subject(title).message(body)
+                        .priority(message.getPriority()).build();
+            case SMS:
+                return SmsNotification.builder().recipient(address).message(body)
+                        .priority(message.getPriority()).build();
+            case PUSH:
+                return PushNotification.builder().recipient(address).title(title).message(body)
+                        .data(message.getData()).priority(message.getPriority()).build();
+            case SLACK:
+                return SlackNotification.builder().recipient(address).message(body)
+                        .priority(message.getPriority()).build();
+            default:
+                throw new NotificationException("Canal sin soporte de fan-out: " + channel);
+        }
+    }
+
+    private static NotificationResult failedResult(Notification notification, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return NotificationResult.builder()
+                .notificationId(notification.getId())
+                .channel(notification.getChannel())
+                .status(NotificationStatus.FAILED)
+                .errorMessage(cause.getMessage())
+                .attempts(0)
+                .build();
+    }
+}
@@ -1,35 +1,99 @@
 package com.novacomp.notifications.service;
 
+import com.novacomp.notifications.core.BatchSummary;
 import com.novacomp.notifications.core.Notification;
 import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationPriority;
 import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.ValidatedBatch;
 import com.novacomp.notifications.event.NotificationEventListener;
 import com.novacomp.notifications.event.NotificationEventPublisher;
+import com.novacomp.notifications.metrics.NotificationMetrics;
 import com.novacomp.notifications.exception.NotificationException;
+import com.novacomp.notifications.fanout.FanOutMessage;
+import com.novacomp.notifications.fanout.FanOutResult;
+import com.novacomp.notifications.fanout.RecipientProfile;
+import com.novacomp.notifications.outbox.DurableOutbox;
+import com.novacomp.notifications.schedule.NotificationScheduler;
+import com.novacomp.notifications.schedule.ScheduledNotification;
 import com.novacomp.notifications.sender.NotificationSender;
+import com.novacomp.notifications.template.TemplateRegistry;
+import com.novacomp.notifications.topic.BroadcastRenderer;
+import com.novacomp.notifications.topic.RecipientBitmap;
+import com.novacomp.notifications.topic.TopicRegistry;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Punto de entrada unico (Facade) de la libreria. El codigo cliente solo
  * conoce esta clase y la jerarquia Notification; nunca referencia
  * directamente SendGrid/Twilio/FCM/Slack ni sus Senders concretos.
  *
- * Se construye exclusivamente via {@link NotificationServiceBuilder}.
+ * Se construye exclusivamente via {@link NotificationServiceBuilder}. Si el
+ * builder creo executors propios (virtual threads / pools por canal) o un
+ * outbox, se liberan con {@link #close()}.
+ *
+ * Con un outbox configurado ({@code withOutbox(...)}), cada notificacion se
+ * persiste en disco antes de despacharse y se marca con ack al terminar su
+ * envio (exitoso o no); las que quedaron a medias por una caida de la JVM
+ * se reenvian con {@link #replayOutbox(int, Consumer)}.
+ *
+ * Los envios diferidos ({@link #schedule(Notification, Instant)}) esperan en
+ * una rueda de tiempo con su propio hilo, que tambien se detiene en close().
+ * Cada lote vencido se despacha en un virtual thread aparte, asi nada de lo
+ * que haga un envio frena el avance de la rueda.
+ *
+ * {@link #fanOut(RecipientProfile, FanOutMessage)} manda un mismo aviso por
+ * todos los canales de un usuario, renderizando con los templates del
+ * builder ({@code withTemplates(...)}), y
+ * {@link #broadcast(RecipientBitmap, BroadcastRenderer, int, Consumer)} a
+ * todos los suscriptos de un topic sin materializar la lista de destinatarios.
  */
-public final class NotificationService {
+public final class NotificationService implements AutoCloseable {
 
     private final Map<NotificationChannel, NotificationSender<? extends Notification>> senders;
     private final NotificationEventPublisher eventPublisher;
+    private final List<ExecutorService> ownedExecutors;
+    private final DurableOutbox outbox;
+    private final boolean ownsOutbox;
+    private final PriorityLanes lanes;
+    private final NotificationMetrics metrics;
+    private final TemplateRegistry templates;
+    private NotificationScheduler scheduler;
+    private ExecutorService releaser;
 
     NotificationService(Map<NotificationChannel, NotificationSender<? extends Notification>> senders,
-                         NotificationEventPublisher eventPublisher) {
+                         NotificationEventPublisher eventPublisher,
+                         List<ExecutorService> ownedExecutors,
+                         DurableOutbox outbox,
+                         boolean ownsOutbox,
+                         PriorityLanes lanes,
+                         NotificationMetrics metrics,
+                         TemplateRegistry templates) {
         this.senders = senders;
         this.eventPublisher = eventPublisher;
+        this.ownedExecutors = ownedExecutors;
+        this.outbox = outbox;
+        this.ownsOutbox = ownsOutbox;
+        this.lanes = lanes;
+        this.metrics = metrics;
+        this.templates = templates;
     }
 
     /**
@@ -39,16 +103,89 @@ public final class NotificationService {
     @SuppressWarnings("unchecked")
     public <T extends Notification> NotificationResult send(T notification) {
         NotificationSender<T> sender = (NotificationSender<T>) getSenderOrThrow(notification.getChannel());
-        return sender.send(notification);
+        NotificationMetrics.ChannelMetrics observed = metrics.forChannel(notification.getChannel());
+        long started = observed.start();
+        NotificationResult result;
+        try {
+            result = sendNow(sender, notification);
+        } catch (RuntimeException e) {
+            observed.recordError(started);
+            throw e;
+        }
+        observed.recordResult(result, started);
+        return result;
     }
 
-    @SuppressWarnings("unchecked")
+    private <T extends Notification> NotificationResult sendNow(NotificationSender<T> sender, T notification) {
+        if (!isDurable(notification)) {
+            return sender.send(notification);
+        }
+        long seq = awaitDurable(outbox.append(notification));
+        try {
+            return sender.send(notification);
+        } finally {
+            outbox.ack(seq);
+        }
+    }
+
+    /**
+     * Con outbox, el envio se despacha recien cuando la notificacion esta en
+     * disco (el fsync se comparte con los demas envios concurrentes).
+     *
+     * Con {@code withPriorityLanes(...)}, el envio espera su turno en la cola
+     * de su {@link NotificationPriority}; si esa cola esta llena, este metodo
+     * bloquea hasta que haya lugar (antes de escribir en el outbox). Por eso
+     * no conviene llamarlo desde callbacks de otros envios: para lotes,
+     * {@link #sendStream(Iterator, int, Consumer)} no bloquea ningun hilo.
+     */
     public <T extends Notification> CompletableFuture<NotificationResult> sendAsync(T notification) {
-        NotificationSender<T> sender = (NotificationSender<T>) getSenderOrThrow(notification.getChannel());
-        return sender.sendAsync(notification);
+        NotificationMetrics.ChannelMetrics observed = metrics.forChannel(notification.getChannel());
+        long started = observed.start();
+        return observe(observed, started, submit(notification, true));
     }
 
-    /** Envia un lote de notificaciones (posiblemente de canales mezclados) en paralelo. */
+    /**
+     * sendAsync sin la espera por lugar en las priority lanes: para los envios
+     * que disparan hilos de la libreria (el refill de sendStream corre en el
+     * hilo que completo el envio anterior). Esos lotes ya tienen su ventana.
+     */
+    private CompletableFuture<NotificationResult> enqueue(Notification notification) {
+        NotificationMetrics.ChannelMetrics observed = metrics.forChannel(notification.getChannel());
+        long started = observed.start();
+        return observe(observed, started, submit(notification, false));
+    }
+
+    /**
+     * Fan-out: el mismo aviso a todos los canales del destinatario (o a los
+     * pedidos en {@code message}), en paralelo. El titulo y el cuerpo de cada
+     * canal se renderizan una vez; cada envio sigue el camino de
+     * {@link #sendAsync(Notification)} (outbox, priority lanes, metricas).
+     * Un canal que falla, incluso por validacion, llega como resultado FAILED
+     * sin afectar a los demas.
+     *
+     * Con {@code firstSuccessWins}, el primer canal que entrega cancela el
+     * resto y el futuro completa enseguida.
+     *
+     * @throws NotificationException si un canal pedido no tiene direccion o
+     *         sender, si falta un template o si no queda ningun canal
+     */
+    public CompletableFuture<FanOutResult> fanOut(RecipientProfile recipient, FanOutMessage message) {
+        List<Notification> notifications = FanOut.notifications(recipient, message, templates, this::supports);
+        return new FanOut(message.isFirstSuccessWins()).start(notifications, notification -> {
+            NotificationMetrics.ChannelMetrics observed = metrics.forChannel(notification.getChannel());
+            long started = observed.start();
+            CompletableFuture<NotificationResult> future = submit(notification, true);
+            // Se devuelve el futuro del envio y no la etapa de metricas: cancelarlo debe llegar a la cola.
+            observe(observed, started, future);
+            return future;
+        });
+    }
+
+    /**
+     * Envia un lote de notificaciones (posiblemente de canales mezclados) en paralelo.
+     * Un item invalido hace fallar toda la llamada: para no perder el lote por
+     * una direccion mala, pasarlo antes por {@link #validateBatch(List)}.
+     */
     public List<NotificationResult> sendBatch(List<? extends Notification> notifications) {
         List<CompletableFuture<NotificationResult>> futures = new ArrayList<>(notifications.size());
         for (Notification notification : notifications) {
@@ -57,6 +194,180 @@ public final class NotificationService {
         return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
     }
 
+    /**
+     * Valida un lote (posiblemente de canales mezclados) sin enviar nada y lo
+     * separa en validos, en el orden original, y un motivo por cada invalido.
+     * Corre los mismos validadores que el envio, en paralelo por chunks sobre
+     * el common pool y sin lanzar excepciones: un canal sin sender o un item
+     * null tambien son items invalidos.
+     *
+     * La validacion sale de {@link NotificationSender#validationError}. Los
+     * senders de la libreria (los que extienden AbstractNotificationSender)
+     * corren su validador; un sender propio que no lo sobreescribe hereda el
+     * default que devuelve null, asi que todos sus items cuentan como validos
+     * y sus errores aparecen recien al enviar.
+     */
+    public <T extends Notification> ValidatedBatch<T> validateBatch(List<T> notifications) {
+        return BatchValidation.validate(notifications, senders);
+    }
+
+    /**
+     * Envia un lote (posiblemente de canales mezclados) usando la API bulk de
+     * cada proveedor: las notificaciones de un mismo canal con el mismo
+     * contenido viajan juntas en un solo request (ej. personalizations de
+     * SendGrid, multicast de FCM). Devuelve los resultados en el orden de entrada.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<NotificationResult> sendBulk(List<? extends Notification> notifications) {
+        long started = System.nanoTime();
+        Map<NotificationChannel, List<Integer>> byChannel = new EnumMap<>(NotificationChannel.class);
+        for (int i = 0; i < notifications.size(); i++) {
+            NotificationChannel channel = notifications.get(i).getChannel();
+            getSenderOrThrow(channel);
+            byChannel.computeIfAbsent(channel, c -> new ArrayList<>()).add(i);
+        }
+
+        List<Long> durableSeqs = appendAll(notifications);
+        NotificationResult[] results = new NotificationResult[notifications.size()];
+        try {
+            byChannel.forEach((channel, indexes) -> {
+                List batch = new ArrayList<>(indexes.size());
+                for (int index : indexes) {
+                    batch.add(notifications.get(index));
+                }
+                List<NotificationResult> channelResults = ((NotificationSender) senders.get(channel)).sendBulk(batch);
+                for (int i = 0; i < indexes.size(); i++) {
+                    results[indexes.get(i)] = channelResults.get(i);
+                }
+            });
+        } finally {
+            durableSeqs.forEach(outbox::ack);
+        }
+        for (NotificationResult result : results) {
+            metrics.forChannel(result.getChannel()).recordResult(result, started);
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Envio en lote por streaming, pensado para campanas grandes: toma las
+     * notificaciones de a una desde el iterador, mantiene a lo sumo
+     * {@code maxInFlight} envios en vuelo y entrega cada resultado a
+     * {@code onResult} apenas termina (en cualquier orden y desde cualquier
+     * hilo). La memoria usada depende de la ventana, no del tamano del lote.
+     *
+     * A diferencia de {@link #sendBatch(List)}, un item invalido no aborta el
+     * lote: llega a {@code onResult} como un resultado FAILED.
+     *
+     * @return futuro que completa con el resumen cuando terminan todos los envios
+     */
+    public CompletableFuture<BatchSummary> sendStream(Iterator<? extends Notification> notifications,
+                                                      int maxInFlight,
+                                                      Consumer<NotificationResult> onResult) {
+        return new StreamingBatch.FromIterator(notifications, this::enqueue, maxInFlight, onResult)
+                .start()
+                .completion();
+    }
+
+    /** Igual que {@link #sendStream(Iterator, int, Consumer)}; el stream se cierra al terminar. */
+    public CompletableFuture<BatchSummary> sendStream(Stream<? extends Notification> notifications,
+                                                      int maxInFlight,
+                                                      Consumer<NotificationResult> onResult) {
+        return sendStream(notifications.iterator(), maxInFlight, onResult)
+                .whenComplete((summary, error) -> notifications.close());
+    }
+
+    /**
+     * Variante reactiva: se suscribe al publisher pidiendo {@code maxInFlight}
+     * elementos y uno mas por cada envio que termina (backpressure de
+     * java.util.concurrent.Flow).
+     */
+    public CompletableFuture<BatchSummary> sendStream(Flow.Publisher<? extends Notification> notifications,
+                                                      int maxInFlight,
+                                                      Consumer<NotificationResult> onResult) {
+        StreamingBatch.FromPublisher subscriber =
+                new StreamingBatch.FromPublisher(this::enqueue, maxInFlight, onResult);
+        notifications.subscribe(subscriber);
+        return subscriber.completion();
+    }
+
+    /**
+     * Broadcast a una audiencia de {@link TopicRegistry} (o cualquier
+     * {@link RecipientBitmap}): recorre los indices en orden y le pide a
+     * {@code renderer} las notificaciones de a chunks de 512, recien cuando
+     * la ventana de {@code maxInFlight} envios necesita mas. Nunca se arma la
+     * lista completa: el primer envio sale apenas se renderiza el primer
+     * chunk, y la memoria no depende del tamano de la audiencia.
+     *
+     * Mismas garantias que {@link #sendStream(Iterator, int, Consumer)}; la
+     * audiencia no debe modificarse mientras dura el broadcast (las de
+     * TopicRegistry ya son copias).
+     */
+    public CompletableFuture<BatchSummary> broadcast(RecipientBitmap audience,
+                                                     BroadcastRenderer renderer,
+                                                     int maxInFlight,
+                                                     Consumer<NotificationResult> onResult) {
+        return sendStream(new Broadcast(audience, renderer, Broadcast.CHUNK_SIZE), maxInFlight, onResult);
+    }
+
+    /**
+     * Reenvia las notificaciones que el outbox encontro sin ack al abrirse
+     * (envios interrumpidos por una caida de la JVM), con la misma ventana
+     * acotada que {@link #sendStream(Iterator, int, Consumer)}. Cada entrada
+     * se entrega una sola vez; llamarlo de nuevo no reenvia nada.
+     *
+     * Los envios programados ({@link #schedule(Notification, Instant)}) que
+     * todavia no vencieron vuelven a la rueda con su vencimiento original y no
+     * cuentan en el resumen; los vencidos durante la caida se envian ya.
+     *
+     * @throws IllegalStateException si el servicio no tiene outbox
+     */
+    @SuppressWarnings("unchecked")
+    public CompletableFuture<BatchSummary> replayOutbox(int maxInFlight, Consumer<NotificationResult> onResult) {
+        if (outbox == null) {
+            throw new IllegalStateException("No hay outbox configurado; usa withOutbox(...) en el builder");
+        }
+        Map<Notification, Long> seqs = new IdentityHashMap<>();
+        List<Notification> pending = new ArrayList<>();
+        Instant now = Instant.now();
+        for (DurableOutbox.Entry entry : outbox.takeRecovered()) {
+            if (entry.getDueAt() != null && entry.getDueAt().isAfter(now)) {
+                ackWhenDone(scheduler().schedule(entry.getNotification(), entry.getDueAt()), entry.getSequence());
+                continue;
+            }
+            seqs.put(entry.getNotification(), entry.getSequence());
+            pending.add(entry.getNotification());
+        }
+        return new StreamingBatch.FromIterator(pending.iterator(), notification -> {
+            NotificationSender<Notification> sender =
+                    (NotificationSender<Notification>) getSenderOrThrow(notification.getChannel());
+            NotificationMetrics.ChannelMetrics observed = metrics.forChannel(notification.getChannel());
+            long started = observed.start();
+            return observe(observed, started, sendAndAck(sender, notification, seqs.get(notification), false));
+        }, maxInFlight, onResult)
+                .start()
+                .completion();
+    }
+
+    /**
+     * Programa el envio para {@code dueAt} (ej. "a las 9:00 hora local"). La
+     * notificacion espera en una rueda de tiempo jerarquica en memoria (insertar
+     * y cancelar son O(1) aun con millones pendientes) y al vencer entra al
+     * mismo camino que {@link #sendAsync(Notification)}. Con outbox, la
+     * programacion se persiste antes de volver y sobrevive a un reinicio (ver
+     * {@link #replayOutbox(int, Consumer)}).
+     *
+     * @return handle para cancelar el envio o esperar su resultado
+     */
+    public ScheduledNotification schedule(Notification notification, Instant dueAt) {
+        getSenderOrThrow(notification.getChannel());
+        if (!isDurable(notification)) {
+            return scheduler().schedule(notification, dueAt);
+        }
+        long seq = awaitDurable(outbox.append(notification, dueAt));
+        return ackWhenDone(scheduler().schedule(notification, dueAt), seq);
+    }
+
     /** Se suscribe a cambios de estado de cualquier notificacion enviada por este servicio. */
     public void subscribe(NotificationEventListener listener) {
         eventPublisher.subscribe(listener);
@@ -66,6 +377,190 @@ public final class NotificationService {
         return senders.containsKey(channel);
     }
 
+    /** Envios asincronos esperando turno en la cola de esa prioridad (0 sin priority lanes). */
+    public int getQueuedCount(NotificationPriority priority) {
+        return lanes == null ? 0 : lanes.getQueuedCount(priority);
+    }
+
+    /**
+     * Libera los executors, los hilos de eventos asincronos y el outbox
+     * creados por el builder. Los envios ya aceptados terminan; los nuevos
+     * sendAsync seran rechazados. Los listeners asincronos procesan lo que ya
+     * estaba en el buffer. Si el outbox se cierra con envios en vuelo, esos
+     * se reenvian en el proximo arranque; lo mismo con los envios programados
+     * que todavia no vencieron (sin outbox, esos se pierden).
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.close();
+                releaser.shutdown();
+            }
+        }
+        ownedExecutors.forEach(ExecutorService::shutdown);
+        eventPublisher.close();
+        if (ownsOutbox) {
+            outbox.close();
+        }
+    }
+
+    /** La rueda (y su hilo) se crea recien con el primer schedule. */
+    private synchronized NotificationScheduler scheduler() {
+        if (scheduler == null) {
+            releaser = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("notifications-scheduler-release-", 0).factory());
+            scheduler = NotificationScheduler.builder().onDue(this::handOffDue).build();
+        }
+        return scheduler;
+    }
+
+    /**
+     * Corre en el hilo de la rueda: solo entrega el lote. Validar, consultar
+     * la SuppressionList o un proveedor "asincrono" que bloquea al llamarlo
+     * demorarian todos los vencimientos siguientes.
+     */
+    private void handOffDue(List<ScheduledNotification> batch) {
+        try {
+            releaser.execute(() -> releaseDue(batch));
+        } catch (RejectedExecutionException e) {
+            // Solo si close() no llego a detener la rueda a tiempo.
+            releaseDue(batch);
+        }
+    }
+
+    /** Los envios vencidos entran al pipeline asincrono normal (con priority lanes si hay). */
+    @SuppressWarnings("unchecked")
+    private void releaseDue(List<ScheduledNotification> batch) {
+        for (ScheduledNotification due : batch) {
+            Notification notification = due.getNotification();
+            NotificationMetrics.ChannelMetrics observed = metrics.forChannel(notification.getChannel());
+            long started = observed.start();
+            CompletableFuture<NotificationResult> future;
+            try {
+                NotificationSender<Notification> sender =
+                        (NotificationSender<Notification>) getSenderOrThrow(notification.getChannel());
+                future = observe(observed, started, dispatch(sender, notification, false));
+            } catch (RuntimeException e) {
+                future = CompletableFuture.failedFuture(e);
+            }
+            future.whenComplete((result, error) -> {
+                if (error != null) {
+                    due.getResult().completeExceptionally(error);
+                } else {
+                    due.getResult().complete(result);
+                }
+            });
+        }
+    }
+
+    /** El ack llega cuando el envio programado termina o se cancela; al cerrar sin enviar, queda pendiente. */
+    private ScheduledNotification ackWhenDone(ScheduledNotification scheduled, long seq) {
+        scheduled.getResult().whenComplete((result, error) -> outbox.ack(seq));
+        return scheduled;
+    }
+
+    private CompletableFuture<NotificationResult> observe(NotificationMetrics.ChannelMetrics observed, long started,
+                                                          CompletableFuture<NotificationResult> future) {
+        if (!metrics.isEnabled()) {
+            return future;
+        }
+        return future.whenComplete((result, error) -> {
+            if (error != null) {
+                observed.recordError(started);
+            } else {
+                observed.recordResult(result, started);
+            }
+        });
+    }
+
+    /**
+     * @param reserve true si corre en el hilo del llamador: ahi (y solo ahi)
+     *        se espera lugar en la priority lane, antes del append al outbox.
+     *        La continuacion del append corre en el hilo flusher del outbox,
+     *        que no debe bloquearse: frenaria el fsync de todos los envios.
+     */
+    @SuppressWarnings("unchecked")
+    private <T extends Notification> CompletableFuture<NotificationResult> submit(T notification, boolean reserve) {
+        NotificationSender<T> sender = (NotificationSender<T>) getSenderOrThrow(notification.getChannel());
+        boolean reserved = reserve && lanes != null;
+        if (reserved) {
+            lanes.reserve(notification.getPriority());
+        }
+        if (!isDurable(notification)) {
+            return dispatch(sender, notification, reserved);
+        }
+        CompletableFuture<Long> appended;
+        try {
+            appended = outbox.append(notification);
+        } catch (RuntimeException e) {
+            cancelReservation(notification, reserved);
+            throw e;
+        }
+        appended.whenComplete((seq, error) -> {
+            if (error != null) {
+                cancelReservation(notification, reserved);
+            }
+        });
+        return appended.thenCompose(seq -> sendAndAck(sender, notification, seq, reserved));
+    }
+
+    private void cancelReservation(Notification notification, boolean reserved) {
+        if (reserved) {
+            lanes.cancelReservation(notification.getPriority());
+        }
+    }
+
+    /** Nunca bloquea: sin lugar en vuelo, el envio queda en la cola de su prioridad. */
+    private <T extends Notification> CompletableFuture<NotificationResult> dispatch(NotificationSender<T> sender,
+                                                                                    T notification,
+                                                                                    boolean reserved) {
+        if (lanes == null) {
+            return sender.sendAsync(notification);
+        }
+        return lanes.submit(notification.getPriority(), reserved, () -> sender.sendAsync(notification));
+    }
+
+    private boolean isDurable(Notification notification) {
+        // Canales custom (registerSender) que el outbox no sabe serializar se envian directo.
+        return outbox != null && DurableOutbox.supports(notification);
+    }
+
+    private <T extends Notification> CompletableFuture<NotificationResult> sendAndAck(NotificationSender<T> sender,
+                                                                                      T notification, long seq,
+                                                                                      boolean reserved) {
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = dispatch(sender, notification, reserved);
+        } catch (RuntimeException e) {
+            outbox.ack(seq);
+            throw e;
+        }
+        return future.whenComplete((result, error) -> outbox.ack(seq));
+    }
+
+    private List<Long> appendAll(List<? extends Notification> notifications) {
+        List<CompletableFuture<Long>> appends = new ArrayList<>();
+        for (Notification notification : notifications) {
+            if (isDurable(notification)) {
+                appends.add(outbox.append(notification));
+            }
+        }
+        List<Long> seqs = new ArrayList<>(appends.size());
+        for (CompletableFuture<Long> append : appends) {
+            seqs.add(awaitDurable(append));
+        }
+        return seqs;
+    }
+
+    private static long awaitDurable(CompletableFuture<Long> append) {
+        try {
+            return append.join();
+        } catch (CompletionException e) {
+            throw new NotificationException("No se pudo persistir la notificacion en el outbox", e.getCause());
+        }
+    }
+
     private NotificationSender<? extends Notification> getSenderOrThrow(NotificationChannel channel) {
         NotificationSender<? extends Notification> sender = senders.get(channel);
         if (sender == null) {
@@ -4,29 +4,52 @@ import com.novacomp.notifications.channel.email.EmailNotification;
 import com.novacomp.notifications.channel.push.PushNotification;
 import com.novacomp.notifications.channel.slack.SlackNotification;
 import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.config.AsyncDispatchPolicy;
+import com.novacomp.notifications.config.CircuitBreakerPolicy;
+import com.novacomp.notifications.config.PriorityLanePolicy;
 import com.novacomp.notifications.config.RetryPolicy;
 import com.novacomp.notifications.core.Notification;
 import com.novacomp.notifications.core.NotificationChannel;
 import com.novacomp.notifications.event.NotificationEventListener;
 import com.novacomp.notifications.event.NotificationEventPublisher;
+import com.novacomp.notifications.idempotency.IdempotencyKey;
+import com.novacomp.notifications.idempotency.IdempotencyWindow;
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import com.novacomp.notifications.outbox.DurableOutbox;
 import com.novacomp.notifications.provider.email.EmailProvider;
 import com.novacomp.notifications.provider.push.PushProvider;
 import com.novacomp.notifications.provider.slack.SlackProvider;
 import com.novacomp.notifications.provider.sms.SmsProvider;
+import com.novacomp.notifications.ratelimit.TokenBucketRateLimiter;
+import com.novacomp.notifications.sender.CircuitBreakerNotificationSender;
 import com.novacomp.notifications.sender.EmailNotificationSender;
+import com.novacomp.notifications.sender.IdempotentNotificationSender;
 import com.novacomp.notifications.sender.NotificationSender;
 import com.novacomp.notifications.sender.PushNotificationSender;
+import com.novacomp.notifications.sender.RateLimitedNotificationSender;
 import com.novacomp.notifications.sender.RetryableNotificationSender;
+import com.novacomp.notifications.sender.SenderExecutors;
+import com.novacomp.notifications.sender.SenderOptions;
 import com.novacomp.notifications.sender.SlackNotificationSender;
 import com.novacomp.notifications.sender.SmsNotificationSender;
+import com.novacomp.notifications.suppression.SuppressionList;
+import com.novacomp.notifications.template.TemplateRegistry;
 import com.novacomp.notifications.validation.EmailValidator;
 import com.novacomp.notifications.validation.NotificationValidator;
 import com.novacomp.notifications.validation.PhoneValidator;
 import com.novacomp.notifications.validation.PushValidator;
 import com.novacomp.notifications.validation.SlackValidator;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 /**
  * Builder (patron Builder) para ensamblar un {@link NotificationService}
@@ -38,12 +61,118 @@ public final class NotificationServiceBuilder {
 
     private final Map<NotificationChannel, NotificationSender<? extends Notification>> senders =
             new EnumMap<>(NotificationChannel.class);
-    private final NotificationEventPublisher eventPublisher = new NotificationEventPublisher();
+    private NotificationEventPublisher eventPublisher = new NotificationEventPublisher();
+    private boolean listenersAdded;
+    private final Map<NotificationChannel, Executor> channelExecutors = new EnumMap<>(NotificationChannel.class);
+    private final List<ExecutorService> ownedExecutors = new ArrayList<>();
+    private Function<NotificationChannel, Executor> executorFactory = channel -> ForkJoinPool.commonPool();
+    private DurableOutbox outbox;
+    private boolean ownsOutbox;
+    private PriorityLanes priorityLanes;
+    private NotificationMetrics metrics = NotificationMetrics.disabled();
+    private TemplateRegistry templates;
+    private SuppressionList suppressions = SuppressionList.disabled();
 
     public static NotificationServiceBuilder create() {
         return new NotificationServiceBuilder();
     }
 
+    // ---- Executor de los envios asincronos (sendAsync / sendBatch) ----
+
+    /**
+     * Usa un executor provisto por la aplicacion para todos los canales. El
+     * ciclo de vida (shutdown) queda a cargo de quien lo creo.
+     */
+    public NotificationServiceBuilder withExecutor(Executor executor) {
+        return configureExecutors(channel -> executor);
+    }
+
+    /** Un virtual thread por envio, compartido por todos los canales. Lo cierra {@link NotificationService#close()}. */
+    public NotificationServiceBuilder withVirtualThreads() {
+        ExecutorService virtualThreads = SenderExecutors.virtualThreadPerTask();
+        ownedExecutors.add(virtualThreads);
+        return configureExecutors(channel -> virtualThreads);
+    }
+
+    /**
+     * Un pool acotado de hilos de plataforma por canal, de modo que un proveedor
+     * lento no consume la capacidad de los demas. Los pools los cierra
+     * {@link NotificationService#close()}.
+     */
+    public NotificationServiceBuilder withPlatformPoolPerChannel(int threadsPerChannel) {
+        if (threadsPerChannel <= 0) {
+            throw new IllegalArgumentException("threadsPerChannel debe ser mayor a 0");
+        }
+        return configureExecutors(channel -> {
+            ExecutorService pool = SenderExecutors.boundedPool(channel.name().toLowerCase(), threadsPerChannel);
+            ownedExecutors.add(pool);
+            return pool;
+        });
+    }
+
+    /**
+     * Los envios asincronos (sendAsync, sendBatch, sendStream) pasan por una
+     * cola acotada por {@link com.novacomp.notifications.core.NotificationPriority}
+     * y se despachan segun los pesos de la politica, con lugares en vuelo
+     * reservados para HIGH: una campana LOW no demora los OTP. El envio
+     * sincrono {@code send} y {@code sendBulk} corren en el hilo del llamador
+     * y no pasan por las colas.
+     */
+    public NotificationServiceBuilder withPriorityLanes(PriorityLanePolicy policy) {
+        this.priorityLanes = new PriorityLanes(policy);
+        return this;
+    }
+
+    // ---- Metricas ----
+
+    /**
+     * Registra latencias (validacion, proveedor, cola, punta a punta) y
+     * contadores por canal y proveedor en {@code metrics}, que se lee con
+     * {@link NotificationMetrics#snapshot()}. Debe configurarse antes de
+     * registrar senders.
+     */
+    public NotificationServiceBuilder withMetrics(NotificationMetrics metrics) {
+        if (!senders.isEmpty()) {
+            throw new IllegalStateException("Configura las metricas antes de registrar senders");
+        }
+        this.metrics = Objects.requireNonNull(metrics);
+        return this;
+    }
+
+    // ---- Supresion ----
+
+    /**
+     * Los senders consultan {@code suppressions} antes de llamar al
+     * proveedor: un destinatario suprimido recibe un resultado SUPPRESSED
+     * sin gastar cuota ni reputacion, y los que el proveedor rechaza de forma
+     * permanente (rebote, token invalidado, STOP) se agregan solos. Debe
+     * configurarse antes de registrar senders.
+     */
+    public NotificationServiceBuilder withSuppressionList(SuppressionList suppressions) {
+        if (!senders.isEmpty()) {
+            throw new IllegalStateException("Configura la lista de supresion antes de registrar senders");
+        }
+        this.suppressions = Objects.requireNonNull(suppressions);
+        return this;
+    }
+
+    // ---- Dispatch de eventos ----
+
+    /**
+     * Los listeners dejan de correr en el hilo del envio: cada uno recibe los
+     * eventos en lotes desde su propio hilo, a traves de un buffer circular
+     * acotado. Debe configurarse antes de registrar senders o listeners; los
+     * hilos se detienen en {@link NotificationService#close()}.
+     */
+    public NotificationServiceBuilder withAsyncEventDispatch(AsyncDispatchPolicy policy) {
+        if (!senders.isEmpty() || listenersAdded) {
+            throw new IllegalStateException(
+                    "Configura el dispatch de eventos antes de registrar senders o listeners");
+        }
+        this.eventPublisher = new NotificationEventPublisher(policy);
+        return this;
+    }
+
     // ---- Email ----
 
     public NotificationServiceBuilder registerEmailSender(EmailProvider provider) {
@@ -52,7 +181,8 @@ public final class NotificationServiceBuilder {
 
     public NotificationServiceBuilder registerEmailSender(EmailProvider provider,
                                                            NotificationValidator<EmailNotification> validator) {
-        return registerSender(new EmailNotificationSender(provider, validator, eventPublisher));
+        return registerSender(new EmailNotificationSender(provider, validator,
+                senderOptions(NotificationChannel.EMAIL)));
     }
 
     // ---- SMS ----
@@ -63,7 +193,8 @@ public final class NotificationServiceBuilder {
 
     public NotificationServiceBuilder registerSmsSender(SmsProvider provider,
                                                          NotificationValidator<SmsNotification> validator) {
-        return registerSender(new SmsNotificationSender(provider, validator, eventPublisher));
+        return registerSender(new SmsNotificationSender(provider, validator,
+                senderOptions(NotificationChannel.SMS)));
     }
 
     // ---- Push ----
@@ -74,7 +205,8 @@ public final class NotificationServiceBuilder {
 
     public NotificationServiceBuilder registerPushSender(PushProvider provider,
                                                           NotificationValidator<PushNotification> validator) {
-        return registerSender(new PushNotificationSender(provider, validator, eventPublisher));
+        return registerSender(new PushNotificationSender(provider, validator,
+                senderOptions(NotificationChannel.PUSH)));
     }
 
     // ---- Slack (opcional) ----
@@ -85,7 +217,8 @@ public final class NotificationServiceBuilder {
 
     public NotificationServiceBuilder registerSlackSender(SlackProvider provider,
                                                            NotificationValidator<SlackNotification> validator) {
-        return registerSender(new SlackNotificationSender(provider, validator, eventPublisher));
+        return registerSender(new SlackNotificationSender(provider, validator,
+                senderOptions(NotificationChannel.SLACK)));
     }
 
     // ---- Generico: agregar un canal nuevo sin tocar esta clase (Open/Closed) ----
@@ -106,13 +239,142 @@ public final class NotificationServiceBuilder {
         return this;
     }
 
+    /**
+     * Envuelve el sender ya registrado de un canal con un circuit breaker.
+     * Aplicado despues de withRetry(...), mientras el circuito esta abierto
+     * tampoco se gastan reintentos.
+     */
+    public NotificationServiceBuilder withCircuitBreaker(NotificationChannel channel, CircuitBreakerPolicy policy) {
+        NotificationSender<? extends Notification> existing = senders.get(channel);
+        if (existing == null) {
+            throw new IllegalStateException(
+                    "Registra un sender para " + channel + " antes de aplicar withCircuitBreaker(...)");
+        }
+        senders.put(channel, wrapWithCircuitBreaker(existing, policy));
+        return this;
+    }
+
+    /**
+     * Limita la tasa de envios del canal con un token bucket. El limiter se
+     * puede compartir y consultar desde afuera (ej. getThrottledCount()).
+     * Aplicarlo antes de withRetry(...): asi el rate limit queda adentro de
+     * los reintentos y cada intento consume un token, tambien los que siguen
+     * a un 429. Aplicado despues, solo el primer intento pasa por el limiter.
+     */
+    public NotificationServiceBuilder withRateLimit(NotificationChannel channel, TokenBucketRateLimiter limiter) {
+        return withRateLimit(channel, limiter, notification -> channel.name());
+    }
+
+    /**
+     * Igual que {@link #withRateLimit(NotificationChannel, TokenBucketRateLimiter)},
+     * pero con un bucket por clave (ej. {@code Notification::getRecipient}
+     * para limitar por canal de Slack).
+     */
+    public NotificationServiceBuilder withRateLimit(NotificationChannel channel, TokenBucketRateLimiter limiter,
+                                                    Function<Notification, String> keyExtractor) {
+        NotificationSender<? extends Notification> existing = senders.get(channel);
+        if (existing == null) {
+            throw new IllegalStateException(
+                    "Registra un sender para " + channel + " antes de aplicar withRateLimit(...)");
+        }
+        senders.put(channel, wrapWithRateLimit(existing, limiter, keyExtractor));
+        return this;
+    }
+
+    /**
+     * Descarta los envios duplicados del canal dentro de la ventana: el
+     * duplicado recibe el resultado del original sin llamar al proveedor.
+     * La ventana se puede compartir entre canales y servicios. Conviene
+     * aplicarlo al final, despues de withRetry/withCircuitBreaker/withRateLimit.
+     */
+    public NotificationServiceBuilder withIdempotency(NotificationChannel channel, IdempotencyWindow window,
+                                                      IdempotencyKey key) {
+        NotificationSender<? extends Notification> existing = senders.get(channel);
+        if (existing == null) {
+            throw new IllegalStateException(
+                    "Registra un sender para " + channel + " antes de aplicar withIdempotency(...)");
+        }
+        senders.put(channel, wrapWithIdempotency(existing, window, key));
+        return this;
+    }
+
+    /**
+     * Persiste cada notificacion en un outbox en {@code directory} antes de
+     * enviarla (ver {@link DurableOutbox}). El outbox lo cierra
+     * {@link NotificationService#close()}; las entradas pendientes de una
+     * ejecucion anterior se reenvian con {@link NotificationService#replayOutbox}.
+     */
+    public NotificationServiceBuilder withOutbox(Path directory) {
+        requireNoOutbox();
+        this.outbox = DurableOutbox.builder().directory(directory).build();
+        this.ownsOutbox = true;
+        return this;
+    }
+
+    /** Igual que {@link #withOutbox(Path)} con un outbox configurado por la aplicacion, que lo cierra. */
+    public NotificationServiceBuilder withOutbox(DurableOutbox outbox) {
+        requireNoOutbox();
+        this.outbox = Objects.requireNonNull(outbox);
+        return this;
+    }
+
+    /** Templates para los {@code template(canal, id)} de {@link NotificationService#fanOut}. */
+    public NotificationServiceBuilder withTemplates(TemplateRegistry templates) {
+        this.templates = Objects.requireNonNull(templates);
+        return this;
+    }
+
     public NotificationServiceBuilder addEventListener(NotificationEventListener listener) {
+        listenersAdded = true;
         eventPublisher.subscribe(listener);
         return this;
     }
 
     public NotificationService build() {
-        return new NotificationService(new EnumMap<>(senders), eventPublisher);
+        return new NotificationService(new EnumMap<>(senders), eventPublisher, List.copyOf(ownedExecutors),
+                outbox, ownsOutbox, priorityLanes, metrics, templates);
+    }
+
+    private void requireNoOutbox() {
+        if (outbox != null) {
+            throw new IllegalStateException("Ya hay un outbox configurado");
+        }
+    }
+
+    private NotificationServiceBuilder configureExecutors(Function<NotificationChannel, Executor> factory) {
+        if (!senders.isEmpty()) {
+            throw new IllegalStateException("Configura el executor antes de registrar senders");
+        }
+        this.executorFactory = factory;
+        return this;
+    }
+
+    private SenderOptions senderOptions(NotificationChannel channel) {
+        return SenderOptions.builder()
+                .eventPublisher(eventPublisher)
+                .executor(executorFor(channel))
+                .metrics(metrics)
+                .suppressions(suppressions)
+                .build();
+    }
+
+    private Executor executorFor(NotificationChannel channel) {
+        return channelExecutors.computeIfAbsent(channel, executorFactory);
+    }
+
+    private <T extends Notification> NotificationSender<T> wrapWithCircuitBreaker(NotificationSender<T> sender,
+                                                                                   CircuitBreakerPolicy policy) {
+        return new CircuitBreakerNotificationSender<>(sender, policy);
+    }
+
+    private <T extends Notification> NotificationSender<T> wrapWithIdempotency(
+            NotificationSender<T> sender, IdempotencyWindow window, IdempotencyKey key) {
+        return new IdempotentNotificationSender<>(sender, window, key);
+    }
+
+    private <T extends Notification> NotificationSender<T> wrapWithRateLimit(
+            NotificationSender<T> sender, TokenBucketRateLimiter limiter, Function<Notification, String> keyExtractor) {
+        return new RateLimitedNotificationSender<>(sender, limiter, keyExtractor);
     }
 
     private <T extends Notification> NotificationSender<T> wrapWithRetry(NotificationSender<T> sender,
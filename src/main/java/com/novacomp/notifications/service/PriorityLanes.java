@@ -0,0 +1,234 @@
+package com.novacomp.notifications.service;
+
+import com.novacomp.notifications.config.PriorityLanePolicy;
+import com.novacomp.notifications.core.NotificationPriority;
+import com.novacomp.notifications.core.NotificationResult;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Control de admision de los envios asincronos por prioridad. Cada prioridad
+ * tiene su cola acotada; un envio se despacha al sender recien cuando hay
+ * lugar en vuelo, asi las colas de los executors se mantienen cortas y un
+ * OTP no espera detras de 500k mensajes de una campana.
+ *
+ * Cuando se libera un lugar, la proxima cola se elige con weighted round
+ * robin "suave" (el de nginx) entre las colas con trabajo: con pesos 8/3/1
+ * HIGH se lleva 8 de cada 12 lugares bajo contencion, pero LOW nunca queda
+ * sin avanzar. Ademas {@code reservedForHigh} lugares solo los usa HIGH, asi
+ * un envio urgente arranca de inmediato aunque LOW sature el resto.
+ */
+final class PriorityLanes {
+
+    private final int maxInFlight;
+    private final int sharedInFlight;
+    private final int queueCapacity;
+    private final Lane[] lanes;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final ThreadLocal<Pump> pumps = ThreadLocal.withInitial(Pump::new);
+    private int inFlight;
+
+    PriorityLanes(PriorityLanePolicy policy) {
+        this.maxInFlight = policy.getMaxInFlight();
+        this.sharedInFlight = policy.getMaxInFlight() - policy.getReservedForHigh();
+        this.queueCapacity = policy.getQueueCapacity();
+        NotificationPriority[] priorities = NotificationPriority.values();
+        this.lanes = new Lane[priorities.length];
+        for (NotificationPriority priority : priorities) {
+            lanes[priority.ordinal()] = new Lane(priority, policy.getWeight(priority), lock.newCondition());
+        }
+    }
+
+    /**
+     * Backpressure para quien produce una campana: bloquea al llamador hasta
+     * que haya lugar en la cola de esa prioridad y se lo reserva. Solo se
+     * llama desde el hilo del llamador, antes del append al outbox: los hilos
+     * de la libreria (flusher del outbox, executors, HttpClient, la rueda de
+     * envios programados) nunca esperan aca, porque son los que liberan
+     * lugares. El lugar se usa con {@code submit(priority, true, send)} o se
+     * devuelve con {@link #cancelReservation(NotificationPriority)}.
+     */
+    void reserve(NotificationPriority priority) {
+        Lane lane = lanes[priority.ordinal()];
+        lock.lock();
+        try {
+            while (lane.queue.size() + lane.reserved >= queueCapacity) {
+                lane.notFull.awaitUninterruptibly();
+            }
+            lane.reserved++;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void cancelReservation(NotificationPriority priority) {
+        Lane lane = lanes[priority.ordinal()];
+        lock.lock();
+        try {
+            lane.reserved--;
+            lane.notFull.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Encola el envio y devuelve su resultado futuro; nunca bloquea. Con
+     * {@code reserved} usa el lugar tomado con {@link #reserve}; sin reserva
+     * (envios que la libreria ya acepto, ej. los programados que vencen) la
+     * cola puede pasarse de su capacidad en vez de frenar al hilo que llama.
+     */
+    CompletableFuture<NotificationResult> submit(NotificationPriority priority, boolean reserved,
+                                                 Supplier<CompletableFuture<NotificationResult>> send) {
+        Lane lane = lanes[priority.ordinal()];
+        Task task = new Task(send);
+        lock.lock();
+        try {
+            if (reserved) {
+                lane.reserved--;
+            }
+            lane.queue.add(task);
+        } finally {
+            lock.unlock();
+        }
+        pump();
+        return task.promise;
+    }
+
+    int getQueuedCount(NotificationPriority priority) {
+        lock.lock();
+        try {
+            return lanes[priority.ordinal()].queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Despacha todo lo admisible. Si un envio completa en el mismo hilo
+     * (sender sincrono) su release no vuelve a entrar aca: marca "again" y el
+     * ciclo externo sigue, asi la pila no crece con el tamano de la cola.
+     */
+    private void pump() {
+        Pump pump = pumps.get();
+        if (pump.active) {
+            pump.again = true;
+            return;
+        }
+        pump.active = true;
+        try {
+            do {
+                pump.again = false;
+                for (Task task : admit()) {
+                    start(task);
+                }
+            } while (pump.again);
+        } finally {
+            pump.active = false;
+        }
+    }
+
+    private List<Task> admit() {
+        List<Task> ready = new ArrayList<>();
+        lock.lock();
+        try {
+            Lane lane;
+            while ((lane = next()) != null) {
+                ready.add(lane.queue.poll());
+                inFlight++;
+                lane.notFull.signal();
+            }
+        } finally {
+            lock.unlock();
+        }
+        return ready;
+    }
+
+    /** Smooth weighted round robin entre las colas con trabajo que pueden usar un lugar libre. */
+    private Lane next() {
+        Lane best = null;
+        int totalWeight = 0;
+        for (Lane lane : lanes) {
+            int limit = lane.priority == NotificationPriority.HIGH ? maxInFlight : sharedInFlight;
+            if (lane.queue.isEmpty() || inFlight >= limit) {
+                continue;
+            }
+            lane.current += lane.weight;
+            totalWeight += lane.weight;
+            if (best == null || lane.current > best.current) {
+                best = lane;
+            }
+        }
+        if (best != null) {
+            best.current -= totalWeight;
+        }
+        return best;
+    }
+
+    private void start(Task task) {
+        if (task.promise.isDone()) {
+            // Cancelado mientras esperaba turno (ej. fan-out con first success wins): no se envia.
+            release();
+            return;
+        }
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = task.send.get();
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, error) -> {
+            release();
+            if (error != null) {
+                task.promise.completeExceptionally(error);
+            } else {
+                task.promise.complete(result);
+            }
+        });
+    }
+
+    private void release() {
+        lock.lock();
+        try {
+            inFlight--;
+        } finally {
+            lock.unlock();
+        }
+        pump();
+    }
+
+    private static final class Lane {
+        private final NotificationPriority priority;
+        private final int weight;
+        private final Condition notFull;
+        private final ArrayDeque<Task> queue = new ArrayDeque<>();
+        private int reserved;
+        private int current;
+
+        private Lane(NotificationPriority priority, int weight, Condition notFull) {
+            this.priority = priority;
+            this.weight = weight;
+            this.notFull = notFull;
+        }
+    }
+
+    private static final class Task {
+        private final Supplier<CompletableFuture<NotificationResult>> send;
+        private final CompletableFuture<NotificationResult> promise = new CompletableFuture<>();
+
+        private Task(Supplier<CompletableFuture<NotificationResult>> send) {
+            this.send = send;
+        }
+    }
+
+    private static final class Pump {
+        private boolean active;
+        private boolean again;
+    }
+}
@@ -0,0 +1,217 @@
+package com.novacomp.notifications.service;
+
+import com.novacomp.notifications.core.BatchSummary;
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Envio en lote con ventana acotada de envios en vuelo (backpressure). Nunca
+ * hay mas de {@code maxInFlight} notificaciones despachadas sin terminar, y
+ * la siguiente se toma de la fuente recien cuando alguna termina; cada
+ * resultado se entrega al callback apenas esta listo, sin esperar al resto.
+ *
+ * Los errores por item (validacion, canal sin sender) no abortan el lote: se
+ * entregan como un NotificationResult FAILED con el mensaje del error.
+ */
+abstract class StreamingBatch {
+
+    private static final Logger log = LoggerFactory.getLogger(StreamingBatch.class);
+
+    private final Function<Notification, CompletableFuture<NotificationResult>> dispatcher;
+    private final Consumer<NotificationResult> onResult;
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    protected final int maxInFlight;
+    protected final AtomicInteger inFlight = new AtomicInteger();
+    protected final CompletableFuture<BatchSummary> completion = new CompletableFuture<>();
+
+    StreamingBatch(Function<Notification, CompletableFuture<NotificationResult>> dispatcher,
+                   int maxInFlight,
+                   Consumer<NotificationResult> onResult) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight debe ser mayor a 0");
+        }
+        this.dispatcher = dispatcher;
+        this.maxInFlight = maxInFlight;
+        this.onResult = onResult;
+    }
+
+    CompletableFuture<BatchSummary> completion() {
+        return completion;
+    }
+
+    /** Se invoca cada vez que un envio despachado termina (ya liberado su lugar en la ventana). */
+    protected abstract void onSendFinished();
+
+    protected final void dispatch(Notification notification) {
+        inFlight.incrementAndGet();
+        CompletableFuture<NotificationResult> future;
+        try {
+            future = dispatcher.apply(notification);
+        } catch (RuntimeException e) {
+            future = CompletableFuture.failedFuture(e);
+        }
+        future.whenComplete((result, error) -> {
+            deliver(error == null ? result : failedResult(notification, error));
+            inFlight.decrementAndGet();
+            onSendFinished();
+        });
+    }
+
+    protected final void complete() {
+        completion.complete(new BatchSummary(sent.sum(), failed.sum()));
+    }
+
+    private void deliver(NotificationResult result) {
+        (result.isSuccess() ? sent : failed).increment();
+        try {
+            onResult.accept(result);
+        } catch (RuntimeException e) {
+            log.warn("El callback del lote fallo procesando {}: {}", result, e.getMessage());
+        }
+    }
+
+    private static NotificationResult failedResult(Notification notification, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return NotificationResult.builder()
+                .notificationId(notification.getId())
+                .channel(notification.getChannel())
+                .status(NotificationStatus.FAILED)
+                .errorMessage(cause.getMessage())
+                .attempts(0)
+                .build();
+    }
+
+    /**
+     * Fuente pull (Iterator/Stream). Un unico "drain loop" consume el iterador
+     * a la vez (el iterador no necesita ser thread-safe); los envios que
+     * terminan solo piden otra vuelta del loop, sin recursion.
+     */
+    static final class FromIterator extends StreamingBatch {
+
+        private final Iterator<? extends Notification> source;
+        private final AtomicInteger wip = new AtomicInteger();
+        private boolean exhausted;
+
+        FromIterator(Iterator<? extends Notification> source,
+                     Function<Notification, CompletableFuture<NotificationResult>> dispatcher,
+                     int maxInFlight,
+                     Consumer<NotificationResult> onResult) {
+            super(dispatcher, maxInFlight, onResult);
+            this.source = source;
+        }
+
+        FromIterator start() {
+            drain();
+            return this;
+        }
+
+        @Override
+        protected void onSendFinished() {
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                while (!exhausted && inFlight.get() < maxInFlight) {
+                    Notification next;
+                    try {
+                        if (!source.hasNext()) {
+                            exhausted = true;
+                            break;
+                        }
+                        next = source.next();
+                    } catch (RuntimeException e) {
+                        exhausted = true;
+                        completion.completeExceptionally(e);
+                        break;
+                    }
+                    dispatch(next);
+                }
+                if (exhausted && inFlight.get() == 0) {
+                    complete();
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+
+    /**
+     * Fuente push ({@link Flow.Publisher}): se piden {@code maxInFlight}
+     * elementos al suscribirse y uno mas por cada envio que termina.
+     */
+    static final class FromPublisher extends StreamingBatch implements Flow.Subscriber<Notification> {
+
+        private volatile Flow.Subscription subscription;
+        private volatile boolean upstreamDone;
+        private volatile Throwable upstreamError;
+
+        FromPublisher(Function<Notification, CompletableFuture<NotificationResult>> dispatcher,
+                      int maxInFlight,
+                      Consumer<NotificationResult> onResult) {
+            super(dispatcher, maxInFlight, onResult);
+        }
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(maxInFlight);
+        }
+
+        @Override
+        public void onNext(Notification notification) {
+            dispatch(notification);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            upstreamError = error;
+            upstreamDone = true;
+            finishIfIdle();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamDone = true;
+            finishIfIdle();
+        }
+
+        @Override
+        protected void onSendFinished() {
+            if (upstreamDone) {
+                finishIfIdle();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        private void finishIfIdle() {
+            if (inFlight.get() != 0) {
+                return;
+            }
+            Throwable error = upstreamError;
+            if (error != null) {
+                completion.completeExceptionally(error);
+            } else {
+                complete();
+            }
+        }
+    }
+}
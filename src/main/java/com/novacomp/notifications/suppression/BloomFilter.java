@@ -0,0 +1,123 @@
+package com.novacomp.notifications.suppression;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Bloom filter por bloques ("blocked Bloom filter"): los {@code hashes} bits
+ * de una clave caen todos en el mismo bloque de 512 bits, que es una linea
+ * de cache de 64 bytes. Una consulta cuesta un solo acceso a memoria, a
+ * cambio de una tasa de falsos positivos algo mayor que la de un Bloom
+ * clasico del mismo tamano.
+ *
+ * Recibe hashes de 64 bits ya mezclados ({@link #hash(int, String)}). Agregar
+ * es thread-safe (OR atomico por palabra) y no hay borrado: una clave
+ * quitada de la lista sigue dando "quizas" y la resuelve el store exacto.
+ */
+final class BloomFilter {
+
+    private static final int BLOCK_BITS = 512;
+    private static final int BLOCK_WORDS = BLOCK_BITS / 64;
+    private static final LongBinaryOperator OR = (a, b) -> a | b;
+    // Los datos de un long[] empiezan 16 bytes despues del inicio del objeto, y los arrays
+    // grandes arrancan alineados (regiones humongous de G1): con 6 palabras de relleno cada
+    // bloque coincide con una linea de cache en vez de partirse entre dos.
+    private static final int PADDING_WORDS = 6;
+
+    private final AtomicLongArray words;
+    private final int blocks;
+    private final int hashes;
+
+    BloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries <= 0) {
+            throw new IllegalArgumentException("expectedEntries debe ser mayor a 0");
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("falsePositiveRate debe estar entre 0 y 1");
+        }
+        double ln2 = Math.log(2);
+        // Tamano optimo del Bloom clasico, mas un 10% para compensar la carga desigual de los bloques.
+        double bits = -expectedEntries * Math.log(falsePositiveRate) / (ln2 * ln2) * 1.1;
+        long blockCount = Math.max(1, (long) Math.ceil(bits / BLOCK_BITS));
+        if (blockCount * BLOCK_WORDS > Integer.MAX_VALUE - 16) {
+            throw new IllegalArgumentException("Bloom filter demasiado grande para " + expectedEntries + " entradas");
+        }
+        this.blocks = (int) blockCount;
+        this.hashes = (int) Math.max(1, Math.min(16, Math.round(bits / 1.1 / expectedEntries * ln2)));
+        this.words = new AtomicLongArray(PADDING_WORDS + blocks * BLOCK_WORDS);
+    }
+
+    /** Hash de 64 bits de {@code key} (FNV-1a mas el finalizador de MurmurHash3), con {@code seed} por canal. */
+    static long hash(int seed, String key) {
+        return hash(seed, key, 0, key.length(), false);
+    }
+
+    /**
+     * Hash de {@code key[from, to)}, opcionalmente con las letras ASCII
+     * pasadas a minuscula: permite hashear una direccion normalizada sin
+     * crear el String normalizado.
+     */
+    static long hash(int seed, String key, int from, int to, boolean asciiLowerCase) {
+        long h = 0xcbf29ce484222325L ^ (seed * 0x9E3779B97F4A7C15L);
+        for (int i = from; i < to; i++) {
+            char c = key.charAt(i);
+            if (asciiLowerCase && c >= 'A' && c <= 'Z') {
+                c += 'a' - 'A';
+            }
+            h = (h ^ c) * 0x100000001b3L;
+        }
+        return mix(h);
+    }
+
+    void add(long hash) {
+        int base = PADDING_WORDS + block(hash) * BLOCK_WORDS;
+        int a = (int) hash;
+        int b = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (a + i * b) & (BLOCK_BITS - 1);
+            long mask = 1L << bit;
+            int word = base + (bit >>> 6);
+            if ((words.get(word) & mask) == 0) {
+                words.getAndAccumulate(word, mask, OR);
+            }
+        }
+    }
+
+    /** false: seguro que no esta; true: quizas esta. */
+    boolean mightContain(long hash) {
+        int base = PADDING_WORDS + block(hash) * BLOCK_WORDS;
+        int a = (int) hash;
+        int b = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < hashes; i++) {
+            int bit = (a + i * b) & (BLOCK_BITS - 1);
+            if ((words.get(base + (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long sizeInBytes() {
+        return words.length() * 8L;
+    }
+
+    int hashes() {
+        return hashes;
+    }
+
+    private int block(long hash) {
+        // Los bits del bloque salen del hash original; el bloque, de una segunda mezcla llevada
+        // a [0, blocks) con multiplicacion y shift (sin division).
+        return (int) (((mix(hash ^ 0x5851F42D4C957F2DL) >>> 32) * blocks) >>> 32);
+    }
+
+    private static long mix(long value) {
+        long h = value;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
@@ -0,0 +1,49 @@
+package com.novacomp.notifications.suppression;
+
+import com.novacomp.notifications.core.NotificationChannel;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+
+/** {@link SuppressionStore} en memoria: un set concurrente por canal. Default de {@link SuppressionList}. */
+public final class InMemorySuppressionStore implements SuppressionStore {
+
+    private final Map<NotificationChannel, Set<String>> addresses = new EnumMap<>(NotificationChannel.class);
+
+    public InMemorySuppressionStore() {
+        for (NotificationChannel channel : NotificationChannel.values()) {
+            addresses.put(channel, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @Override
+    public boolean contains(NotificationChannel channel, String address) {
+        return addresses.get(channel).contains(address);
+    }
+
+    @Override
+    public boolean add(NotificationChannel channel, String address) {
+        return addresses.get(channel).add(address);
+    }
+
+    @Override
+    public boolean remove(NotificationChannel channel, String address) {
+        return addresses.get(channel).remove(address);
+    }
+
+    @Override
+    public void forEach(BiConsumer<NotificationChannel, String> action) {
+        addresses.forEach((channel, set) -> set.forEach(address -> action.accept(channel, address)));
+    }
+
+    public long size() {
+        long size = 0;
+        for (Set<String> set : addresses.values()) {
+            size += set.size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,199 @@
+package com.novacomp.notifications.suppression;
+
+import com.novacomp.notifications.core.NotificationChannel;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Direcciones a las que no se debe enviar: emails que rebotaron, tokens de
+ * push invalidados, numeros que respondieron STOP. Los senders la consultan
+ * despues de validar y antes de llamar al proveedor, y agregan solos los
+ * destinatarios que el proveedor rechaza de forma permanente
+ * ({@code ProviderResponse.recipientRejected}).
+ *
+ * Adelante hay un {@link BloomFilter} en memoria: el caso comun, "no esta
+ * suprimido", se resuelve con un hash y un solo acceso a memoria, sin tocar
+ * el {@link SuppressionStore}. Solo los "quizas" (los suprimidos y ~1% de
+ * falsos positivos) se confirman contra el store exacto. Con los defaults
+ * (50 millones de entradas, 1% de falsos positivos) el filtro ocupa ~63 MB,
+ * unos 11 bits por entrada: el store puede quedar fuera del heap (una base,
+ * Redis) sin pagar un round trip por envio.
+ *
+ * Las direcciones se normalizan antes de guardarse y de consultarse: sin
+ * espacios en los extremos, y los emails en minusculas.
+ */
+public final class SuppressionList {
+
+    private static final SuppressionList DISABLED = new SuppressionList();
+
+    private final BloomFilter filter;
+    private final SuppressionStore store;
+    private final LongAdder storeLookups = new LongAdder();
+
+    private SuppressionList() {
+        this.filter = null;
+        this.store = null;
+    }
+
+    private SuppressionList(Builder builder) {
+        this.filter = new BloomFilter(builder.expectedEntries, builder.falsePositiveRate);
+        this.store = builder.store;
+        // El filtro arranca vacio: se carga con lo que el store ya tenia (ej. de una ejecucion anterior).
+        store.forEach((channel, address) -> filter.add(hash(channel, address)));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /** Lista vacia que no suprime nada ni guarda lo que se le agrega (default de los senders). */
+    public static SuppressionList disabled() {
+        return DISABLED;
+    }
+
+    public boolean isEnabled() {
+        return filter != null;
+    }
+
+    public boolean isSuppressed(NotificationChannel channel, String address) {
+        if (filter == null || address == null) {
+            return false;
+        }
+        // El caso comun se resuelve sin armar el String normalizado.
+        if (!filter.mightContain(hash(channel, address))) {
+            return false;
+        }
+        storeLookups.increment();
+        return store.contains(channel, normalize(channel, address));
+    }
+
+    /** @return true si la direccion no estaba suprimida */
+    public boolean suppress(NotificationChannel channel, String address) {
+        if (filter == null) {
+            return false;
+        }
+        String normalized = normalize(channel, Objects.requireNonNull(address));
+        // Primero el store y despues el filtro: todo "quizas" del filtro encuentra la entrada en el store.
+        boolean added = store.add(channel, normalized);
+        filter.add(hash(channel, normalized));
+        return added;
+    }
+
+    /**
+     * Quita la direccion (ej. el usuario volvio a suscribirse). El filtro no
+     * se puede limpiar: la direccion queda como un falso positivo que el
+     * store resuelve.
+     *
+     * @return true si la direccion estaba suprimida
+     */
+    public boolean unsuppress(NotificationChannel channel, String address) {
+        return filter != null && store.remove(channel, normalize(channel, address));
+    }
+
+    /**
+     * Carga masiva desde un archivo UTF-8 con una direccion por linea (ej.
+     * un export de rebotes del proveedor). Las lineas vacias y las que
+     * empiezan con {@code #} se ignoran.
+     *
+     * @return cantidad de direcciones nuevas
+     */
+    public long load(NotificationChannel channel, Path file) {
+        if (filter == null) {
+            throw new IllegalStateException("La lista de supresion esta deshabilitada");
+        }
+        long added = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String address = line.strip();
+                if (!address.isEmpty() && address.charAt(0) != '#' && suppress(channel, address)) {
+                    added++;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer la lista de supresion " + file, e);
+        }
+        return added;
+    }
+
+    /** Consultas que tuvieron que ir al store (suprimidos mas falsos positivos del filtro). */
+    public long getStoreLookups() {
+        return storeLookups.sum();
+    }
+
+    /** Memoria del Bloom filter, en bytes. */
+    public long getFilterSizeInBytes() {
+        return filter == null ? 0 : filter.sizeInBytes();
+    }
+
+    private static String normalize(NotificationChannel channel, String address) {
+        String stripped = address.strip();
+        // toLowerCase y strip devuelven la misma instancia si no hay nada que cambiar.
+        return channel == NotificationChannel.EMAIL ? stripped.toLowerCase(Locale.ROOT) : stripped;
+    }
+
+    /**
+     * Hash de la direccion ya normalizada, sin crear el String: los extremos
+     * en blanco se saltean y, en email, las mayusculas ASCII se hashean como
+     * minusculas. Un email con letras no ASCII se normaliza primero, para
+     * hashear lo mismo que toLowerCase.
+     */
+    private static long hash(NotificationChannel channel, String address) {
+        boolean email = channel == NotificationChannel.EMAIL;
+        String key = email && !isAscii(address) ? normalize(channel, address) : address;
+        int from = 0;
+        int to = key.length();
+        while (from < to && Character.isWhitespace(key.charAt(from))) {
+            from++;
+        }
+        while (to > from && Character.isWhitespace(key.charAt(to - 1))) {
+            to--;
+        }
+        return BloomFilter.hash(channel.ordinal(), key, from, to, email);
+    }
+
+    private static boolean isAscii(String address) {
+        for (int i = 0; i < address.length(); i++) {
+            if (address.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public static final class Builder {
+        private long expectedEntries = 50_000_000L;
+        private double falsePositiveRate = 0.01;
+        private SuppressionStore store = new InMemorySuppressionStore();
+
+        /** Entradas para las que se dimensiona el filtro; pasarse solo sube los falsos positivos. Default 50M. */
+        public Builder expectedEntries(long expectedEntries) {
+            this.expectedEntries = expectedEntries;
+            return this;
+        }
+
+        /** Tasa de falsos positivos del filtro con {@code expectedEntries} entradas. Default 0.01. */
+        public Builder falsePositiveRate(double falsePositiveRate) {
+            this.falsePositiveRate = falsePositiveRate;
+            return this;
+        }
+
+        /** Store exacto. Default {@link InMemorySuppressionStore}. */
+        public Builder store(SuppressionStore store) {
+            this.store = Objects.requireNonNull(store);
+            return this;
+        }
+
+        public SuppressionList build() {
+            return new SuppressionList(this);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.novacomp.notifications.suppression;
+
+import com.novacomp.notifications.core.NotificationChannel;
+
+import java.util.function.BiConsumer;
+
+/**
+ * Store exacto detras del Bloom filter de {@link SuppressionList}: solo se
+ * consulta cuando el filtro dice "quizas", asi que puede vivir fuera del
+ * heap (una tabla, un key-value). Recibe las direcciones ya normalizadas.
+ * Las implementaciones deben ser thread-safe.
+ */
+public interface SuppressionStore {
+
+    boolean contains(NotificationChannel channel, String address);
+
+    /** @return true si la direccion no estaba */
+    boolean add(NotificationChannel channel, String address);
+
+    /** @return true si la direccion estaba */
+    boolean remove(NotificationChannel channel, String address);
+
+    /** Recorre todas las entradas; se usa al construir la lista para cargar el filtro. */
+    void forEach(BiConsumer<NotificationChannel, String> action);
+}
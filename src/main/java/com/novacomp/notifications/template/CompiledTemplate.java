@@ -0,0 +1,94 @@
+package com.novacomp.notifications.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contenido de una plantilla ya parseado: literales y nombres de variable
+ * alternados en dos arrays planos ({@code literals[0] var[0] literals[1]
+ * var[1] ... literals[n]}). Renderizar es una sola pasada que concatena en
+ * un buffer dimensionado de antemano, sin regex ni Matcher.
+ *
+ * La sintaxis aceptada es exactamente la del regex historico
+ * {@code \{\{\s*([\w.]+)\s*}}}: lo que no matchea queda como texto literal.
+ */
+final class CompiledTemplate {
+
+    /** Estimacion del largo de cada valor para dimensionar el buffer. */
+    private static final int EXPECTED_VALUE_LENGTH = 16;
+
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] variables, int literalLength) {
+        this.literals = literals;
+        this.variables = variables;
+        this.literalLength = literalLength;
+    }
+
+    static CompiledTemplate compile(String content) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+        int literalStart = 0;
+        int literalLength = 0;
+        int index = content.indexOf("{{");
+        while (index >= 0) {
+            int nameStart = skipWhitespace(content, index + 2);
+            int nameEnd = nameStart;
+            while (nameEnd < content.length() && isNameChar(content.charAt(nameEnd))) {
+                nameEnd++;
+            }
+            int close = skipWhitespace(content, nameEnd);
+            if (nameEnd > nameStart && content.startsWith("}}", close)) {
+                literals.add(content.substring(literalStart, index));
+                literalLength += index - literalStart;
+                variables.add(content.substring(nameStart, nameEnd));
+                literalStart = close + 2;
+                index = content.indexOf("{{", literalStart);
+            } else {
+                // Igual que Matcher.find(): se reintenta desde el caracter siguiente.
+                index = content.indexOf("{{", index + 1);
+            }
+        }
+        literals.add(content.substring(literalStart));
+        literalLength += content.length() - literalStart;
+        return new CompiledTemplate(literals.toArray(new String[0]), variables.toArray(new String[0]),
+                literalLength);
+    }
+
+    /** Los placeholders sin valor (o con valor null) se reemplazan por "". */
+    String render(Map<String, String> values) {
+        if (variables.length == 0) {
+            return literals[0];
+        }
+        StringBuilder result = new StringBuilder(literalLength + variables.length * EXPECTED_VALUE_LENGTH);
+        for (int i = 0; i < variables.length; i++) {
+            result.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value != null) {
+                result.append(value);
+            }
+        }
+        return result.append(literals[variables.length]).toString();
+    }
+
+    private static int skipWhitespace(String content, int from) {
+        int index = from;
+        while (index < content.length() && isRegexWhitespace(content.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    /** {@code [\w.]} sin UNICODE_CHARACTER_CLASS: letras y digitos ASCII, '_' y '.'. */
+    private static boolean isNameChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '.';
+    }
+
+    /** {@code \s} de java.util.regex: espacio, \t, \n, \x0B, \f, \r. */
+    private static boolean isRegexWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+}
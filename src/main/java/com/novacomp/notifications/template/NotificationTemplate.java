@@ -4,16 +4,20 @@ import java.util.Objects;
 
 /**
  * Plantilla de mensaje reutilizable. El contenido usa placeholders con la
- * sintaxis {{variable}}, resueltos por TemplateEngine.
+ * sintaxis {{variable}}, resueltos por TemplateEngine. El contenido se
+ * parsea una vez al construir la plantilla (normalmente al registrarla en
+ * TemplateRegistry) y se reutiliza en cada render.
  */
 public final class NotificationTemplate {
 
     private final String id;
     private final String content;
+    private final CompiledTemplate compiled;
 
     public NotificationTemplate(String id, String content) {
         this.id = Objects.requireNonNull(id);
         this.content = Objects.requireNonNull(content);
+        this.compiled = CompiledTemplate.compile(content);
     }
 
     public String getId() {
@@ -23,4 +27,8 @@ public final class NotificationTemplate {
     public String getContent() {
         return content;
     }
+
+    CompiledTemplate compiled() {
+        return compiled;
+    }
 }
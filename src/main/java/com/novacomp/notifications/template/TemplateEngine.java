@@ -1,8 +1,6 @@
 package com.novacomp.notifications.template;
 
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 /**
  * Motor de renderizado minimalista: reemplaza placeholders {{clave}} por su
@@ -10,20 +8,13 @@ import java.util.regex.Pattern;
  * condicional/loops) para mantener la libreria libre de dependencias de
  * un motor de plantillas pesado (ej. Freemarker/Thymeleaf) que la volveria
  * menos "agnostica".
+ *
+ * El parseo se hace una sola vez, al crear el {@link NotificationTemplate};
+ * cada render es solo concatenar los segmentos ya separados.
  */
 public class TemplateEngine {
 
-    private static final Pattern PLACEHOLDER = Pattern.compile("\\{\\{\\s*([\\w.]+)\\s*}}");
-
     public String render(NotificationTemplate template, Map<String, String> variables) {
-        Matcher matcher = PLACEHOLDER.matcher(template.getContent());
-        StringBuilder result = new StringBuilder();
-        while (matcher.find()) {
-            String key = matcher.group(1);
-            String value = variables.getOrDefault(key, "");
-            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
-        }
-        matcher.appendTail(result);
-        return result.toString();
+        return template.compiled().render(variables);
     }
 }
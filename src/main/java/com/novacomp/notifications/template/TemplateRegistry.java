@@ -4,7 +4,11 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 
-/** Registro en memoria de plantillas disponibles, indexadas por id. */
+/**
+ * Registro en memoria de plantillas disponibles, indexadas por id. Las
+ * plantillas llegan ya compiladas (se parsean al construirse), asi que los
+ * renders posteriores no vuelven a recorrer el contenido buscando placeholders.
+ */
 public class TemplateRegistry {
 
     private final Map<String, NotificationTemplate> templates = new ConcurrentHashMap<>();
@@ -0,0 +1,23 @@
+package com.novacomp.notifications.topic;
+
+import com.novacomp.notifications.core.Notification;
+
+import java.util.List;
+
+/**
+ * Arma las notificaciones de un broadcast a partir de los indices de
+ * destinatario, de a un chunk por vez: asi la aplicacion puede cargar los
+ * perfiles de todo el chunk con una sola consulta. Se invoca recien cuando
+ * la ventana de envios necesita el siguiente chunk, nunca en paralelo.
+ *
+ * Puede devolver menos notificaciones que indices (ej. un usuario borrado o
+ * sin direccion para el canal): esos destinatarios se saltean. La lista no
+ * debe tener nulls; si el renderer lanza una excepcion, el broadcast termina
+ * con ese error (los envios ya despachados siguen su curso).
+ */
+@FunctionalInterface
+public interface BroadcastRenderer {
+
+    /** @param recipients indices del chunk (hasta 512), en orden creciente */
+    List<? extends Notification> render(int[] recipients);
+}
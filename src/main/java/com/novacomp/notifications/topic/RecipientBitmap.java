@@ -0,0 +1,658 @@
+package com.novacomp.notifications.topic;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Conjunto comprimido de indices de destinatario (enteros {@code >= 0},
+ * densos: ej. el id de fila del usuario). Sigue el esquema de los "roaring
+ * bitmaps": el espacio se parte en bloques de 65536 indices y cada bloque
+ * con al menos un elemento se guarda como
+ * <ul>
+ *   <li>un array ordenado de {@code char} (2 bytes por indice) si tiene a lo
+ *       sumo 4096 elementos, o</li>
+ *   <li>un bitmap de 8 KB si tiene mas.</li>
+ * </ul>
+ * Asi 10 millones de suscriptores densos ocupan ~1.2 MB, y un topic chico
+ * solo paga sus elementos. Cada bloque cambia de representacion solo al
+ * cruzar el umbral.
+ *
+ * Las operaciones de conjuntos ({@link #or}, {@link #and}, {@link #andNot})
+ * trabajan bloque a bloque (con palabras de 64 bits entre bitmaps) y
+ * devuelven un bitmap nuevo sin tocar los operandos. La iteracion es en
+ * orden creciente y sin boxing.
+ *
+ * No es thread-safe: {@link TopicRegistry} entrega copias para leer mientras
+ * se siguen registrando suscripciones.
+ */
+public final class RecipientBitmap {
+
+    private static final int MAX_ARRAY = 4096;
+    private static final int BITMAP_WORDS = 1024;
+
+    // Bloques ordenados por los 16 bits altos del indice (keys[i] es el bloque de containers[i]).
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    public RecipientBitmap() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+    }
+
+    private RecipientBitmap(int capacity) {
+        this.keys = new char[Math.max(capacity, 4)];
+        this.containers = new Container[keys.length];
+    }
+
+    /** Bitmap con los indices dados. */
+    public static RecipientBitmap of(int... recipients) {
+        RecipientBitmap bitmap = new RecipientBitmap();
+        for (int recipient : recipients) {
+            bitmap.add(recipient);
+        }
+        return bitmap;
+    }
+
+    /** Union: los indices que estan en {@code a} o en {@code b}. */
+    public static RecipientBitmap or(RecipientBitmap a, RecipientBitmap b) {
+        RecipientBitmap result = new RecipientBitmap(a.size + b.size);
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                result.append(a.keys[i], a.containers[i++].copy());
+            } else if (a.keys[i] > b.keys[j]) {
+                result.append(b.keys[j], b.containers[j++].copy());
+            } else {
+                result.append(a.keys[i], a.containers[i++].or(b.containers[j++]));
+            }
+        }
+        for (; i < a.size; i++) {
+            result.append(a.keys[i], a.containers[i].copy());
+        }
+        for (; j < b.size; j++) {
+            result.append(b.keys[j], b.containers[j].copy());
+        }
+        return result;
+    }
+
+    /** Interseccion: los indices que estan en {@code a} y en {@code b}. */
+    public static RecipientBitmap and(RecipientBitmap a, RecipientBitmap b) {
+        RecipientBitmap result = new RecipientBitmap(Math.min(a.size, b.size));
+        int i = 0;
+        int j = 0;
+        while (i < a.size && j < b.size) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                Container both = a.containers[i].and(b.containers[j]);
+                if (both.cardinality() > 0) {
+                    result.append(a.keys[i], both);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /** Diferencia: los indices de {@code a} que no estan en {@code b} (ej. suscriptos menos dados de baja). */
+    public static RecipientBitmap andNot(RecipientBitmap a, RecipientBitmap b) {
+        RecipientBitmap result = new RecipientBitmap(a.size);
+        int j = 0;
+        for (int i = 0; i < a.size; i++) {
+            while (j < b.size && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            Container rest = j < b.size && b.keys[j] == a.keys[i]
+                    ? a.containers[i].andNot(b.containers[j])
+                    : a.containers[i].copy();
+            if (rest.cardinality() > 0) {
+                result.append(a.keys[i], rest);
+            }
+        }
+        return result;
+    }
+
+    /** @return true si el indice no estaba */
+    public boolean add(int recipient) {
+        char key = high(recipient);
+        int at = find(key);
+        if (at < 0) {
+            at = -at - 1;
+            insert(at, key, new ArrayContainer());
+        }
+        Container container = containers[at];
+        int before = container.cardinality();
+        containers[at] = container.add(low(recipient));
+        return containers[at].cardinality() != before;
+    }
+
+    /** @return true si el indice estaba */
+    public boolean remove(int recipient) {
+        if (recipient < 0) {
+            return false;
+        }
+        int at = find(high(recipient));
+        if (at < 0) {
+            return false;
+        }
+        Container container = containers[at];
+        int before = container.cardinality();
+        Container after = container.remove(low(recipient));
+        if (after.cardinality() == 0) {
+            System.arraycopy(keys, at + 1, keys, at, size - at - 1);
+            System.arraycopy(containers, at + 1, containers, at, size - at - 1);
+            containers[--size] = null;
+        } else {
+            containers[at] = after;
+        }
+        return after.cardinality() != before;
+    }
+
+    public boolean contains(int recipient) {
+        if (recipient < 0) {
+            return false;
+        }
+        int at = find(high(recipient));
+        return at >= 0 && containers[at].contains(low(recipient));
+    }
+
+    /** Cantidad de indices; O(bloques). */
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality();
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** Memoria aproximada de los datos del bitmap, en bytes. */
+    public long sizeInBytes() {
+        long bytes = keys.length * 2L + containers.length * 4L;
+        for (int i = 0; i < size; i++) {
+            bytes += containers[i].sizeInBytes();
+        }
+        return bytes;
+    }
+
+    /** Copia independiente (modificar una no afecta a la otra). */
+    public RecipientBitmap copy() {
+        RecipientBitmap copy = new RecipientBitmap(size);
+        for (int i = 0; i < size; i++) {
+            copy.append(keys[i], containers[i].copy());
+        }
+        return copy;
+    }
+
+    /** Los indices en orden creciente. Modificar el bitmap mientras se itera deja el iterador indefinido. */
+    public PrimitiveIterator.OfInt iterator() {
+        return new Cursor();
+    }
+
+    public IntStream stream() {
+        Spliterator.OfInt spliterator = Spliterators.spliterator(iterator(), cardinality(),
+                Spliterator.ORDERED | Spliterator.SORTED | Spliterator.DISTINCT | Spliterator.NONNULL);
+        return StreamSupport.intStream(spliterator, false);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RecipientBitmap)) {
+            return false;
+        }
+        RecipientBitmap other = (RecipientBitmap) o;
+        if (size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < size; i++) {
+            if (keys[i] != other.keys[i] || !containers[i].sameElements(other.containers[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        PrimitiveIterator.OfInt values = iterator();
+        while (values.hasNext()) {
+            hash = 31 * hash + values.nextInt();
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "RecipientBitmap{cardinality=" + cardinality() + ", blocks=" + size + ", bytes=" + sizeInBytes() + '}';
+    }
+
+    private static char high(int recipient) {
+        if (recipient < 0) {
+            throw new IllegalArgumentException("El indice de destinatario debe ser >= 0: " + recipient);
+        }
+        return (char) (recipient >>> 16);
+    }
+
+    private static char low(int recipient) {
+        return (char) recipient;
+    }
+
+    private int find(char key) {
+        // Atajo para la carga en orden creciente: el bloque buscado suele ser el ultimo.
+        if (size > 0 && keys[size - 1] == key) {
+            return size - 1;
+        }
+        return Arrays.binarySearch(keys, 0, size, key);
+    }
+
+    private void insert(int at, char key, Container container) {
+        grow(size + 1);
+        System.arraycopy(keys, at, keys, at + 1, size - at);
+        System.arraycopy(containers, at, containers, at + 1, size - at);
+        keys[at] = key;
+        containers[at] = container;
+        size++;
+    }
+
+    private void append(char key, Container container) {
+        grow(size + 1);
+        keys[size] = key;
+        containers[size++] = container;
+    }
+
+    private void grow(int needed) {
+        if (needed > keys.length) {
+            int capacity = Math.max(needed, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            containers = Arrays.copyOf(containers, capacity);
+        }
+    }
+
+    /** Recorre bloque a bloque; {@code position} es un indice del array o un bit del bitmap. */
+    private final class Cursor implements PrimitiveIterator.OfInt {
+
+        private int block;
+        private int position;
+        private int next;
+
+        Cursor() {
+            next = seek();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public int nextInt() {
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            int value = next;
+            next = seek();
+            return value;
+        }
+
+        private int seek() {
+            while (block < size) {
+                Container container = containers[block];
+                int found = container.positionFrom(position);
+                if (found >= 0) {
+                    position = found + 1;
+                    return keys[block] << 16 | container.valueAt(found);
+                }
+                block++;
+                position = 0;
+            }
+            return -1;
+        }
+    }
+
+    /** Un bloque de 65536 indices; add/remove devuelven el container que queda (puede cambiar de tipo). */
+    private abstract static class Container {
+
+        abstract Container add(char value);
+
+        abstract Container remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract int cardinality();
+
+        abstract Container or(Container other);
+
+        abstract Container and(Container other);
+
+        abstract Container andNot(Container other);
+
+        abstract Container copy();
+
+        abstract long sizeInBytes();
+
+        /** Primera posicion ocupada {@code >= from}, o -1. */
+        abstract int positionFrom(int from);
+
+        abstract char valueAt(int position);
+
+        boolean sameElements(Container other) {
+            if (cardinality() != other.cardinality()) {
+                return false;
+            }
+            for (int p = positionFrom(0); p >= 0; p = positionFrom(p + 1)) {
+                if (!other.contains(valueAt(p))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final class ArrayContainer extends Container {
+
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer() {
+            this.values = new char[4];
+        }
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int at = cardinality > 0 && values[cardinality - 1] < value
+                    ? -cardinality - 1
+                    : Arrays.binarySearch(values, 0, cardinality, value);
+            if (at >= 0) {
+                return this;
+            }
+            if (cardinality == MAX_ARRAY) {
+                return toBitmap().add(value);
+            }
+            at = -at - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(MAX_ARRAY, values.length * 2));
+            }
+            System.arraycopy(values, at, values, at + 1, cardinality - at);
+            values[at] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            int at = Arrays.binarySearch(values, 0, cardinality, value);
+            if (at >= 0) {
+                System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer that = (ArrayContainer) other;
+            if (cardinality + that.cardinality > MAX_ARRAY) {
+                BitmapContainer merged = toBitmap();
+                for (int j = 0; j < that.cardinality; j++) {
+                    merged.set(that.values[j]);
+                }
+                return merged.shrinkIfSparse();
+            }
+            char[] merged = new char[cardinality + that.cardinality];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < cardinality && j < that.cardinality) {
+                char a = values[i];
+                char b = that.values[j];
+                if (a <= b) {
+                    merged[n++] = a;
+                    i++;
+                    if (a == b) {
+                        j++;
+                    }
+                } else {
+                    merged[n++] = b;
+                    j++;
+                }
+            }
+            while (i < cardinality) {
+                merged[n++] = values[i++];
+            }
+            while (j < that.cardinality) {
+                merged[n++] = that.values[j++];
+            }
+            return new ArrayContainer(merged, n);
+        }
+
+        @Override
+        Container and(Container other) {
+            return filter(other, true);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            return filter(other, false);
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, Math.max(cardinality, 1)), cardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return values.length * 2L + 16;
+        }
+
+        @Override
+        int positionFrom(int from) {
+            return from < cardinality ? from : -1;
+        }
+
+        @Override
+        char valueAt(int position) {
+            return values[position];
+        }
+
+        private ArrayContainer filter(Container other, boolean keepContained) {
+            char[] kept = new char[cardinality];
+            int n = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i]) == keepContained) {
+                    kept[n++] = values[i];
+                }
+            }
+            return new ArrayContainer(kept, n);
+        }
+
+        private BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[BITMAP_WORDS], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.set(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            set(value);
+            return this;
+        }
+
+        @Override
+        Container remove(char value) {
+            clear(value);
+            return shrinkIfSparse();
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container or(Container other) {
+            BitmapContainer result = (BitmapContainer) copy();
+            if (other instanceof BitmapContainer) {
+                long[] those = ((BitmapContainer) other).words;
+                int count = 0;
+                for (int i = 0; i < BITMAP_WORDS; i++) {
+                    result.words[i] |= those[i];
+                    count += Long.bitCount(result.words[i]);
+                }
+                result.cardinality = count;
+            } else {
+                ArrayContainer that = (ArrayContainer) other;
+                for (int j = 0; j < that.cardinality; j++) {
+                    result.set(that.values[j]);
+                }
+            }
+            return result;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                return other.and(this);
+            }
+            return combine((BitmapContainer) other, false);
+        }
+
+        @Override
+        Container andNot(Container other) {
+            if (other instanceof BitmapContainer) {
+                return combine((BitmapContainer) other, true);
+            }
+            BitmapContainer result = (BitmapContainer) copy();
+            ArrayContainer that = (ArrayContainer) other;
+            for (int j = 0; j < that.cardinality; j++) {
+                result.clear(that.values[j]);
+            }
+            return result.shrinkIfSparse();
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        long sizeInBytes() {
+            return BITMAP_WORDS * 8L + 16;
+        }
+
+        @Override
+        int positionFrom(int from) {
+            int word = from >>> 6;
+            if (word >= BITMAP_WORDS) {
+                return -1;
+            }
+            long bits = words[word] & (-1L << from);
+            while (bits == 0) {
+                if (++word == BITMAP_WORDS) {
+                    return -1;
+                }
+                bits = words[word];
+            }
+            return word * 64 + Long.numberOfTrailingZeros(bits);
+        }
+
+        @Override
+        char valueAt(int position) {
+            return (char) position;
+        }
+
+        void set(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) == 0) {
+                words[word] |= bit;
+                cardinality++;
+            }
+        }
+
+        private void clear(char value) {
+            long bit = 1L << value;
+            int word = value >>> 6;
+            if ((words[word] & bit) != 0) {
+                words[word] &= ~bit;
+                cardinality--;
+            }
+        }
+
+        private Container combine(BitmapContainer other, boolean negate) {
+            long[] result = new long[BITMAP_WORDS];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = words[i] & (negate ? ~other.words[i] : other.words[i]);
+                count += Long.bitCount(result[i]);
+            }
+            return new BitmapContainer(result, count).shrinkIfSparse();
+        }
+
+        /** Vuelve a array cuando el bloque quedo con pocos elementos (el bitmap ocuparia mas). */
+        private Container shrinkIfSparse() {
+            if (cardinality > MAX_ARRAY) {
+                return this;
+            }
+            char[] values = new char[Math.max(cardinality, 1)];
+            int n = 0;
+            for (int p = positionFrom(0); p >= 0; p = positionFrom(p + 1)) {
+                values[n++] = (char) p;
+            }
+            return new ArrayContainer(values, n);
+        }
+    }
+}
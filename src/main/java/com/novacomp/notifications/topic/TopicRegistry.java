@@ -0,0 +1,163 @@
+package com.novacomp.notifications.topic;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Suscripciones a topics (ej. "region:pe", "plan:pro") como
+ * {@link RecipientBitmap} sobre indices densos de destinatario. La libreria
+ * no guarda perfiles: el indice es el de la aplicacion (ej. el id de fila del
+ * usuario) y el {@link BroadcastRenderer} lo resuelve al momento del envio.
+ *
+ * <pre>
+ * TopicRegistry topics = new TopicRegistry();
+ * topics.subscribe("region:pe", 42);
+ * topics.optOut(7);
+ * RecipientBitmap audiencia = topics.allOf("region:pe", "plan:pro");
+ * service.broadcast(audiencia, renderer, 256, result -> { });
+ * </pre>
+ *
+ * Ademas de las bajas por topic hay bajas globales ({@link #optOut(int)}):
+ * un destinatario dado de baja queda excluido de toda audiencia que arme el
+ * registry, sin tocar sus suscripciones. Las consultas devuelven copias, asi
+ * que un broadcast en curso no ve (ni bloquea) las suscripciones nuevas.
+ * Thread-safe: las lecturas comparten un read lock.
+ */
+public final class TopicRegistry {
+
+    private final Map<String, RecipientBitmap> topics = new HashMap<>();
+    private final RecipientBitmap optedOut = new RecipientBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** @return true si no estaba suscripto */
+    public boolean subscribe(String topic, int recipient) {
+        lock.writeLock().lock();
+        try {
+            return topics.computeIfAbsent(requireTopic(topic), t -> new RecipientBitmap()).add(recipient);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Suscribe de una vez a todos los indices de {@code recipients} (ej. una carga inicial). */
+    public void subscribeAll(String topic, RecipientBitmap recipients) {
+        lock.writeLock().lock();
+        try {
+            RecipientBitmap current = topics.get(requireTopic(topic));
+            topics.put(topic, current == null ? recipients.copy() : RecipientBitmap.or(current, recipients));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return true si estaba suscripto */
+    public boolean unsubscribe(String topic, int recipient) {
+        lock.writeLock().lock();
+        try {
+            RecipientBitmap subscribers = topics.get(topic);
+            if (subscribers == null || !subscribers.remove(recipient)) {
+                return false;
+            }
+            if (subscribers.isEmpty()) {
+                topics.remove(topic);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Baja global: el destinatario se excluye de todas las audiencias hasta {@link #optIn(int)}. */
+    public void optOut(int recipient) {
+        lock.writeLock().lock();
+        try {
+            optedOut.add(recipient);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void optIn(int recipient) {
+        lock.writeLock().lock();
+        try {
+            optedOut.remove(recipient);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Suscriptos al topic, sin las bajas globales. Vacio si el topic no existe. */
+    public RecipientBitmap subscribers(String topic) {
+        return anyOf(topic);
+    }
+
+    /** Union: suscriptos a al menos uno de los topics, sin las bajas globales. */
+    public RecipientBitmap anyOf(String... topicNames) {
+        lock.readLock().lock();
+        try {
+            RecipientBitmap audience = new RecipientBitmap();
+            for (String topic : topicNames) {
+                RecipientBitmap subscribers = topics.get(topic);
+                if (subscribers != null) {
+                    audience = RecipientBitmap.or(audience, subscribers);
+                }
+            }
+            return RecipientBitmap.andNot(audience, optedOut);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Interseccion: suscriptos a todos los topics, sin las bajas globales. */
+    public RecipientBitmap allOf(String... topicNames) {
+        if (topicNames.length == 0) {
+            throw new IllegalArgumentException("allOf necesita al menos un topic");
+        }
+        lock.readLock().lock();
+        try {
+            RecipientBitmap audience = null;
+            for (String topic : topicNames) {
+                RecipientBitmap subscribers = topics.get(topic);
+                if (subscribers == null) {
+                    return new RecipientBitmap();
+                }
+                audience = audience == null ? subscribers : RecipientBitmap.and(audience, subscribers);
+            }
+            return RecipientBitmap.andNot(audience, optedOut);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Si el destinatario recibe los broadcasts del topic (suscripto y sin baja global). */
+    public boolean isSubscribed(String topic, int recipient) {
+        lock.readLock().lock();
+        try {
+            RecipientBitmap subscribers = topics.get(topic);
+            return subscribers != null && subscribers.contains(recipient) && !optedOut.contains(recipient);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Topics con al menos un suscripto, en orden alfabetico. */
+    public Set<String> getTopics() {
+        lock.readLock().lock();
+        try {
+            return new TreeSet<>(topics.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static String requireTopic(String topic) {
+        if (topic == null || topic.isBlank()) {
+            throw new IllegalArgumentException("El topic no puede ser vacio");
+        }
+        return topic;
+    }
+}
@@ -0,0 +1,108 @@
+package com.novacomp.notifications.transport;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+
+/**
+ * Writer de bodies {@code application/x-www-form-urlencoded} (Twilio,
+ * Mailgun) sobre el mismo esquema que {@link JsonWriter}: codifica cada
+ * campo a UTF-8 y percent-encoding en una sola pasada, sobre un buffer
+ * reutilizado por hilo. Mismo resultado que {@code URLEncoder.encode(v, UTF_8)}
+ * (espacio como '+', sin escapar {@code . - * _}), sin Strings intermedios.
+ */
+public final class FormWriter {
+
+    private static final ThreadLocal<FormWriter> CURRENT = ThreadLocal.withInitial(FormWriter::new);
+    private static final byte[] HEX = {
+        '0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'A', 'B', 'C', 'D', 'E', 'F'
+    };
+
+    private final PayloadBuffer buffer = new PayloadBuffer();
+    private boolean empty = true;
+
+    private FormWriter() {
+    }
+
+    /** El writer del hilo actual, vacio. Lo escrito antes en este hilo deja de ser valido. */
+    public static FormWriter forCurrentThread() {
+        FormWriter writer = CURRENT.get();
+        writer.buffer.reset();
+        writer.empty = true;
+        return writer;
+    }
+
+    /** Agrega {@code name=value}; si {@code value} es null el campo se omite. */
+    public FormWriter field(String name, String value) {
+        if (value == null) {
+            return this;
+        }
+        if (!empty) {
+            buffer.ensureCapacity(1);
+            buffer.put((byte) '&');
+        }
+        empty = false;
+        encode(name);
+        buffer.ensureCapacity(1);
+        buffer.put((byte) '=');
+        encode(value);
+        return this;
+    }
+
+    public int size() {
+        return buffer.size();
+    }
+
+    /** Vista de solo lectura del body escrito; valida hasta el proximo {@link #forCurrentThread()}. */
+    public ByteBuffer buffer() {
+        return buffer.view();
+    }
+
+    /** Copia del body para un {@link HttpRequest}; ver {@link JsonWriter#toBodyPublisher()}. */
+    public HttpRequest.BodyPublisher toBodyPublisher() {
+        return buffer.toBodyPublisher();
+    }
+
+    private void encode(String value) {
+        int length = value.length();
+        // Peor caso por char: 3 bytes UTF-8, cada uno como %XX.
+        buffer.ensureCapacity(length * 9);
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (isUnreserved(c)) {
+                buffer.put((byte) c);
+            } else if (c == ' ') {
+                buffer.put((byte) '+');
+            } else if (c < 0x80) {
+                percent(c);
+            } else if (c < 0x800) {
+                percent(0xC0 | (c >> 6));
+                percent(0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                percent(0xF0 | (codePoint >> 18));
+                percent(0x80 | ((codePoint >> 12) & 0x3F));
+                percent(0x80 | ((codePoint >> 6) & 0x3F));
+                percent(0x80 | (codePoint & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate suelto: URLEncoder lo reemplaza por '?'.
+                percent('?');
+            } else {
+                percent(0xE0 | (c >> 12));
+                percent(0x80 | ((c >> 6) & 0x3F));
+                percent(0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    private void percent(int b) {
+        buffer.put((byte) '%');
+        buffer.put(HEX[(b >> 4) & 0xF]);
+        buffer.put(HEX[b & 0xF]);
+    }
+
+    private static boolean isUnreserved(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || c == '.' || c == '-' || c == '*' || c == '_';
+    }
+}
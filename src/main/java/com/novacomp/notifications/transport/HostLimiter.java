@@ -0,0 +1,61 @@
+package com.novacomp.notifications.transport;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limite de requests en vuelo para un host, sin bloquear hilos: lo que no
+ * entra queda en cola y lo despacha quien libere un lugar.
+ *
+ * Tanto {@link #submit(Runnable)} como {@link #release()} terminan llamando a
+ * {@link #drain()}, asi el ultimo en tocar la cola o el contador siempre ve
+ * si hay trabajo esperando y lugar libre; no hace falta un lock.
+ */
+final class HostLimiter {
+
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    HostLimiter(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** Corre {@code task} ahora o cuando haya lugar; la tarea debe llamar a {@link #release()} al terminar. */
+    void submit(Runnable task) {
+        queued.incrementAndGet();
+        waiting.add(task);
+        drain();
+    }
+
+    void release() {
+        inFlight.decrementAndGet();
+        drain();
+    }
+
+    int getQueuedCount() {
+        return queued.get();
+    }
+
+    private void drain() {
+        while (!waiting.isEmpty()) {
+            int current = inFlight.get();
+            if (current >= maxInFlight) {
+                return;
+            }
+            if (!inFlight.compareAndSet(current, current + 1)) {
+                continue;
+            }
+            Runnable task = waiting.poll();
+            if (task == null) {
+                // Otro hilo se llevo la tarea entre isEmpty() y poll().
+                inFlight.decrementAndGet();
+                continue;
+            }
+            queued.decrementAndGet();
+            task.run();
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.novacomp.notifications.transport;
+
+import com.novacomp.notifications.config.HttpTransportPolicy;
+import com.novacomp.notifications.exception.SendException;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transporte HTTP compartido por los proveedores reales, sobre un unico
+ * {@link HttpClient}: reutiliza conexiones (y con HTTP/2 multiplexa todos los
+ * requests a un mismo host en una sola), aplica los timeouts de la politica
+ * y acota los requests en vuelo por host.
+ *
+ * {@link #sendAsync(HttpRequest)} no bloquea ningun hilo: un request que
+ * excede el limite de su host queda en cola y lo despacha el request que
+ * libera el lugar. {@link #send(HttpRequest)} es la variante bloqueante para
+ * los send() sincronos de los proveedores.
+ *
+ * Pensado para compartirse entre todos los proveedores de la aplicacion;
+ * liberar con {@link #close()}.
+ */
+public final class HttpTransport implements AutoCloseable {
+
+    private final HttpClient client;
+    private final ExecutorService ioExecutor;
+    private final HttpTransportPolicy policy;
+    private final ConcurrentMap<String, HostLimiter> limiters = new ConcurrentHashMap<>();
+
+    private HttpTransport(HttpTransportPolicy policy) {
+        this.policy = policy;
+        AtomicInteger threadIds = new AtomicInteger();
+        this.ioExecutor = new ThreadPoolExecutor(policy.getIoThreads(), policy.getIoThreads(),
+                0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "notifications-http-" + threadIds.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.client = HttpClient.newBuilder()
+                .version(policy.getVersion())
+                .connectTimeout(policy.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .executor(ioExecutor)
+                .build();
+    }
+
+    public static HttpTransport create(HttpTransportPolicy policy) {
+        return new HttpTransport(policy);
+    }
+
+    /** Builder de request con el timeout de respuesta de la politica ya aplicado. */
+    public HttpRequest.Builder request(URI uri) {
+        return HttpRequest.newBuilder(uri).timeout(policy.getRequestTimeout());
+    }
+
+    /**
+     * Envia el request cuando su host tiene lugar. El futuro falla con
+     * {@link SendException} si no hubo respuesta (conexion, timeout); un
+     * status de error es una respuesta normal que interpreta el proveedor.
+     */
+    public CompletableFuture<HttpResponse<String>> sendAsync(HttpRequest request) {
+        CompletableFuture<HttpResponse<String>> promise = new CompletableFuture<>();
+        HostLimiter limiter = limiters.computeIfAbsent(hostKey(request.uri()),
+                host -> new HostLimiter(policy.getMaxConcurrentPerHost()));
+        limiter.submit(() -> {
+            CompletableFuture<HttpResponse<String>> call;
+            try {
+                call = client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+            } catch (RuntimeException e) {
+                limiter.release();
+                promise.completeExceptionally(e);
+                return;
+            }
+            call.whenComplete((response, error) -> {
+                limiter.release();
+                if (error != null) {
+                    promise.completeExceptionally(toSendException(request, error));
+                } else {
+                    promise.complete(response);
+                }
+            });
+        });
+        return promise;
+    }
+
+    /** Version bloqueante de {@link #sendAsync(HttpRequest)}; lanza {@link SendException}. */
+    public HttpResponse<String> send(HttpRequest request) {
+        try {
+            return sendAsync(request).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new SendException(e.getMessage(), e.getCause());
+        }
+    }
+
+    /** Requests esperando lugar en {@code authority} (host o host:puerto del URI); util para diagnostico. */
+    public int getQueuedCount(String authority) {
+        HostLimiter limiter = limiters.get(authority);
+        return limiter == null ? 0 : limiter.getQueuedCount();
+    }
+
+    /** Valor del header {@code Authorization} para Basic Auth. */
+    public static String basicAuth(String user, String password) {
+        String credentials = user + ":" + password;
+        return "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Mensaje de error uniforme para una respuesta no exitosa: status y el inicio del body. */
+    public static String describeFailure(String provider, HttpResponse<String> response) {
+        String body = response.body() == null ? "" : response.body();
+        if (body.length() > 200) {
+            body = body.substring(0, 200) + "...";
+        }
+        return provider + " respondio HTTP " + response.statusCode() + (body.isEmpty() ? "" : ": " + body);
+    }
+
+    /** Espera los requests en curso y libera conexiones e hilos. */
+    @Override
+    public void close() {
+        client.close();
+        ioExecutor.shutdown();
+    }
+
+    private static String hostKey(URI uri) {
+        return uri.getAuthority();
+    }
+
+    private static SendException toSendException(HttpRequest request, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return new SendException("Fallo HTTP hacia " + request.uri().getHost() + ": " + cause, cause);
+    }
+}
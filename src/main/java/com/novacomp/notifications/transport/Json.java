@@ -0,0 +1,110 @@
+package com.novacomp.notifications.transport;
+
+/**
+ * Lectura minima de las respuestas JSON de los proveedores, sin una libreria
+ * de reflection: un campo string o entero de primer nivel (ej. "sid",
+ * "name", el "code" de error de Twilio). Los bodies de los requests se arman
+ * con {@link JsonWriter}.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Valor del primer campo string {@code "field": "..."} que aparece en
+     * {@code json}, o null. No valida el documento: alcanza para las
+     * respuestas chicas y conocidas de los proveedores.
+     */
+    public static String stringField(String json, String field) {
+        int i = valueStart(json, field);
+        if (i < 0 || json.charAt(i) != '"') {
+            return null;
+        }
+        return readString(json, i + 1);
+    }
+
+    /** Valor del primer campo entero {@code "field": 123} de {@code json}, o {@code missing}. */
+    public static long longField(String json, String field, long missing) {
+        int i = valueStart(json, field);
+        if (i < 0) {
+            return missing;
+        }
+        int end = json.charAt(i) == '-' ? i + 1 : i;
+        while (end < json.length() && Character.isDigit(json.charAt(end))) {
+            end++;
+        }
+        try {
+            return Long.parseLong(json, i, end, 10);
+        } catch (NumberFormatException e) {
+            return missing;
+        }
+    }
+
+    /** Indice del primer caracter del valor de {@code "field":}, o -1. */
+    private static int valueStart(String json, String field) {
+        if (json == null) {
+            return -1;
+        }
+        String key = '"' + field + '"';
+        int at = json.indexOf(key);
+        while (at >= 0) {
+            int i = skipWhitespace(json, at + key.length());
+            if (i < json.length() && json.charAt(i) == ':') {
+                i = skipWhitespace(json, i + 1);
+                return i < json.length() ? i : -1;
+            }
+            at = json.indexOf(key, at + 1);
+        }
+        return -1;
+    }
+
+    private static int skipWhitespace(String json, int from) {
+        int i = from;
+        while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String readString(String json, int from) {
+        StringBuilder value = new StringBuilder();
+        for (int i = from; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\' || i + 1 >= json.length()) {
+                value.append(c);
+                continue;
+            }
+            char escaped = json.charAt(++i);
+            switch (escaped) {
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'u':
+                    if (i + 4 < json.length()) {
+                        value.append((char) Integer.parseInt(json.substring(i + 1, i + 5), 16));
+                        i += 4;
+                    }
+                    break;
+                default:
+                    value.append(escaped);
+            }
+        }
+        return null;
+    }
+}
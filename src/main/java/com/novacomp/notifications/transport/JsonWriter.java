@@ -0,0 +1,263 @@
+package com.novacomp.notifications.transport;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writer JSON en streaming para los bodies de los proveedores: codifica
+ * directo a UTF-8, con escape, sobre un {@link ByteBuffer} reutilizado por
+ * hilo. Armar un body no crea Strings, mapas ni arboles intermedios; la
+ * unica alocacion es la copia final que se entrega al HttpClient
+ * ({@link #toBodyPublisher()}).
+ *
+ * <pre>
+ * JsonWriter json = JsonWriter.forCurrentThread()
+ *         .beginObject()
+ *         .name(TEXT).value(notification.getMessage())
+ *         .endObject();
+ * </pre>
+ *
+ * Las comas las pone el writer. Los nombres fijos conviene declararlos una
+ * vez con {@link #key(String)}: se guardan ya codificados y escribirlos es
+ * copiar bytes. No valida la estructura (un endObject de mas produce JSON
+ * invalido); el anidamiento maximo es 63 niveles.
+ */
+public final class JsonWriter {
+
+    private static final ThreadLocal<JsonWriter> CURRENT = ThreadLocal.withInitial(JsonWriter::new);
+    private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_DEPTH = 63;
+
+    private final PayloadBuffer buffer = new PayloadBuffer();
+    // Bit n: el nivel n ya tiene al menos un elemento (el proximo lleva coma).
+    private long hasElements;
+    private int depth;
+    // Despues de name(...) el valor va sin coma.
+    private boolean afterName;
+
+    private JsonWriter() {
+    }
+
+    /** Codifica {@code name} una sola vez; pensado para constantes {@code static final}. */
+    public static Key key(String name) {
+        JsonWriter scratch = new JsonWriter();
+        scratch.string(name);
+        scratch.buffer.ensureCapacity(1);
+        scratch.buffer.put((byte) ':');
+        ByteBuffer encoded = scratch.buffer.view();
+        byte[] bytes = new byte[encoded.remaining()];
+        encoded.get(bytes);
+        return new Key(bytes);
+    }
+
+    /** El writer del hilo actual, vacio. Lo escrito antes en este hilo deja de ser valido. */
+    public static JsonWriter forCurrentThread() {
+        JsonWriter writer = CURRENT.get();
+        writer.reset();
+        return writer;
+    }
+
+    public JsonWriter beginObject() {
+        return open((byte) '{');
+    }
+
+    public JsonWriter endObject() {
+        return close((byte) '}');
+    }
+
+    public JsonWriter beginArray() {
+        return open((byte) '[');
+    }
+
+    public JsonWriter endArray() {
+        return close((byte) ']');
+    }
+
+    public JsonWriter name(Key key) {
+        separator();
+        buffer.put(key.bytes);
+        afterName = true;
+        return this;
+    }
+
+    /** Nombre dinamico (ej. las claves de {@code data} en FCM). */
+    public JsonWriter name(String name) {
+        separator();
+        string(name);
+        buffer.ensureCapacity(1);
+        buffer.put((byte) ':');
+        afterName = true;
+        return this;
+    }
+
+    /** String con escape; null se escribe como {@code null}. */
+    public JsonWriter value(String value) {
+        separator();
+        if (value == null) {
+            buffer.put(NULL);
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    public JsonWriter value(long value) {
+        separator();
+        if (value == Long.MIN_VALUE) {
+            buffer.put("-9223372036854775808".getBytes(StandardCharsets.US_ASCII));
+            return this;
+        }
+        buffer.ensureCapacity(20);
+        long remaining = value;
+        if (remaining < 0) {
+            buffer.put((byte) '-');
+            remaining = -remaining;
+        }
+        long divisor = 1;
+        while (remaining / divisor >= 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + (remaining / divisor) % 10));
+        }
+        return this;
+    }
+
+    public JsonWriter value(boolean value) {
+        separator();
+        buffer.put(value ? TRUE : FALSE);
+        return this;
+    }
+
+    /** Atajo para {@code name(key).value(value)} que omite el campo si {@code value} es null. */
+    public JsonWriter optional(Key key, String value) {
+        return value == null ? this : name(key).value(value);
+    }
+
+    /** Bytes escritos hasta ahora. */
+    public int size() {
+        return buffer.size();
+    }
+
+    /** Vista de solo lectura del JSON escrito; valida hasta el proximo {@link #forCurrentThread()}. */
+    public ByteBuffer buffer() {
+        return buffer.view();
+    }
+
+    /** Copia del JSON para un {@link HttpRequest}; ver {@link PayloadBuffer#toBodyPublisher()}. */
+    public HttpRequest.BodyPublisher toBodyPublisher() {
+        return buffer.toBodyPublisher();
+    }
+
+    private void reset() {
+        buffer.reset();
+        hasElements = 0;
+        depth = 0;
+        afterName = false;
+    }
+
+    private JsonWriter open(byte bracket) {
+        separator();
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JsonWriter soporta a lo sumo " + MAX_DEPTH + " niveles");
+        }
+        buffer.ensureCapacity(1);
+        buffer.put(bracket);
+        depth++;
+        hasElements &= ~(1L << depth);
+        return this;
+    }
+
+    private JsonWriter close(byte bracket) {
+        buffer.ensureCapacity(1);
+        buffer.put(bracket);
+        depth--;
+        return this;
+    }
+
+    /** Coma entre elementos del mismo nivel, salvo justo despues de un nombre. */
+    private void separator() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        long bit = 1L << depth;
+        if ((hasElements & bit) != 0) {
+            buffer.ensureCapacity(1);
+            buffer.put((byte) ',');
+        } else {
+            hasElements |= bit;
+        }
+    }
+
+    /** String entre comillas, con escape JSON y codificado a UTF-8 en una sola pasada. */
+    private void string(String value) {
+        int length = value.length();
+        // Peor caso por char: \\u00XX (6 bytes); un par surrogate son 4 bytes para 2 chars.
+        buffer.ensureCapacity(length * 6 + 2);
+        buffer.put((byte) '"');
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    buffer.put((byte) '\\');
+                }
+                buffer.put((byte) c);
+            } else if (c < 0x20) {
+                escapeControl(c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                // Surrogate suelto: mismo reemplazo que String.getBytes(UTF_8).
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >> 12)));
+                buffer.put((byte) (0x80 | ((c >> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        buffer.put((byte) '"');
+    }
+
+    private void escapeControl(char c) {
+        buffer.put((byte) '\\');
+        switch (c) {
+            case '\n':
+                buffer.put((byte) 'n');
+                break;
+            case '\r':
+                buffer.put((byte) 'r');
+                break;
+            case '\t':
+                buffer.put((byte) 't');
+                break;
+            default:
+                buffer.put((byte) 'u');
+                buffer.put((byte) '0');
+                buffer.put((byte) '0');
+                buffer.put(HEX[c >> 4]);
+                buffer.put(HEX[c & 0xF]);
+        }
+    }
+
+    /** Nombre de campo pre-codificado ({@code "nombre":}); crearlo una vez, como constante. */
+    public static final class Key {
+        private final byte[] bytes;
+
+        private Key(byte[] bytes) {
+            this.bytes = bytes;
+        }
+    }
+}
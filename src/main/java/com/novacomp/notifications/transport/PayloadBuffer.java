@@ -0,0 +1,71 @@
+package com.novacomp.notifications.transport;
+
+import java.net.http.HttpRequest;
+import java.nio.ByteBuffer;
+
+/**
+ * Buffer de bytes reutilizable donde {@link JsonWriter} y {@link FormWriter}
+ * escriben el body ya codificado en UTF-8. Crece al doble cuando no alcanza;
+ * si crecio por encima de {@link #MAX_RETAINED_BYTES} (ej. un lote enorme) se
+ * descarta en el proximo reset para no retener esa memoria en el hilo.
+ */
+final class PayloadBuffer {
+
+    static final int INITIAL_BYTES = 1024;
+    static final int MAX_RETAINED_BYTES = 256 * 1024;
+
+    private ByteBuffer bytes = ByteBuffer.allocate(INITIAL_BYTES);
+
+    void reset() {
+        if (bytes.capacity() > MAX_RETAINED_BYTES) {
+            bytes = ByteBuffer.allocate(INITIAL_BYTES);
+        } else {
+            bytes.clear();
+        }
+    }
+
+    /** Garantiza lugar para {@code extra} bytes mas; llamarlo antes de una rafaga de put. */
+    void ensureCapacity(int extra) {
+        if (bytes.remaining() >= extra) {
+            return;
+        }
+        int needed = bytes.position() + extra;
+        int capacity = bytes.capacity();
+        while (capacity < needed) {
+            capacity = capacity * 2;
+        }
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        bytes.flip();
+        grown.put(bytes);
+        bytes = grown;
+    }
+
+    void put(byte b) {
+        bytes.put(b);
+    }
+
+    void put(byte[] ascii) {
+        ensureCapacity(ascii.length);
+        bytes.put(ascii);
+    }
+
+    int size() {
+        return bytes.position();
+    }
+
+    /** Vista de solo lectura de lo escrito; valida hasta el proximo reset del mismo hilo. */
+    ByteBuffer view() {
+        return bytes.duplicate().flip().asReadOnlyBuffer();
+    }
+
+    /**
+     * Copia de lo escrito para el request. Hace falta una copia (la unica
+     * alocacion del body): el HttpClient lee el body de forma asincrona,
+     * cuando el buffer del hilo ya puede estar armando el siguiente.
+     */
+    HttpRequest.BodyPublisher toBodyPublisher() {
+        byte[] copy = new byte[bytes.position()];
+        bytes.duplicate().flip().get(copy);
+        return HttpRequest.BodyPublishers.ofByteArray(copy);
+    }
+}
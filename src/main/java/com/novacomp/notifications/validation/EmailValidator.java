@@ -3,25 +3,82 @@ package com.novacomp.notifications.validation;
 import com.novacomp.notifications.channel.email.EmailNotification;
 import com.novacomp.notifications.exception.ValidationException;
 
-import java.util.regex.Pattern;
-
-/** Validacion basica de formato de email (RFC simplificado, suficiente para este alcance). */
+/**
+ * Validacion basica de formato de email (RFC simplificado, suficiente para este alcance).
+ *
+ * Acepta lo mismo que {@code ^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Za-z]{2,}$},
+ * pero con un recorrido a mano de una sola pasada: sin Matcher por llamada ni
+ * backtracking, que en la validacion de lotes grandes se notaba.
+ */
 public class EmailValidator implements NotificationValidator<EmailNotification> {
 
-    private static final Pattern EMAIL_PATTERN =
-            Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
-
     @Override
     public void validate(EmailNotification notification) throws ValidationException {
+        String error = check(notification);
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+    }
+
+    @Override
+    public String check(EmailNotification notification) {
         String recipient = notification.getRecipient();
-        if (recipient == null || !EMAIL_PATTERN.matcher(recipient).matches()) {
-            throw new ValidationException("Email de destinatario invalido: " + recipient);
+        if (recipient == null || !isValidAddress(recipient)) {
+            return "Email de destinatario invalido: " + recipient;
         }
         if (notification.getSubject() == null || notification.getSubject().isBlank()) {
-            throw new ValidationException("El subject del email no puede estar vacio");
+            return "El subject del email no puede estar vacio";
         }
         if (notification.getMessage() == null || notification.getMessage().isBlank()) {
-            throw new ValidationException("El body del email no puede estar vacio");
+            return "El body del email no puede estar vacio";
+        }
+        return null;
+    }
+
+    /**
+     * Parte local de uno o mas {@code [A-Za-z0-9._%+-]}, una {@code @} y un
+     * dominio de {@code [A-Za-z0-9.-]} cuyo ultimo punto no es el primer
+     * caracter y va seguido de al menos 2 letras.
+     */
+    public static boolean isValidAddress(String address) {
+        int length = address.length();
+        int i = 0;
+        while (i < length && isLocalChar(address.charAt(i))) {
+            i++;
+        }
+        if (i == 0 || i == length || address.charAt(i) != '@') {
+            return false;
         }
+        int domainStart = i + 1;
+        int lastDot = -1;
+        for (int j = domainStart; j < length; j++) {
+            char c = address.charAt(j);
+            if (c == '.') {
+                lastDot = j;
+            } else if (!isAsciiLetterOrDigit(c) && c != '-') {
+                return false;
+            }
+        }
+        if (lastDot <= domainStart || length - lastDot - 1 < 2) {
+            return false;
+        }
+        for (int j = lastDot + 1; j < length; j++) {
+            if (!isAsciiLetter(address.charAt(j))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isLocalChar(char c) {
+        return isAsciiLetterOrDigit(c) || c == '.' || c == '_' || c == '%' || c == '+' || c == '-';
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return isAsciiLetter(c) || (c >= '0' && c <= '9');
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
     }
 }
@@ -16,4 +16,21 @@ public interface NotificationValidator<T extends Notification> {
      * @throws ValidationException si la notificacion no es valida
      */
     void validate(T notification) throws ValidationException;
+
+    /**
+     * Igual que {@link #validate(Notification)} pero sin excepciones: para
+     * validar lotes grandes, donde armar una excepcion con mensaje por item
+     * invalido pesa. Los validadores de la libreria lo implementan sin
+     * lanzar; por defecto captura la excepcion de {@code validate}.
+     *
+     * @return null si la notificacion es valida; si no, el motivo
+     */
+    default String check(T notification) {
+        try {
+            validate(notification);
+            return null;
+        } catch (ValidationException e) {
+            return e.getMessage();
+        }
+    }
 }
@@ -3,25 +3,53 @@ package com.novacomp.notifications.validation;
 import com.novacomp.notifications.channel.sms.SmsNotification;
 import com.novacomp.notifications.exception.ValidationException;
 
-import java.util.regex.Pattern;
-
-/** Valida formato E.164 (+<codigo pais><numero>), estandar usado por Twilio y similares. */
+/**
+ * Valida formato E.164 (+<codigo pais><numero>), estandar usado por Twilio y similares.
+ * Equivale a {@code ^\+[1-9]\d{7,14}$} recorriendo el String una vez, sin regex.
+ */
 public class PhoneValidator implements NotificationValidator<SmsNotification> {
 
-    private static final Pattern E164_PATTERN = Pattern.compile("^\\+[1-9]\\d{7,14}$");
+    private static final int MIN_LENGTH = 9;
+    private static final int MAX_LENGTH = 16;
 
     @Override
     public void validate(SmsNotification notification) throws ValidationException {
+        String error = check(notification);
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+    }
+
+    @Override
+    public String check(SmsNotification notification) {
         String recipient = notification.getRecipient();
-        if (recipient == null || !E164_PATTERN.matcher(recipient).matches()) {
-            throw new ValidationException(
-                    "Numero de telefono invalido (se espera formato E.164, ej. +51987654321): " + recipient);
+        if (recipient == null || !isE164(recipient)) {
+            return "Numero de telefono invalido (se espera formato E.164, ej. +51987654321): " + recipient;
         }
         if (notification.getMessage() == null || notification.getMessage().isBlank()) {
-            throw new ValidationException("El mensaje SMS no puede estar vacio");
+            return "El mensaje SMS no puede estar vacio";
         }
         if (notification.getMessage().length() > 1600) {
-            throw new ValidationException("El mensaje SMS excede el limite de 1600 caracteres");
+            return "El mensaje SMS excede el limite de 1600 caracteres";
+        }
+        return null;
+    }
+
+    /** {@code +}, un digito de 1 a 9 y entre 7 y 14 digitos ASCII mas. */
+    public static boolean isE164(String number) {
+        int length = number.length();
+        if (length < MIN_LENGTH || length > MAX_LENGTH || number.charAt(0) != '+') {
+            return false;
+        }
+        if (number.charAt(1) == '0') {
+            return false;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
         }
+        return true;
     }
 }
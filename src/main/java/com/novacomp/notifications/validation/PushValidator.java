@@ -8,11 +8,20 @@ public class PushValidator implements NotificationValidator<PushNotification> {
 
     @Override
     public void validate(PushNotification notification) throws ValidationException {
+        String error = check(notification);
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+    }
+
+    @Override
+    public String check(PushNotification notification) {
         if (notification.getRecipient() == null || notification.getRecipient().isBlank()) {
-            throw new ValidationException("El device token (recipient) es obligatorio para Push");
+            return "El device token (recipient) es obligatorio para Push";
         }
         if (notification.getTitle() == null || notification.getTitle().isBlank()) {
-            throw new ValidationException("El title es obligatorio para Push");
+            return "El title es obligatorio para Push";
         }
+        return null;
     }
 }
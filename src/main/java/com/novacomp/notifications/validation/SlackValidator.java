@@ -8,11 +8,20 @@ public class SlackValidator implements NotificationValidator<SlackNotification>
 
     @Override
     public void validate(SlackNotification notification) throws ValidationException {
+        String error = check(notification);
+        if (error != null) {
+            throw new ValidationException(error);
+        }
+    }
+
+    @Override
+    public String check(SlackNotification notification) {
         if (notification.getRecipient() == null || notification.getRecipient().isBlank()) {
-            throw new ValidationException("El canal/webhook destino (recipient) es obligatorio para Slack");
+            return "El canal/webhook destino (recipient) es obligatorio para Slack";
         }
         if (notification.getMessage() == null || notification.getMessage().isBlank()) {
-            throw new ValidationException("El mensaje de Slack no puede estar vacio");
+            return "El mensaje de Slack no puede estar vacio";
         }
+        return null;
     }
 }
@@ -0,0 +1,91 @@
+package com.novacomp.notifications.circuitbreaker;
+
+import com.novacomp.notifications.config.CircuitBreakerPolicy;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CircuitBreakerTest {
+
+    private final AtomicLong reloj = new AtomicLong(1_000_000);
+
+    private final CircuitBreaker breaker = new CircuitBreaker("sms", CircuitBreakerPolicy.builder()
+            .failureRateThreshold(0.5)
+            .minimumCalls(4)
+            .window(1_000, 10)
+            .openDurationMillis(5_000)
+            .halfOpenProbes(2)
+            .build(), reloj::get);
+
+    @Test
+    void seAbreAlSuperarLaTasaDeFallosYFallaRapido() {
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onSuccess();
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    void noSeAbreSinElMinimoDeEnvios() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void losFallosViejosSalenDeLaVentana() {
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        reloj.addAndGet(2_000);
+        breaker.onFailure();
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void semiAbreTrasElTiempoDeAperturaYCierraSiLasPruebasSalenBien() {
+        abrir();
+        reloj.addAndGet(5_000);
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertEquals(CircuitState.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission(), "solo se permiten 2 pruebas");
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+
+        assertEquals(CircuitState.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void vuelveAAbrirseSiUnaPruebaFalla() {
+        abrir();
+        reloj.addAndGet(5_000);
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitState.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+    }
+
+    private void abrir() {
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        assertEquals(CircuitState.OPEN, breaker.getState());
+    }
+}
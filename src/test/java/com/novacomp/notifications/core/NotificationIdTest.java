@@ -0,0 +1,82 @@
+package com.novacomp.notifications.core;
+
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationIdTest {
+
+    @Test
+    void losIdsDeUnMismoHiloSonEstrictamenteCrecientesComoBinarioYComoTexto() {
+        IdGenerator generator = IdGenerator.monotonic();
+        NotificationId previous = generator.next();
+        for (int i = 0; i < 10_000; i++) {
+            NotificationId next = generator.next();
+            assertTrue(next.compareTo(previous) > 0);
+            assertTrue(next.toString().compareTo(previous.toString()) > 0);
+            previous = next;
+        }
+    }
+
+    @Test
+    void elTextoEsUlidDe26CaracteresConElTimestampDeCreacion() {
+        long before = System.currentTimeMillis();
+        NotificationId id = IdGenerator.monotonic().next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(26, id.toString().length());
+        assertTrue(id.toString().matches("[0-7][0-9A-HJKMNP-TV-Z]{25}"));
+        assertTrue(id.getTimestampMillis() >= before && id.getTimestampMillis() <= after);
+        assertEquals(32, id.toHexString().length());
+    }
+
+    @Test
+    void codificaLosBitsEnBase32DeCrockford() {
+        assertEquals("00000000000000000000000000", new NotificationId(0, 0).toString());
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", new NotificationId(-1, -1).toString());
+        assertEquals("0000000000000000000000000Z", new NotificationId(0, 31).toString());
+        // El bit 64 cae en el grupo de 5 bits que cruza de la mitad baja a la alta.
+        assertEquals("0000000000000G000000000000", new NotificationId(1, 0).toString());
+    }
+
+    @Test
+    void noRepiteIdsEntreHilos() {
+        Set<String> ids = ConcurrentHashMap.newKeySet();
+        List<CompletableFuture<Void>> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            writers.add(CompletableFuture.runAsync(() -> IntStream.range(0, 5_000)
+                    .forEach(i -> ids.add(IdGenerator.monotonic().next().toString()))));
+        }
+        writers.forEach(CompletableFuture::join);
+
+        assertEquals(20_000, ids.size());
+    }
+
+    @Test
+    void elBuilderUsaElGeneradorConfiguradoSoloSiNoHayIdExplicito() {
+        IdGenerator fixed = () -> new NotificationId(0, 42);
+
+        SmsNotification generated = SmsNotification.builder().idGenerator(fixed)
+                .recipient("+5491112345678").message("hola").build();
+        SmsNotification explicit = SmsNotification.builder().idGenerator(fixed).id("propio")
+                .recipient("+5491112345678").message("hola").build();
+
+        assertEquals("0000000000000000000000001A", generated.getId());
+        assertEquals("propio", explicit.getId());
+        Set<String> distinct = new HashSet<>(IntStream.range(0, 100)
+                .mapToObj(i -> SmsNotification.builder().recipient("+5491112345678").message("x").build().getId())
+                .collect(Collectors.toList()));
+        assertEquals(100, distinct.size());
+    }
+}
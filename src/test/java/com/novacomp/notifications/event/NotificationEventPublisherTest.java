@@ -0,0 +1,154 @@
+package com.novacomp.notifications.event;
+
+import com.novacomp.notifications.config.AsyncDispatchPolicy;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationEventPublisherTest {
+
+    @Test
+    void unListenerLentoNoDemoraAlQuePublicaYRecibeLosEventosEnLotesYEnOrden() throws InterruptedException {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger batches = new AtomicInteger();
+        CountDownLatch firstBatchStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationEventListener slowListener = new NotificationEventListener() {
+            @Override
+            public void onEvent(NotificationEvent event) {
+                throw new AssertionError("en modo asincrono se entrega por lotes");
+            }
+
+            @Override
+            public void onEvents(List<NotificationEvent> events) {
+                batches.incrementAndGet();
+                firstBatchStarted.countDown();
+                await(release);
+                events.forEach(event -> received.add(event.getNotificationId()));
+            }
+        };
+        NotificationEventPublisher publisher = new NotificationEventPublisher(AsyncDispatchPolicy.defaultPolicy());
+        publisher.subscribe(slowListener);
+
+        publisher.publish(event("n-0"));
+        assertTrue(firstBatchStarted.await(5, TimeUnit.SECONDS));
+        // El listener esta bloqueado: publicar igual vuelve enseguida.
+        for (int i = 1; i < 100; i++) {
+            publisher.publish(event("n-" + i));
+        }
+        release.countDown();
+        publisher.close();
+
+        assertEquals(100, received.size());
+        for (int i = 0; i < 100; i++) {
+            assertEquals("n-" + i, received.get(i));
+        }
+        assertTrue(batches.get() < 100, "lotes=" + batches.get());
+        assertEquals(0, publisher.getDroppedCount());
+    }
+
+    @Test
+    void blockFrenaAlProductorCuandoElBufferSeLlenaSinPerderEventos() throws InterruptedException {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationEventPublisher publisher = new NotificationEventPublisher(AsyncDispatchPolicy.builder()
+                .bufferSize(4).maxBatchSize(1).overflowPolicy(OverflowPolicy.BLOCK).build());
+        publisher.subscribe(event -> {
+            await(release);
+            received.add(event.getNotificationId());
+        });
+
+        CompletableFuture<Void> producer = CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 20; i++) {
+                publisher.publish(event("n-" + i));
+            }
+        });
+
+        Thread.sleep(200);
+        assertFalse(producer.isDone());
+        release.countDown();
+        producer.join();
+        publisher.close();
+
+        assertEquals(20, received.size());
+        assertEquals("n-19", received.get(19));
+        assertEquals(0, publisher.getDroppedCount());
+    }
+
+    @Test
+    void dropOldestNuncaBloqueaYElListenerAtrasadoSalteaLosEventosPisados() throws InterruptedException {
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch firstEventSeen = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationEventPublisher publisher = new NotificationEventPublisher(AsyncDispatchPolicy.builder()
+                .bufferSize(8).maxBatchSize(1).overflowPolicy(OverflowPolicy.DROP_OLDEST).build());
+        publisher.subscribe(event -> {
+            firstEventSeen.countDown();
+            await(release);
+            received.add(event.getNotificationId());
+        });
+
+        publisher.publish(event("n-0"));
+        assertTrue(firstEventSeen.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 100; i++) {
+            publisher.publish(event("n-" + i));
+        }
+        release.countDown();
+        publisher.close();
+
+        assertEquals("n-0", received.get(0));
+        assertEquals("n-99", received.get(received.size() - 1));
+        assertEquals(100, received.size() + publisher.getDroppedCount());
+        assertTrue(received.size() <= 1 + 8);
+    }
+
+    @Test
+    void sampleDejaPasarUnaMuestraBajoPresionSinBloquear() throws InterruptedException {
+        AtomicInteger received = new AtomicInteger();
+        CountDownLatch firstEventSeen = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationEventPublisher publisher = new NotificationEventPublisher(AsyncDispatchPolicy.builder()
+                .bufferSize(64).maxBatchSize(1).overflowPolicy(OverflowPolicy.SAMPLE).sampleRate(4).build());
+        publisher.subscribe(event -> {
+            firstEventSeen.countDown();
+            await(release);
+            received.incrementAndGet();
+        });
+
+        publisher.publish(event("n-0"));
+        assertTrue(firstEventSeen.await(5, TimeUnit.SECONDS));
+        for (int i = 1; i < 1_000; i++) {
+            publisher.publish(event("n-" + i));
+        }
+        release.countDown();
+        publisher.close();
+
+        // 1 en curso + 32 hasta la mitad del buffer + 1 de cada 4 hasta llenarlo.
+        assertEquals(1 + 64, received.get());
+        assertEquals(1_000, received.get() + publisher.getDroppedCount());
+    }
+
+    private static NotificationEvent event(String id) {
+        return new NotificationEvent(id, NotificationChannel.EMAIL, NotificationStatus.SENT, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
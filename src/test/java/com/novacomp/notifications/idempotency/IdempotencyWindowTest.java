@@ -0,0 +1,56 @@
+package com.novacomp.notifications.idempotency;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class IdempotencyWindowTest {
+
+    @Test
+    void recuerdaLaClaveDuranteLaVentanaYLaOlvidaAlExpirar() {
+        AtomicLong now = new AtomicLong(1_000_000);
+        IdempotencyWindow window = IdempotencyWindow.builder()
+                .windowMillis(1_000).buckets(10).clock(now::get).build();
+
+        assertNull(window.putIfAbsent(42L, "original"));
+        now.addAndGet(850);
+        assertEquals("original", window.putIfAbsent(42L, "duplicado"));
+
+        now.addAndGet(200);
+        assertNull(window.putIfAbsent(42L, "nuevo"));
+        assertEquals(1, window.size());
+    }
+
+    @Test
+    void removeYReplaceSeComportanComoUnMapaBajoMuchasClavesQueColisionan() {
+        IdempotencyWindow window = IdempotencyWindow.builder().stripes(1).build();
+        Map<Long, Object> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 50_000; i++) {
+            // Claves chicas: mismo stripe y muchas cadenas de sondeo que se pisan.
+            long key = 1 + random.nextInt(4_096);
+            int op = random.nextInt(3);
+            if (op == 0) {
+                assertEquals(expected.putIfAbsent(key, i), window.putIfAbsent(key, i));
+            } else if (op == 1) {
+                expected.remove(key);
+                window.remove(key);
+            } else if (expected.containsKey(key)) {
+                expected.put(key, -i);
+                window.replace(key, -i);
+            }
+        }
+
+        assertEquals(expected.size(), window.size());
+        for (Map.Entry<Long, Object> entry : expected.entrySet()) {
+            assertEquals(entry.getValue(), window.putIfAbsent(entry.getKey(), "x"));
+        }
+    }
+}
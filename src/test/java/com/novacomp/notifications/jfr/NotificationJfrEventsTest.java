@@ -0,0 +1,117 @@
+package com.novacomp.notifications.jfr;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.config.RetryPolicy;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.event.NotificationEventPublisher;
+import com.novacomp.notifications.exception.ValidationException;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.email.EmailProvider;
+import com.novacomp.notifications.sender.EmailNotificationSender;
+import com.novacomp.notifications.sender.RetryableNotificationSender;
+import com.novacomp.notifications.validation.EmailValidator;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationJfrEventsTest {
+
+    private static final String PREFIX = "com.novacomp.notifications.";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void emiteEventosDeEnvioProveedorReintentoValidacionYListener() throws IOException {
+        EmailProvider provider = mock(EmailProvider.class);
+        when(provider.getProviderName()).thenReturn("SendGrid");
+        NotificationEventPublisher publisher = new NotificationEventPublisher();
+        publisher.subscribe(event -> { });
+        EmailNotificationSender sender = new EmailNotificationSender(provider, new EmailValidator(), publisher);
+        RetryableNotificationSender<EmailNotification> retrying = new RetryableNotificationSender<>(
+                sender, RetryPolicy.builder().maxAttempts(3).initialDelayMillis(1).backoffMultiplier(1.0).build());
+
+        EmailNotification email = EmailNotification.builder()
+                .id("jfr-1")
+                .recipient("cliente@dominio.com")
+                .subject("Hola")
+                .message("Cuerpo")
+                .build();
+        EmailNotification invalida = EmailNotification.builder()
+                .id("jfr-2")
+                .recipient("no-es-un-email")
+                .subject("Hola")
+                .message("Cuerpo")
+                .build();
+        when(provider.send(email)).thenReturn(ProviderResponse.failure("timeout"), ProviderResponse.success("m-1"));
+
+        Path dump = tempDir.resolve("notifications.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(PREFIX + "Send");
+            recording.enable(PREFIX + "ProviderCall");
+            recording.enable(PREFIX + "RetryAttempt");
+            recording.enable(PREFIX + "ValidationFailure");
+            recording.enable(PREFIX + "ListenerDispatch");
+            recording.start();
+
+            NotificationResult result = retrying.send(email);
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            assertThrows(ValidationException.class, () -> sender.send(invalida));
+
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+
+        List<RecordedEvent> sends = ofType(events, "Send");
+        assertEquals(2, sends.size());
+        assertEquals("EMAIL", sends.get(0).getString("channel"));
+        assertEquals("jfr-1", sends.get(0).getString("notificationId"));
+        assertEquals("SendGrid", sends.get(0).getString("provider"));
+        assertEquals(List.of("FAILED", "SENT"), strings(sends, "outcome"));
+
+        assertEquals(List.of("FAILED", "SENT"), strings(ofType(events, "ProviderCall"), "outcome"));
+
+        List<RecordedEvent> attempts = ofType(events, "RetryAttempt");
+        assertEquals(2, attempts.size());
+        assertEquals(1, attempts.get(0).getInt("attempt"));
+        assertEquals("FAILED", attempts.get(0).getString("outcome"));
+        assertEquals(2, attempts.get(1).getInt("attempt"));
+        assertEquals("SENT", attempts.get(1).getString("outcome"));
+
+        List<RecordedEvent> failures = ofType(events, "ValidationFailure");
+        assertEquals(1, failures.size());
+        assertEquals("jfr-2", failures.get(0).getString("notificationId"));
+
+        List<RecordedEvent> dispatches = ofType(events, "ListenerDispatch");
+        assertEquals(2, dispatches.size());
+        assertFalse(dispatches.get(0).getBoolean("async"));
+        assertEquals(1, dispatches.get(0).getInt("eventCount"));
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(PREFIX + name))
+                .sorted((a, b) -> a.getStartTime().compareTo(b.getStartTime()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> strings(List<RecordedEvent> events, String field) {
+        return events.stream().map(e -> e.getString(field)).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,47 @@
+package com.novacomp.notifications.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LatencyHistogramTest {
+
+    @Test
+    void losBucketsSonContiguosYCadaValorCaeEnElSuyo() {
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long low = LatencyHistogram.lowestValue(i);
+            long high = LatencyHistogram.highestValue(i);
+            assertEquals(i, LatencyHistogram.indexOf(low));
+            assertEquals(i, LatencyHistogram.indexOf(high));
+            if (i > 0) {
+                assertEquals(LatencyHistogram.highestValue(i - 1) + 1, low);
+            }
+        }
+    }
+
+    @Test
+    void losPercentilesTienenMenosDe4PorCientoDeErrorRelativo() {
+        Random random = new Random(3);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] samples = new long[100_000];
+        for (int i = 0; i < samples.length; i++) {
+            // Log-normal alrededor de ~2 ms, con cola larga: parecido a latencias de un proveedor HTTP.
+            samples[i] = (long) Math.exp(14.5 + random.nextGaussian());
+            histogram.record(samples[i]);
+        }
+        Arrays.sort(samples);
+        HistogramSnapshot snapshot = histogram.snapshot();
+
+        assertEquals(samples.length, snapshot.getCount());
+        for (double percentile : new double[] {50, 90, 99, 99.9, 100}) {
+            long exact = samples[(int) Math.ceil(percentile / 100 * samples.length) - 1];
+            long estimated = snapshot.getValueAtPercentile(percentile);
+            assertTrue(estimated >= exact && estimated <= exact * 1.04,
+                    "p" + percentile + ": exacto " + exact + ", estimado " + estimated);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.novacomp.notifications.outbox;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.core.NotificationPriority;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DurableOutboxTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recuperaAlReabrirLasEntradasSinAckConTodosSusCampos() {
+        EmailNotification email = EmailNotification.builder()
+                .id("n-1").recipient("cliente@dominio.com").subject("Hola").message("Cuerpo")
+                .htmlBody("<p>Cuerpo</p>").attachmentNames(List.of("factura.pdf"))
+                .metadata(Map.of("campania", "otonio")).build();
+        SmsNotification sms = SmsNotification.builder()
+                .recipient("+5491112345678").message("Codigo 1234").build();
+        PushNotification push = PushNotification.builder()
+                .id("n-3").recipient("token-abc").title("Titulo").message("Mensaje")
+                .data(Map.of("deepLink", "app://pedido/7")).priority(NotificationPriority.HIGH).build();
+
+        try (DurableOutbox outbox = DurableOutbox.builder().directory(directory).build()) {
+            outbox.append(email).join();
+            long smsSeq = outbox.append(sms).join();
+            outbox.append(push).join();
+            outbox.ack(smsSeq);
+        }
+
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(directory).build()) {
+            List<DurableOutbox.Entry> entries = reopened.takeRecovered();
+
+            assertEquals(2, entries.size());
+            assertEquals(2, reopened.getPendingCount());
+            EmailNotification recoveredEmail = (EmailNotification) entries.get(0).getNotification();
+            assertEquals("n-1", recoveredEmail.getId());
+            assertEquals("Hola", recoveredEmail.getSubject());
+            assertEquals("<p>Cuerpo</p>", recoveredEmail.getHtmlBody());
+            assertEquals(List.of("factura.pdf"), recoveredEmail.getAttachmentNames());
+            assertEquals(Map.of("campania", "otonio"), recoveredEmail.getMetadata());
+            PushNotification recoveredPush = (PushNotification) entries.get(1).getNotification();
+            assertEquals("n-3", recoveredPush.getId());
+            assertEquals(Map.of("deepLink", "app://pedido/7"), recoveredPush.getData());
+            assertEquals(NotificationPriority.HIGH, recoveredPush.getPriority());
+            assertEquals(NotificationPriority.NORMAL, recoveredEmail.getPriority());
+            assertTrue(reopened.takeRecovered().isEmpty());
+        }
+    }
+
+    @Test
+    void ignoraUnRegistroInterrumpidoAlFinalDelSegmento() throws IOException {
+        try (DurableOutbox outbox = DurableOutbox.builder().directory(directory).build()) {
+            outbox.append(sms("primero")).join();
+            outbox.append(sms("segundo")).join();
+        }
+        // Simula una escritura a medias: se corrompe un byte del segundo registro.
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            int firstRecordSize = header.getInt(0);
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), firstRecordSize + 20);
+        }
+
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(directory).build()) {
+            List<DurableOutbox.Entry> entries = reopened.takeRecovered();
+
+            assertEquals(1, entries.size());
+            assertEquals("primero", entries.get(0).getNotification().getMessage());
+        }
+    }
+
+    @Test
+    void alReabrirSigueEscribiendoEnElUltimoSegmentoDespuesDelUltimoRegistroValido() throws IOException {
+        try (DurableOutbox outbox = DurableOutbox.builder().directory(directory).build()) {
+            outbox.append(sms("primero")).join();
+            outbox.append(sms("segundo")).join();
+            // Llego a disco aunque el anterior quedo a medias (paginas escritas fuera de orden).
+            outbox.append(sms("huerfan")).join();
+        }
+        Path segment = segmentFiles().get(0);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(4);
+            channel.read(header, 0);
+            channel.write(ByteBuffer.wrap(new byte[]{0x7f}), header.getInt(0) + 20);
+        }
+
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(directory).build()) {
+            reopened.append(sms("tercero")).join();
+        }
+
+        assertEquals(List.of(segment), segmentFiles());
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(directory).build()) {
+            // Lo que seguia al registro roto no reaparece detras del nuevo.
+            assertEquals(List.of("primero", "tercero"), reopened.takeRecovered().stream()
+                    .map(entry -> entry.getNotification().getMessage())
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void borraLosSegmentosCuyasEntradasTienenTodasAck() throws IOException {
+        try (DurableOutbox outbox = DurableOutbox.builder().directory(directory).segmentSizeBytes(1024).build()) {
+            List<Long> seqs = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                seqs.add(outbox.append(sms("mensaje " + i)).join());
+            }
+            assertTrue(segmentFiles().size() > 1);
+
+            seqs.forEach(outbox::ack);
+
+            assertEquals(1, segmentFiles().size());
+            assertEquals(0, outbox.getPendingCount());
+        }
+    }
+
+    @Test
+    void siNoSePuedeCrearElSegmentoNuevoSoloFallaEsaEscritura() throws IOException {
+        String largo = "x".repeat(600);
+        try (DurableOutbox outbox = DurableOutbox.builder().directory(directory).segmentSizeBytes(1024).build()) {
+            // El nombre del proximo segmento ya esta ocupado: crearlo falla al rotar.
+            Path bloqueo = directory.resolve("outbox-000000000002.log");
+            Files.createFile(bloqueo);
+            outbox.append(sms(largo)).join();
+
+            assertThrows(UncheckedIOException.class, () -> outbox.append(sms(largo)));
+
+            // El segmento activo sigue usable para lo que todavia entra en el.
+            outbox.append(sms("corto")).join();
+            Files.delete(bloqueo);
+            outbox.append(sms(largo)).join();
+        }
+
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(directory).segmentSizeBytes(1024).build()) {
+            assertEquals(List.of(largo, "corto", largo), reopened.takeRecovered().stream()
+                    .map(entry -> entry.getNotification().getMessage())
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    @Test
+    void unaEntradaProgramadaLejanaNoRetieneLosSegmentosPosteriores() throws IOException {
+        Instant dueAt = Instant.now().plus(30, ChronoUnit.DAYS).truncatedTo(ChronoUnit.MILLIS);
+        try (DurableOutbox outbox = DurableOutbox.builder().directory(directory).segmentSizeBytes(1024).build()) {
+            outbox.append(sms("recordatorio"), dueAt).join();
+            for (int i = 0; i < 200; i++) {
+                outbox.ack(outbox.append(sms("mensaje " + i)).join());
+            }
+
+            assertTrue(segmentFiles().size() <= 2, "segmentos=" + segmentFiles().size());
+            assertEquals(1, outbox.getPendingCount());
+        }
+
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(directory).segmentSizeBytes(1024).build()) {
+            List<DurableOutbox.Entry> entries = reopened.takeRecovered();
+
+            assertEquals(1, entries.size());
+            assertEquals("recordatorio", entries.get(0).getNotification().getMessage());
+            assertEquals(dueAt, entries.get(0).getDueAt());
+
+            // El ack de la copia la termina: no vuelve a aparecer al reabrir.
+            reopened.ack(entries.get(0).getSequence());
+        }
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(directory).segmentSizeBytes(1024).build()) {
+            assertTrue(reopened.takeRecovered().isEmpty());
+        }
+    }
+
+    @Test
+    void agrupaLosFsyncDeEscritoresConcurrentes() {
+        int writers = 8;
+        int appendsPerWriter = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try (DurableOutbox outbox = DurableOutbox.builder().directory(directory).build()) {
+            List<CompletableFuture<Void>> done = new ArrayList<>();
+            for (int w = 0; w < writers; w++) {
+                done.add(CompletableFuture.runAsync(() -> {
+                    List<CompletableFuture<Long>> appends = new ArrayList<>();
+                    for (int i = 0; i < appendsPerWriter; i++) {
+                        appends.add(outbox.append(sms("campania")));
+                    }
+                    appends.forEach(CompletableFuture::join);
+                }, pool));
+            }
+            done.forEach(CompletableFuture::join);
+
+            assertEquals(writers * appendsPerWriter, outbox.getPendingCount());
+            assertTrue(outbox.getSyncCount() < writers * appendsPerWriter,
+                    "syncs=" + outbox.getSyncCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static SmsNotification sms(String message) {
+        return SmsNotification.builder().recipient("+5491112345678").message(message).build();
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.novacomp.notifications.provider.routing;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.email.EmailProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProviderRouterTest {
+
+    @Mock
+    private EmailProvider sendGrid;
+
+    @Mock
+    private EmailProvider mailgun;
+
+    private final EmailNotification email = EmailNotification.builder()
+            .recipient("cliente@dominio.com").subject("Hola").message("Cuerpo").build();
+
+    @Test
+    void haceFailoverAlSiguienteProveedorDentroDelMismoEnvio() {
+        lenient().when(sendGrid.getProviderName()).thenReturn("SendGrid");
+        lenient().when(mailgun.getProviderName()).thenReturn("Mailgun");
+        when(sendGrid.send(email)).thenThrow(new IllegalStateException("503 Service Unavailable"));
+        when(mailgun.send(email)).thenReturn(ProviderResponse.success("mg-1"));
+
+        RoutingEmailProvider routing = new RoutingEmailProvider(ProviderRouter.<EmailProvider>builder()
+                .strategy(RoutingStrategy.WEIGHTED_ROUND_ROBIN)
+                .add(sendGrid, "SendGrid", 1)
+                .add(mailgun, "Mailgun", 1)
+                .build());
+
+        // Round-robin arranca en SendGrid, que falla: el mismo envio sale por Mailgun.
+        ProviderResponse response = routing.send(email);
+
+        assertTrue(response.isSuccess());
+        assertEquals("mg-1", response.getProviderMessageId());
+        assertEquals(1.0 * 0.2, routing.getRouter().getRoutes().get(0).getEwmaErrorRate(), 1e-9);
+    }
+
+    @Test
+    void sendAsyncHaceFailoverCuandoLaEtapaDelProveedorFalla() {
+        when(sendGrid.isAsyncNative()).thenReturn(true);
+        when(mailgun.isAsyncNative()).thenReturn(true);
+        CompletableFuture<ProviderResponse> sendGridCall = new CompletableFuture<>();
+        when(sendGrid.sendAsync(email)).thenReturn(sendGridCall);
+        when(mailgun.sendAsync(email)).thenReturn(CompletableFuture.completedFuture(ProviderResponse.success("mg-1")));
+
+        RoutingEmailProvider routing = new RoutingEmailProvider(ProviderRouter.<EmailProvider>builder()
+                .strategy(RoutingStrategy.WEIGHTED_ROUND_ROBIN)
+                .add(sendGrid, "SendGrid", 1)
+                .add(mailgun, "Mailgun", 1)
+                .build());
+
+        CompletableFuture<ProviderResponse> response = routing.sendAsync(email).toCompletableFuture();
+        assertTrue(routing.isAsyncNative());
+        assertTrue(!response.isDone());
+
+        // El failover a Mailgun recien ocurre cuando falla la etapa de SendGrid.
+        sendGridCall.completeExceptionally(new IllegalStateException("503 Service Unavailable"));
+
+        assertEquals("mg-1", response.join().getProviderMessageId());
+        assertEquals(1.0 * 0.2, routing.getRouter().getRoutes().get(0).getEwmaErrorRate(), 1e-9);
+    }
+
+    @Test
+    void latencyAwarePrefiereAlProveedorMasRapido() {
+        ProviderRouter<String> router = ProviderRouter.<String>builder()
+                .strategy(RoutingStrategy.LATENCY_AWARE)
+                .exploreRatio(0)
+                .add("lento", "lento")
+                .add("rapido", "rapido")
+                .build();
+
+        // Calentamiento: una muestra por proveedor.
+        router.getRoutes().get(0).record(50_000_000L, true);
+        router.getRoutes().get(1).record(5_000_000L, true);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals("rapido", router.route(provider -> provider, provider -> true));
+        }
+    }
+
+    @Test
+    void latencyAwarePenalizaAlProveedorQueFalla() {
+        ProviderRouter<String> router = ProviderRouter.<String>builder()
+                .exploreRatio(0)
+                .add("rapidoPeroFallando", "a")
+                .add("masLento", "b")
+                .build();
+
+        router.getRoutes().get(0).record(5_000_000L, false);
+        router.getRoutes().get(1).record(12_000_000L, true);
+
+        assertEquals("masLento", router.order().get(0).getProvider());
+    }
+
+    @Test
+    void unProveedorQueFallaRapidoNoLeGanaAUnoSanoMasLento() {
+        ProviderRouter<String> router = ProviderRouter.<String>builder()
+                .exploreRatio(0)
+                .add("fallaEn1ms", "a")
+                .add("sanoEn50ms", "b")
+                .build();
+
+        for (int i = 0; i < 50; i++) {
+            router.getRoutes().get(0).record(1_000_000L, false);
+            router.getRoutes().get(1).record(50_000_000L, true);
+        }
+
+        assertEquals(1.0, router.getRoutes().get(0).getEwmaErrorRate(), 1e-3);
+        assertEquals("sanoEn50ms", router.order().get(0).getProvider());
+    }
+
+    @Test
+    void unRechazoDelDestinatarioCortaElFailover() {
+        lenient().when(sendGrid.getProviderName()).thenReturn("SendGrid");
+        lenient().when(mailgun.getProviderName()).thenReturn("Mailgun");
+        when(sendGrid.send(email)).thenReturn(ProviderResponse.recipientRejected("550 mailbox unavailable"));
+
+        RoutingEmailProvider routing = new RoutingEmailProvider(ProviderRouter.<EmailProvider>builder()
+                .strategy(RoutingStrategy.WEIGHTED_ROUND_ROBIN)
+                .add(sendGrid, "SendGrid", 1)
+                .add(mailgun, "Mailgun", 1)
+                .build());
+
+        ProviderResponse response = routing.send(email);
+
+        assertTrue(response.isRecipientRejected());
+        verify(mailgun, never()).send(email);
+        assertEquals(0.0, routing.getRouter().getRoutes().get(0).getEwmaErrorRate(), 1e-9);
+    }
+
+    @Test
+    void sendAsyncTampocoHaceFailoverAnteUnRechazoDelDestinatario() {
+        when(sendGrid.isAsyncNative()).thenReturn(true);
+        when(mailgun.isAsyncNative()).thenReturn(true);
+        when(sendGrid.sendAsync(email)).thenReturn(CompletableFuture.completedFuture(
+                ProviderResponse.recipientRejected("550 mailbox unavailable")));
+
+        RoutingEmailProvider routing = new RoutingEmailProvider(ProviderRouter.<EmailProvider>builder()
+                .strategy(RoutingStrategy.WEIGHTED_ROUND_ROBIN)
+                .add(sendGrid, "SendGrid", 1)
+                .add(mailgun, "Mailgun", 1)
+                .build());
+
+        assertTrue(routing.isAsyncNative());
+        assertTrue(routing.sendAsync(email).toCompletableFuture().join().isRecipientRejected());
+        verify(mailgun, never()).sendAsync(email);
+    }
+
+    @Test
+    void roundRobinPonderadoRespetaLosPesos() {
+        ProviderRouter<String> router = ProviderRouter.<String>builder()
+                .strategy(RoutingStrategy.WEIGHTED_ROUND_ROBIN)
+                .add("sendgrid", "sendgrid", 3)
+                .add("mailgun", "mailgun", 1)
+                .build();
+
+        Map<String, Integer> elegidos = new HashMap<>();
+        for (int i = 0; i < 400; i++) {
+            elegidos.merge(router.route(provider -> provider, provider -> true), 1, Integer::sum);
+        }
+
+        assertEquals(300, elegidos.get("sendgrid"));
+        assertEquals(100, elegidos.get("mailgun"));
+    }
+}
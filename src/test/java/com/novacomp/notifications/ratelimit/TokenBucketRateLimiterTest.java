@@ -0,0 +1,55 @@
+package com.novacomp.notifications.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketRateLimiterTest {
+
+    @Test
+    void permiteLaRafagaConfiguradaYLuegoEspaciaLosTokens() {
+        TokenBucketRateLimiter limiter = TokenBucketRateLimiter.builder()
+                .permitsPerSecond(10)
+                .burst(3)
+                .build();
+
+        assertEquals(0, limiter.reserve("webhook"));
+        assertEquals(0, limiter.reserve("webhook"));
+        assertEquals(0, limiter.reserve("webhook"));
+
+        long espera = limiter.reserve("webhook");
+        assertTrue(espera > TimeUnit.MILLISECONDS.toNanos(50) && espera <= TimeUnit.MILLISECONDS.toNanos(100),
+                "el cuarto token deberia esperar ~100ms, espero " + espera + "ns");
+        assertEquals(1, limiter.getThrottledCount());
+    }
+
+    @Test
+    void cadaClaveTieneSuPropioBucket() {
+        TokenBucketRateLimiter limiter = TokenBucketRateLimiter.builder()
+                .permitsPerSecond(1)
+                .burst(1)
+                .build();
+
+        assertEquals(0, limiter.reserve("+15005550006"));
+        assertEquals(0, limiter.reserve("+15005550007"));
+        assertTrue(limiter.reserve("+15005550006") > 0);
+    }
+
+    @Test
+    void rechazaSinReservarCuandoLaEsperaSuperaElMaximo() {
+        TokenBucketRateLimiter limiter = TokenBucketRateLimiter.builder()
+                .permitsPerSecond(1)
+                .burst(1)
+                .maxWaitMillis(100)
+                .build();
+
+        assertEquals(0, limiter.reserve("slack"));
+        assertEquals(TokenBucketRateLimiter.REJECTED, limiter.reserve("slack"));
+        assertEquals(TokenBucketRateLimiter.REJECTED, limiter.reserve("slack"));
+        assertEquals(2, limiter.getRejectedCount());
+        assertEquals(1, limiter.getPermitsGranted());
+    }
+}
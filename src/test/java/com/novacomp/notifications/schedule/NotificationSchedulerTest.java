@@ -0,0 +1,95 @@
+package com.novacomp.notifications.schedule;
+
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationSchedulerTest {
+
+    private static final long START = 1_700_000_000_000L;
+
+    private final AtomicLong now = new AtomicLong(START);
+    private final List<List<ScheduledNotification>> batches = new ArrayList<>();
+
+    private final NotificationScheduler scheduler = NotificationScheduler.builder()
+            .tickMillis(10)
+            .wheelSize(8)
+            .maxBatchSize(3)
+            .onDue(batch -> batches.add(List.copyOf(batch)))
+            .clock(now::get)
+            .buildStopped();
+
+    @Test
+    void cadaNotificacionSaleEnElPrimerTickPosteriorASuVencimientoAunqueCruceNiveles() {
+        Random random = new Random(11);
+        List<ScheduledNotification> scheduled = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            // Hasta ~3 horas: con tick de 10 ms y 8 buckets eso usa 7 niveles de la rueda.
+            long delay = 10 + (long) random.nextInt(3 * 3_600_000);
+            scheduled.add(scheduler.schedule(sms(), Instant.ofEpochMilli(START + delay)));
+        }
+        assertEquals(2_000, scheduler.getPendingCount());
+
+        List<ScheduledNotification> released = new ArrayList<>();
+        while (scheduler.getPendingCount() > 0) {
+            now.addAndGet(10);
+            scheduler.tick();
+            for (List<ScheduledNotification> batch : batches) {
+                for (ScheduledNotification task : batch) {
+                    long due = task.getDueAt().toEpochMilli();
+                    assertTrue(due <= now.get() && now.get() < due + 10,
+                            "vencia en " + due + " y salio en " + now.get());
+                    released.add(task);
+                }
+            }
+            batches.clear();
+        }
+        assertEquals(2_000, released.size());
+    }
+
+    @Test
+    void cancelarSacaLaNotificacionDeLaRuedaSinEnviarla() {
+        ScheduledNotification kept = scheduler.schedule(sms(), Instant.ofEpochMilli(START + 5_000));
+        ScheduledNotification cancelled = scheduler.schedule(sms(), Instant.ofEpochMilli(START + 5_000));
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        assertTrue(cancelled.getResult().isCancelled());
+        assertEquals(1, scheduler.getPendingCount());
+
+        now.addAndGet(5_000);
+        scheduler.tick();
+
+        assertEquals(List.of(List.of(kept)), batches);
+        assertFalse(kept.cancel());
+    }
+
+    @Test
+    void entregaLoVencidoEnLotesAcotados() {
+        for (int i = 0; i < 7; i++) {
+            scheduler.schedule(sms(), Instant.ofEpochMilli(START + 100));
+        }
+        ScheduledNotification overdue = scheduler.schedule(sms(), Instant.ofEpochMilli(START - 1));
+        assertEquals(List.of(List.of(overdue)), batches);
+        batches.clear();
+
+        now.addAndGet(100);
+        scheduler.tick();
+
+        assertEquals(List.of(3, 3, 1), batches.stream().map(List::size).collect(Collectors.toList()));
+    }
+
+    private static SmsNotification sms() {
+        return SmsNotification.builder().recipient("+5491112345678").message("Recordatorio").build();
+    }
+}
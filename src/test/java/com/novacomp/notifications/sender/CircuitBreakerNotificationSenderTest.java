@@ -0,0 +1,72 @@
+package com.novacomp.notifications.sender;
+
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.circuitbreaker.CircuitState;
+import com.novacomp.notifications.config.CircuitBreakerPolicy;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerNotificationSenderTest {
+
+    @Mock
+    private NotificationSender<SmsNotification> delegate;
+
+    private final SmsNotification sms = SmsNotification.builder()
+            .recipient("+51987654321")
+            .message("Hola")
+            .build();
+
+    @Test
+    void losDestinatariosSuprimidosNoGastanLasPruebasDeSemiAbierto() throws InterruptedException {
+        when(delegate.getChannel()).thenReturn(NotificationChannel.SMS);
+        when(delegate.send(sms)).thenReturn(
+                result(NotificationStatus.FAILED), result(NotificationStatus.FAILED),
+                result(NotificationStatus.SUPPRESSED), result(NotificationStatus.SUPPRESSED),
+                result(NotificationStatus.SUPPRESSED),
+                result(NotificationStatus.SENT), result(NotificationStatus.SENT));
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.builder()
+                .failureRateThreshold(0.5)
+                .minimumCalls(2)
+                .openDurationMillis(50)
+                .halfOpenProbes(2)
+                .build();
+        CircuitBreakerNotificationSender<SmsNotification> sender =
+                new CircuitBreakerNotificationSender<>(delegate, policy);
+
+        sender.send(sms);
+        sender.send(sms);
+        assertEquals(CircuitState.OPEN, sender.getState());
+        Thread.sleep(100);
+
+        // Mas suprimidos que pruebas: ninguno debe quedarse con una.
+        for (int i = 0; i < 3; i++) {
+            assertEquals(NotificationStatus.SUPPRESSED, sender.send(sms).getStatus());
+        }
+        assertEquals(CircuitState.HALF_OPEN, sender.getState());
+        sender.send(sms);
+        sender.send(sms);
+
+        assertEquals(CircuitState.CLOSED, sender.getState());
+        verify(delegate, times(7)).send(sms);
+    }
+
+    private NotificationResult result(NotificationStatus status) {
+        return NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(status)
+                .attempts(status == NotificationStatus.SUPPRESSED ? 0 : 1)
+                .build();
+    }
+}
@@ -7,14 +7,27 @@ import com.novacomp.notifications.event.NotificationEventPublisher;
 import com.novacomp.notifications.exception.ValidationException;
 import com.novacomp.notifications.provider.ProviderResponse;
 import com.novacomp.notifications.provider.email.EmailProvider;
+import com.novacomp.notifications.suppression.SuppressionList;
 import com.novacomp.notifications.validation.EmailValidator;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -76,4 +89,105 @@ class EmailNotificationSenderTest {
 
         assertThrows(ValidationException.class, () -> sender.send(emailInvalido));
     }
+
+    @Test
+    void unRechazoPermanenteSuprimeAlDestinatarioYLosEnviosSiguientesNoLlamanAlProveedor() {
+        SuppressionList suppressions = SuppressionList.builder().expectedEntries(1_000).build();
+        EmailNotificationSender sender = new EmailNotificationSender(provider, new EmailValidator(),
+                SenderOptions.builder()
+                        .eventPublisher(new NotificationEventPublisher())
+                        .executor(Runnable::run)
+                        .suppressions(suppressions)
+                        .build());
+        EmailNotification email = EmailNotification.builder()
+                .recipient("Rebota@Dominio.com").subject("Hola").message("Cuerpo").build();
+        when(provider.send(email)).thenReturn(ProviderResponse.recipientRejected("550 mailbox unavailable"));
+
+        assertEquals(NotificationStatus.FAILED, sender.send(email).getStatus());
+        NotificationResult second = sender.send(email);
+        EmailNotification sameAddress = EmailNotification.builder()
+                .recipient("REBOTA@dominio.com").subject("Otro").message("Cuerpo").build();
+        List<NotificationResult> bulk = sender.sendBulk(List.of(sameAddress));
+
+        assertEquals(NotificationStatus.SUPPRESSED, second.getStatus());
+        assertEquals(0, second.getAttempts());
+        assertEquals(NotificationStatus.SUPPRESSED, bulk.get(0).getStatus());
+        verify(provider, times(1)).send(any());
+        verify(provider, never()).sendBulk(anyList());
+    }
+
+    @Test
+    void sendBulkAgrupaPorContenidoYRespetaElMaximoPorRequest() {
+        EmailNotificationSender sender =
+                new EmailNotificationSender(provider, new EmailValidator(), new NotificationEventPublisher());
+
+        List<EmailNotification> lote = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            lote.add(EmailNotification.builder()
+                    .recipient("user" + i + "@dominio.com")
+                    .subject(i % 2 == 0 ? "Promo A" : "Promo B")
+                    .message("Cuerpo")
+                    .build());
+        }
+
+        when(provider.getMaxBulkSize()).thenReturn(2);
+        when(provider.sendBulk(anyList())).thenAnswer(invocation -> {
+            List<EmailNotification> request = invocation.getArgument(0);
+            return request.stream()
+                    .map(email -> ProviderResponse.success("bulk-" + email.getSubject()))
+                    .collect(Collectors.toList());
+        });
+
+        List<NotificationResult> results = sender.sendBulk(lote);
+
+        // "Promo A": 3 destinatarios -> 2 requests; "Promo B": 2 destinatarios -> 1 request.
+        verify(provider, times(3)).sendBulk(anyList());
+        verify(provider, never()).send(any());
+        assertEquals(5, results.size());
+        for (int i = 0; i < lote.size(); i++) {
+            assertEquals(lote.get(i).getId(), results.get(i).getNotificationId());
+            assertEquals("bulk-" + lote.get(i).getSubject(), results.get(i).getProviderMessageId());
+        }
+    }
+
+    @Test
+    void sendAsyncConProveedorAsincronoNoPasaPorElExecutorYCompletaConLaEtapa() {
+        Executor sinHilos = command -> {
+            throw new RejectedExecutionException("sendAsync no deberia usar el executor");
+        };
+        List<NotificationStatus> eventos = new ArrayList<>();
+        NotificationEventPublisher publisher = new NotificationEventPublisher();
+        publisher.subscribe(event -> eventos.add(event.getStatus()));
+        EmailNotificationSender sender =
+                new EmailNotificationSender(provider, new EmailValidator(), publisher, sinHilos);
+
+        EmailNotification email = EmailNotification.builder()
+                .recipient("cliente@dominio.com")
+                .subject("Hola")
+                .message("Cuerpo")
+                .build();
+        EmailNotification otro = EmailNotification.builder()
+                .recipient("otro@dominio.com")
+                .subject("Hola")
+                .message("Cuerpo")
+                .build();
+
+        CompletableFuture<ProviderResponse> respuesta = new CompletableFuture<>();
+        when(provider.isAsyncNative()).thenReturn(true);
+        when(provider.sendAsync(email)).thenReturn(respuesta);
+        when(provider.sendAsync(otro))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("reset")));
+
+        CompletableFuture<NotificationResult> enVuelo = sender.sendAsync(email);
+        NotificationResult fallido = sender.sendAsync(otro).join();
+
+        assertFalse(enVuelo.isDone());
+        respuesta.complete(ProviderResponse.success("provider-id-123"));
+        assertEquals(NotificationStatus.SENT, enVuelo.join().getStatus());
+        assertEquals("provider-id-123", enVuelo.join().getProviderMessageId());
+        assertEquals(NotificationStatus.FAILED, fallido.getStatus());
+        assertEquals("reset", fallido.getErrorMessage());
+        assertEquals(List.of(NotificationStatus.FAILED, NotificationStatus.SENT), eventos);
+        verify(provider, never()).send(any());
+    }
 }
@@ -0,0 +1,98 @@
+package com.novacomp.notifications.sender;
+
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.idempotency.IdempotencyKey;
+import com.novacomp.notifications.idempotency.IdempotencyWindow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotentNotificationSenderTest {
+
+    @Mock
+    private NotificationSender<SmsNotification> delegate;
+
+    private final SmsNotification sms = SmsNotification.builder()
+            .id("pedido-1")
+            .recipient("+51987654321")
+            .message("Tu pedido salio")
+            .build();
+
+    @Test
+    void unReintentoConElMismoIdDevuelveElResultadoOriginalSinLlamarAlProveedor() {
+        NotificationResult exito = result(NotificationStatus.SENT);
+        when(delegate.send(sms)).thenReturn(exito);
+        IdempotentNotificationSender<SmsNotification> sender = new IdempotentNotificationSender<>(
+                delegate, IdempotencyWindow.builder().build(), IdempotencyKey.NOTIFICATION_ID);
+
+        sender.send(sms);
+        NotificationResult duplicado = sender.send(sms);
+
+        assertSame(exito, duplicado);
+        assertEquals(1, sender.getDuplicateCount());
+        verify(delegate, times(1)).send(sms);
+    }
+
+    @Test
+    void unEnvioFallidoNoSeRecuerdaYElSiguienteIntentoSeEnvia() {
+        when(delegate.send(sms)).thenReturn(result(NotificationStatus.FAILED), result(NotificationStatus.SENT));
+        IdempotentNotificationSender<SmsNotification> sender = new IdempotentNotificationSender<>(
+                delegate, IdempotencyWindow.builder().build(), IdempotencyKey.NOTIFICATION_ID);
+
+        sender.send(sms);
+        NotificationResult segundo = sender.send(sms);
+
+        assertEquals(NotificationStatus.SENT, segundo.getStatus());
+        assertEquals(0, sender.getDuplicateCount());
+        verify(delegate, times(2)).send(sms);
+    }
+
+    @Test
+    void porContenidoUnLoteSoloEnviaLosMensajesDistintos() {
+        SmsNotification otroId = SmsNotification.builder()
+                .recipient(sms.getRecipient())
+                .message(sms.getMessage())
+                .build();
+        SmsNotification distinto = SmsNotification.builder()
+                .recipient(sms.getRecipient())
+                .message("Otro mensaje")
+                .build();
+        when(delegate.sendBulk(any())).thenAnswer(invocation -> {
+            List<SmsNotification> lote = invocation.getArgument(0);
+            return lote.stream().map(n -> result(NotificationStatus.SENT)).collect(Collectors.toList());
+        });
+        IdempotentNotificationSender<SmsNotification> sender = new IdempotentNotificationSender<>(
+                delegate, IdempotencyWindow.builder().build(), IdempotencyKey.CONTENT);
+
+        List<NotificationResult> results = sender.sendBulk(List.of(sms, otroId, distinto));
+
+        assertEquals(3, results.size());
+        assertSame(results.get(0), results.get(1));
+        assertEquals(1, sender.getDuplicateCount());
+        verify(delegate).sendBulk(List.of(sms, distinto));
+    }
+
+    private NotificationResult result(NotificationStatus status) {
+        return NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(status)
+                .attempts(1)
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.novacomp.notifications.sender;
+
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.ratelimit.TokenBucketRateLimiter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitedNotificationSenderTest {
+
+    @Mock
+    private NotificationSender<SmsNotification> delegate;
+
+    private final SmsNotification sms = SmsNotification.builder()
+            .recipient("+51987654321")
+            .message("Tu codigo es 1234")
+            .build();
+
+    @Test
+    void siElDelegadoFallaAlAgendarseElFuturoCompletaConElError() {
+        when(delegate.sendAsync(sms))
+                .thenReturn(CompletableFuture.completedFuture(result()))
+                .thenThrow(new RejectedExecutionException("executor cerrado"));
+        RateLimitedNotificationSender<SmsNotification> sender = new RateLimitedNotificationSender<>(
+                delegate, TokenBucketRateLimiter.builder().permitsPerSecond(20).burst(1).build());
+
+        sender.sendAsync(sms).join();
+        CompletableFuture<NotificationResult> demorado = sender.sendAsync(sms);
+
+        CompletionException error = assertThrows(CompletionException.class,
+                () -> demorado.orTimeout(5, TimeUnit.SECONDS).join());
+        assertInstanceOf(RejectedExecutionException.class, error.getCause());
+    }
+
+    @Test
+    void cancelarAntesDeSuTurnoDevuelveElTokenYNoEnvia() throws InterruptedException {
+        when(delegate.sendAsync(sms)).thenReturn(CompletableFuture.completedFuture(result()));
+        TokenBucketRateLimiter limiter = TokenBucketRateLimiter.builder()
+                .permitsPerSecond(5).burst(1).maxWaitMillis(10_000).build();
+        RateLimitedNotificationSender<SmsNotification> sender = new RateLimitedNotificationSender<>(delegate, limiter);
+
+        sender.sendAsync(sms).join();
+        CompletableFuture<NotificationResult> demorado = sender.sendAsync(sms);
+        demorado.cancel(false);
+
+        // Sin el reembolso, el proximo token esperaria dos turnos (~400ms) en vez de uno.
+        long espera = limiter.reserve(NotificationChannel.SMS.name());
+        assertTrue(espera <= TimeUnit.MILLISECONDS.toNanos(200), "espera " + espera + "ns");
+        Thread.sleep(300);
+        verify(delegate, times(1)).sendAsync(sms);
+    }
+
+    @Test
+    void siUnaClaveDelLoteSeRechazaLasAnterioresRecuperanSusTokens() {
+        TokenBucketRateLimiter limiter = TokenBucketRateLimiter.builder()
+                .permitsPerSecond(1).burst(2).maxWaitMillis(0).build();
+        RateLimitedNotificationSender<SmsNotification> sender =
+                new RateLimitedNotificationSender<>(delegate, limiter, SmsNotification::getRecipient);
+        SmsNotification otro = SmsNotification.builder().recipient("+51911111111").message("Hola").build();
+        assertEquals(0, limiter.reserve(otro.getRecipient(), 2));
+
+        List<NotificationResult> resultados = sender.sendBulk(List.of(sms, otro));
+
+        assertTrue(resultados.stream().allMatch(r -> r.getStatus() == NotificationStatus.FAILED));
+        verify(delegate, never()).sendBulk(anyList());
+        // Sin el reembolso quedaria un solo token para la primera clave y esto se rechazaria.
+        assertEquals(0, limiter.reserve(sms.getRecipient(), 2));
+    }
+
+    private NotificationResult result() {
+        return NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.SENT)
+                .attempts(1)
+                .build();
+    }
+}
@@ -10,7 +10,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -78,4 +87,116 @@ class RetryableNotificationSenderTest {
         assertEquals(2, result.getAttempts());
         verify(delegate, times(2)).send(sms);
     }
+
+    @Test
+    void sendBulkNoLeSumaIntentosAUnResultadoFinalDelPrimerIntento() {
+        SmsNotification suprimido = SmsNotification.builder()
+                .recipient("+51911111111")
+                .message("Hola")
+                .build();
+        NotificationResult sinEnviar = NotificationResult.builder()
+                .notificationId(suprimido.getId())
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.SUPPRESSED)
+                .attempts(0)
+                .build();
+        NotificationResult fallo = NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.FAILED)
+                .errorMessage("timeout")
+                .attempts(1)
+                .build();
+        NotificationResult exito = NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.SENT)
+                .attempts(1)
+                .build();
+
+        when(delegate.sendBulk(List.of(suprimido, sms))).thenReturn(List.of(sinEnviar, fallo));
+        when(delegate.sendBulk(List.of(sms))).thenReturn(List.of(exito));
+
+        RetryableNotificationSender<SmsNotification> retrySender = new RetryableNotificationSender<>(
+                delegate,
+                RetryPolicy.builder().maxAttempts(3).initialDelayMillis(1).backoffMultiplier(1.0).build());
+
+        List<NotificationResult> results = retrySender.sendBulk(List.of(suprimido, sms));
+
+        assertSame(sinEnviar, results.get(0));
+        assertEquals(0, results.get(0).getAttempts());
+        assertEquals(NotificationStatus.SENT, results.get(1).getStatus());
+        assertEquals(2, results.get(1).getAttempts());
+    }
+
+    @Test
+    void sendAsyncAgendaLosReintentosSinBloquearYReportaLosIntentos() {
+        NotificationResult fallo = NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.FAILED)
+                .errorMessage("timeout")
+                .build();
+        NotificationResult exito = NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.SENT)
+                .providerMessageId("sid-456")
+                .build();
+
+        when(delegate.sendAsync(sms)).thenReturn(
+                CompletableFuture.completedFuture(fallo),
+                CompletableFuture.completedFuture(fallo),
+                CompletableFuture.completedFuture(exito));
+
+        ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor();
+        try {
+            RetryableNotificationSender<SmsNotification> retrySender = new RetryableNotificationSender<>(
+                    delegate,
+                    RetryPolicy.builder().maxAttempts(3).initialDelayMillis(1).backoffMultiplier(1.0).build(),
+                    timer);
+
+            NotificationResult result = retrySender.sendAsync(sms).join();
+
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            assertEquals(3, result.getAttempts());
+            verify(delegate, times(3)).sendAsync(sms);
+            verify(delegate, never()).send(sms);
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void conElConstructorDeExecutorLosReintentosCorrenEnEseExecutor() {
+        NotificationResult fallo = NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.FAILED)
+                .errorMessage("timeout")
+                .build();
+        NotificationResult exito = NotificationResult.builder()
+                .notificationId(sms.getId())
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.SENT)
+                .build();
+        when(delegate.sendAsync(sms)).thenReturn(
+                CompletableFuture.completedFuture(fallo),
+                CompletableFuture.completedFuture(exito));
+        AtomicInteger despachados = new AtomicInteger();
+        Executor executor = command -> {
+            despachados.incrementAndGet();
+            command.run();
+        };
+
+        RetryableNotificationSender<SmsNotification> retrySender = new RetryableNotificationSender<>(
+                delegate,
+                RetryPolicy.builder().maxAttempts(3).initialDelayMillis(1).backoffMultiplier(1.0).build(),
+                executor);
+        NotificationResult result = retrySender.sendAsync(sms).join();
+
+        assertEquals(2, result.getAttempts());
+        assertEquals(1, despachados.get());
+    }
 }
@@ -2,22 +2,65 @@ package com.novacomp.notifications.service;
 
 import com.novacomp.notifications.channel.email.EmailNotification;
 import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.config.PriorityLanePolicy;
+import com.novacomp.notifications.config.RetryPolicy;
+import com.novacomp.notifications.core.BatchSummary;
+import com.novacomp.notifications.core.Notification;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationPriority;
 import com.novacomp.notifications.core.NotificationResult;
 import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.core.ValidatedBatch;
 import com.novacomp.notifications.exception.NotificationException;
+import com.novacomp.notifications.fanout.FanOutMessage;
+import com.novacomp.notifications.fanout.FanOutResult;
+import com.novacomp.notifications.fanout.RecipientProfile;
+import com.novacomp.notifications.metrics.MetricsSnapshot;
+import com.novacomp.notifications.metrics.NotificationMetrics;
+import com.novacomp.notifications.outbox.DurableOutbox;
 import com.novacomp.notifications.provider.ProviderResponse;
 import com.novacomp.notifications.provider.email.EmailProvider;
+import com.novacomp.notifications.provider.slack.SlackProvider;
+import com.novacomp.notifications.provider.sms.SmsProvider;
+import com.novacomp.notifications.ratelimit.TokenBucketRateLimiter;
+import com.novacomp.notifications.schedule.ScheduledNotification;
+import com.novacomp.notifications.template.NotificationTemplate;
+import com.novacomp.notifications.template.TemplateRegistry;
+import com.novacomp.notifications.topic.TopicRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +69,12 @@ class NotificationServiceTest {
     @Mock
     private EmailProvider emailProvider;
 
+    @Mock
+    private SmsProvider smsProvider;
+
+    @Mock
+    private SlackProvider slackProvider;
+
     @Test
     void enviaAlCanalCorrectoSegunElTipoDeNotificacion() {
         when(emailProvider.send(any())).thenReturn(ProviderResponse.success("id-1"));
@@ -99,4 +148,452 @@ class NotificationServiceTest {
         assertEquals(2, results.size());
         results.forEach(r -> assertEquals(NotificationStatus.SENT, r.getStatus()));
     }
+
+    @Test
+    void sendAsyncCorreEnVirtualThreadsCuandoSeConfiguraEseModo() {
+        AtomicBoolean enVirtualThread = new AtomicBoolean();
+        when(emailProvider.send(any())).thenAnswer(invocation -> {
+            enVirtualThread.set(Thread.currentThread().isVirtual());
+            return ProviderResponse.success("id-4");
+        });
+
+        try (NotificationService service = NotificationServiceBuilder.create()
+                .withVirtualThreads()
+                .registerEmailSender(emailProvider)
+                .build()) {
+
+            EmailNotification email = EmailNotification.builder()
+                    .recipient("cliente@dominio.com").subject("Asunto").message("Cuerpo").build();
+
+            NotificationResult result = service.sendAsync(email).join();
+
+            assertEquals(NotificationStatus.SENT, result.getStatus());
+            assertTrue(enVirtualThread.get());
+        }
+    }
+
+    @Test
+    void rechazaConfigurarElExecutorDespuesDeRegistrarSenders() {
+        NotificationServiceBuilder builder = NotificationServiceBuilder.create()
+                .registerEmailSender(emailProvider);
+
+        assertThrows(IllegalStateException.class, builder::withVirtualThreads);
+    }
+
+    @Test
+    void conElRateLimitAntesDelRetryCadaReintentoConsumeUnToken() {
+        when(smsProvider.send(any())).thenReturn(
+                ProviderResponse.failure("429 Too Many Requests"),
+                ProviderResponse.failure("429 Too Many Requests"),
+                ProviderResponse.success("id-sms"));
+        TokenBucketRateLimiter limiter = TokenBucketRateLimiter.builder()
+                .permitsPerSecond(1000).burst(10).build();
+        NotificationService service = NotificationServiceBuilder.create()
+                .registerSmsSender(smsProvider)
+                .withRateLimit(NotificationChannel.SMS, limiter)
+                .withRetry(NotificationChannel.SMS, RetryPolicy.builder()
+                        .maxAttempts(3).initialDelayMillis(1).build())
+                .build();
+
+        NotificationResult result = service.send(
+                SmsNotification.builder().recipient("+51987654321").message("hola").build());
+
+        assertTrue(result.isSuccess());
+        assertEquals(3, result.getAttempts());
+        assertEquals(3, limiter.getPermitsGranted());
+    }
+
+    @Test
+    void sendStreamRespetaLaVentanaDeEnviosEnVueloYNoAbortaPorItemsInvalidos() {
+        AtomicInteger enVuelo = new AtomicInteger();
+        AtomicInteger maximoEnVuelo = new AtomicInteger();
+        when(emailProvider.send(any())).thenAnswer(invocation -> {
+            maximoEnVuelo.accumulateAndGet(enVuelo.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            enVuelo.decrementAndGet();
+            return ProviderResponse.success("id-5");
+        });
+
+        try (NotificationService service = NotificationServiceBuilder.create()
+                .withPlatformPoolPerChannel(8)
+                .registerEmailSender(emailProvider)
+                .build()) {
+
+            ConcurrentLinkedQueue<NotificationResult> recibidos = new ConcurrentLinkedQueue<>();
+            BatchSummary resumen = service.sendStream(
+                    IntStream.range(0, 40).mapToObj(i -> EmailNotification.builder()
+                            .recipient(i == 7 ? "no-es-email" : "user" + i + "@dominio.com")
+                            .subject("S")
+                            .message("msg")
+                            .build()),
+                    3,
+                    recibidos::add).join();
+
+            assertEquals(40, resumen.getTotal());
+            assertEquals(39, resumen.getSent());
+            assertEquals(1, resumen.getFailed());
+            assertEquals(40, recibidos.size());
+            assertTrue(maximoEnVuelo.get() <= 3);
+        }
+    }
+
+    @Test
+    void validateBatchSeparaValidosEInvalidosEnParaleloSinEnviarNada() {
+        NotificationService service = NotificationServiceBuilder.create()
+                .registerEmailSender(emailProvider)
+                .registerSmsSender(smsProvider)
+                .withRetry(NotificationChannel.SMS, RetryPolicy.defaultPolicy())
+                .build();
+
+        // Varios chunks, para pasar por el fork-join y no por la validacion en el hilo que llama.
+        int total = 3 * BatchValidation.CHUNK_SIZE + 17;
+        List<Notification> lote = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            if (i % 1000 == 999) {
+                lote.add(SmsNotification.builder().recipient("987654321").message("hola").build());
+            } else if (i == 4321) {
+                lote.add(SlackNotification.builder().recipient("#canal").message("hola").build());
+            } else if (i % 2 == 0) {
+                lote.add(EmailNotification.builder()
+                        .recipient(i % 500 == 0 ? "no-es-email" : "user" + i + "@dominio.com")
+                        .subject("S").message("msg").build());
+            } else {
+                lote.add(SmsNotification.builder().recipient("+5198765" + (1000 + i % 9000)).message("hola").build());
+            }
+        }
+
+        ValidatedBatch<Notification> resultado = service.validateBatch(lote);
+
+        List<Integer> invalidos = resultado.getInvalid().stream()
+                .map(ValidatedBatch.Invalid::getIndex)
+                .collect(Collectors.toList());
+        List<Integer> esperados = IntStream.range(0, total)
+                .filter(i -> i % 1000 == 999 || i == 4321 || (i % 2 == 0 && i % 500 == 0))
+                .boxed()
+                .collect(Collectors.toList());
+        assertEquals(esperados, invalidos);
+        assertEquals(total - esperados.size(), resultado.getValid().size());
+        assertEquals(lote.get(1), resultado.getValid().get(0));
+        assertTrue(resultado.getInvalid().get(0).getReason().startsWith("Email de destinatario invalido"));
+        assertTrue(resultado.getInvalid().stream()
+                .anyMatch(invalido -> invalido.getReason().contains("canal SLACK")));
+        verify(emailProvider, never()).send(any());
+        verify(smsProvider, never()).send(any());
+    }
+
+    @Test
+    void sendStreamConsumeUnFlowPublisherConBackpressure() {
+        when(emailProvider.send(any())).thenReturn(ProviderResponse.success("id-6"));
+
+        NotificationService service = NotificationServiceBuilder.create()
+                .registerEmailSender(emailProvider)
+                .build();
+
+        AtomicInteger recibidos = new AtomicInteger();
+        BatchSummary resumen;
+        try (SubmissionPublisher<EmailNotification> publisher = new SubmissionPublisher<>()) {
+            CompletableFuture<BatchSummary> completion = service.sendStream(publisher, 2, result -> recibidos.incrementAndGet());
+            for (int i = 0; i < 10; i++) {
+                publisher.submit(EmailNotification.builder()
+                        .recipient("user" + i + "@dominio.com").subject("S").message("msg").build());
+            }
+            publisher.close();
+            resumen = completion.join();
+        }
+
+        assertEquals(10, resumen.getSent());
+        assertEquals(10, recibidos.get());
+    }
+
+    @Test
+    void broadcastRenderizaLaAudienciaDeAChunksRecienCuandoLaVentanaLosNecesita() {
+        when(emailProvider.send(any())).thenReturn(ProviderResponse.success("id-7"));
+        NotificationService service = NotificationServiceBuilder.create()
+                .registerEmailSender(emailProvider)
+                .build();
+        TopicRegistry topics = new TopicRegistry();
+        for (int usuario = 0; usuario < 1_200; usuario++) {
+            topics.subscribe("region:pe", usuario);
+        }
+        topics.optOut(5);
+
+        List<Integer> chunks = new CopyOnWriteArrayList<>();
+        AtomicInteger chunksAlPrimerResultado = new AtomicInteger(-1);
+        BatchSummary resumen = service.broadcast(topics.subscribers("region:pe"), usuarios -> {
+            chunks.add(usuarios.length);
+            return IntStream.of(usuarios)
+                    .filter(usuario -> usuario % 100 != 0)
+                    .mapToObj(usuario -> EmailNotification.builder()
+                            .recipient("user" + usuario + "@dominio.com").subject("S").message("msg").build())
+                    .collect(Collectors.toList());
+        }, 4, result -> chunksAlPrimerResultado.compareAndSet(-1, chunks.size())).join();
+
+        // 1199 suscriptos sin la baja global, menos los 12 que el renderer saltea.
+        assertEquals(1_187, resumen.getSent());
+        assertEquals(List.of(512, 512, 175), chunks);
+        assertEquals(1, chunksAlPrimerResultado.get());
+    }
+
+    @Test
+    void unaColaLowLlenaConOutboxNoDemoraUnEnvioHigh(@TempDir Path outboxDir) throws Exception {
+        CountDownLatch liberarLow = new CountDownLatch(1);
+        when(emailProvider.send(any())).thenAnswer(invocation -> {
+            EmailNotification email = invocation.getArgument(0);
+            if (email.getPriority() == NotificationPriority.LOW) {
+                liberarLow.await();
+            }
+            return ProviderResponse.success("id-" + email.getRecipient());
+        });
+
+        try (NotificationService service = NotificationServiceBuilder.create()
+                .withPlatformPoolPerChannel(4)
+                .withPriorityLanes(PriorityLanePolicy.builder()
+                        .maxInFlight(2).reservedForHigh(1).queueCapacity(2).build())
+                .withOutbox(outboxDir)
+                .registerEmailSender(emailProvider)
+                .build()) {
+
+            // 1 LOW en vuelo, 2 en cola y el resto esperando lugar en el hilo del productor.
+            Thread productor = new Thread(() -> {
+                for (int i = 0; i < 6; i++) {
+                    service.sendAsync(email("campana" + i + "@dominio.com", NotificationPriority.LOW));
+                }
+            });
+            productor.start();
+            try {
+                long limite = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+                while ((productor.getState() != Thread.State.WAITING
+                        || service.getQueuedCount(NotificationPriority.LOW) < 2) && System.nanoTime() < limite) {
+                    Thread.sleep(5);
+                }
+                assertEquals(2, service.getQueuedCount(NotificationPriority.LOW));
+
+                // El flusher del outbox no quedo bloqueado por la cola LOW: el OTP se persiste y sale.
+                NotificationResult otp = service.sendAsync(email("otp@dominio.com", NotificationPriority.HIGH))
+                        .get(5, TimeUnit.SECONDS);
+                assertTrue(otp.isSuccess());
+            } finally {
+                liberarLow.countDown();
+                productor.join(5_000);
+            }
+        }
+    }
+
+    private static EmailNotification email(String recipient, NotificationPriority priority) {
+        return EmailNotification.builder()
+                .recipient(recipient)
+                .subject("S")
+                .message("msg")
+                .priority(priority)
+                .build();
+    }
+
+    @Test
+    void reenviaDesdeElOutboxLoQueQuedoSinAckTrasUnaCaida(@TempDir Path outboxDir) {
+        when(emailProvider.send(any())).thenReturn(ProviderResponse.success("id-1"));
+        EmailNotification email = EmailNotification.builder()
+                .recipient("cliente@dominio.com").subject("Asunto").message("Cuerpo").build();
+
+        // Primera ejecucion: la notificacion llega al disco pero la JVM "muere" antes del ack.
+        try (DurableOutbox crashed = DurableOutbox.builder().directory(outboxDir).build()) {
+            crashed.append(email).join();
+        }
+
+        try (NotificationService service = NotificationServiceBuilder.create()
+                .withOutbox(outboxDir)
+                .registerEmailSender(emailProvider)
+                .build()) {
+            BatchSummary summary = service.replayOutbox(4, result -> { }).join();
+            assertEquals(1, summary.getSent());
+
+            service.send(email);
+        }
+
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(outboxDir).build()) {
+            assertTrue(reopened.takeRecovered().isEmpty());
+        }
+    }
+
+    @Test
+    void unEnvioProgramadoSobreviveAlReinicioYSaleAlVencer(@TempDir Path outboxDir) throws InterruptedException {
+        when(emailProvider.send(any())).thenReturn(ProviderResponse.success("id-1"));
+        EmailNotification email = EmailNotification.builder()
+                .recipient("cliente@dominio.com").subject("Recordatorio").message("Cuerpo").build();
+        Instant dueAt = Instant.now().plusMillis(300);
+
+        try (NotificationService service = NotificationServiceBuilder.create()
+                .withOutbox(outboxDir)
+                .registerEmailSender(emailProvider)
+                .build()) {
+            service.schedule(email, dueAt);
+        }
+
+        try (NotificationService service = NotificationServiceBuilder.create()
+                .withOutbox(outboxDir)
+                .registerEmailSender(emailProvider)
+                .build()) {
+            BatchSummary summary = service.replayOutbox(4, result -> { }).join();
+            assertEquals(0, summary.getSent());
+
+            ScheduledNotification cancelled = service.schedule(email, Instant.now().plusSeconds(60));
+            assertTrue(cancelled.cancel());
+            // La rueda avanza de a 100 ms: con medio segundo de margen el envio ya salio.
+            Thread.sleep(Math.max(0, Duration.between(Instant.now(), dueAt).toMillis()) + 500);
+        }
+
+        verify(emailProvider, times(1)).send(any());
+        try (DurableOutbox reopened = DurableOutbox.builder().directory(outboxDir).build()) {
+            assertTrue(reopened.takeRecovered().isEmpty());
+        }
+    }
+
+    @Test
+    void unEnvioProgramadoQueBloqueaNoFrenaLaRueda() throws Exception {
+        CountDownLatch liberar = new CountDownLatch(1);
+        when(emailProvider.isAsyncNative()).thenReturn(true);
+        when(emailProvider.sendAsync(any())).thenAnswer(invocation -> {
+            EmailNotification email = invocation.getArgument(0);
+            if (email.getRecipient().startsWith("lento")) {
+                // Un proveedor "asincrono" que igual bloquea al hilo que lo llama.
+                liberar.await();
+            }
+            return CompletableFuture.completedFuture(ProviderResponse.success("id-" + email.getRecipient()));
+        });
+
+        try (NotificationService service = NotificationServiceBuilder.create()
+                .registerEmailSender(emailProvider)
+                .build()) {
+            try {
+                service.schedule(email("lento@dominio.com", NotificationPriority.NORMAL),
+                        Instant.now().plusMillis(100));
+                ScheduledNotification siguiente = service.schedule(
+                        email("cliente@dominio.com", NotificationPriority.NORMAL), Instant.now().plusMillis(400));
+
+                assertTrue(siguiente.getResult().get(5, TimeUnit.SECONDS).isSuccess());
+            } finally {
+                liberar.countDown();
+            }
+        }
+    }
+
+    @Test
+    void registraLatenciasYContadoresPorCanalYProveedor() {
+        when(emailProvider.getProviderName()).thenReturn("SendGrid");
+        when(emailProvider.send(any())).thenReturn(
+                ProviderResponse.failure("timeout"), ProviderResponse.success("id-1"),
+                ProviderResponse.failure("rebotado"), ProviderResponse.failure("rebotado"));
+        NotificationMetrics metrics = NotificationMetrics.create();
+        NotificationService service = NotificationServiceBuilder.create()
+                .withMetrics(metrics)
+                .registerEmailSender(emailProvider)
+                .withRetry(NotificationChannel.EMAIL, RetryPolicy.builder()
+                        .maxAttempts(2).initialDelayMillis(1).backoffMultiplier(1.0).build())
+                .build();
+        EmailNotification email = EmailNotification.builder()
+                .recipient("cliente@dominio.com").subject("Asunto").message("Cuerpo").build();
+
+        service.send(email);
+        service.sendAsync(email).join();
+
+        MetricsSnapshot.ChannelSnapshot channel = metrics.snapshot().getChannel(NotificationChannel.EMAIL);
+        assertEquals(1, channel.getSent());
+        assertEquals(1, channel.getFailed());
+        assertEquals(2, channel.getRetrying());
+        assertEquals(2, channel.getResultsWithAttempts(2));
+        assertEquals(2, channel.getEndToEnd().getCount());
+        MetricsSnapshot.ProviderSnapshot provider =
+                metrics.snapshot().getProvider(NotificationChannel.EMAIL, "SendGrid");
+        assertEquals(4, provider.getProviderCall().getCount());
+        assertEquals(4, provider.getValidation().getCount());
+        assertEquals(2, provider.getQueueWait().getCount());
+    }
+
+    @Test
+    void fanOutRenderizaPorCanalYDevuelveElResultadoDeCadaUno() {
+        List<String> enviados = new CopyOnWriteArrayList<>();
+        when(emailProvider.send(any())).thenAnswer(invocation -> {
+            EmailNotification email = invocation.getArgument(0);
+            enviados.add("email:" + email.getSubject() + "|" + email.getMessage());
+            return ProviderResponse.success("em-1");
+        });
+        when(smsProvider.send(any())).thenReturn(ProviderResponse.failure("numero bloqueado"));
+        when(slackProvider.send(any())).thenAnswer(invocation -> {
+            SlackNotification slack = invocation.getArgument(0);
+            enviados.add("slack:" + slack.getRecipient() + "|" + slack.getMessage());
+            return ProviderResponse.success("sl-1");
+        });
+        TemplateRegistry templates = new TemplateRegistry();
+        templates.register(new NotificationTemplate("email.alerta",
+                "Hola {{nombre}}, detectamos un ingreso desde {{ciudad}}. Si no fuiste vos, cambia tu clave."));
+
+        NotificationService service = NotificationServiceBuilder.create()
+                .withTemplates(templates)
+                .registerEmailSender(emailProvider)
+                .registerSmsSender(smsProvider)
+                .registerSlackSender(slackProvider)
+                .build();
+        RecipientProfile ana = RecipientProfile.builder()
+                .email("ana@dominio.com").phone("+51987654321").slackChannel("@ana").pushToken("token-ana")
+                .variable("nombre", "Ana")
+                .build();
+        FanOutMessage alerta = FanOutMessage.builder()
+                .title("Alerta de seguridad para {{nombre}}")
+                .message("Ingreso desde {{ciudad}}")
+                .template(NotificationChannel.EMAIL, "email.alerta")
+                .variable("ciudad", "Lima")
+                .build();
+
+        FanOutResult result = service.fanOut(ana, alerta).join();
+
+        // Push no tiene sender registrado: queda fuera del fan-out.
+        assertEquals(List.of(NotificationChannel.EMAIL, NotificationChannel.SMS, NotificationChannel.SLACK),
+                List.copyOf(result.getResults().keySet()));
+        assertEquals(NotificationStatus.SENT, result.getResult(NotificationChannel.EMAIL).getStatus());
+        assertEquals(NotificationStatus.FAILED, result.getResult(NotificationChannel.SMS).getStatus());
+        assertEquals(NotificationStatus.SENT, result.getResult(NotificationChannel.SLACK).getStatus());
+        assertTrue(result.isDelivered());
+        assertTrue(result.getCancelled().isEmpty());
+        assertTrue(enviados.contains("email:Alerta de seguridad para Ana|"
+                + "Hola Ana, detectamos un ingreso desde Lima. Si no fuiste vos, cambia tu clave."));
+        assertTrue(enviados.contains("slack:@ana|Ingreso desde Lima"));
+
+        FanOutMessage soloPush = FanOutMessage.builder()
+                .title("t").message("m").channels(NotificationChannel.PUSH).build();
+        assertThrows(NotificationException.class, () -> service.fanOut(ana, soloPush));
+    }
+
+    @Test
+    void fanOutConFirstSuccessWinsNoEnviaLosCanalesQueSiguenEnCola() {
+        when(emailProvider.send(any())).thenReturn(ProviderResponse.success("em-1"));
+        ExecutorService unSoloHilo = Executors.newSingleThreadExecutor();
+        CountDownLatch despachados = new CountDownLatch(1);
+        // El hilo arranca recien cuando los tres envios estan en su cola.
+        unSoloHilo.submit(() -> {
+            despachados.await();
+            return null;
+        });
+
+        try (NotificationService service = NotificationServiceBuilder.create()
+                .withExecutor(unSoloHilo)
+                .registerEmailSender(emailProvider)
+                .registerSmsSender(smsProvider)
+                .registerSlackSender(slackProvider)
+                .build()) {
+            RecipientProfile ana = RecipientProfile.builder()
+                    .email("ana@dominio.com").phone("+51987654321").slackChannel("@ana").build();
+
+            CompletableFuture<FanOutResult> fanOut = service.fanOut(ana, FanOutMessage.builder()
+                    .title("Tu codigo").message("Codigo: 1234").firstSuccessWins(true).build());
+            despachados.countDown();
+            FanOutResult result = fanOut.join();
+
+            // Email sale primero del unico hilo y entrega: SMS y Slack seguian en cola y se cancelan.
+            assertEquals(NotificationChannel.EMAIL, result.getDeliveredBy());
+            assertEquals(Set.of(NotificationChannel.SMS, NotificationChannel.SLACK), result.getCancelled());
+            verify(smsProvider, never()).send(any());
+            verify(slackProvider, never()).send(any());
+        } finally {
+            unSoloHilo.shutdown();
+        }
+    }
 }
@@ -0,0 +1,102 @@
+package com.novacomp.notifications.service;
+
+import com.novacomp.notifications.config.PriorityLanePolicy;
+import com.novacomp.notifications.core.NotificationChannel;
+import com.novacomp.notifications.core.NotificationPriority;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriorityLanesTest {
+
+    /** Envios "en vuelo" que el test completa a mano, en el orden en que se despacharon. */
+    private final List<String> started = new ArrayList<>();
+    private final List<CompletableFuture<NotificationResult>> inFlight = new ArrayList<>();
+
+    @Test
+    void unEnvioHighUsaElLugarReservadoAunqueLowSatureElResto() {
+        PriorityLanes lanes = new PriorityLanes(PriorityLanePolicy.builder()
+                .maxInFlight(3).reservedForHigh(1).build());
+
+        for (int i = 0; i < 10; i++) {
+            lanes.submit(NotificationPriority.LOW, false, send("low-" + i));
+        }
+        CompletableFuture<NotificationResult> otp = lanes.submit(NotificationPriority.HIGH, false, send("otp"));
+
+        assertEquals(List.of("low-0", "low-1", "otp"), started);
+        assertEquals(8, lanes.getQueuedCount(NotificationPriority.LOW));
+
+        complete(2);
+        assertTrue(otp.join().isSuccess());
+        assertEquals(3, started.size());
+    }
+
+    @Test
+    void laCapacidadLibreSeRepartePorPeso() {
+        PriorityLanes lanes = new PriorityLanes(PriorityLanePolicy.builder()
+                .maxInFlight(1).reservedForHigh(0)
+                .weight(NotificationPriority.HIGH, 3)
+                .weight(NotificationPriority.LOW, 1)
+                .build());
+
+        lanes.submit(NotificationPriority.LOW, false, send("bloqueante"));
+        for (int i = 0; i < 8; i++) {
+            lanes.submit(NotificationPriority.LOW, false, send("low"));
+            lanes.submit(NotificationPriority.HIGH, false, send("high"));
+        }
+        for (int i = 0; i < 8; i++) {
+            complete(started.size() - 1);
+        }
+
+        List<String> nextEight = started.subList(1, 9);
+        assertEquals(6, nextEight.stream().filter("high"::equals).count());
+        assertEquals(2, nextEight.stream().filter("low"::equals).count());
+    }
+
+    @Test
+    void unSenderQueCompletaEnElMismoHiloNoAnidaLaPila() {
+        PriorityLanes lanes = new PriorityLanes(PriorityLanePolicy.builder()
+                .maxInFlight(1).reservedForHigh(0).queueCapacity(200_000).build());
+        CompletableFuture<NotificationResult> blocker = new CompletableFuture<>();
+        lanes.submit(NotificationPriority.LOW, false, () -> blocker);
+        List<CompletableFuture<NotificationResult>> results = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            results.add(lanes.submit(NotificationPriority.LOW, false,
+                    () -> CompletableFuture.completedFuture(result())));
+        }
+
+        blocker.complete(result());
+
+        assertTrue(results.stream().allMatch(CompletableFuture::isDone));
+    }
+
+    private Supplier<CompletableFuture<NotificationResult>> send(String name) {
+        return () -> {
+            started.add(name);
+            CompletableFuture<NotificationResult> future = new CompletableFuture<>();
+            inFlight.add(future);
+            return future;
+        };
+    }
+
+    private void complete(int index) {
+        inFlight.get(index).complete(result());
+    }
+
+    private static NotificationResult result() {
+        return NotificationResult.builder()
+                .notificationId("n")
+                .channel(NotificationChannel.SMS)
+                .status(NotificationStatus.SENT)
+                .attempts(1)
+                .build();
+    }
+}
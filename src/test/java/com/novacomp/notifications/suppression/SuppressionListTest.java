@@ -0,0 +1,76 @@
+package com.novacomp.notifications.suppression;
+
+import com.novacomp.notifications.core.NotificationChannel;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuppressionListTest {
+
+    @Test
+    void cargaElArchivoNormalizandoYSoloConsultaElStoreAnteUnQuizasDelFiltro(@TempDir Path dir) throws IOException {
+        Path rebotes = dir.resolve("rebotes.txt");
+        Files.write(rebotes, List.of("# export de rebotes", "Uno@Dominio.com", "", "  dos@dominio.com  ",
+                "uno@dominio.com"));
+        SuppressionList suppressions = SuppressionList.builder().expectedEntries(100_000).build();
+
+        assertEquals(2, suppressions.load(NotificationChannel.EMAIL, rebotes));
+        assertTrue(suppressions.isSuppressed(NotificationChannel.EMAIL, "UNO@dominio.com"));
+        assertTrue(suppressions.isSuppressed(NotificationChannel.EMAIL, "dos@dominio.com"));
+        // La misma direccion en otro canal es otra entrada.
+        assertFalse(suppressions.isSuppressed(NotificationChannel.SLACK, "dos@dominio.com"));
+
+        long lookups = suppressions.getStoreLookups();
+        int limpios = 100_000;
+        for (int i = 0; i < limpios; i++) {
+            assertFalse(suppressions.isSuppressed(NotificationChannel.EMAIL, "user" + i + "@dominio.com"));
+        }
+        // Casi todos los "no suprimido" se resuelven en el filtro, sin tocar el store.
+        assertTrue(suppressions.getStoreLookups() - lookups < limpios / 100);
+
+        assertTrue(suppressions.unsuppress(NotificationChannel.EMAIL, "uno@dominio.com"));
+        assertFalse(suppressions.isSuppressed(NotificationChannel.EMAIL, "uno@dominio.com"));
+    }
+
+    @Test
+    void elFiltroLlenoRespetaLaTasaDeFalsosPositivosPedida() {
+        int entradas = 200_000;
+        BloomFilter filter = new BloomFilter(entradas, 0.01);
+        for (int i = 0; i < entradas; i++) {
+            filter.add(BloomFilter.hash(0, "+5198" + i));
+        }
+        for (int i = 0; i < entradas; i++) {
+            assertTrue(filter.mightContain(BloomFilter.hash(0, "+5198" + i)));
+        }
+
+        int falsosPositivos = 0;
+        int consultas = 1_000_000;
+        for (int i = 0; i < consultas; i++) {
+            if (filter.mightContain(BloomFilter.hash(0, "+5197" + i))) {
+                falsosPositivos++;
+            }
+        }
+        double tasa = (double) falsosPositivos / consultas;
+        assertTrue(tasa < 0.012, "tasa de falsos positivos " + tasa);
+    }
+
+    @Test
+    void alConstruirseCargaElFiltroConLoQueYaTeniaElStore() {
+        InMemorySuppressionStore store = new InMemorySuppressionStore();
+        store.add(NotificationChannel.PUSH, "token-invalidado");
+
+        SuppressionList suppressions = SuppressionList.builder().expectedEntries(1_000).store(store).build();
+
+        assertTrue(suppressions.isSuppressed(NotificationChannel.PUSH, "token-invalidado"));
+        assertTrue(suppressions.suppress(NotificationChannel.SMS, "+51987654321"));
+        assertEquals(2, store.size());
+    }
+}
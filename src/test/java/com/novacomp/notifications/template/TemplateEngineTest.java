@@ -3,6 +3,9 @@ package com.novacomp.notifications.template;
 import org.junit.jupiter.api.Test;
 
 import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -28,4 +31,43 @@ class TemplateEngineTest {
 
         assertEquals("Hola !", resultado);
     }
+
+    @Test
+    void aceptaEspaciosYPuntosEnElNombreYDejaComoTextoLoQueNoEsPlaceholder() {
+        NotificationTemplate template = new NotificationTemplate("mixto",
+                "{{ cliente.nombre }} {{}} {{a b}} {{{x}} $1 \\ {{y}");
+
+        String resultado = engine.render(template, Map.of("cliente.nombre", "Ana", "x", "X"));
+
+        assertEquals("Ana {{}} {{a b}} {X $1 \\ {{y}", resultado);
+    }
+
+    @Test
+    void rendereaIgualQueElRegexOriginalParaPlantillasAleatorias() {
+        Pattern placeholder = Pattern.compile("\\{\\{\\s*([\\w.]+)\\s*}}");
+        String alphabet = "{{}} \t\nab._$\\-";
+        Map<String, String> variables = Map.of("a", "<A>", "b", "$2", "a.b", "\\", "_", "");
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder content = new StringBuilder();
+            int length = random.nextInt(24);
+            for (int c = 0; c < length; c++) {
+                content.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+
+            // Implementacion historica con regex, como referencia.
+            Matcher matcher = placeholder.matcher(content);
+            StringBuilder expected = new StringBuilder();
+            while (matcher.find()) {
+                matcher.appendReplacement(expected,
+                        Matcher.quoteReplacement(variables.getOrDefault(matcher.group(1), "")));
+            }
+            matcher.appendTail(expected);
+
+            assertEquals(expected.toString(),
+                    engine.render(new NotificationTemplate("t" + i, content.toString()), variables),
+                    "plantilla: " + content);
+        }
+    }
 }
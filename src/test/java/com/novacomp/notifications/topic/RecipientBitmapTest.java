@@ -0,0 +1,112 @@
+package com.novacomp.notifications.topic;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipientBitmapTest {
+
+    @Test
+    void addRemoveYContainsSeComportanComoUnSetAlCruzarElUmbralDeCadaBloque() {
+        RecipientBitmap bitmap = new RecipientBitmap();
+        TreeSet<Integer> expected = new TreeSet<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 200_000; i++) {
+            // Tres bloques: uno que pasa de array a bitmap y vuelve, y dos ralos.
+            int recipient = random.nextInt(3) == 0 ? random.nextInt(3 * 65_536) : 65_536 + random.nextInt(9_000);
+            if (random.nextInt(5) < 3) {
+                assertEquals(expected.add(recipient), bitmap.add(recipient));
+            } else {
+                assertEquals(expected.remove(recipient), bitmap.remove(recipient));
+            }
+        }
+
+        assertEquals(expected.size(), bitmap.cardinality());
+        assertEquals(expected, bitmap.stream().boxed().collect(Collectors.toCollection(TreeSet::new)));
+        for (int recipient = 0; recipient < 3 * 65_536; recipient += 7) {
+            assertEquals(expected.contains(recipient), bitmap.contains(recipient));
+        }
+    }
+
+    @Test
+    void unionInterseccionYDiferenciaCoincidenConLasDeUnSet() {
+        Random random = new Random(3);
+        for (int round = 0; round < 20; round++) {
+            TreeSet<Integer> a = randomSet(random);
+            TreeSet<Integer> b = randomSet(random);
+            RecipientBitmap bitmapA = toBitmap(a);
+            RecipientBitmap bitmapB = toBitmap(b);
+
+            TreeSet<Integer> union = new TreeSet<>(a);
+            union.addAll(b);
+            TreeSet<Integer> intersection = new TreeSet<>(a);
+            intersection.retainAll(b);
+            TreeSet<Integer> difference = new TreeSet<>(a);
+            difference.removeAll(b);
+
+            assertEquals(toBitmap(union), RecipientBitmap.or(bitmapA, bitmapB));
+            assertEquals(toBitmap(intersection), RecipientBitmap.and(bitmapA, bitmapB));
+            assertEquals(toBitmap(difference), RecipientBitmap.andNot(bitmapA, bitmapB));
+            // Los operandos no cambian.
+            assertEquals(toBitmap(a), bitmapA);
+        }
+    }
+
+    @Test
+    void diezMillonesDeSuscriptoresDensosOcupanPocosMegas() {
+        RecipientBitmap bitmap = new RecipientBitmap();
+        for (int recipient = 0; recipient < 10_000_000; recipient++) {
+            bitmap.add(recipient);
+        }
+
+        assertEquals(10_000_000, bitmap.cardinality());
+        assertTrue(bitmap.sizeInBytes() < 2 * 1024 * 1024, bitmap.toString());
+        assertFalse(bitmap.contains(10_000_000));
+        assertEquals(9_999_999, bitmap.stream().skip(9_999_999).findFirst().getAsInt());
+    }
+
+    @Test
+    void elRegistryExcluyeLasBajasGlobalesDeTodasLasAudiencias() {
+        TopicRegistry topics = new TopicRegistry();
+        topics.subscribeAll("region:pe", RecipientBitmap.of(1, 2, 3, 70_000));
+        topics.subscribe("plan:pro", 3);
+        topics.subscribe("plan:pro", 4);
+        topics.subscribe("plan:pro", 70_000);
+        topics.optOut(70_000);
+
+        assertEquals(RecipientBitmap.of(1, 2, 3), topics.subscribers("region:pe"));
+        assertEquals(RecipientBitmap.of(1, 2, 3, 4), topics.anyOf("region:pe", "plan:pro"));
+        assertEquals(RecipientBitmap.of(3), topics.allOf("region:pe", "plan:pro"));
+        assertTrue(topics.allOf("region:pe", "no-existe").isEmpty());
+        assertFalse(topics.isSubscribed("plan:pro", 70_000));
+
+        topics.optIn(70_000);
+        topics.unsubscribe("plan:pro", 3);
+        assertEquals(RecipientBitmap.of(4, 70_000), topics.subscribers("plan:pro"));
+    }
+
+    private static TreeSet<Integer> randomSet(Random random) {
+        TreeSet<Integer> set = new TreeSet<>();
+        // Densidad variable por bloque: mezcla bloques array y bitmap, y bloques que solo tiene un lado.
+        for (int block = 0; block < 4; block++) {
+            int count = random.nextInt(4) == 0 ? 0 : random.nextInt(3) == 0 ? 20_000 : random.nextInt(3_000);
+            for (int i = 0; i < count; i++) {
+                set.add(block * 65_536 + random.nextInt(30_000));
+            }
+        }
+        return set;
+    }
+
+    private static RecipientBitmap toBitmap(TreeSet<Integer> set) {
+        RecipientBitmap bitmap = new RecipientBitmap();
+        set.forEach(bitmap::add);
+        return bitmap;
+    }
+}
@@ -0,0 +1,250 @@
+package com.novacomp.notifications.transport;
+
+import com.novacomp.notifications.channel.email.EmailNotification;
+import com.novacomp.notifications.channel.push.PushNotification;
+import com.novacomp.notifications.channel.slack.SlackNotification;
+import com.novacomp.notifications.channel.sms.SmsNotification;
+import com.novacomp.notifications.config.FcmConfig;
+import com.novacomp.notifications.config.HttpTransportPolicy;
+import com.novacomp.notifications.config.MailgunConfig;
+import com.novacomp.notifications.config.SendGridConfig;
+import com.novacomp.notifications.config.SlackConfig;
+import com.novacomp.notifications.config.TwilioConfig;
+import com.novacomp.notifications.core.NotificationResult;
+import com.novacomp.notifications.core.NotificationStatus;
+import com.novacomp.notifications.event.NotificationEventPublisher;
+import com.novacomp.notifications.provider.ProviderResponse;
+import com.novacomp.notifications.provider.email.MailgunEmailProvider;
+import com.novacomp.notifications.provider.email.SendGridEmailProvider;
+import com.novacomp.notifications.provider.push.FcmPushProvider;
+import com.novacomp.notifications.provider.slack.SlackWebhookProvider;
+import com.novacomp.notifications.provider.sms.TwilioSmsProvider;
+import com.novacomp.notifications.sender.SmsNotificationSender;
+import com.novacomp.notifications.transport.ProviderStubServer.Vendor;
+import com.novacomp.notifications.validation.PhoneValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HttpTransportTest {
+
+    private final ProviderStubServer stub = ProviderStubServer.start();
+    private HttpTransport transport = HttpTransport.create(HttpTransportPolicy.defaultPolicy());
+
+    @AfterEach
+    void cerrar() {
+        transport.close();
+        stub.close();
+    }
+
+    @Test
+    void cadaProveedorHaceSuRequestRealYTraduceLaRespuesta() {
+        SendGridEmailProvider sendGrid = new SendGridEmailProvider(SendGridConfig.builder()
+                .apiKey("sg-key").fromEmail("no-reply@miempresa.com").fromName("Mi \"Empresa\"")
+                .baseUrl(stub.getBaseUrl()).build(), transport);
+        MailgunEmailProvider mailgun = new MailgunEmailProvider(MailgunConfig.builder()
+                .apiKey("mg-key").domain("mg.miempresa.com").fromEmail("no-reply@miempresa.com")
+                .baseUrl(stub.getBaseUrl()).build(), transport);
+        TwilioSmsProvider twilio = new TwilioSmsProvider(TwilioConfig.builder()
+                .accountSid("AC123").authToken("token").fromNumber("+15005550006")
+                .baseUrl(stub.getBaseUrl()).build(), transport);
+        FcmPushProvider fcm = new FcmPushProvider(FcmConfig.builder()
+                .projectId("mi-app").serverKey("fcm-key").baseUrl(stub.getBaseUrl()).build(), transport);
+        SlackWebhookProvider slack = new SlackWebhookProvider(SlackConfig.builder()
+                .webhookUrl(stub.getSlackWebhookUrl()).build(), transport);
+
+        EmailNotification email = EmailNotification.builder()
+                .recipient("cliente@dominio.com").subject("Hola").message("Linea 1\nLinea 2").build();
+
+        ProviderResponse sg = sendGrid.send(email);
+        assertTrue(sg.isSuccess());
+        assertTrue(sg.getProviderMessageId().startsWith("sg_stub_"));
+        assertTrue(stub.getLastRequestBody(Vendor.SENDGRID).contains("\"value\":\"Linea 1\\nLinea 2\""));
+        assertTrue(stub.getLastRequestBody(Vendor.SENDGRID).contains("\"name\":\"Mi \\\"Empresa\\\"\""));
+
+        ProviderResponse mg = mailgun.send(email);
+        assertTrue(mg.getProviderMessageId().endsWith("@mg.miempresa.com>"));
+
+        ProviderResponse sms = twilio.send(SmsNotification.builder()
+                .recipient("+51987654321").message("Codigo: 1234 & listo").build());
+        assertTrue(sms.getProviderMessageId().startsWith("SM"));
+        assertTrue(stub.getLastRequestBody(Vendor.TWILIO).contains("To=%2B51987654321"));
+        assertTrue(stub.getLastRequestBody(Vendor.TWILIO).contains("Body=Codigo%3A+1234+%26+listo"));
+
+        ProviderResponse push = fcm.send(PushNotification.builder()
+                .recipient("token-1").title("Titulo").message("Cuerpo").data(Map.of("orden", "42")).build());
+        assertTrue(push.getProviderMessageId().startsWith("projects/mi-app/messages/"));
+        assertTrue(stub.getLastRequestBody(Vendor.FCM).contains("\"data\":{\"orden\":\"42\"}"));
+
+        assertTrue(slack.send(SlackNotification.builder().recipient("#alertas").message("Deploy ok").build())
+                .isSuccess());
+        assertEquals(1, stub.getRequestCount(Vendor.SLACK));
+    }
+
+    @Test
+    void bulkDeSendGridEsUnSoloRequestYElDeFcmUnoPorToken() {
+        SendGridEmailProvider sendGrid = new SendGridEmailProvider(SendGridConfig.builder()
+                .apiKey("sg-key").fromEmail("no-reply@miempresa.com").baseUrl(stub.getBaseUrl()).build(), transport);
+        FcmPushProvider fcm = new FcmPushProvider(FcmConfig.builder()
+                .projectId("mi-app").serverKey("fcm-key").baseUrl(stub.getBaseUrl()).build(), transport);
+
+        List<EmailNotification> emails = new ArrayList<>();
+        List<PushNotification> pushes = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            emails.add(EmailNotification.builder()
+                    .recipient("c" + i + "@dominio.com").subject("Promo").message("Cuerpo").build());
+            pushes.add(PushNotification.builder()
+                    .recipient("token-" + i).title("Promo").message("Cuerpo").build());
+        }
+
+        List<ProviderResponse> emailResponses = sendGrid.sendBulk(emails);
+        List<ProviderResponse> pushResponses = fcm.sendBulk(pushes);
+
+        assertEquals(1, stub.getRequestCount(Vendor.SENDGRID));
+        assertTrue(stub.getLastRequestBody(Vendor.SENDGRID).contains("{\"to\":[{\"email\":\"c19@dominio.com\"}]}"));
+        assertEquals(20, emailResponses.size());
+        assertEquals(20, stub.getRequestCount(Vendor.FCM));
+        assertTrue(pushResponses.stream().allMatch(ProviderResponse::isSuccess));
+    }
+
+    @Test
+    void elBulkDeSendGridIncluyeLosAdjuntosCompartidos() {
+        SendGridEmailProvider sendGrid = new SendGridEmailProvider(SendGridConfig.builder()
+                .apiKey("sg-key").fromEmail("no-reply@miempresa.com").baseUrl(stub.getBaseUrl()).build(), transport);
+        List<EmailNotification> emails = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            emails.add(EmailNotification.builder()
+                    .recipient("c" + i + "@dominio.com").subject("Factura").message("Adjunta")
+                    .attachmentNames(List.of("factura.pdf", "detalle.csv")).build());
+        }
+
+        assertTrue(sendGrid.sendBulk(emails).stream().allMatch(ProviderResponse::isSuccess));
+        String body = stub.getLastRequestBody(Vendor.SENDGRID);
+        assertTrue(body.endsWith(
+                "\"attachments\":[{\"filename\":\"factura.pdf\"},{\"filename\":\"detalle.csv\"}]}"), body);
+    }
+
+    @Test
+    void unStatusDeErrorEsUnaRespuestaFallidaConElDetalle() {
+        stub.setFailureStatus(503);
+        TwilioSmsProvider twilio = new TwilioSmsProvider(TwilioConfig.builder()
+                .accountSid("AC123").authToken("token").fromNumber("+15005550006")
+                .baseUrl(stub.getBaseUrl()).build(), transport);
+
+        ProviderResponse response = twilio.send(SmsNotification.builder()
+                .recipient("+51987654321").message("Hola").build());
+
+        assertFalse(response.isSuccess());
+        assertTrue(response.getErrorMessage().startsWith("Twilio respondio HTTP 503"));
+        assertFalse(response.isRecipientRejected());
+    }
+
+    @Test
+    void unTokenDePushNoRegistradoEsUnRechazoPermanenteDelDestinatario() {
+        stub.setFailureStatus(404, "{\"error\":{\"code\":404,\"message\":\"Requested entity was not found.\","
+                + "\"status\":\"NOT_FOUND\",\"details\":[{\"@type\":"
+                + "\"type.googleapis.com/google.firebase.fcm.v1.FcmError\",\"errorCode\":\"UNREGISTERED\"}]}}");
+        FcmPushProvider fcm = new FcmPushProvider(FcmConfig.builder()
+                .projectId("mi-app").serverKey("fcm-key").baseUrl(stub.getBaseUrl()).build(), transport);
+
+        ProviderResponse response = fcm.send(PushNotification.builder()
+                .recipient("token-desinstalado").title("t").message("m").build());
+
+        assertFalse(response.isSuccess());
+        assertTrue(response.isRecipientRejected());
+    }
+
+    @Test
+    void unCuatrocientosCuatroPorConfiguracionNoRechazaAlDestinatario() {
+        // baseUrl mal configurada: el servidor responde 404 sin el errorCode de FCM.
+        FcmPushProvider fcm = new FcmPushProvider(FcmConfig.builder()
+                .projectId("mi-app").serverKey("fcm-key").baseUrl(stub.getBaseUrl() + "/otro-prefijo").build(),
+                transport);
+
+        ProviderResponse response = fcm.send(PushNotification.builder()
+                .recipient("token-valido").title("t").message("m").build());
+
+        assertFalse(response.isSuccess());
+        assertTrue(response.getErrorMessage().contains("404"), response.getErrorMessage());
+        assertFalse(response.isRecipientRejected());
+    }
+
+    @Test
+    void acotaLosRequestsEnVueloPorHostSinBloquearAlQueEnvia() {
+        transport.close();
+        transport = HttpTransport.create(HttpTransportPolicy.builder().maxConcurrentPerHost(2).build());
+        stub.setLatencyMillis(50);
+        URI uri = URI.create(stub.getSlackWebhookUrl());
+
+        List<CompletableFuture<HttpResponse<String>>> calls = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            calls.add(transport.sendAsync(transport.request(uri)
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"text\":\"" + i + "\"}")).build()));
+        }
+        // Ocho sendAsync volvieron enseguida: seis esperan lugar en la cola del host.
+        assertEquals(6, transport.getQueuedCount(uri.getAuthority()));
+
+        for (CompletableFuture<HttpResponse<String>> call : calls) {
+            assertEquals(200, call.join().statusCode());
+        }
+        assertTrue(stub.getMaxConcurrentRequests() <= 2);
+        assertEquals(0, transport.getQueuedCount(uri.getAuthority()));
+    }
+
+    @Test
+    void sendAsyncDelSenderNoOcupaUnHiloPorEnvioEnVuelo() {
+        stub.setLatencyMillis(100);
+        TwilioSmsProvider twilio = new TwilioSmsProvider(TwilioConfig.builder()
+                .accountSid("AC123").authToken("token").fromNumber("+15005550006")
+                .baseUrl(stub.getBaseUrl()).build(), transport);
+        LongAdder eventos = new LongAdder();
+        NotificationEventPublisher publisher = new NotificationEventPublisher();
+        publisher.subscribe(event -> eventos.increment());
+        // Si algun envio pasara por el executor, el futuro fallaria.
+        SmsNotificationSender sender = new SmsNotificationSender(twilio, new PhoneValidator(), publisher,
+                command -> {
+                    throw new RejectedExecutionException("sin hilos para envios");
+                });
+
+        List<CompletableFuture<NotificationResult>> enVuelo = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            enVuelo.add(sender.sendAsync(SmsNotification.builder()
+                    .recipient("+5198765" + String.format("%04d", i)).message("Hola " + i).build()));
+        }
+
+        for (CompletableFuture<NotificationResult> resultado : enVuelo) {
+            assertEquals(NotificationStatus.SENT, resultado.join().getStatus());
+        }
+        assertEquals(300, stub.getRequestCount(Vendor.TWILIO));
+        assertEquals(300, eventos.sum());
+        // Los requests se solaparon en el stub aunque ningun hilo espero por ellos.
+        assertTrue(stub.getMaxConcurrentRequests() > 10);
+    }
+
+    @Test
+    void jsonEscapaYLeeCamposString() {
+        ByteBuffer written = JsonWriter.forCurrentThread()
+                .beginObject().name("sid").value("a\"b\\c\u0001").endObject()
+                .buffer();
+        String json = StandardCharsets.UTF_8.decode(written).toString();
+
+        assertEquals("{\"sid\":\"a\\\"b\\\\c\\u0001\"}", json);
+        assertEquals("a\"b\\c\u0001", Json.stringField(json, "sid"));
+        assertEquals(null, Json.stringField(json, "name"));
+    }
+}
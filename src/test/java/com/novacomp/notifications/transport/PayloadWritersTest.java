@@ -0,0 +1,120 @@
+package com.novacomp.notifications.transport;
+
+import org.junit.jupiter.api.Test;
+
+import java.net.URLEncoder;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PayloadWritersTest {
+
+    private static final JsonWriter.Key TEXT = JsonWriter.key("text");
+
+    @Test
+    void jsonWriterCodificaIgualQueEscaparYLuegoGetBytesParaStringsAleatorios() {
+        Random random = new Random(42);
+        for (int i = 0; i < 5_000; i++) {
+            String value = randomString(random);
+
+            ByteBuffer written = JsonWriter.forCurrentThread()
+                    .beginObject().name(TEXT).value(value).endObject()
+                    .buffer();
+
+            String expected = "{\"text\":" + referenceJson(value) + "}";
+            assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), toBytes(written), "valor: " + value);
+        }
+    }
+
+    @Test
+    void formWriterCodificaIgualQueUrlEncoderParaStringsAleatorios() {
+        Random random = new Random(7);
+        for (int i = 0; i < 5_000; i++) {
+            String value = randomString(random);
+
+            ByteBuffer written = FormWriter.forCurrentThread().field("Body", value).field("To", "+51 9").buffer();
+
+            String expected = "Body=" + URLEncoder.encode(value, StandardCharsets.UTF_8) + "&To=%2B51+9";
+            assertEquals(expected, StandardCharsets.UTF_8.decode(written).toString(), "valor: " + value);
+        }
+    }
+
+    @Test
+    void jsonWriterPoneLasComasYSoportaBodiesMasGrandesQueElBuffer() {
+        JsonWriter json = JsonWriter.forCurrentThread()
+                .beginObject()
+                .name("ids").beginArray().value(1).value(-20).value(Long.MAX_VALUE).endArray()
+                .name("vacio").beginArray().endArray()
+                .name("ok").value(true)
+                .optional(TEXT, null)
+                .name("nada").value((String) null)
+                .name("items").beginArray();
+        for (int i = 0; i < 500; i++) {
+            json.beginObject().name(TEXT).value("item-" + i).endObject();
+        }
+        String written = StandardCharsets.UTF_8.decode(json.endArray().endObject().buffer()).toString();
+
+        assertTrue(written.startsWith("{\"ids\":[1,-20,9223372036854775807],\"vacio\":[],\"ok\":true,\"nada\":null,"
+                + "\"items\":[{\"text\":\"item-0\"},{\"text\":\"item-1\"},"), written);
+        assertTrue(written.endsWith("},{\"text\":\"item-499\"}]}"), written);
+    }
+
+    /** Caracteres de todos los rangos: ASCII, controles, 2 y 3 bytes, pares surrogate y surrogates sueltos. */
+    private static String randomString(Random random) {
+        int length = random.nextInt(40);
+        StringBuilder value = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    value.append((char) random.nextInt(0x20));
+                    break;
+                case 1:
+                    value.append((char) (0x80 + random.nextInt(0x780)));
+                    break;
+                case 2:
+                    value.append((char) (0x800 + random.nextInt(0xD000)));
+                    break;
+                case 3:
+                    value.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                    break;
+                case 4:
+                    value.append((char) (0xD800 + random.nextInt(0x800)));
+                    break;
+                default:
+                    value.append((char) (0x20 + random.nextInt(0x60)));
+            }
+        }
+        return value.toString();
+    }
+
+    private static String referenceJson(String value) {
+        StringBuilder out = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.append('\\').append(c);
+            } else if (c == '\n') {
+                out.append("\\n");
+            } else if (c == '\r') {
+                out.append("\\r");
+            } else if (c == '\t') {
+                out.append("\\t");
+            } else if (c < 0x20) {
+                out.append(String.format("\\u%04x", (int) c));
+            } else {
+                out.append(c);
+            }
+        }
+        return out.append('"').toString();
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
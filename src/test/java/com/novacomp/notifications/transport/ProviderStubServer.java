@@ -0,0 +1,229 @@
+package com.novacomp.notifications.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor HTTP local (com.sun.net.httpserver, dentro de la JVM) que imita
+ * las APIs de SendGrid, Mailgun, Twilio, FCM y los webhooks de Slack, para
+ * probar los proveedores reales y medir throughput de punta a punta sin red.
+ *
+ * <pre>
+ * try (ProviderStubServer stub = ProviderStubServer.start();
+ *      HttpTransport transport = HttpTransport.create(HttpTransportPolicy.defaultPolicy())) {
+ *     EmailProvider sendGrid = new SendGridEmailProvider(
+ *             SendGridConfig.builder().apiKey("k").fromEmail("a@b.com").baseUrl(stub.getBaseUrl()).build(),
+ *             transport);
+ *     ...
+ * }
+ * </pre>
+ *
+ * Responde como cada proveedor (status, header X-Message-Id, "sid", "name",
+ * "ok"), exige el header Authorization donde el proveedor lo exige y puede
+ * simular latencia o forzar un status de error. Cada request se atiende en
+ * su propio virtual thread. Solo habla HTTP/1.1: el cliente HTTP/2 cae a
+ * HTTP/1.1 con keep-alive.
+ *
+ * La JVM que lo usa debe arrancar con {@code -Dsun.net.httpserver.nodelay=true}
+ * (lo configuran surefire y el @Fork del benchmark): sin TCP_NODELAY, en una
+ * conexion keep-alive la respuesta (headers y body en dos escrituras) espera
+ * el ACK demorado del cliente, ~40 ms por request. El JDK lee la propiedad
+ * una sola vez, al crear el primer HttpServer de la JVM.
+ */
+public final class ProviderStubServer implements AutoCloseable {
+
+    /** API imitada, para consultar lo que recibio cada una. */
+    public enum Vendor {
+        SENDGRID, MAILGUN, TWILIO, FCM, SLACK
+    }
+
+    /** Path de webhook que acepta el stub; {@link #getSlackWebhookUrl()} ya lo incluye. */
+    public static final String SLACK_WEBHOOK_PATH = "/services/T000/B000/stub";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<Vendor, LongAdder> requestCounts = new EnumMap<>(Vendor.class);
+    private final Map<Vendor, String> lastBodies = new EnumMap<>(Vendor.class);
+    private final AtomicLong ids = new AtomicLong();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private volatile long latencyMillis;
+    private volatile int failureStatus;
+    private volatile String failureBody;
+
+    private ProviderStubServer() throws IOException {
+        for (Vendor vendor : Vendor.values()) {
+            requestCounts.put(vendor, new LongAdder());
+        }
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/v3/mail/send", exchange -> handle(exchange, Vendor.SENDGRID));
+        server.createContext("/v3/", exchange -> handle(exchange, Vendor.MAILGUN));
+        server.createContext("/2010-04-01/Accounts/", exchange -> handle(exchange, Vendor.TWILIO));
+        server.createContext("/v1/projects/", exchange -> handle(exchange, Vendor.FCM));
+        server.createContext(SLACK_WEBHOOK_PATH, exchange -> handle(exchange, Vendor.SLACK));
+    }
+
+    /** Levanta el stub en un puerto libre de loopback. */
+    public static ProviderStubServer start() {
+        try {
+            ProviderStubServer stub = new ProviderStubServer();
+            stub.server.start();
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo levantar el stub de proveedores", e);
+        }
+    }
+
+    /** URL base para los configs de SendGrid, Mailgun, Twilio y FCM ({@code baseUrl(...)}). */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    /** URL para {@code SlackConfig.webhookUrl(...)}. */
+    public String getSlackWebhookUrl() {
+        return getBaseUrl() + SLACK_WEBHOOK_PATH;
+    }
+
+    /** Demora agregada a cada respuesta, para simular la latencia del proveedor. Default 0. */
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /** Status con el que responden todas las APIs (ej. 500, 429); 0 vuelve a responder exito. */
+    public void setFailureStatus(int failureStatus) {
+        setFailureStatus(failureStatus, null);
+    }
+
+    /** Igual que {@link #setFailureStatus(int)} con el body de error del proveedor (ej. el de FCM UNREGISTERED). */
+    public void setFailureStatus(int failureStatus, String failureBody) {
+        this.failureBody = failureBody;
+        this.failureStatus = failureStatus;
+    }
+
+    public long getRequestCount(Vendor vendor) {
+        return requestCounts.get(vendor).sum();
+    }
+
+    /** Maximo de requests atendidos a la vez desde que arranco (util para verificar limites por host). */
+    public int getMaxConcurrentRequests() {
+        return maxActive.get();
+    }
+
+    /** Body del ultimo request recibido por {@code vendor}, o null. */
+    public String getLastRequestBody(Vendor vendor) {
+        synchronized (lastBodies) {
+            return lastBodies.get(vendor);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange, Vendor vendor) throws IOException {
+        try (exchange) {
+            String body = readBody(exchange);
+            requestCounts.get(vendor).increment();
+            synchronized (lastBodies) {
+                lastBodies.put(vendor, body);
+            }
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\":\"method not allowed\"}", "application/json");
+                return;
+            }
+            if (vendor != Vendor.SLACK && exchange.getRequestHeaders().getFirst("Authorization") == null) {
+                respond(exchange, 401, "{\"error\":\"unauthorized\"}", "application/json");
+                return;
+            }
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                pause();
+            } finally {
+                active.decrementAndGet();
+            }
+            int forced = failureStatus;
+            if (forced != 0) {
+                String forcedBody = failureBody;
+                respond(exchange, forced, forcedBody != null ? forcedBody : "{\"error\":\"stub forced " + forced + "\"}",
+                        "application/json");
+                return;
+            }
+            respondSuccess(exchange, vendor);
+        }
+    }
+
+    private void respondSuccess(HttpExchange exchange, Vendor vendor) throws IOException {
+        long id = ids.incrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        switch (vendor) {
+            case SENDGRID:
+                exchange.getResponseHeaders().add("X-Message-Id", "sg_stub_" + id);
+                respond(exchange, 202, "", "application/json");
+                break;
+            case MAILGUN:
+                String domain = path.substring("/v3/".length(), path.indexOf('/', "/v3/".length()));
+                respond(exchange, 200, "{\"id\":\"<stub." + id + "@" + domain + ">\","
+                        + "\"message\":\"Queued. Thank you.\"}", "application/json");
+                break;
+            case TWILIO:
+                respond(exchange, 201, "{\"sid\":\"SM" + String.format("%032x", id) + "\",\"status\":\"queued\"}",
+                        "application/json");
+                break;
+            case FCM:
+                String project = path.substring("/v1/".length(), path.lastIndexOf("/messages"));
+                respond(exchange, 200, "{\"name\":\"" + project + "/messages/" + id + "\"}", "application/json");
+                break;
+            default:
+                respond(exchange, 200, "ok", "text/plain");
+        }
+    }
+
+    private void pause() {
+        long millis = latencyMillis;
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, String contentType)
+            throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+    }
+}
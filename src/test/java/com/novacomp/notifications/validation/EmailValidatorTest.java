@@ -4,8 +4,13 @@ import com.novacomp.notifications.channel.email.EmailNotification;
 import com.novacomp.notifications.exception.ValidationException;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.regex.Pattern;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class EmailValidatorTest {
 
@@ -43,4 +48,52 @@ class EmailValidatorTest {
 
         assertThrows(ValidationException.class, () -> validator.validate(email));
     }
+
+    /** La regex que reemplazo el recorrido a mano: el oraculo de la propiedad. */
+    private static final Pattern EMAIL_PATTERN =
+            Pattern.compile("^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$");
+
+    @Test
+    void aceptaExactamenteLoMismoQueLaRegexOriginal() {
+        // Alfabeto sesgado a los bordes de la regex: separadores, digitos, letras, no ASCII y espacios.
+        String alfabeto = "aZ09._%+-@@..-eXñ \n#";
+        Random random = new Random(20240611L);
+        int validos = 0;
+        for (int i = 0; i < 200_000; i++) {
+            String candidato = i % 2 == 0 ? aleatorio(random, alfabeto) : mutado(random, alfabeto);
+            boolean esperado = EMAIL_PATTERN.matcher(candidato).matches();
+            assertEquals(esperado, EmailValidator.isValidAddress(candidato), candidato);
+            if (esperado) {
+                validos++;
+            }
+        }
+        // La propiedad solo dice algo si hay casos de los dos lados.
+        assertTrue(validos > 10_000, "validos " + validos);
+    }
+
+    private static String aleatorio(Random random, String alfabeto) {
+        StringBuilder sb = new StringBuilder();
+        int largo = random.nextInt(14);
+        for (int i = 0; i < largo; i++) {
+            sb.append(alfabeto.charAt(random.nextInt(alfabeto.length())));
+        }
+        return sb.toString();
+    }
+
+    /** Un email valido con hasta dos caracteres cambiados, insertados o borrados. */
+    private static String mutado(Random random, String alfabeto) {
+        StringBuilder sb = new StringBuilder("us.er+" + random.nextInt(100) + "@sub-" + random.nextInt(10));
+        sb.append(".dominio.");
+        sb.append("com".substring(0, 1 + random.nextInt(3)));
+        for (int m = random.nextInt(3); m > 0; m--) {
+            int posicion = random.nextInt(sb.length());
+            char c = alfabeto.charAt(random.nextInt(alfabeto.length()));
+            switch (random.nextInt(3)) {
+                case 0 -> sb.setCharAt(posicion, c);
+                case 1 -> sb.insert(posicion, c);
+                default -> sb.deleteCharAt(posicion);
+            }
+        }
+        return sb.toString();
+    }
 }
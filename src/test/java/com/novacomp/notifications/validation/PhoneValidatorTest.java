@@ -4,8 +4,13 @@ import com.novacomp.notifications.channel.sms.SmsNotification;
 import com.novacomp.notifications.exception.ValidationException;
 import org.junit.jupiter.api.Test;
 
+import java.util.Random;
+import java.util.regex.Pattern;
+
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class PhoneValidatorTest {
 
@@ -40,4 +45,32 @@ class PhoneValidatorTest {
 
         assertThrows(ValidationException.class, () -> validator.validate(sms));
     }
+
+    /** La regex que reemplazo el recorrido a mano: el oraculo de la propiedad. */
+    private static final Pattern E164_PATTERN = Pattern.compile("^\\+[1-9]\\d{7,14}$");
+
+    @Test
+    void aceptaExactamenteLoMismoQueLaRegexOriginal() {
+        // Mayormente digitos, para caer seguido cerca de los largos limite (9 y 16).
+        String alfabeto = "01234567890123456789+ -٣\n";
+        Random random = new Random(20240611L);
+        int validos = 0;
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder sb = new StringBuilder(random.nextInt(8) == 0 ? "" : "+");
+            int largo = 5 + random.nextInt(15);
+            for (int j = 0; j < largo; j++) {
+                char c = random.nextInt(10) == 0
+                        ? alfabeto.charAt(20 + random.nextInt(alfabeto.length() - 20))
+                        : alfabeto.charAt(random.nextInt(20));
+                sb.append(c);
+            }
+            String candidato = sb.toString();
+            boolean esperado = E164_PATTERN.matcher(candidato).matches();
+            assertEquals(esperado, PhoneValidator.isE164(candidato), candidato);
+            if (esperado) {
+                validos++;
+            }
+        }
+        assertTrue(validos > 10_000, "validos " + validos);
+    }
 }